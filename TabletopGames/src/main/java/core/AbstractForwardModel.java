@@ -93,6 +93,28 @@ public abstract class AbstractForwardModel {
         return _computeAvailableActions(gameState);
     }
 
+    /**
+     * Games that can count their available actions (in the default action space) without creating them all can
+     * override this, together with _getAvailableAction(). This lets random rollouts pick an action without building
+     * the full list.
+     *
+     * @return - the size of the list _computeAvailableActions(gameState) would return, or -1 if this is not known.
+     */
+    protected int _countAvailableActions(AbstractGameState gameState) {
+        return -1;
+    }
+
+    /**
+     * Only called if _countAvailableActions() gave a count for this state. This default builds the list, so games
+     * that override _countAvailableActions() should override this as well to avoid that.
+     *
+     * @param index - in the range [0, count)
+     * @return - an action equal to the one at this index in the list _computeAvailableActions(gameState) would return.
+     */
+    protected AbstractAction _getAvailableAction(AbstractGameState gameState, int index) {
+        return _computeAvailableActions(gameState).get(index);
+    }
+
     protected abstract void endPlayerTurn(AbstractGameState state);
 
     /**
@@ -186,6 +208,98 @@ public abstract class AbstractForwardModel {
         return retValue;
     }
 
+    /**
+     * The number of actions computeAvailableActions() would return. This does not build the list where the game
+     * knows how to count its actions, there is no action in progress, and no decorator is applied.
+     */
+    public final int countAvailableActions(AbstractGameState gameState) {
+        return countAvailableActions(gameState, gameState.coreGameParameters.actionSpace);
+    }
+
+    public final int countAvailableActions(AbstractGameState gameState, ActionSpace actionSpace) {
+        int count = countWithoutList(gameState, actionSpace);
+        return count >= 0 ? count : computeAvailableActions(gameState, actionSpace).size();
+    }
+
+    /**
+     * The action at this index in the list computeAvailableActions() would return (but see countAvailableActions()
+     * for when the list is not built).
+     *
+     * @return - the action, or null if the index is out of range.
+     */
+    public final AbstractAction getAvailableAction(AbstractGameState gameState, int index) {
+        return getAvailableAction(gameState, index, gameState.coreGameParameters.actionSpace);
+    }
+
+    public final AbstractAction getAvailableAction(AbstractGameState gameState, int index, ActionSpace actionSpace) {
+        int count = countWithoutList(gameState, actionSpace);
+        if (count < 0) {
+            List<AbstractAction> actions = computeAvailableActions(gameState, actionSpace);
+            return index >= 0 && index < actions.size() ? actions.get(index) : null;
+        }
+        return getAvailableAction(gameState, index, count);
+    }
+
+    /**
+     * As getAvailableAction(), but with the count already given by countAvailableActionsWithoutList() for this
+     * state, so that the game does not have to count its actions again.
+     *
+     * @return - the action, or null if the index is out of range.
+     */
+    public final AbstractAction getAvailableAction(AbstractGameState gameState, int index, int count) {
+        if (count < 0)
+            throw new IllegalArgumentException("The actions must be counted without the list to be indexed, not " + count);
+        return index >= 0 && index < count ? _getAvailableAction(gameState, index) : null;
+    }
+
+    /**
+     * Picks one of the available actions uniformly at random, without building the list of all of them where this
+     * is possible (see countAvailableActions()). This is the same action as
+     * computeAvailableActions(gameState).get(rnd.nextInt(size)).
+     *
+     * @return - the action, or null if there are no actions available.
+     */
+    public final AbstractAction sampleRandomAction(AbstractGameState gameState, Random rnd) {
+        return sampleRandomAction(gameState, rnd, gameState.coreGameParameters.actionSpace);
+    }
+
+    public final AbstractAction sampleRandomAction(AbstractGameState gameState, Random rnd, ActionSpace actionSpace) {
+        int count = countWithoutList(gameState, actionSpace);
+        if (count < 0) {
+            List<AbstractAction> actions = computeAvailableActions(gameState, actionSpace);
+            return actions.isEmpty() ? null : actions.get(rnd.nextInt(actions.size()));
+        }
+        return count == 0 ? null : _getAvailableAction(gameState, rnd.nextInt(count));
+    }
+
+    /**
+     * @return - true if countAvailableActions() and getAvailableAction() can be used here without building the list
+     * of all actions.
+     */
+    public final boolean canIndexAvailableActions(AbstractGameState gameState, ActionSpace actionSpace) {
+        return countWithoutList(gameState, actionSpace) >= 0;
+    }
+
+    /**
+     * The number of available actions, if this can be found without building the list (see countAvailableActions()).
+     * This count can then be passed to getAvailableAction(gameState, index, count) for each action wanted.
+     *
+     * @return - the number of actions, or -1 if the list would have to be built.
+     */
+    public final int countAvailableActionsWithoutList(AbstractGameState gameState, ActionSpace actionSpace) {
+        return countWithoutList(gameState, actionSpace);
+    }
+
+    private int countWithoutList(AbstractGameState gameState, ActionSpace actionSpace) {
+        if (gameState.isActionInProgress() || (actionSpace != null && !actionSpace.isDefault()))
+            return -1;
+        for (IPlayerDecorator decorator : decorators) {
+            if (!decorator.decisionPlayerOnly() || gameState.getCurrentPlayer() == decisionPlayerID)
+                return -1;
+        }
+        return _countAvailableActions(gameState);
+    }
+
     /**
      * Performs any end of game computations, as needed.
      * This should not normally need to be overriden - but can be. For example if a game is purely co-operative
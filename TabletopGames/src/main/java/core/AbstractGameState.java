@@ -168,6 +168,16 @@ public abstract class AbstractGameState {
      * @return All actions that have been executed on this state since reset()/initialisation
      */
     public List<Pair<Integer, AbstractAction>> getHistory() { return new ArrayList<>(history);}
+    /**
+     * A cheap alternative to getHistory() when only the most recent actions are needed (e.g. in a rollout policy)
+     *
+     * @param stepsBack - 1 for the last action taken, 2 for the one before that, and so on
+     * @return - the action and the player who took it, or null if the history is not that long
+     */
+    public Pair<Integer, AbstractAction> getRecentAction(int stepsBack) {
+        int index = history.size() - stepsBack;
+        return index >= 0 && stepsBack > 0 ? history.get(index) : null;
+    }
     public List<String> getHistoryAsText() {
         return new ArrayList<>(historyText);
     }
@@ -268,6 +278,17 @@ public abstract class AbstractGameState {
         return _getAllComponents();
     }
 
+    /**
+     * For games that replace a component with a new object that has the same component ID (for example a component
+     * shared between copies of the game state, which is copied before being changed), so that getComponentById()
+     * finds the new object.
+     *
+     * @param component - the replacement
+     */
+    protected final void replaceComponent(Component component) {
+        allComponents.putComponent(component);
+    }
+
     /**
      * Adds all components given by the game to the allComponents map in the correct way, first clearing the map.
      */
@@ -334,8 +355,8 @@ public abstract class AbstractGameState {
             s.playerTimer[i] = playerTimer[i].copy();
         }
 
-        // Update the list of components for ID matching in actions.
-        s.addAllComponents();
+        // The list of components for ID matching in actions is left empty, and filled by the first
+        // getComponentById() (so copies that never look up a component do not pay for indexing every card)
         return s;
     }
 
@@ -18,6 +18,10 @@ public abstract class AbstractGameStateWithTurnOrder extends AbstractGameState {
 
     protected TurnOrder turnOrder;
 
+    // Position in the rule graph, for games with a rule-based forward model: indices of the rule to execute next
+    // (-1 if the last rule ended its branch) and of the rule executed last (-1 if none)
+    private int nextRule, lastRule = -1;
+
     /**
      * Constructor. Initialises some generic game state variables.
      *
@@ -39,6 +43,8 @@ public abstract class AbstractGameStateWithTurnOrder extends AbstractGameState {
     protected void reset() {
         super.reset();
         turnOrder.reset();
+        nextRule = 0;
+        lastRule = -1;
     }
 
     public final TurnOrder getTurnOrder() {
@@ -62,6 +68,12 @@ public abstract class AbstractGameStateWithTurnOrder extends AbstractGameState {
     public final void setTurnOrder(TurnOrder turnOrder) {
         this.turnOrder = turnOrder;
     }
+    public final int getNextRule() {return nextRule;}
+    public final int getLastRule() {return lastRule;}
+    public final void setRuleCursor(int nextRule, int lastRule) {
+        this.nextRule = nextRule;
+        this.lastRule = lastRule;
+    }
 
 
     public void addListener(IGameListener listener) {
@@ -81,6 +93,8 @@ public abstract class AbstractGameStateWithTurnOrder extends AbstractGameState {
     protected  AbstractGameStateWithTurnOrder _copy(int playerId) {
         AbstractGameStateWithTurnOrder retValue = __copy(playerId);
         retValue.turnOrder = turnOrder.copy();
+        retValue.nextRule = nextRule;
+        retValue.lastRule = lastRule;
         return retValue;
     }
 
@@ -90,6 +104,7 @@ public abstract class AbstractGameStateWithTurnOrder extends AbstractGameState {
      * Override the hashCode as needed for individual game states
      * Equality of hashcodes can sometimes require excluding allComponents from the hash
      * (It is OK for two java objects to be not equal and have the same hashcode)
+     * The rule cursor is not included, as equals() does not compare it
      * @return
      */
     @Override
@@ -1,6 +1,7 @@
 package core;
 
 import core.actions.AbstractAction;
+import core.actions.ActionSpace;
 import core.interfaces.IPlayerDecorator;
 import evaluation.metrics.Event;
 import players.PlayerParameters;
@@ -70,6 +71,31 @@ public abstract class AbstractPlayer {
 
     }
 
+    /**
+     * As getAction(), but without the list of actions, which is only built by the forward model if the player needs
+     * it. Players that do not need to see all the actions (such as RandomPlayer) override _sampleAction(), and this
+     * is used in rollouts where most actions are chosen.
+     */
+    public final AbstractAction getAction(AbstractGameState gameState, AbstractForwardModel forwardModel, ActionSpace actionSpace) {
+        if (decorators.isEmpty()) {
+            AbstractAction action = _sampleAction(gameState, forwardModel, actionSpace);
+            if (action != null) {
+                gameState.rnd = this.rnd;
+                return action;
+            }
+        }
+        return getAction(gameState, forwardModel.computeAvailableActions(gameState, actionSpace));
+    }
+
+    /**
+     * Chooses an action using the forward model to find them, instead of being given the list of them.
+     *
+     * @return - the action chosen, or null to choose from the full list with _getAction() instead.
+     */
+    protected AbstractAction _sampleAction(AbstractGameState gameState, AbstractForwardModel forwardModel, ActionSpace actionSpace) {
+        return null;
+    }
+
     /**
      * Sets the forward model for the current environment.
      * This is used by Game, and also when an AbstractPlayer is a component of another agent
@@ -99,7 +99,14 @@ public class Area extends Component implements IComponentContainer<Component> {
         if (component == null) return;
 
         this.components.put(component.getComponentID(), component);
-        if (component instanceof IComponentContainer) {
+        if (component instanceof Deck) {
+            // Iterating the deck itself does not stop it sharing its list of components with copies
+            for (Component nestedC : (Deck<?>) component) {
+                if (nestedC != null) {
+                    putComponent(nestedC);
+                }
+            }
+        } else if (component instanceof IComponentContainer) {
             for (Component nestedC : ((IComponentContainer<?>) component).getComponents()) {
                 if (nestedC != null) {
                     putComponent(nestedC);
@@ -47,6 +47,8 @@ public abstract class Component {
 
     /**
      * To be implemented by subclass, all components should be able to create copies of themselves.
+     * Components that never change once created (such as most cards) can return themselves; Decks of such
+     * components then share their contents with their copies until one of them is changed.
      * @return - a new Component with the same properties.
      */
     public abstract Component copy();
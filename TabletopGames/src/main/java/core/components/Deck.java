@@ -11,6 +11,9 @@ import org.json.simple.parser.ParseException;
 import java.io.FileReader;
 import java.io.IOException;
 import java.util.*;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
 
 import static core.CoreConstants.VisibilityMode;
 
@@ -25,8 +28,11 @@ import static core.CoreConstants.VisibilityMode;
 public class Deck<T extends Component> extends Component implements IComponentContainer<T>, Iterable<T> {
 
     protected int capacity;  // Capacity of the deck (maximum number of elements)
-    protected List<T> components;  // List of components in this deck
+    protected List<T> components;  // List of components in this deck (may be shared, see writableComponents())
     protected VisibilityMode visibility;
+    // True if the list of components may be shared with a copy of this deck. This is only the case if copy() returns
+    // every component itself, and the list is then replaced the first time either deck changes.
+    private boolean shared;
 
     public Deck(String name, VisibilityMode visibility) {
         this(name, -1, visibility);
@@ -34,7 +40,7 @@ public class Deck<T extends Component> extends Component implements IComponentCo
 
     public Deck(String name, int ownerId, VisibilityMode visibility) {
         super(CoreConstants.ComponentType.DECK, name);
-        this.components = new LinkedList<>();   // we always add new components to element 0...so an ArrayList is inefficient
+        this.components = new ArrayList<>();
         this.ownerId = ownerId;
         this.capacity = -1;
         this.visibility = visibility;
@@ -42,7 +48,7 @@ public class Deck<T extends Component> extends Component implements IComponentCo
 
     protected Deck(String name, int ownerId, int ID, VisibilityMode visibility) {
         super(CoreConstants.ComponentType.DECK, name, ID);
-        this.components = new LinkedList<>();
+        this.components = new ArrayList<>();
         this.capacity = -1;
         this.ownerId = ownerId;
         this.visibility = visibility;
@@ -142,9 +148,7 @@ public class Deck<T extends Component> extends Component implements IComponentCo
      */
     public T pick(int idx) {
         if (!components.isEmpty() && idx < components.size() && idx >= 0) {
-            T c = components.get(idx);
-            components.remove(idx);
-            return c;
+            return writableComponents().remove(idx);
         }
         return null;
     }
@@ -221,7 +225,7 @@ public class Deck<T extends Component> extends Component implements IComponentCo
         if (c == null)
             throw new IllegalArgumentException("null cannot be added to a Deck");
         c.setOwnerId(ownerId);
-        components.add(index, c);
+        writableComponents().add(index, c);
         return capacity == -1 || components.size() <= capacity;
     }
 
@@ -255,7 +259,7 @@ public class Deck<T extends Component> extends Component implements IComponentCo
      * @return true if not over capacity, false otherwise.
      */
     public boolean add(Deck<T> d, int index) {
-        components.addAll(index, d.components);
+        writableComponents().addAll(index, d.components);
         for (T comp : d.components) {
             comp.setOwnerId(ownerId);
         }
@@ -267,7 +271,7 @@ public class Deck<T extends Component> extends Component implements IComponentCo
     }
 
     public boolean add(Collection<T> d, int index) {
-        components.addAll(index, d);
+        writableComponents().addAll(index, d);
         for (T comp : d) {
             comp.setOwnerId(ownerId);
         }
@@ -300,8 +304,7 @@ public class Deck<T extends Component> extends Component implements IComponentCo
      */
     public void remove(int idx) {
         if (idx >= 0 && idx < components.size()) {
-            components.get(idx).setOwnerId(-1);
-            components.remove(idx);
+            writableComponents().remove(idx).setOwnerId(-1);
         } else {
             throw new IndexOutOfBoundsException("Index " + idx + " is out of bounds for deck of size " + components.size());
         }
@@ -323,7 +326,12 @@ public class Deck<T extends Component> extends Component implements IComponentCo
         for (T comp : components) {
             comp.setOwnerId(-1);
         }
-        components.clear();
+        if (shared) {
+            components = new ArrayList<>();
+            shared = false;
+        } else {
+            components.clear();
+        }
     }
 
     // Getters, Setters
@@ -332,7 +340,7 @@ public class Deck<T extends Component> extends Component implements IComponentCo
      * Shuffles the deck with a specific random object.
      */
     public void shuffle(Random rnd) {
-        Collections.shuffle(components, rnd);
+        Collections.shuffle(writableComponents(), rnd);
     }
 
     /**
@@ -343,30 +351,77 @@ public class Deck<T extends Component> extends Component implements IComponentCo
      * @param rnd       - random number generator used for shuffling
      */
     public void shuffle(int fromIndex, int toIndex, Random rnd) {
-        List<T> subList = components.subList(fromIndex, toIndex);
-        Collections.shuffle(subList, rnd);
-        int i = 0;
-        for (T component : subList) {
-            components.set(fromIndex + i, component);
-            i++;
-        }
+        Collections.shuffle(writableComponents().subList(fromIndex, toIndex), rnd);
     }
 
     /**
-     * @return all the components in this deck.
+     * @return all the components in this deck. The list may be changed by the caller, so if it is shared with a copy
+     * of this deck it is replaced first; use iterator() or get() to read the components without this cost. Do not
+     * keep the list once the deck has been copied, as it may then be shared with the copy.
      */
     @Override
     public List<T> getComponents() {
+        return writableComponents();
+    }
+
+    // The read-only methods of IComponentContainer use the list directly, so that they do not replace a shared list
+
+    @Override
+    public int getSize() {
+        return components.size();
+    }
+
+    @Override
+    public Stream<T> stream() {
+        return components.stream();
+    }
+
+    @Override
+    public double sumDouble(Function<T, Double> lambda) {
+        double retValue = 0.0;
+        for (T c : components) {
+            retValue += lambda.apply(c);
+        }
+        return retValue;
+    }
+
+    @Override
+    public int sumInt(Function<T, Integer> lambda) {
+        int retValue = 0;
+        for (T c : components) {
+            retValue += lambda.apply(c);
+        }
+        return retValue;
+    }
+
+    /**
+     * @return the list of components, replacing it first if it is shared with a copy of this deck. All changes to
+     * the list must be made through this.
+     */
+    protected List<T> writableComponents() {
+        if (shared) {
+            components = new ArrayList<>(components);
+            shared = false;
+        }
         return components;
     }
 
+    /**
+     * Replaces the list of components with one that only this deck uses (such as a shuffled copy of the old list),
+     * so that the next change does not copy it again.
+     */
+    protected void replaceComponents(List<T> components) {
+        this.components = components;
+        this.shared = false;
+    }
+
     /**
      * Set the components in this deck.
      *
      * @param components - new components for the deck, overrides old content.
      */
     public void setComponents(List<T> components) {
-        this.components = components;
+        replaceComponents(components);
         for (T comp : components) {
             comp.setOwnerId(ownerId);
         }
@@ -403,7 +458,7 @@ public class Deck<T extends Component> extends Component implements IComponentCo
      */
     public void setComponent(int idx, T component) {
         component.setOwnerId(ownerId);
-        components.set(idx, component);
+        writableComponents().set(idx, component);
     }
 
     /**
@@ -438,25 +493,41 @@ public class Deck<T extends Component> extends Component implements IComponentCo
 
     @SuppressWarnings("unchecked")
     protected void copyTo(Deck<T> deck) {
-        List<T> newComponents = new LinkedList<>();
-        for (T c : components) {
-            newComponents.add((T) c.copy());
-        }
-        deck.components = newComponents;
-        deck.capacity = capacity;
-
-        //copy type and component.
-        copyComponentTo(deck);
+        copyTo(deck, c -> (T) c.copy());
     }
 
-
     @SuppressWarnings("unchecked")
     protected void copyTo(Deck<T> deck, int playerId) {
-        List<T> newComponents = new LinkedList<>();
-        for (T c : components) {
-            newComponents.add((T) c.copy(playerId));
+        copyTo(deck, c -> (T) c.copy(playerId));
+    }
+
+    /**
+     * Copies the components with the given function. If this returns every component itself (as it does for
+     * immutable cards) then the two decks share the same list until one of them is changed.
+     */
+    private void copyTo(Deck<T> deck, UnaryOperator<T> copyFunction) {
+        if (!shared) {
+            List<T> newComponents = null;
+            int i = 0;
+            for (T c : components) {
+                T copy = copyFunction.apply(c);
+                if (newComponents == null && copy != c) {
+                    newComponents = new ArrayList<>(components.size());
+                    newComponents.addAll(components.subList(0, i));
+                }
+                if (newComponents != null)
+                    newComponents.add(copy);
+                i++;
+            }
+            if (newComponents == null)
+                shared = true;
+            else
+                deck.components = newComponents;
+        }
+        if (shared) {
+            deck.components = components;
+            deck.shared = true;
         }
-        deck.components = newComponents;
         deck.capacity = capacity;
 
         //copy type and component.
@@ -14,22 +14,24 @@ import utilities.Vector2D;
 import java.io.FileReader;
 import java.io.IOException;
 import java.util.*;
-import java.util.stream.Collectors;
 import java.util.Objects;
 
 import static core.CoreConstants.imgHash;
-import static utilities.Utils.getNeighbourhood;
 
 /**
  * GridBoard is a 2D grid of Components. It can be used to represent a board in a game, a map, or any other 2D grid.
  * Each cell on the grid can contain a Component of any type.
+ * <p>
+ * The cells are held in a single array, one row after another, so cell (x, y) has index y * width + x (see
+ * getCellIndex()). The same BoardNode may fill any number of cells (such as a shared 'empty' node), and copies of the
+ * board keep this: each distinct node is copied only once.
  */
 public class GridBoard extends Component implements IComponentContainer<BoardNode> {
 
     private int width;  // Width of the board
     private int height;  // Height of the board
 
-    private BoardNode[][] grid;  // 2D grid representation of this board
+    private BoardNode[] cells;  // Elements of this board, one row after another
 
     protected GridBoard() {
         super(CoreConstants.ComponentType.BOARD);
@@ -39,41 +41,59 @@ public class GridBoard extends Component implements IComponentContainer<BoardNod
         super(CoreConstants.ComponentType.BOARD);
         this.width = width;
         this.height = height;
-        this.grid = new BoardNode[height][width];
+        this.cells = new BoardNode[width * height];
     }
 
     public GridBoard(int width, int height, BoardNode defaultValue) {
         this(width, height);
-        for (int y = 0; y < height; y++)
-            Arrays.fill(grid[y], defaultValue);
+        Arrays.fill(cells, defaultValue);
     }
 
     public GridBoard(BoardNode[][] grid) {
         super(CoreConstants.ComponentType.BOARD);
         this.width = grid[0].length;
         this.height = grid.length;
-        this.grid = grid;
+        this.cells = flatten(grid);
     }
 
     protected GridBoard(BoardNode[][] grid, int ID) {
         super(CoreConstants.ComponentType.BOARD, ID);
         this.width = grid[0].length;
         this.height = grid.length;
-        this.grid = grid;
+        this.cells = flatten(grid);
     }
 
     protected GridBoard(int width, int height, int ID) {
         super(CoreConstants.ComponentType.BOARD, ID);
         this.width = width;
         this.height = height;
-        this.grid = new BoardNode[height][width];
+        this.cells = new BoardNode[width * height];
+    }
+
+    /**
+     * @param cells - elements of the board, one row after another (used directly, not copied)
+     */
+    protected GridBoard(int width, int height, BoardNode[] cells, int ID) {
+        super(CoreConstants.ComponentType.BOARD, ID);
+        this.width = width;
+        this.height = height;
+        this.cells = cells;
     }
 
     public GridBoard(GridBoard orig) {
         super(CoreConstants.ComponentType.BOARD);
         this.width = orig.getWidth();
         this.height = orig.getHeight();
-        this.grid = orig.grid.clone();
+        this.cells = orig.cells.clone();
+    }
+
+    private static BoardNode[] flatten(BoardNode[][] grid) {
+        int width = grid[0].length;
+        BoardNode[] cells = new BoardNode[grid.length * width];
+        for (int y = 0; y < grid.length; y++) {
+            System.arraycopy(grid[y], 0, cells, y * width, width);
+        }
+        return cells;
     }
 
     /**
@@ -123,15 +143,16 @@ public class GridBoard extends Component implements IComponentContainer<BoardNod
 
         int w = Math.min(width, this.width);
         int h = Math.min(height, this.height);
+        int oldWidth = this.width;
 
         this.width = width;
         this.height = height;
 
-        BoardNode[][] grid = new BoardNode[height][width];
+        BoardNode[] cells = new BoardNode[width * height];
         for (int i = 0; i < h; i++) {
-            if (w >= 0) System.arraycopy(this.grid[i], 0, grid[i + offsetY], offsetX, w);
+            if (w >= 0) System.arraycopy(this.cells, i * oldWidth, cells, (i + offsetY) * width + offsetX, w);
         }
-        this.grid = grid;
+        this.cells = cells;
     }
 
     /**
@@ -144,7 +165,7 @@ public class GridBoard extends Component implements IComponentContainer<BoardNod
      */
     public boolean setElement(int x, int y, BoardNode value) {
         if (x >= 0 && x < width && y >= 0 && y < height) {
-            grid[y][x] = value;
+            cells[y * width + x] = value;
             return true;
         } else
             return false;
@@ -163,7 +184,7 @@ public class GridBoard extends Component implements IComponentContainer<BoardNod
      */
     public BoardNode getElement(int x, int y) {
         if (x >= 0 && x < width && y >= 0 && y < height)
-            return grid[y][x];
+            return cells[y * width + x];
         return null;
     }
 
@@ -171,27 +192,84 @@ public class GridBoard extends Component implements IComponentContainer<BoardNod
         return getElement(pos.getX(), pos.getY());
     }
 
+    /**
+     * @return - index of cell (x, y) in flattenGrid(), and for getElement(int).
+     */
+    public int getCellIndex(int x, int y) {
+        return y * width + x;
+    }
+
+    /**
+     * Retrieves the element in the cell with the given index (see getCellIndex()).
+     *
+     * @param cellIndex - index of the cell, y * width + x.
+     * @return - element in the cell.
+     */
+    public BoardNode getElement(int cellIndex) {
+        return cells[cellIndex];
+    }
+
+    /**
+     * Finds the cells next to (x, y) that are on the board, in the same order as Utils.getNeighbourhood(), without
+     * creating any objects.
+     *
+     * @param x      - x coordinate in the grid.
+     * @param y      - y coordinate in the grid.
+     * @param way8   - if true, diagonal cells are included, otherwise only orthogonal ones.
+     * @param result - array of at least 8 elements (4 if !way8), filled with the indices of the neighbouring cells.
+     * @return - number of neighbouring cells, i.e. of entries in result that were set.
+     */
+    public int getNeighbourCells(int x, int y, boolean way8, int[] result) {
+        int n = 0;
+        int cell = y * width + x;
+        if (x > 0) result[n++] = cell - 1;
+        if (x < width - 1) result[n++] = cell + 1;
+        if (y > 0) result[n++] = cell - width;
+        if (y < height - 1) result[n++] = cell + width;
+        if (way8) {
+            if (x > 0 && y > 0) result[n++] = cell - width - 1;
+            if (x < width - 1 && y < height - 1) result[n++] = cell + width + 1;
+            if (x > 0 && y < height - 1) result[n++] = cell + width - 1;
+            if (x < width - 1 && y > 0) result[n++] = cell - width + 1;
+        }
+        return n;
+    }
+
     /**
      * Retrieves the grid.
      *
-     * @return - 2D grid.
+     * @return - 2D grid. This is a new array, so changing it does not change the board.
      */
     public BoardNode[][] getGridValues() {
+        BoardNode[][] grid = new BoardNode[height][width];
+        for (int y = 0; y < height; y++) {
+            System.arraycopy(cells, y * width, grid[y], 0, width);
+        }
         return grid;
     }
 
     public List<Vector2D> getEmptyCells(BoardNode defaultElement) {
         List<Vector2D> emptyCells = new ArrayList<>();
-        for (int i = 0; i < height; i++) {
-            for (int j = 0; j < width; j++) {
-                if (getElement(j, i) == null || getElement(j, i).equals(defaultElement)) {
-                    emptyCells.add(new Vector2D(j, i));
-                }
+        for (int i = 0; i < cells.length; i++) {
+            if (cells[i] == null || cells[i].equals(defaultElement)) {
+                emptyCells.add(new Vector2D(i % width, i / width));
             }
         }
         return emptyCells;
     }
 
+    /**
+     * @return - number of cells that are empty (null) or hold an element equal to defaultElement, as the size of
+     * getEmptyCells() but without creating the list.
+     */
+    public int countEmptyCells(BoardNode defaultElement) {
+        int count = 0;
+        for (BoardNode cell : cells) {
+            if (cell == null || cell.equals(defaultElement)) count++;
+        }
+        return count;
+    }
+
     /**
      * Returns a new grid, copy of this one, with given orientation.
      *
@@ -199,12 +277,12 @@ public class GridBoard extends Component implements IComponentContainer<BoardNod
      * @return - new grid with the same elements and correct orientation.
      */
     public BoardNode[][] rotate(int orientation) {
-        GridBoard copy = copy();
+        BoardNode[][] grid = copy().getGridValues();
         orientation %= 4;  // Maximum 4 sides to a grid
         for (int i = 0; i < orientation; i++) {
-            copy.grid = rotateClockWise(copy.grid);
+            grid = rotateClockWise(grid);
         }
-        return copy.grid;
+        return grid;
     }
 
     /**
@@ -231,69 +309,91 @@ public class GridBoard extends Component implements IComponentContainer<BoardNod
      * @return 1D flattened grid
      */
     public BoardNode[] flattenGrid() {
-        int length = getHeight() * getWidth();
-        BoardNode[] array = new BoardNode[length];
-        for (int i = 0; i < getHeight(); i++) {
-            System.arraycopy(grid[i], 0, array, i * getWidth(), grid[i].length);
-        }
-        return array;
+        return cells.clone();
     }
 
     @Override
     public GridBoard copy() {
-        BoardNode[][] gridCopy = new BoardNode[getHeight()][getWidth()];
-        Map<Integer, BoardNode> nodeCopies = new HashMap<>();
-        for (int i = 0; i < height; i++) {
-            for (int j = 0; j < width; j++) {
-                if (grid[i][j] != null) {
-                    gridCopy[i][j] = new BoardNode(grid[i][j]);
-                    nodeCopies.put(gridCopy[i][j].componentID, gridCopy[i][j]);
-                }
-            }
-        }
-        for (int i = 0; i < height; i++) {
-            for (int j = 0; j < width; j++) {
-                if (grid[i][j] != null) {
-                    for (Map.Entry<BoardNode, Double> neighbour : grid[i][j].getNeighbours().entrySet()) {
-                        gridCopy[i][j].addNeighbourWithCost(nodeCopies.get(neighbour.getKey().componentID), neighbour.getValue());
-                    }
-                    for (Map.Entry<BoardNode, Integer> neighbour : grid[i][j].getNeighbourSideMapping().entrySet()) {
-                        gridCopy[i][j].addNeighbourOnSide(nodeCopies.get(neighbour.getKey().componentID), neighbour.getValue());
-                    }
-                }
-            }
-        }
-        GridBoard g = new GridBoard(gridCopy, componentID);
+        GridBoard g = new GridBoard(width, height, copyCells(), componentID);
         copyComponentTo(g);
         return g;
     }
 
     public GridBoard copyNewID() {
-        BoardNode[][] gridCopy = new BoardNode[getHeight()][getWidth()];
-        Map<Integer, BoardNode> nodeCopies = new HashMap<>();
-        for (int i = 0; i < height; i++) {
-            for (int j = 0; j < width; j++) {
-                if (grid[i][j] != null) {
-                    gridCopy[i][j] = new BoardNode(grid[i][j]);
-                    nodeCopies.put(gridCopy[i][j].componentID, gridCopy[i][j]);
+        GridBoard g = new GridBoard(width, height);
+        g.cells = copyCells();
+        copyComponentTo(g);
+        return g;
+    }
+
+    /**
+     * Copies the elements of this board, keeping their component IDs. A node that fills several cells is copied once,
+     * and the copy fills the same cells. The copies are linked to each other as the originals are, matching
+     * neighbours by component ID.
+     *
+     * @return - the copied elements, one row after another.
+     */
+    protected BoardNode[] copyCells() {
+        BoardNode[] copies = new BoardNode[cells.length];
+        // Boards often have few distinct nodes (e.g. empty, and one per player), so look these up in an array first
+        BoardNode[] originals = new BoardNode[8], copied = new BoardNode[8];
+        int nDistinct = 0;
+        Map<BoardNode, BoardNode> copyOf = null;
+        boolean linked = false;
+        for (int i = 0; i < cells.length; i++) {
+            BoardNode node = cells[i];
+            if (node == null) continue;
+            BoardNode copy = null;
+            if (copyOf == null) {
+                for (int k = 0; k < nDistinct; k++) {
+                    if (originals[k] == node) {
+                        copy = copied[k];
+                        break;
+                    }
                 }
+            } else {
+                copy = copyOf.get(node);
             }
-        }
-        for (int i = 0; i < height; i++) {
-            for (int j = 0; j < width; j++) {
-                if (grid[i][j] != null) {
-                    for (Map.Entry<BoardNode, Double> neighbour : grid[i][j].getNeighbours().entrySet()) {
-                        gridCopy[i][j].addNeighbourWithCost(nodeCopies.get(neighbour.getKey().componentID), neighbour.getValue());
-                    }
-                    for (Map.Entry<BoardNode, Integer> neighbour : grid[i][j].getNeighbourSideMapping().entrySet()) {
-                        gridCopy[i][j].addNeighbourOnSide(nodeCopies.get(neighbour.getKey().componentID), neighbour.getValue());
+            if (copy == null) {
+                copy = new BoardNode(node);
+                linked |= !node.getNeighbours().isEmpty();
+                if (copyOf == null && nDistinct < originals.length) {
+                    originals[nDistinct] = node;
+                    copied[nDistinct++] = copy;
+                } else {
+                    if (copyOf == null) {
+                        copyOf = new IdentityHashMap<>();
+                        for (int k = 0; k < nDistinct; k++)
+                            copyOf.put(originals[k], copied[k]);
                     }
+                    copyOf.put(node, copy);
                 }
             }
+            copies[i] = copy;
+        }
+        if (linked) {
+            Map<Integer, BoardNode> nodeCopies = new HashMap<>();
+            for (BoardNode copy : copies) {
+                if (copy != null) nodeCopies.put(copy.componentID, copy);
+            }
+            if (copyOf == null) {
+                for (int k = 0; k < nDistinct; k++)
+                    linkCopy(originals[k], copied[k], nodeCopies);
+            } else {
+                for (Map.Entry<BoardNode, BoardNode> e : copyOf.entrySet())
+                    linkCopy(e.getKey(), e.getValue(), nodeCopies);
+            }
+        }
+        return copies;
+    }
+
+    private static void linkCopy(BoardNode original, BoardNode copy, Map<Integer, BoardNode> nodeCopies) {
+        for (Map.Entry<BoardNode, Double> neighbour : original.getNeighbours().entrySet()) {
+            copy.addNeighbourWithCost(nodeCopies.get(neighbour.getKey().componentID), neighbour.getValue());
+        }
+        for (Map.Entry<BoardNode, Integer> neighbour : original.getNeighbourSideMapping().entrySet()) {
+            copy.addNeighbourOnSide(nodeCopies.get(neighbour.getKey().componentID), neighbour.getValue());
         }
-        GridBoard g = new GridBoard(gridCopy);
-        copyComponentTo(g);
-        return g;
     }
 
     public GridBoard emptyCopy() {
@@ -357,7 +457,7 @@ public class GridBoard extends Component implements IComponentContainer<BoardNod
             properties.put(imgHash, new PropertyString((String) board.get("img")));
         }
 
-        this.grid = new BoardNode[height][width];
+        this.cells = new BoardNode[width * height];
 
         JSONArray grids = (JSONArray) board.get("grid");
         int y = 0;
@@ -405,6 +505,7 @@ public class GridBoard extends Component implements IComponentContainer<BoardNod
     public GraphBoard toGraphBoard(boolean way8) {
         GraphBoard gb = new GraphBoard(componentName, componentID);
         HashMap<Vector2D, BoardNode> bnMapping = new HashMap<>();
+        int[] neighbours = new int[8];
         // Add all cells as board nodes connected to each other
         for (int i = 0; i < height; i++) {
             for (int j = 0; j < width; j++) {
@@ -421,9 +522,9 @@ public class GridBoard extends Component implements IComponentContainer<BoardNod
                 BoardNode bn = bnMapping.get(new Vector2D(j, i));
 
                 // Add neighbours
-                List<Vector2D> neighbours = getNeighbourhood(j, i, width, height, way8);
-                for (Vector2D neighbour : neighbours) {
-                    BoardNode bn2 = bnMapping.get(neighbour);
+                int nNeighbours = getNeighbourCells(j, i, way8, neighbours);
+                for (int n = 0; n < nNeighbours; n++) {
+                    BoardNode bn2 = bnMapping.get(new Vector2D(neighbours[n] % width, neighbours[n] / width));
                     gb.addConnection(bn, bn2);
                 }
             }
@@ -485,19 +586,19 @@ public class GridBoard extends Component implements IComponentContainer<BoardNod
     @Override
     public boolean equals(Object o) {
         if (o instanceof GridBoard other) {
-            return componentID == other.componentID && Arrays.equals(flattenGrid(), other.flattenGrid());
+            return componentID == other.componentID && Arrays.equals(cells, other.cells);
         }
         return false;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(componentID) + 5 * Arrays.hashCode(flattenGrid());
+        return Objects.hash(componentID) + 5 * Arrays.hashCode(cells);
     }
 
     @Override
     public List<BoardNode> getComponents() {
-        return Arrays.stream(flattenGrid()).collect(Collectors.toList());
+        return new ArrayList<>(Arrays.asList(cells));
     }
 
     @Override
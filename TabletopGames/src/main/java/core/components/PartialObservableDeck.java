@@ -15,7 +15,7 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
     protected boolean[] deckVisibility;
 
     // Visibility of each component in the deck, order corresponds to order of elements in the deck;
-    protected List<boolean[]> elementVisibility = new LinkedList<>();
+    protected List<boolean[]> elementVisibility = new ArrayList<>();
 
     public boolean getVisibilityForPlayer(int elementIdx, int playerID) {
         return elementVisibility.get(elementIdx)[playerID];
@@ -301,7 +301,7 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
      */
     public void shuffleAndKeepVisibility(Random rnd) {
         Pair<List<T>, List<boolean[]>> shuffled = shuffleLists(components, elementVisibility, rnd);
-        components = shuffled.a;
+        replaceComponents(shuffled.a);
         elementVisibility = shuffled.b;
         applyVisibilityMode();
     }
@@ -316,8 +316,8 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
      * @return - both lists shuffled, keeping the mapping from component to visibility at the same index.
      */
     private Pair<List<T>, List<boolean[]>> shuffleLists(List<T> comps, List<boolean[]> vis, Random rnd) {
-        List<T> tmp_components = new LinkedList<>();
-        List<boolean[]> tmp_visibility = new LinkedList<>();
+        List<T> tmp_components = new ArrayList<>(comps.size());
+        List<boolean[]> tmp_visibility = new ArrayList<>(vis.size());
 
         List<Integer> indexList = new ArrayList<>(comps.size());
         for (int i = 0; i < comps.size(); i++)
@@ -51,9 +51,9 @@ public class PartialObservableGridBoard extends GridBoard
         Arrays.fill(gridBoardVisibility, defaultValue);
     }
 
-    private PartialObservableGridBoard(BoardNode[][] grid, boolean[] gridBoardVisibility, List<boolean[][]> elementVisibility, int componentID)
+    private PartialObservableGridBoard(int width, int height, BoardNode[] cells, boolean[] gridBoardVisibility, List<boolean[][]> elementVisibility, int componentID)
     {
-        super(grid, componentID);
+        super(width, height, cells, componentID);
         this.gridBoardVisibility = gridBoardVisibility.clone();
         this.elementVisibility = new ArrayList<>();
         for(boolean[][] visibility : elementVisibility)
@@ -124,30 +124,7 @@ public class PartialObservableGridBoard extends GridBoard
     @Override
     public PartialObservableGridBoard copy()
     {
-        BoardNode[][] gridCopy = new BoardNode[getHeight()][getWidth()];
-        Map<Integer, BoardNode> nodeCopies = new HashMap<>();
-        for (int i = 0; i < getHeight(); i++) {
-            for (int j = 0; j < getWidth(); j++) {
-                if (getGridValues()[i][j] != null) {
-                    gridCopy[i][j] = new BoardNode(getGridValues()[i][j]);
-                    getGridValues()[i][j].copyComponentTo(gridCopy[i][j]);
-                    nodeCopies.put(gridCopy[i][j].componentID, gridCopy[i][j]);
-                }
-            }
-        }
-        for (int i = 0; i < getHeight(); i++) {
-            for (int j = 0; j < getWidth(); j++) {
-                if (getGridValues()[i][j] != null) {
-                    for (Map.Entry<BoardNode, Double> neighbour : getGridValues()[i][j].getNeighbours().entrySet()) {
-                        gridCopy[i][j].addNeighbourWithCost(nodeCopies.get(neighbour.getKey().componentID), neighbour.getValue());
-                    }
-                    for (Map.Entry<BoardNode, Integer> neighbour : getGridValues()[i][j].getNeighbourSideMapping().entrySet()) {
-                        gridCopy[i][j].addNeighbourOnSide(nodeCopies.get(neighbour.getKey().componentID), neighbour.getValue());
-                    }
-                }
-            }
-        }
-        PartialObservableGridBoard copy = new PartialObservableGridBoard(gridCopy, gridBoardVisibility, elementVisibility, componentID);
+        PartialObservableGridBoard copy = new PartialObservableGridBoard(getWidth(), getHeight(), copyCells(), gridBoardVisibility, elementVisibility, componentID);
         copyComponentTo(copy);
         return copy;
     }
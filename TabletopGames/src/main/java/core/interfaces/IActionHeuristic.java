@@ -22,10 +22,29 @@ public interface IActionHeuristic{
         return evaluateAction(action, state, new ArrayList<>());
     }
 
+    /**
+     * Scores all the legal actions in a state in one call.
+     *
+     * @param actions - all the actions available in the state
+     * @return - the value of each action, in the same order as actions
+     */
     default double[] evaluateAllActions(List<AbstractAction> actions, AbstractGameState state) {
+        return evaluateActions(actions, state, actions);
+    }
+
+    /**
+     * Scores a batch of actions from the same state (for example, just those newly available in an open loop node).
+     * Implementations that depend on the state as well as the action (e.g. via state features) should override this
+     * so that the state-dependent part is computed once per call, and not once per action.
+     *
+     * @param actions        - the actions to evaluate
+     * @param contextActions - all the actions available in the state (as for evaluateAction)
+     * @return - the value of each action, in the same order as actions
+     */
+    default double[] evaluateActions(List<AbstractAction> actions, AbstractGameState state, List<AbstractAction> contextActions) {
         double[] scores = new double[actions.size()];
         for (int i = 0; i < actions.size(); i++) {
-            scores[i] = evaluateAction(actions.get(i), state, actions);
+            scores[i] = evaluateAction(actions.get(i), state, contextActions);
         }
         return scores;
     }
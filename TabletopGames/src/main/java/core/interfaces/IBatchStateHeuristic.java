@@ -0,0 +1,29 @@
+package core.interfaces;
+
+import core.AbstractGameState;
+
+import java.util.List;
+
+/**
+ * A state heuristic that can score many states in one call. This is worthwhile for learned models (a value network,
+ * say) where each call has a fixed overhead, and MCTS will gather leaf states into batches for these if
+ * MCTSParams.evaluationBatchSize is greater than one.
+ */
+public interface IBatchStateHeuristic extends IStateHeuristic {
+
+    /**
+     * Scores each of the states for every player. The default just calls evaluateState() on each in turn.
+     * @param states - game states to evaluate.
+     * @return - one array per state, with the value of that state for each player.
+     */
+    default double[][] evaluateStates(List<AbstractGameState> states) {
+        double[][] retValue = new double[states.size()][];
+        for (int i = 0; i < retValue.length; i++) {
+            AbstractGameState gs = states.get(i);
+            retValue[i] = new double[gs.getNPlayers()];
+            for (int p = 0; p < retValue[i].length; p++)
+                retValue[i][p] = evaluateState(gs, p);
+        }
+        return retValue;
+    }
+}
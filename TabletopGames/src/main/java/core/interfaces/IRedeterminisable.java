@@ -0,0 +1,17 @@
+package core.interfaces;
+
+/**
+ * For game states that can redeterminise themselves in place. This is cheaper than a new copy(playerId), and
+ * is used by MCTS to resample the determinisations it keeps in a pool (see MCTSParams.determinisationPoolSize).
+ */
+public interface IRedeterminisable {
+
+    /**
+     * Reshuffles, in place, everything in the state that the player cannot see; in the same way as copy(playerId).
+     * This is only called on a state that is already a copy for that player, so it need not hide anything further.
+     * Use redeterminisationRnd, so that the main game is not affected.
+     *
+     * @param playerId - player observing the state
+     */
+    void redeterminise(int playerId);
+}
@@ -9,12 +9,14 @@ import core.rules.nodetypes.BranchingRuleNode;
 import core.rules.nodetypes.ConditionNode;
 import core.rules.nodetypes.RuleNode;
 
-import java.util.HashMap;
+import java.util.*;
 
 public abstract class AbstractRuleBasedForwardModel extends AbstractForwardModel {
 
-    // Rule executed last, rule to be executed next, and first rule to be executed in a turn (root)
-    protected Node lastRule, nextRule, root;
+    // First rule to be executed in a turn (root)
+    protected Node root;
+    // All rules reachable from the root, indexed by Node.index, with the root first. Shared by all copies of the model
+    private Node[] rules;
 
     /**
      * Default constructor. Any classes extending this should initialise the root node variable to the first rule
@@ -30,17 +32,29 @@ public abstract class AbstractRuleBasedForwardModel extends AbstractForwardModel
      *      - Use core.rules.rulenodes.ForceAllPlayerReaction.java type rules to force all players to react (if using
      *      a ReactiveTurnOrder).
      *
+     * The rule graph is compiled into an array the first time it is used, and is not copied with the model: the
+     * rule to execute next is kept in the game state (see AbstractGameStateWithTurnOrder.getNextRule()), so copies
+     * of the model and of the game state only share nodes, which must not change during the game.
+     *
      * Can use utilities.GameFlowDiagram.java class to visualise game flow, given a root node (and all children assigned)
      */
     protected AbstractRuleBasedForwardModel() {}
 
     /**
-     * Copy constructor from root node.
+     * Constructor from root node.
      * @param root - root rule node.
      */
     protected AbstractRuleBasedForwardModel(Node root) {
         this.root = root;
-        this.nextRule = root;
+    }
+
+    /**
+     * Copy constructor, sharing the rule graph of the given model.
+     * @param model - model to copy.
+     */
+    protected AbstractRuleBasedForwardModel(AbstractRuleBasedForwardModel model) {
+        this.root = model.root;
+        this.rules = model.getRules();
     }
 
     /**
@@ -49,8 +63,8 @@ public abstract class AbstractRuleBasedForwardModel extends AbstractForwardModel
      */
     protected void abstractSetup(AbstractGameState firstState) {
         super.abstractSetup(firstState);
-        nextRule = root;
-        lastRule = null;
+        if (firstState instanceof AbstractGameStateWithTurnOrder)
+            ((AbstractGameStateWithTurnOrder) firstState).setRuleCursor(0, -1);
     }
 
     /**
@@ -65,76 +79,72 @@ public abstract class AbstractRuleBasedForwardModel extends AbstractForwardModel
             throw new AssertionError("Rules Based Forward Model is only usable with AbstractGameStateWithTurnOrder");
 
         AbstractGameStateWithTurnOrder currentState = (AbstractGameStateWithTurnOrder) state;
-        if (nextRule == null) {
-            nextRule = lastRule.getNext();  // Go back to parent, skip it and go to next rule
-            if (nextRule == null) nextRule = root;
+        Node[] rules = getRules();
+        if (currentState.getNextRule() == -1) {
+            // Last rule had no next rule: go back to root
+            currentState.setRuleCursor(0, currentState.getLastRule());
             return;
         }
 
+        Node nextRule = rules[currentState.getNextRule()];
+        Node lastRule = currentState.getLastRule() == -1 ? null : rules[currentState.getLastRule()];
         do {
+            AbstractAction ruleAction = null;
             if (nextRule.requireAction()) {
                 if (action != null) {
-                    nextRule.setAction(action);
+                    ruleAction = action;
                     action = null;
                 } else {
-                    return;  // Wait for action to be sent to execute this rule requiring action
+                    // Wait for action to be sent to execute this rule requiring action
+                    currentState.setRuleCursor(nextRule.index, lastRule == null ? -1 : lastRule.index);
+                    return;
                 }
             }
             lastRule = nextRule;
-            nextRule = nextRule.execute(currentState);
+            nextRule = nextRule.execute(currentState, ruleAction);
         } while (nextRule != null);
 
-        nextRule = lastRule.getNext();  // Go back to parent, skip it and go to next rule
+        // Go back to parent, skip it and go to next rule (a condition only ends the loop if its branch is empty)
+        nextRule = lastRule instanceof RuleNode ? ((RuleNode) lastRule).getNext() : null;
+        currentState.setRuleCursor(nextRule == null ? -1 : nextRule.index, lastRule.index);
     }
 
     /**
-     * Copy root node with rule graph.
-     * @return - New copy of root
+     * @return - all rules reachable from the root, indexed by Node.index, compiling the graph if this was not done yet.
      */
-    protected Node copyRoot() {
-        return copyNodeGraph(new HashMap<>(), root);
+    protected final Node[] getRules() {
+        if (rules == null) rules = compile(root);
+        return rules;
     }
 
     /**
-     * Recursive copy of nodes in rule graph
-     * @param visitedNodes - Map keeping track of visited nodes
-     * @param node - Original node
-     * @return - Node with copy of rule graph
+     * Numbers the nodes of a rule graph in breadth-first order from the root, setting Node.index.
+     * @param root - root rule node.
+     * @return - the nodes reachable from the root, indexed by Node.index.
      */
-    private Node copyNodeGraph(HashMap<Integer, Node> visitedNodes, Node node) {
-
-        if(node == null) {
-            throw new AssertionError("Can't copy rule graph containing null nodes!");
+    private static Node[] compile(Node root) {
+        if (root == null) {
+            throw new AssertionError("Can't compile rule graph without a root node!");
         }
-        if(visitedNodes.containsKey(node.getId())) {
-            return visitedNodes.get(node.getId());
-        }
-
-        Node copy = node.copy();
-        visitedNodes.put(node.getId(), copy);
-
-        if(node instanceof RuleNode) {
-            if(node instanceof BranchingRuleNode) {
-                Node[] children = ((BranchingRuleNode) node).getChildren();
-                Node[] copies = new Node[children.length];
-                for (int j = 0; j < copies.length; j++) {
-                    copies[j] = copyNodeGraph(visitedNodes, children[j].getNext());
-                    if (children[j].parent != null) copies[j].setParent(copy);
-                }
-                ((BranchingRuleNode) copy).setNext(copies);
-            } else {
-                Node child = copyNodeGraph(visitedNodes, node.getNext());
-                if (node.getNext().parent != null) child.setParent(copy);
-                ((RuleNode) copy).setNext(child);
+        List<Node> nodes = new ArrayList<>();
+        Set<Node> visited = new HashSet<>();
+        nodes.add(root);
+        visited.add(root);
+        for (int i = 0; i < nodes.size(); i++) {
+            Node node = nodes.get(i);
+            node.index = i;
+            List<Node> children = new ArrayList<>();
+            if (node instanceof RuleNode) {
+                children.add(((RuleNode) node).getNext());
+                if (node instanceof BranchingRuleNode && ((BranchingRuleNode) node).getChildren() != null)
+                    children.addAll(Arrays.asList(((BranchingRuleNode) node).getChildren()));
+            } else if (node instanceof ConditionNode) {
+                children.addAll(Arrays.asList(((ConditionNode) node).getYesNo()));
+            }
+            for (Node child : children) {
+                if (child != null && visited.add(child)) nodes.add(child);
             }
-
-        } else if(node instanceof ConditionNode) {
-            Node childYes = copyNodeGraph(visitedNodes, ((ConditionNode) node).getYesNo()[0]);
-            Node childNo = copyNodeGraph(visitedNodes, ((ConditionNode) node).getYesNo()[1]);
-            if (((ConditionNode) node).getYesNo()[0].parent != null) childYes.setParent(copy);
-            if (((ConditionNode) node).getYesNo()[1].parent != null) childNo.setParent(copy);
-            ((ConditionNode) copy).setYesNo(childYes, childNo);
         }
-        return copy;
+        return nodes.toArray(new Node[0]);
     }
 }
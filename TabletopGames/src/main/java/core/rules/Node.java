@@ -5,6 +5,9 @@ import core.actions.AbstractAction;
 
 /**
  * A node in a tree of game rules. Receives a unique ID on creation, and keeps track of node properties.
+ * <p>
+ * Nodes hold no state of their own during a game, so one graph of nodes is shared by all copies of the forward
+ * model: the position of the game in the graph is kept in the game state (see AbstractRuleBasedForwardModel).
  */
 public abstract class Node {
     private static int nextID = 0;
@@ -12,8 +15,8 @@ public abstract class Node {
     private int id;  // Unique id for this node
     protected boolean actionNode;  // True if this node requires an action to execute
     protected boolean nextPlayerNode;  // True if this action changes active player
-    protected AbstractAction action;  // Action to execute if this node requires one
     protected Node parent;  // Parent node, can be used to retrieve parameters set by a previous node
+    int index = -1;  // Position of this node in the compiled rule graph, see AbstractRuleBasedForwardModel
 
     public Node() {
         id = nextID++;
@@ -27,7 +30,6 @@ public abstract class Node {
         this.id = node.id;
         this.actionNode = node.actionNode;
         this.nextPlayerNode = node.nextPlayerNode;
-        this.action = node.action;
     }
 
     /**
@@ -43,20 +45,12 @@ public abstract class Node {
     /**
      * Executes the functionality of this node.
      * @param gs - game state to apply functionality in.
+     * @param action - action requested by the player if this node requires one, null otherwise.
      * @return - Node, the next node to execute afterwards.
      */
-    public abstract Node execute(AbstractGameStateWithTurnOrder gs);
-
-    /**
-     * Retrieves the next node to execute after this.
-     * @return - Node, next child to execute.
-     */
-    public abstract Node getNext();
+    public abstract Node execute(AbstractGameStateWithTurnOrder gs, AbstractAction action);
 
     // Getters & setters
-    public final void setAction(AbstractAction action) {
-        this.action = action;
-    }
     public final boolean requireAction() { return actionNode; }
     public final void setNextPlayerNode() {
         nextPlayerNode = true;
@@ -49,6 +49,14 @@ public enum RunArg {
             "\t If a seedFile is specified, then this is ignored.",
             0,
             new Usage[]{Usage.RunGames}),
+    earlyStop("(Optional) If non-zero, the confidence level (e.g. 0.99) at which a matchup is ended early, once the\n" +
+            "\t head-to-head points difference between every pair of agents in it (over the games in that matchup) is significant.\n" +
+            "\t Defaults to 0.0 (off).",
+            0.0,
+            new Usage[]{Usage.RunGames}),
+    earlyStopMinGames("The minimum number of games each pair of agents must play in a matchup before early stopping can end it. Default is 30.",
+            30,
+            new Usage[]{Usage.RunGames}),
     evalGames("The number of games to run with the best predicted setting to estimate its true value (default is 20% of NTBEA iterations)",
             -1,
             new Usage[]{Usage.ParameterSearch}),
@@ -226,6 +234,16 @@ public enum RunArg {
     startBudget("The starting budget for the SkillLadder process. \n",
             8,
             new Usage[]{Usage.SkillLadder}),
+    telemetryFile("(Optional) A file to which a JSON snapshot of the running tournament results is written\n" +
+            "\t every telemetryPeriod games.",
+            "",
+            new Usage[]{Usage.RunGames}),
+    telemetryPeriod("The number of games between snapshots written to telemetryFile. Default is 10.",
+            10,
+            new Usage[]{Usage.RunGames}),
+    telemetryPort("(Optional) If non-zero, the running tournament results are served as JSON from http://localhost:port/",
+            0,
+            new Usage[]{Usage.RunGames}),
     tuneGame("If true, then we will tune the game instead of tuning the agent.\n" +
             "\tIn this case the searchSpace file must be relevant for the game.",
             false,
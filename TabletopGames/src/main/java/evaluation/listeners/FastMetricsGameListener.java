@@ -0,0 +1,183 @@
+package evaluation.listeners;
+
+import evaluation.metrics.AbstractMetric;
+import evaluation.metrics.Event;
+import evaluation.metrics.IDataLogger;
+import evaluation.metrics.tablessaw.BufferedDataTableSaw;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static evaluation.metrics.Event.GameEvent.ABOUT_TO_START;
+import static evaluation.metrics.Event.GameEvent.GAME_OVER;
+import static evaluation.metrics.IDataLogger.ReportDestination.ToConsole;
+import static evaluation.metrics.IDataLogger.ReportType.Plot;
+import static evaluation.metrics.IDataLogger.ReportType.Summary;
+
+/**
+ * A MetricsGameListener for use in large runs, where the cost of recording metrics would otherwise slow the games down.
+ * <p>
+ * - Metric data is buffered in primitive arrays (see BufferedDataTableSaw), and appended to the underlying tables in
+ * blocks on a single background thread. Everything is written before report() processes the data.
+ * - Each metric can be sampled, so that it only runs on one in every N of the events it listens to.
+ * ABOUT_TO_START and GAME_OVER are never sampled out. Sampling is only appropriate for metrics that record a
+ * snapshot of the state or action; not for those that accumulate information across events.
+ * - The time spent in this listener is measured, and is reported (to console) with the metrics.
+ */
+public class FastMetricsGameListener extends MetricsGameListener {
+
+    public static int BUFFER_ROWS = 1024;
+
+    protected final ExecutorService writer;
+    protected final AbstractMetric[] metricArray;
+    protected final int[] samplingInterval;
+    protected final long[] eventsSeen;
+    protected final long[] metricRuns;
+    protected final long[] metricNanos;
+    protected long dispatchNanos;
+    protected long eventsDispatched;
+    protected boolean reportOverhead = true;
+
+    public FastMetricsGameListener(AbstractMetric[] metrics) {
+        this(ToConsole, new IDataLogger.ReportType[]{Summary, Plot}, 1.0, metrics);
+    }
+
+    public FastMetricsGameListener(IDataLogger.ReportDestination logTo, AbstractMetric[] metrics) {
+        this(logTo, new IDataLogger.ReportType[]{Summary, Plot}, 1.0, metrics);
+    }
+
+    /**
+     * @param samplingRate the default proportion of events each metric records data for (1.0 for all of them)
+     */
+    public FastMetricsGameListener(IDataLogger.ReportDestination logTo, IDataLogger.ReportType[] dataTypes,
+                                   double samplingRate, AbstractMetric[] metrics) {
+        super(logTo, dataTypes, metrics);
+        writer = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "MetricsWriter");
+            t.setDaemon(true);
+            return t;
+        });
+        metricArray = this.metrics.values().toArray(new AbstractMetric[0]);
+        samplingInterval = new int[metricArray.length];
+        eventsSeen = new long[metricArray.length];
+        metricRuns = new long[metricArray.length];
+        metricNanos = new long[metricArray.length];
+        for (int i = 0; i < metricArray.length; i++) {
+            metricArray[i].setDataLogger(new BufferedDataTableSaw(metricArray[i], BUFFER_ROWS, writer));
+            samplingInterval[i] = intervalFor(samplingRate);
+        }
+    }
+
+    private static int intervalFor(double samplingRate) {
+        if (samplingRate <= 0.0 || samplingRate > 1.0)
+            throw new IllegalArgumentException("Sampling rate must be in (0, 1] : " + samplingRate);
+        return (int) Math.round(1.0 / samplingRate);
+    }
+
+    /**
+     * Sets the proportion of events that the named metric records data for.
+     */
+    public void setSamplingRate(String metricName, double samplingRate) {
+        for (int i = 0; i < metricArray.length; i++) {
+            if (metricArray[i].getName().equals(metricName)) {
+                samplingInterval[i] = intervalFor(samplingRate);
+                return;
+            }
+        }
+        throw new IllegalArgumentException("Unknown metric " + metricName);
+    }
+
+    public void setReportOverhead(boolean reportOverhead) {
+        this.reportOverhead = reportOverhead;
+    }
+
+    @Override
+    public void onEvent(Event event) {
+        if (!eventsOfInterest.contains(event.type))
+            return;
+        long start = System.nanoTime();
+        boolean neverSample = event.type == ABOUT_TO_START || event.type == GAME_OVER;
+        for (int i = 0; i < metricArray.length; i++) {
+            AbstractMetric metric = metricArray[i];
+            if (metric.listens(event.type)) {
+                eventsSeen[i]++;
+                if (neverSample || eventsSeen[i] % samplingInterval[i] == 0) {
+                    long metricStart = System.nanoTime();
+                    metric.run(this, event);
+                    if (metric.getDataLogger() instanceof BufferedDataTableSaw buffered)
+                        buffered.flushIfFull();
+                    metricNanos[i] += System.nanoTime() - metricStart;
+                    metricRuns[i]++;
+                }
+            }
+            if (event.type == GAME_OVER)
+                metric.notifyGameOver();
+        }
+        dispatchNanos += System.nanoTime() - start;
+        eventsDispatched++;
+    }
+
+    /**
+     * Writes all buffered data to the underlying tables
+     */
+    public void drain() {
+        for (AbstractMetric metric : metricArray) {
+            if (metric.getDataLogger() instanceof BufferedDataTableSaw buffered)
+                buffered.drain();
+        }
+    }
+
+    @Override
+    public void report() {
+        drain();
+        super.report();
+        if (reportOverhead)
+            System.out.println(getOverheadReport());
+    }
+
+    /**
+     * @return the total time spent in onEvent() (in nanoseconds), on the game thread
+     */
+    public long getDispatchNanos() {
+        return dispatchNanos;
+    }
+
+    /**
+     * @return the total time spent writing buffered data into tables (in nanoseconds), mostly on the background thread
+     */
+    public long getWriteNanos() {
+        long retValue = 0;
+        for (AbstractMetric metric : metricArray) {
+            if (metric.getDataLogger() instanceof BufferedDataTableSaw buffered)
+                retValue += buffered.getAppendNanos();
+        }
+        return retValue;
+    }
+
+    public String getOverheadReport() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Metrics overhead: %d events, %.1f ms on game thread, %.1f ms writing tables%n",
+                eventsDispatched, dispatchNanos / 1e6, getWriteNanos() / 1e6));
+        for (int i = 0; i < metricArray.length; i++) {
+            sb.append(String.format("\t%-30s runs: %8d / %8d (1 in %d) %10.1f ms%n", metricArray[i].getName(),
+                    metricRuns[i], eventsSeen[i], samplingInterval[i], metricNanos[i] / 1e6));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Stops the background writer thread (after writing any data still buffered). Data cannot be recorded after this.
+     */
+    public void shutdown() {
+        drain();
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(1, TimeUnit.MINUTES))
+                writer.shutdownNow();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            writer.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package evaluation.metrics.tablessaw;
+
+import core.Game;
+import evaluation.metrics.AbstractMetric;
+import evaluation.metrics.IDataLogger;
+import tech.tablesaw.api.*;
+import tech.tablesaw.columns.Column;
+
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * A DataTableSaw that does not write to the underlying Table as data arrives. Instead, data is held in
+ * column buffers backed by primitive arrays, and whole blocks of rows are appended to the Table at once, either on
+ * a background thread (if an executor is provided) or synchronously.
+ * <p>
+ * drain() must be called before the Table is read (e.g. by a data processor). The listener that owns this
+ * logger is responsible for that (see FastMetricsGameListener).
+ */
+public class BufferedDataTableSaw extends DataTableSaw {
+
+    /**
+     * The buffered values for one column. Only the array relevant to the column type is allocated.
+     */
+    static final class ColumnBuffer {
+        final String name;
+        final Class<?> type;
+        int[] ints;
+        double[] doubles;
+        boolean[] booleans;
+        String[] strings;
+        boolean[] missing;
+        int size;
+
+        ColumnBuffer(String name, Class<?> type, int capacity) {
+            this.name = name;
+            this.type = type;
+            missing = new boolean[capacity];
+            if (type == Integer.class)
+                ints = new int[capacity];
+            else if (type == Double.class)
+                doubles = new double[capacity];
+            else if (type == Boolean.class)
+                booleans = new boolean[capacity];
+            else if (type == String.class)
+                strings = new String[capacity];
+            else
+                throw new AssertionError("Unknown column type");
+        }
+
+        void add(Object value) {
+            if (size == missing.length)
+                grow();
+            if (value == null) {
+                missing[size] = true;
+            } else if (ints != null) {
+                ints[size] = ((Number) value).intValue();
+            } else if (doubles != null) {
+                doubles[size] = ((Number) value).doubleValue();
+            } else if (booleans != null) {
+                booleans[size] = (Boolean) value;
+            } else {
+                strings[size] = value.toString();
+            }
+            size++;
+        }
+
+        // This happens if a row is still incomplete when the buffer is full; the row is then finished before hand-off
+        private void grow() {
+            int capacity = missing.length * 2;
+            missing = Arrays.copyOf(missing, capacity);
+            if (ints != null) ints = Arrays.copyOf(ints, capacity);
+            if (doubles != null) doubles = Arrays.copyOf(doubles, capacity);
+            if (booleans != null) booleans = Arrays.copyOf(booleans, capacity);
+            if (strings != null) strings = Arrays.copyOf(strings, capacity);
+        }
+
+        ColumnBuffer emptyCopy(int capacity) {
+            return new ColumnBuffer(name, type, capacity);
+        }
+    }
+
+    final int capacity;
+    final ExecutorService executor;  // null for synchronous appends
+    private Map<String, ColumnBuffer> buffers = new LinkedHashMap<>();
+    private final List<Future<?>> pending = new ArrayList<>();
+    private volatile long appendNanos;
+    private volatile long rowsAppended;
+
+    public BufferedDataTableSaw(AbstractMetric metric, int capacity, ExecutorService executor) {
+        super(metric);
+        this.capacity = capacity;
+        this.executor = executor;
+    }
+
+    @Override
+    public void init(Game game, int nPlayersPerGame, Set<String> playerNames) {
+        waitForPending();
+        synchronized (this) {
+            super.init(game, nPlayersPerGame, playerNames);
+        }
+        Map<String, Class<?>> allColumns = new LinkedHashMap<>(metric.getDefaultColumns());
+        allColumns.putAll(metric.getColumns(nPlayersPerGame, playerNames));
+        for (Map.Entry<String, Class<?>> entry : allColumns.entrySet()) {
+            if (!buffers.containsKey(entry.getKey()))
+                buffers.put(entry.getKey(), new ColumnBuffer(entry.getKey(), entry.getValue(), capacity));
+        }
+    }
+
+    @Override
+    public void addData(String columnName, Object data) {
+        ColumnBuffer buffer = buffers.get(columnName);
+        if (buffer == null)
+            throw new IllegalArgumentException("Column " + columnName + " does not exist in " + metric.getName());
+        buffer.add(data);
+    }
+
+    /**
+     * Hands off the buffered rows once the buffers are full, and every column holds the same number of rows (so
+     * that we never split a row).
+     */
+    public void flushIfFull() {
+        int rows = -1;
+        for (ColumnBuffer buffer : buffers.values()) {
+            if (rows == -1)
+                rows = buffer.size;
+            else if (buffer.size != rows)
+                return;  // part-way through a row
+        }
+        if (rows < capacity)
+            return;
+        handOff();
+    }
+
+    private void handOff() {
+        Map<String, ColumnBuffer> block = buffers;
+        Map<String, ColumnBuffer> fresh = new LinkedHashMap<>();
+        for (ColumnBuffer buffer : block.values())
+            fresh.put(buffer.name, buffer.emptyCopy(capacity));
+        buffers = fresh;
+        if (executor == null) {
+            appendToTable(block.values());
+        } else {
+            pending.removeIf(Future::isDone);
+            pending.add(executor.submit(() -> appendToTable(block.values())));
+        }
+    }
+
+    private synchronized void appendToTable(Collection<ColumnBuffer> block) {
+        long start = System.nanoTime();
+        int rows = 0;
+        for (ColumnBuffer buffer : block) {
+            Column<?> column = data.column(buffer.name);
+            rows = buffer.size;
+            if (column instanceof IntColumn intColumn) {
+                for (int i = 0; i < buffer.size; i++) {
+                    if (buffer.missing[i]) intColumn.appendMissing();
+                    else intColumn.append(buffer.ints[i]);
+                }
+            } else if (column instanceof DoubleColumn doubleColumn) {
+                for (int i = 0; i < buffer.size; i++) {
+                    if (buffer.missing[i]) doubleColumn.appendMissing();
+                    else doubleColumn.append(buffer.doubles[i]);
+                }
+            } else if (column instanceof BooleanColumn booleanColumn) {
+                for (int i = 0; i < buffer.size; i++) {
+                    if (buffer.missing[i]) booleanColumn.appendMissing();
+                    else booleanColumn.append(buffer.booleans[i]);
+                }
+            } else if (column instanceof StringColumn stringColumn) {
+                for (int i = 0; i < buffer.size; i++) {
+                    if (buffer.missing[i]) stringColumn.appendMissing();
+                    else stringColumn.append(buffer.strings[i]);
+                }
+            } else {
+                throw new AssertionError("Unknown column type for " + buffer.name);
+            }
+        }
+        rowsAppended += rows;
+        appendNanos += System.nanoTime() - start;
+    }
+
+    private void waitForPending() {
+        for (Future<?> future : pending) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while writing metric data for " + metric.getName(), e);
+            } catch (ExecutionException e) {
+                throw new RuntimeException("Error writing metric data for " + metric.getName(), e.getCause());
+            }
+        }
+        pending.clear();
+    }
+
+    /**
+     * Writes everything buffered so far to the Table, and waits for any background writes to finish.
+     * After this the Table is complete, and safe to read on the calling thread.
+     */
+    public void drain() {
+        waitForPending();
+        if (buffers.values().stream().anyMatch(b -> b.size > 0)) {
+            Map<String, ColumnBuffer> block = buffers;
+            buffers = new LinkedHashMap<>();
+            for (ColumnBuffer buffer : block.values())
+                buffers.put(buffer.name, buffer.emptyCopy(capacity));
+            appendToTable(block.values());
+        }
+    }
+
+    /**
+     * @return the total time spent appending buffered rows to the Table (on whichever thread), in nanoseconds
+     */
+    public long getAppendNanos() {
+        return appendNanos;
+    }
+
+    public long getRowsAppended() {
+        return rowsAppended;
+    }
+
+    @Override
+    public void reset() {
+        waitForPending();
+        buffers.replaceAll((name, buffer) -> buffer.emptyCopy(capacity));
+        super.reset();
+    }
+
+    @Override
+    public void flush() {
+        drain();
+        super.flush();
+    }
+
+    @Override
+    public IDataLogger copy() {
+        drain();
+        return super.copy();
+    }
+
+    @Override
+    public IDataLogger emptyCopy() {
+        drain();
+        return super.emptyCopy();
+    }
+
+    @Override
+    public IDataLogger create() {
+        return new BufferedDataTableSaw(metric, capacity, executor);
+    }
+}
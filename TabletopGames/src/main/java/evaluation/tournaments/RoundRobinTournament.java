@@ -49,6 +49,8 @@ public class RoundRobinTournament extends AbstractTournament {
     public String name;
     public boolean byTeam;
     protected String evalMethod;
+    protected TournamentTelemetry telemetry;
+    int telemetryPort;
 
     protected long randomSeed;
     List<Integer> gameSeeds = new ArrayList<>();
@@ -158,6 +160,14 @@ public class RoundRobinTournament extends AbstractTournament {
         String destDir = (String) config.getOrDefault(RunArg.destDir, "");
         if (!destDir.isEmpty())
             this.resultsFile = destDir + File.separator + resultsFile;
+
+        this.telemetry = new TournamentTelemetry(this.agents.stream().map(AbstractPlayer::toString).collect(toList()));
+        String telemetryFile = (String) config.getOrDefault(RunArg.telemetryFile, "");
+        if (!telemetryFile.isEmpty())
+            telemetry.setSnapshotFile(telemetryFile, (int) config.getOrDefault(RunArg.telemetryPeriod, 10));
+        telemetry.setEarlyStopping(((Number) config.getOrDefault(RunArg.earlyStop, 0.0)).doubleValue(),
+                (int) config.getOrDefault(RunArg.earlyStopMinGames, 30));
+        this.telemetryPort = (int) config.getOrDefault(RunArg.telemetryPort, 0);
     }
 
     /**
@@ -176,6 +186,8 @@ public class RoundRobinTournament extends AbstractTournament {
             gameTracker.init(game, nPlayers, agentNames);
             game.addListener(gameTracker);
         }
+        if (telemetryPort > 0)
+            telemetry.startServer(telemetryPort);
 
         LinkedList<Integer> matchUp = new LinkedList<>();
         // add outer loop if we have tournamentSeeds enabled; if not this will just run once
@@ -192,6 +204,8 @@ public class RoundRobinTournament extends AbstractTournament {
             }
             createAndRunMatchUp(matchUp);
         }
+        telemetry.writeSnapshot();
+        telemetry.stopServer();
         reportResults();
 
         for (IGameListener listener : listeners)
@@ -257,6 +271,10 @@ public class RoundRobinTournament extends AbstractTournament {
                 // In the RANDOM case we use a new seed for each game
                 PermutationCycler idStream = new PermutationCycler(agents.size(), seedRnd, nTeams);
                 for (int i = 0; i < totalGameBudget; i++) {
+                    if (telemetry.isDecided(allAgentIds)) {
+                        telemetry.recordSkipped(totalGameBudget - i);
+                        break;
+                    }
                     List<Integer> matchup = new ArrayList<>(nTeams);
                     for (int j = 0; j < nTeams; j++)
                         matchup.add(idStream.getAsInt());
@@ -348,7 +366,10 @@ public class RoundRobinTournament extends AbstractTournament {
             }
         }
 
-        // Run the game N = gamesPerMatchUp times with these players
+        // Run the game N = gamesPerMatchUp times with these players (unless early stopping ends the matchup)
+        // Only the games in this matchup are used to decide whether to stop it
+        TournamentTelemetry.HeadToHead matchupResults = telemetry.newHeadToHead();
+        int gamesRun = 0;
         for (int i = 0; i < nGames; i++) {
             // if tournamentSeeds > 0, then we are running this many tournaments, each with a different random seed fixed for the whole tournament
             // so we override the standard random seeds
@@ -363,6 +384,9 @@ public class RoundRobinTournament extends AbstractTournament {
             game.run();  // Always running tournaments without visuals
             GameResult[] results = game.getGameState().getPlayerResults();
 
+            double[] gamePoints = new double[matchUpPlayers.size()];
+            int[] gameOrdinals = new int[matchUpPlayers.size()];
+            double[] gameScores = new double[matchUpPlayers.size()];
             int numDraws = 0;
             for (int j = 0; j < matchUpPlayers.size(); j++) {
                 nGamesPlayed[agentIDsInThisGame.get(j)] += 1;
@@ -373,16 +397,19 @@ public class RoundRobinTournament extends AbstractTournament {
                 }
 
                 // now we need to be careful if we have a team game, as the agents are indexed by Team, not player
+                int playerForAgent = j;
                 if (byTeam) {
                     for (int player = 0; player < game.getGameState().getNPlayers(); player++) {
                         if (game.getGameState().getTeam(player) == j) {
-                            numDraws += updatePoints(results, agentIDsInThisGame, agentIDsInThisGame.get(j), player);
+                            playerForAgent = player;
                             break; // we stop after one player on the team to avoid double counting
                         }
                     }
-                } else {
-                    numDraws += updatePoints(results, agentIDsInThisGame, agentIDsInThisGame.get(j), j);
                 }
+                numDraws += updatePoints(results, agentIDsInThisGame, agentIDsInThisGame.get(j), playerForAgent);
+                gamePoints[j] = results[playerForAgent] == GameResult.WIN_GAME ? 1.0 : 0.0;
+                gameOrdinals[j] = game.getGameState().getOrdinalPosition(playerForAgent);
+                gameScores[j] = game.getGameState().getGameScore(playerForAgent);
             }
 
             if (numDraws > 0) {
@@ -391,8 +418,11 @@ public class RoundRobinTournament extends AbstractTournament {
                     if (results[j] == GameResult.DRAW_GAME) pointsPerPlayer[agentIDsInThisGame.get(j)] += pointsPerDraw;
                     if (results[j] == GameResult.DRAW_GAME)
                         pointsPerPlayerSquared[agentIDsInThisGame.get(j)] += pointsPerDraw * pointsPerDraw;
+                    if (results[j] == GameResult.DRAW_GAME) gamePoints[j] += pointsPerDraw;
                 }
             }
+            telemetry.recordGame(agentIDsInThisGame, gamePoints, gameOrdinals, gameScores);
+            matchupResults.record(agentIDsInThisGame, gamePoints);
 
             if (verbose) {
                 StringBuffer sb = new StringBuffer();
@@ -409,8 +439,15 @@ public class RoundRobinTournament extends AbstractTournament {
                 System.out.println(sb);
             }
 
+            gamesRun++;
+            if (gamesRun < nGames && telemetry.isDecided(matchupResults, agentIDsInThisGame)) {
+                telemetry.recordSkipped(nGames - gamesRun);
+                if (verbose)
+                    System.out.printf("Matchup %s decided after %d of %d games%n", agentIDsInThisGame, gamesRun, nGames);
+                break;
+            }
         }
-        totalGamesRun += nGames;
+        totalGamesRun += gamesRun;
     }
 
     private int updatePoints(GameResult[] results, List<Integer> matchUpPlayers, int j, int player) {
@@ -496,6 +533,12 @@ public class RoundRobinTournament extends AbstractTournament {
         // To console
         if (verbose)
             System.out.printf("============= %s - %d games played ============= \n", game.getGameType().name(), totalGamesRun);
+        if (telemetry.getGamesSkipped() > 0) {
+            String str = String.format("Early stopping skipped %d games of the scheduled %d.\n",
+                    telemetry.getGamesSkipped(), totalGamesRun + telemetry.getGamesSkipped());
+            dataDump.add(str);
+            if (verbose) System.out.print(str);
+        }
         for (int i = 0; i < this.agents.size(); i++) {
             String str = String.format("%s got %.2f points. ", agents.get(i), pointsPerPlayer[i]);
             if (toFile) dataDump.add(str);
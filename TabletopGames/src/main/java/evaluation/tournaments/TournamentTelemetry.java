@@ -0,0 +1,357 @@
+package evaluation.tournaments;
+
+import com.sun.net.httpserver.HttpServer;
+import org.apache.commons.math3.distribution.NormalDistribution;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Incremental results for a tournament, updated after every game (rather than only calculated at the end).
+ * <p>
+ * For each agent we keep running sums of points (1 for a win, 1/nDraws for a draw), ordinal position and score, so
+ * that means and standard errors (Normal approximation, as in RoundRobinTournament.calculateFinalResults) are available
+ * at any point. These can be:
+ * - written as a JSON snapshot to a file every snapshotPeriod games (the file is replaced atomically, so it can be
+ * polled safely by other processes)
+ * - served from a local HTTP endpoint (http://localhost:port/), if a port is specified
+ * - used to stop a matchup early, once every pair of agents in it has a head-to-head difference in points that is
+ * significant. Only the games between those agents count, from a HeadToHead sample that the caller keeps for the
+ * matchup; so results from other matchups (or against other agents) can never stop it.
+ * <p>
+ * All public methods are synchronized, as the HTTP server reads from its own thread.
+ */
+public class TournamentTelemetry {
+
+    final String[] agentNames;
+    final int[] games;
+    final double[] points, pointsSquared;
+    final double[] ordinal, ordinalSquared;
+    final double[] score;
+    final int[][] gamesPerOpponent;
+    final double[][] pointsPerOpponent;
+    final HeadToHead headToHead;
+    int totalGames;
+    int gamesSkipped;
+    final long startTime = System.currentTimeMillis();
+
+    String snapshotFile = "";
+    int snapshotPeriod = 10;
+    HttpServer server;
+
+    // early stopping is off unless z > 0
+    double z = 0.0;
+    int minGames = 30;
+
+    public TournamentTelemetry(List<String> agentNames) {
+        int n = agentNames.size();
+        this.agentNames = agentNames.toArray(new String[0]);
+        games = new int[n];
+        points = new double[n];
+        pointsSquared = new double[n];
+        ordinal = new double[n];
+        ordinalSquared = new double[n];
+        score = new double[n];
+        gamesPerOpponent = new int[n][n];
+        pointsPerOpponent = new double[n][n];
+        headToHead = new HeadToHead(n);
+    }
+
+    /**
+     * The points difference in the games between each pair of agents, from some set of games (e.g. one matchup).
+     * This is a paired sample: for each game in which a and b both played we have points(a) - points(b).
+     */
+    public static class HeadToHead {
+        final int[][] games;
+        final double[][] difference, differenceSquared;
+
+        HeadToHead(int nAgents) {
+            games = new int[nAgents][nAgents];
+            difference = new double[nAgents][nAgents];
+            differenceSquared = new double[nAgents][nAgents];
+        }
+
+        /**
+         * @param agentIDs   the agent in each position of the game
+         * @param gamePoints the points for each position
+         */
+        public synchronized void record(List<Integer> agentIDs, double[] gamePoints) {
+            for (int j = 0; j < agentIDs.size(); j++) {
+                for (int k = 0; k < agentIDs.size(); k++) {
+                    int a = agentIDs.get(j), b = agentIDs.get(k);
+                    if (j == k || a == b) continue;
+                    double d = gamePoints[j] - gamePoints[k];
+                    games[a][b]++;
+                    difference[a][b] += d;
+                    differenceSquared[a][b] += d * d;
+                }
+            }
+        }
+
+        public synchronized int games(int a, int b) {
+            return games[a][b];
+        }
+
+        /**
+         * @return the mean points difference of a over b, in the games between them
+         */
+        public synchronized double meanDifference(int a, int b) {
+            return games[a][b] == 0 ? 0.0 : difference[a][b] / games[a][b];
+        }
+
+        public synchronized double stdErr(int a, int b) {
+            return TournamentTelemetry.stdErr(difference[a][b], differenceSquared[a][b], games[a][b]);
+        }
+    }
+
+    /**
+     * @return an empty sample, for the caller to record the games of one matchup in
+     */
+    public HeadToHead newHeadToHead() {
+        return new HeadToHead(agentNames.length);
+    }
+
+    /**
+     * @param file   the file to write snapshots to; an empty string for no snapshots
+     * @param period the number of games between snapshots
+     */
+    public synchronized void setSnapshotFile(String file, int period) {
+        if (period < 1)
+            throw new IllegalArgumentException("Snapshot period must be positive : " + period);
+        this.snapshotFile = file;
+        this.snapshotPeriod = period;
+    }
+
+    /**
+     * @param confidence the two-sided confidence level at which the head-to-head points difference between each pair
+     *                   of agents must be significant to end a matchup early; 0.0 to switch early stopping off. As the intervals are checked after
+     *                   every game, this should be high (e.g. 0.99) to keep the chance of a wrong decision small.
+     * @param minGames   the minimum number of games each pair of agents must have played against each other (in the
+     *                   matchup) before it is stopped
+     */
+    public synchronized void setEarlyStopping(double confidence, int minGames) {
+        if (confidence < 0.0 || confidence >= 1.0)
+            throw new IllegalArgumentException("Early stopping confidence must be in [0, 1) : " + confidence);
+        this.z = confidence == 0.0 ? 0.0 : new NormalDistribution().inverseCumulativeProbability(0.5 + confidence / 2.0);
+        this.minGames = minGames;
+    }
+
+    public boolean earlyStoppingEnabled() {
+        return z > 0.0;
+    }
+
+    /**
+     * Starts a local HTTP server that returns the current snapshot on any GET request.
+     */
+    public synchronized void startServer(int port) {
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        } catch (IOException e) {
+            System.out.println("Unable to start telemetry server on port " + port + " : " + e.getMessage());
+            return;
+        }
+        server.createContext("/", exchange -> {
+            byte[] body = snapshot().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        });
+        server.setExecutor(null);
+        server.start();
+        System.out.println("Tournament telemetry available at http://localhost:" + server.getAddress().getPort() + "/");
+    }
+
+    public synchronized void stopServer() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+    }
+
+    /**
+     * Records the result of one game.
+     *
+     * @param agentIDs  the agent in each position of the matchup
+     * @param gamePoints the points for each position (1 for a win, 1/nDraws for a draw, else 0)
+     * @param ordinals  the ordinal position for each position
+     * @param scores    the game score for each position
+     */
+    public synchronized void recordGame(List<Integer> agentIDs, double[] gamePoints, int[] ordinals, double[] scores) {
+        for (int j = 0; j < agentIDs.size(); j++) {
+            int a = agentIDs.get(j);
+            games[a]++;
+            points[a] += gamePoints[j];
+            pointsSquared[a] += gamePoints[j] * gamePoints[j];
+            ordinal[a] += ordinals[j];
+            ordinalSquared[a] += ordinals[j] * ordinals[j];
+            score[a] += scores[j];
+            for (int k = 0; k < agentIDs.size(); k++) {
+                if (k != j) {
+                    gamesPerOpponent[a][agentIDs.get(k)]++;
+                    pointsPerOpponent[a][agentIDs.get(k)] += gamePoints[j];
+                }
+            }
+        }
+        headToHead.record(agentIDs, gamePoints);
+        totalGames++;
+        if (!snapshotFile.isEmpty() && totalGames % snapshotPeriod == 0)
+            writeSnapshot();
+    }
+
+    /**
+     * Records that games originally scheduled were not played because of early stopping
+     */
+    public synchronized void recordSkipped(int nGames) {
+        gamesSkipped += nGames;
+    }
+
+    public synchronized double winRate(int agent) {
+        return games[agent] == 0 ? 0.0 : points[agent] / games[agent];
+    }
+
+    public synchronized double winRateStdErr(int agent) {
+        return stdErr(points[agent], pointsSquared[agent], games[agent]);
+    }
+
+    public synchronized double ordinalMean(int agent) {
+        return games[agent] == 0 ? 0.0 : ordinal[agent] / games[agent];
+    }
+
+    public synchronized double ordinalStdErr(int agent) {
+        return stdErr(ordinal[agent], ordinalSquared[agent], games[agent]);
+    }
+
+    private static double stdErr(double sum, double sumSquared, int n) {
+        if (n < 2)
+            return Double.POSITIVE_INFINITY;
+        double mean = sum / n;
+        double variance = Math.max(0.0, sumSquared / n - mean * mean);
+        return Math.sqrt(variance / n);
+    }
+
+    /**
+     * As isDecided(sample, agentIDs), using the games between the agents over the whole tournament so far.
+     * This is for when the whole tournament is one matchup (e.g. random matchups of all the agents).
+     */
+    public synchronized boolean isDecided(List<Integer> agentIDs) {
+        return isDecided(headToHead, agentIDs);
+    }
+
+    /**
+     * @param sample   the games to decide on; for a matchup, just the games played in it
+     * @param agentIDs the agents in the matchup
+     * @return true if early stopping is on, and for every pair of agents there are at least minGames between them in
+     * the sample, with a mean points difference that is more than z standard errors from zero (so further games
+     * will not change the ranking of these agents at this confidence level)
+     */
+    public synchronized boolean isDecided(HeadToHead sample, List<Integer> agentIDs) {
+        if (z <= 0.0)
+            return false;
+        for (int j = 0; j < agentIDs.size(); j++) {
+            int a = agentIDs.get(j);
+            for (int k = j + 1; k < agentIDs.size(); k++) {
+                int b = agentIDs.get(k);
+                if (a == b)
+                    return false;  // self-play is never decided
+                if (sample.games(a, b) < minGames)
+                    return false;
+                if (Math.abs(sample.meanDifference(a, b)) <= z * sample.stdErr(a, b))
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    public synchronized int getTotalGames() {
+        return totalGames;
+    }
+
+    public synchronized int getGamesSkipped() {
+        return gamesSkipped;
+    }
+
+    /**
+     * @return the current results as a JSON string
+     */
+    public synchronized String snapshot() {
+        double zReport = z > 0.0 ? z : 1.96;
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\n");
+        sb.append(String.format("  \"gamesPlayed\": %d,\n", totalGames));
+        sb.append(String.format("  \"gamesSkipped\": %d,\n", gamesSkipped));
+        sb.append(String.format("  \"elapsedSeconds\": %s,\n", number((System.currentTimeMillis() - startTime) / 1000.0)));
+        sb.append(String.format("  \"z\": %s,\n", number(zReport)));
+        sb.append("  \"agents\": [\n");
+        for (int i = 0; i < agentNames.length; i++) {
+            double wr = winRate(i), wrSE = winRateStdErr(i);
+            double ord = ordinalMean(i), ordSE = ordinalStdErr(i);
+            sb.append("    {");
+            sb.append(String.format("\"name\": \"%s\", \"games\": %d, ", escape(agentNames[i]), games[i]));
+            sb.append(String.format("\"winRate\": %s, \"winRateLow\": %s, \"winRateHigh\": %s, ",
+                    number(wr), number(wr - zReport * wrSE), number(wr + zReport * wrSE)));
+            sb.append(String.format("\"ordinal\": %s, \"ordinalLow\": %s, \"ordinalHigh\": %s, ",
+                    number(ord), number(ord - zReport * ordSE), number(ord + zReport * ordSE)));
+            sb.append(String.format("\"meanScore\": %s, ", number(games[i] == 0 ? 0.0 : score[i] / games[i])));
+            sb.append("\"winRateVs\": {");
+            boolean first = true;
+            for (int j = 0; j < agentNames.length; j++) {
+                if (j == i || gamesPerOpponent[i][j] == 0) continue;
+                if (!first) sb.append(", ");
+                sb.append(String.format("\"%s\": %s", escape(agentNames[j]),
+                        number(pointsPerOpponent[i][j] / gamesPerOpponent[i][j])));
+                first = false;
+            }
+            sb.append("}}");
+            sb.append(i < agentNames.length - 1 ? ",\n" : "\n");
+        }
+        sb.append("  ]\n}\n");
+        return sb.toString();
+    }
+
+    private static String number(double value) {
+        // JSON has no representation of infinity or NaN, and always uses '.' as the decimal separator
+        return Double.isFinite(value) ? String.format(Locale.ROOT, "%.4f", value) : "null";
+    }
+
+    private static String escape(String s) {
+        return s.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    /**
+     * Writes the snapshot to a temporary file, and then moves it over the snapshot file.
+     */
+    public synchronized void writeSnapshot() {
+        if (snapshotFile.isEmpty())
+            return;
+        try {
+            File target = new File(snapshotFile);
+            File dir = target.getAbsoluteFile().getParentFile();
+            if (dir != null && !dir.exists())
+                dir.mkdirs();
+            File temp = new File(target.getAbsolutePath() + ".tmp");
+            try (FileWriter writer = new FileWriter(temp)) {
+                writer.write(snapshot());
+            }
+            try {
+                Files.move(temp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            System.out.println("Unable to write telemetry snapshot to " + snapshotFile + " : " + e.getMessage());
+            snapshotFile = "";
+        }
+    }
+}
@@ -185,7 +185,7 @@ public class BattleloreGameState extends AbstractGameState {
     protected AbstractGameState _copy(int playerId) {
         BattleloreGameState state = new BattleloreGameState(gameParameters.copy(), getNPlayers());
 
-        state.gameBoard = gameBoard.copy();
+        state.gameBoard = gameBoard.emptyCopy();
 
         for (int x = 0; x < gameBoard.getWidth(); x++) {
             for(int y = 0; y < gameBoard.getHeight(); y++) {
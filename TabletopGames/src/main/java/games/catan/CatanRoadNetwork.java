@@ -0,0 +1,277 @@
+package games.catan;
+
+import core.components.BoardNodeWithEdges;
+import core.components.Edge;
+import core.components.GraphBoardWithEdges;
+
+import java.util.*;
+
+/**
+ * An index of each player's roads, used to calculate the length of their longest road.
+ * <p>
+ * The board topology (which edges meet at which vertices) is fixed once the graph is created, and is held in
+ * primitive arrays shared by all copies. The ownership of roads and buildings is mirrored here as they are built
+ * (see BuildRoad and BuildSettlement), along with each player's road networks: sets of roads connected through
+ * vertices not occupied by an opponent's building. The longest road of each network is cached, and only the networks
+ * changed by a new road or settlement are recalculated.
+ * <p>
+ * The longest road is the longest trail (a path that uses no road twice) through a player's network, where a trail
+ * may end at, but not pass through, a vertex with another player's building.
+ */
+public class CatanRoadNetwork {
+
+    // Topology, shared between copies
+    final Map<Integer, Integer> edgeIndex;    // edge component ID -> edge index
+    final Map<Integer, Integer> vertexIndex;  // vertex (Building) component ID -> vertex index
+    final int[][] edgeVertices;               // the two vertices at the ends of each edge
+    final int[][] vertexEdges;                // the edges that meet at each vertex
+
+    // Ownership, as on the board
+    final int[] edgeOwner;
+    final int[] vertexOwner;
+
+    // network[p][e] is the label of the network that contains player p's road e (-1 if p does not own e);
+    // networkLength[p][label] is the longest road in that network (0 if the label is not in use)
+    final int[][] network;
+    final int[][] networkLength;
+    final int[] longestRoad;
+
+    // scratch space for searches
+    private final boolean[] used;
+    private final int[] edgeStamp, vertexStamp;
+    private int stamp;
+    private final int[] stack, edgeList, vertexList;
+    private int nVertexList;
+
+    public CatanRoadNetwork(GraphBoardWithEdges graph, int nPlayers) {
+        edgeIndex = new HashMap<>();
+        vertexIndex = new HashMap<>();
+        List<BoardNodeWithEdges> nodes = new ArrayList<>(graph.getBoardNodes());
+        nodes.sort(Comparator.comparingInt(BoardNodeWithEdges::getComponentID));
+        for (BoardNodeWithEdges node : nodes)
+            vertexIndex.put(node.getComponentID(), vertexIndex.size());
+        List<int[]> ends = new ArrayList<>();
+        List<Integer> owners = new ArrayList<>();
+        for (BoardNodeWithEdges node : nodes) {
+            for (Map.Entry<Edge, BoardNodeWithEdges> e : node.getNeighbourEdgeMapping().entrySet()) {
+                int id = e.getKey().getComponentID();
+                if (!edgeIndex.containsKey(id)) {
+                    edgeIndex.put(id, ends.size());
+                    ends.add(new int[]{vertexIndex.get(node.getComponentID()), vertexIndex.get(e.getValue().getComponentID())});
+                    owners.add(e.getKey().getOwnerId());
+                }
+            }
+        }
+        int nEdges = ends.size(), nVertices = nodes.size();
+        edgeVertices = ends.toArray(new int[0][]);
+        int[] degree = new int[nVertices];
+        for (int[] end : edgeVertices) {
+            degree[end[0]]++;
+            degree[end[1]]++;
+        }
+        vertexEdges = new int[nVertices][];
+        for (int v = 0; v < nVertices; v++)
+            vertexEdges[v] = new int[degree[v]];
+        Arrays.fill(degree, 0);
+        for (int e = 0; e < nEdges; e++) {
+            for (int v : edgeVertices[e])
+                vertexEdges[v][degree[v]++] = e;
+        }
+
+        edgeOwner = new int[nEdges];
+        vertexOwner = new int[nVertices];
+        for (int e = 0; e < nEdges; e++)
+            edgeOwner[e] = owners.get(e);
+        for (BoardNodeWithEdges node : nodes)
+            vertexOwner[vertexIndex.get(node.getComponentID())] = node.getOwnerId();
+        network = new int[nPlayers][nEdges];
+        for (int[] n : network)
+            Arrays.fill(n, -1);
+        networkLength = new int[nPlayers][nEdges];
+        longestRoad = new int[nPlayers];
+
+        used = new boolean[nEdges];
+        edgeStamp = new int[nEdges];
+        vertexStamp = new int[nVertices];
+        stack = new int[nEdges];
+        edgeList = new int[nEdges];
+        vertexList = new int[nVertices];
+
+        // in case the graph already has roads on it
+        for (int p = 0; p < nPlayers; p++) {
+            for (int e = 0; e < nEdges; e++) {
+                if (edgeOwner[e] == p && network[p][e] == -1)
+                    update(p, new int[]{e});
+            }
+        }
+    }
+
+    private CatanRoadNetwork(CatanRoadNetwork other) {
+        edgeIndex = other.edgeIndex;
+        vertexIndex = other.vertexIndex;
+        edgeVertices = other.edgeVertices;
+        vertexEdges = other.vertexEdges;
+        edgeOwner = other.edgeOwner.clone();
+        vertexOwner = other.vertexOwner.clone();
+        network = new int[other.network.length][];
+        networkLength = new int[other.network.length][];
+        for (int p = 0; p < network.length; p++) {
+            network[p] = other.network[p].clone();
+            networkLength[p] = other.networkLength[p].clone();
+        }
+        longestRoad = other.longestRoad.clone();
+        used = new boolean[edgeOwner.length];
+        edgeStamp = new int[edgeOwner.length];
+        vertexStamp = new int[vertexOwner.length];
+        stack = new int[edgeOwner.length];
+        edgeList = new int[edgeOwner.length];
+        vertexList = new int[vertexOwner.length];
+    }
+
+    public CatanRoadNetwork copy() {
+        return new CatanRoadNetwork(this);
+    }
+
+    /**
+     * Records a new road, and recalculates the network it joins.
+     *
+     * @param edgeID the component ID of the road's Edge
+     * @return the new length of the player's longest road
+     */
+    public int addRoad(int edgeID, int player) {
+        int e = edgeIndex.get(edgeID);
+        if (edgeOwner[e] != -1)
+            throw new AssertionError("Road already owned: " + edgeID);
+        edgeOwner[e] = player;
+        update(player, new int[]{e});
+        return longestRoad[player];
+    }
+
+    /**
+     * Records a new settlement. This can split the road network of any other player that runs through this vertex.
+     *
+     * @param vertexID the component ID of the settlement's Building
+     */
+    public void addSettlement(int vertexID, int player) {
+        int v = vertexIndex.get(vertexID);
+        vertexOwner[v] = player;
+        for (int p = 0; p < longestRoad.length; p++) {
+            if (p == player)
+                continue;
+            int count = 0;
+            for (int e : vertexEdges[v])
+                if (edgeOwner[e] == p) count++;
+            // a single road ending here is not affected, as this was (and still is) the end of any trail
+            if (count < 2)
+                continue;
+            int[] seeds = new int[count];
+            count = 0;
+            for (int e : vertexEdges[v])
+                if (edgeOwner[e] == p) seeds[count++] = e;
+            update(p, seeds);
+        }
+    }
+
+    public int getLongestRoad(int player) {
+        return longestRoad[player];
+    }
+
+    private boolean blocked(int player, int v) {
+        return vertexOwner[v] != -1 && vertexOwner[v] != player;
+    }
+
+    /**
+     * Recalculates all of player's networks that include any of the seed edges. Every network that these previously
+     * belonged to is entirely included, as any road in it is connected to one of the seeds.
+     */
+    private void update(int player, int[] seeds) {
+        int[] labels = network[player];
+        int[] lengths = networkLength[player];
+
+        // the roads reachable from the seeds; the previous networks they belonged to are discarded
+        stamp++;
+        int nAffected = flood(player, seeds);
+        for (int i = 0; i < nAffected; i++) {
+            int e = edgeList[i];
+            if (labels[e] != -1)
+                lengths[labels[e]] = 0;
+            labels[e] = -1;
+        }
+        int[] affected = Arrays.copyOf(edgeList, nAffected);
+
+        // then label each new network with its first edge, and calculate its longest road
+        for (int e : affected) {
+            if (labels[e] != -1)
+                continue;
+            stamp++;
+            int nEdges = flood(player, new int[]{e});
+            for (int i = 0; i < nEdges; i++)
+                labels[edgeList[i]] = e;
+            int best = 0;
+            for (int i = 0; i < nVertexList && best < nEdges; i++)
+                best = Math.max(best, extend(player, vertexList[i]));
+            lengths[e] = best;
+        }
+
+        int longest = 0;
+        for (int length : lengths)
+            longest = Math.max(longest, length);
+        longestRoad[player] = longest;
+    }
+
+    /**
+     * Finds all of player's roads connected to the seeds, through vertices not blocked by other players, and puts
+     * them in edgeList (and the vertices they touch in vertexList, with the count in nVertexList).
+     *
+     * @return the number of edges found
+     */
+    private int flood(int player, int[] seeds) {
+        int top = 0, nEdges = 0;
+        nVertexList = 0;
+        for (int s : seeds) {
+            if (edgeStamp[s] != stamp) {
+                edgeStamp[s] = stamp;
+                stack[top++] = s;
+            }
+        }
+        while (top > 0) {
+            int e = stack[--top];
+            edgeList[nEdges++] = e;
+            for (int v : edgeVertices[e]) {
+                if (vertexStamp[v] != stamp) {
+                    vertexStamp[v] = stamp;
+                    vertexList[nVertexList++] = v;
+                }
+                if (blocked(player, v))
+                    continue;
+                for (int next : vertexEdges[v]) {
+                    if (edgeOwner[next] == player && edgeStamp[next] != stamp) {
+                        edgeStamp[next] = stamp;
+                        stack[top++] = next;
+                    }
+                }
+            }
+        }
+        return nEdges;
+    }
+
+    /**
+     * @return the length of the longest trail of player's roads from vertex v, using only roads not already used and
+     * in the network last found by flood() (a trail can start at an opponent's building, which may also be the end of
+     * another of player's networks)
+     */
+    private int extend(int player, int v) {
+        int best = 0;
+        for (int e : vertexEdges[v]) {
+            if (edgeOwner[e] != player || edgeStamp[e] != stamp || used[e])
+                continue;
+            int u = edgeVertices[e][0] == v ? edgeVertices[e][1] : edgeVertices[e][0];
+            used[e] = true;
+            int length = 1 + (blocked(player, u) ? 0 : extend(player, u));
+            used[e] = false;
+            if (length > best)
+                best = length;
+        }
+        return best;
+    }
+}
@@ -50,6 +50,10 @@ public class BuildSettlement extends AbstractAction {
             settleTokens.increment();
 
             settlement.setOwnerId(playerID);
+            // this may break the roads of other players
+            cgs.getRoadNetwork().addSettlement(settlement.getComponentID(), playerID);
+            for (int p = 0; p < cgs.getNPlayers(); p++)
+                cgs.getRoadLengths()[p] = cgs.getRoadNetwork().getLongestRoad(p);
             if(settlement.getHarbour() != null){
                 gs.logEvent(PortSettle, String.valueOf(playerID));
 
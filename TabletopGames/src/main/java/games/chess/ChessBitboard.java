@@ -0,0 +1,199 @@
+package games.chess;
+
+import games.chess.components.ChessPiece;
+
+/**
+ * A bitboard view of a ChessGameState, used by ChessForwardModel for move generation and king safety.
+ * <p>
+ * Square s corresponds to board position (x, y) = (s % 8, s / 8), so bit 0 is a1 and bit 63 is h8.
+ * Pieces are held as one bitboard per player and piece type, indexed by [playerId][ChessPieceType.ordinal()].
+ * <p>
+ * Legality of a move is tested by applying it to the bitboards only (a make that touches a handful of longs,
+ * rather than copying the game state and executing the action), and then testing whether the mover's king is attacked.
+ * For most moves even this is unnecessary: if the player is not in check, then only a move by a pinned piece
+ * (or by the king, or en passant) can expose the king.
+ * <p>
+ * This is a snapshot: it is built from the state once per call to computeAvailableActions, and is not updated as
+ * actions are executed.
+ */
+public final class ChessBitboard {
+
+    static final int KING = ChessPiece.ChessPieceType.KING.ordinal();
+    static final int QUEEN = ChessPiece.ChessPieceType.QUEEN.ordinal();
+    static final int ROOK = ChessPiece.ChessPieceType.ROOK.ordinal();
+    static final int BISHOP = ChessPiece.ChessPieceType.BISHOP.ordinal();
+    static final int KNIGHT = ChessPiece.ChessPieceType.KNIGHT.ordinal();
+    static final int PAWN = ChessPiece.ChessPieceType.PAWN.ordinal();
+
+    // Ray directions as (dx, dy). The first four increase the square index, the last four decrease it.
+    static final int[] DX = {0, 1, 1, -1, 0, -1, -1, 1};
+    static final int[] DY = {1, 0, 1, 1, -1, 0, -1, -1};
+    static final boolean[] DIAGONAL = {false, false, true, true, false, false, true, true};
+
+    static final long[] KNIGHT_ATTACKS = new long[64];
+    static final long[] KING_ATTACKS = new long[64];
+    // PAWN_ATTACKS[p][s] is the set of squares attacked by a pawn of player p on square s
+    static final long[][] PAWN_ATTACKS = new long[2][64];
+    // RAYS[d][s] is the set of squares from s (exclusive) to the edge of the board in direction d
+    static final long[][] RAYS = new long[8][64];
+
+    static {
+        int[][] knightSteps = {{2, 1}, {2, -1}, {-2, 1}, {-2, -1}, {1, 2}, {1, -2}, {-1, 2}, {-1, -2}};
+        for (int s = 0; s < 64; s++) {
+            int x = s % 8, y = s / 8;
+            for (int[] step : knightSteps)
+                KNIGHT_ATTACKS[s] |= bit(x + step[0], y + step[1]);
+            for (int dx = -1; dx <= 1; dx++)
+                for (int dy = -1; dy <= 1; dy++)
+                    if (dx != 0 || dy != 0)
+                        KING_ATTACKS[s] |= bit(x + dx, y + dy);
+            PAWN_ATTACKS[0][s] = bit(x - 1, y + 1) | bit(x + 1, y + 1);
+            PAWN_ATTACKS[1][s] = bit(x - 1, y - 1) | bit(x + 1, y - 1);
+            for (int d = 0; d < 8; d++) {
+                for (int i = 1; i < 8; i++)
+                    RAYS[d][s] |= bit(x + i * DX[d], y + i * DY[d]);
+            }
+        }
+    }
+
+    /**
+     * @return the bitboard with just (x, y) set, or 0 if (x, y) is off the board
+     */
+    static long bit(int x, int y) {
+        return (x >= 0 && x < 8 && y >= 0 && y < 8) ? 1L << (y * 8 + x) : 0L;
+    }
+
+    static int square(int x, int y) {
+        return y * 8 + x;
+    }
+
+    final long[][] pieces = new long[2][6];
+    final long[] occupiedBy = new long[2];
+    long occupied;
+    final int[] kingSquare = {-1, -1};
+
+    // for the player to move (set by prepare())
+    int player = -1;
+    long checkers;
+    long pinned;
+
+    public ChessBitboard(ChessGameState state) {
+        for (int p = 0; p < 2; p++) {
+            for (ChessPiece piece : state.getPlayerPieces(p)) {
+                int type = piece.getChessPieceType().ordinal();
+                int s = square(piece.getX(), piece.getY());
+                pieces[p][type] |= 1L << s;
+                occupiedBy[p] |= 1L << s;
+                if (type == KING)
+                    kingSquare[p] = s;
+            }
+        }
+        occupied = occupiedBy[0] | occupiedBy[1];
+    }
+
+    static long rayAttacks(int d, int s, long occupancy) {
+        long ray = RAYS[d][s];
+        long blockers = ray & occupancy;
+        if (blockers != 0) {
+            int first = d < 4 ? Long.numberOfTrailingZeros(blockers) : 63 - Long.numberOfLeadingZeros(blockers);
+            ray ^= RAYS[d][first];
+        }
+        return ray;
+    }
+
+    static long rookAttacks(int s, long occupancy) {
+        return rayAttacks(0, s, occupancy) | rayAttacks(1, s, occupancy)
+                | rayAttacks(4, s, occupancy) | rayAttacks(5, s, occupancy);
+    }
+
+    static long bishopAttacks(int s, long occupancy) {
+        return rayAttacks(2, s, occupancy) | rayAttacks(3, s, occupancy)
+                | rayAttacks(6, s, occupancy) | rayAttacks(7, s, occupancy);
+    }
+
+    /**
+     * The pieces of attacker that attack square s, given the board occupancy, and ignoring any attacker pieces on
+     * the squares in removed (i.e. those captured by the move being tested).
+     */
+    long attackers(int s, int attacker, long occupancy, long removed) {
+        long[] a = pieces[attacker];
+        long keep = ~removed;
+        long retValue = KNIGHT_ATTACKS[s] & a[KNIGHT];
+        retValue |= KING_ATTACKS[s] & a[KING];
+        // a pawn of attacker attacks s if it stands where a pawn of the other player on s would attack
+        retValue |= PAWN_ATTACKS[1 - attacker][s] & a[PAWN];
+        long straight = a[ROOK] | a[QUEEN];
+        if ((straight & keep) != 0)
+            retValue |= rookAttacks(s, occupancy) & straight;
+        long diagonal = a[BISHOP] | a[QUEEN];
+        if ((diagonal & keep) != 0)
+            retValue |= bishopAttacks(s, occupancy) & diagonal;
+        return retValue & keep;
+    }
+
+    public boolean isAttacked(int x, int y, int attacker) {
+        return attackers(square(x, y), attacker, occupied, 0L) != 0;
+    }
+
+    public boolean isInCheck(int playerId) {
+        return kingSquare[playerId] >= 0 && attackers(kingSquare[playerId], 1 - playerId, occupied, 0L) != 0;
+    }
+
+    /**
+     * Calculates the checkers and pinned pieces for the player about to move. This must be called before isLegal().
+     */
+    public void prepare(int playerId) {
+        player = playerId;
+        pinned = 0L;
+        int k = kingSquare[playerId];
+        if (k < 0) {
+            checkers = 0L;
+            return;
+        }
+        checkers = attackers(k, 1 - playerId, occupied, 0L);
+        long[] enemy = pieces[1 - playerId];
+        for (int d = 0; d < 8; d++) {
+            long sliders = DIAGONAL[d] ? enemy[BISHOP] | enemy[QUEEN] : enemy[ROOK] | enemy[QUEEN];
+            if ((RAYS[d][k] & sliders) == 0)
+                continue;
+            long firstRay = rayAttacks(d, k, occupied);
+            long blocker = firstRay & occupiedBy[playerId];
+            if (blocker == 0)
+                continue;
+            // look through our own piece to the next blocker
+            long beyond = rayAttacks(d, k, occupied & ~blocker) & ~firstRay;
+            if ((beyond & sliders) != 0)
+                pinned |= blocker;
+        }
+    }
+
+    /**
+     * @param from     the square the piece moves from
+     * @param to       the square the piece moves to
+     * @param captured the square of the piece captured (differs from 'to' for en passant), or -1
+     * @return true if the move does not leave the mover's king attacked
+     */
+    public boolean isLegal(int from, int to, int captured) {
+        long fromBit = 1L << from;
+        boolean kingMove = from == kingSquare[player];
+        boolean enPassant = captured >= 0 && captured != to;
+        if (!kingMove && !enPassant && checkers == 0 && (pinned & fromBit) == 0)
+            return true;
+        long removed = captured >= 0 ? 1L << captured : 0L;
+        long occupancy = (occupied & ~fromBit & ~removed) | (1L << to);
+        int king = kingMove ? to : kingSquare[player];
+        if (king < 0)
+            return true;  // no king to protect (only possible in artificial test positions)
+        return attackers(king, 1 - player, occupancy, removed) == 0;
+    }
+
+    /**
+     * @return the owner of the piece on (x, y), or -1 if it is empty (as ChessForwardModel.isOccupiedBy)
+     */
+    public int ownerAt(int x, int y) {
+        long b = 1L << square(x, y);
+        if ((occupiedBy[0] & b) != 0) return 0;
+        if ((occupiedBy[1] & b) != 0) return 1;
+        return -1;
+    }
+}
@@ -52,8 +52,10 @@ public class ChessForwardModel extends StandardForwardModel {
         chessState.halfMoveClock = 0;
     }
 
+
     /**
      * Calculates the list of currently available actions, possibly depending on the game phase.
+     * A single ChessBitboard is built for the state, and used for all occupancy and king-safety tests.
      * @return - List of AbstractAction objects.
      */
     @Override
@@ -61,45 +63,68 @@ public class ChessForwardModel extends StandardForwardModel {
         List<AbstractAction> actions = new ArrayList<>();
         ChessGameState chessState = (ChessGameState) gameState;
         int playerId = chessState.getCurrentPlayer();
+        ChessBitboard bitboard = new ChessBitboard(chessState);
+        bitboard.prepare(playerId);
         for (ChessPiece piece : chessState.getPlayerPieces(playerId)) {
-            actions.addAll(computeAvailableActionsPiece(chessState, piece));
+            computeAvailableActionsPiece(chessState, bitboard, piece, actions);
         }
-
-
         return actions;
     }
 
-
-    protected List<AbstractAction> computeAvailableActionsPiece(ChessGameState chessState, ChessPiece piece) {
+    /**
+     * @return true if the current player has at least one legal action. This stops at the first one found, so is
+     * much cheaper than computing the full list.
+     */
+    protected boolean hasLegalAction(ChessGameState chessState) {
+        int playerId = chessState.getCurrentPlayer();
+        ChessBitboard bitboard = new ChessBitboard(chessState);
+        bitboard.prepare(playerId);
         List<AbstractAction> actions = new ArrayList<>();
-        int[] position = piece.getPosition();
-        int x = position[0];
-        int y = position[1];
+        // the king is considered first, as it is the piece most likely to be restricted when the game is nearly over
+        ChessPiece king = null;
+        for (ChessPiece piece : chessState.getPlayerPieces(playerId)) {
+            if (piece.getChessPieceType() == ChessPiece.ChessPieceType.KING) {
+                king = piece;
+                computeAvailableActionsPiece(chessState, bitboard, piece, actions);
+                if (!actions.isEmpty()) return true;
+            }
+        }
+        for (ChessPiece piece : chessState.getPlayerPieces(playerId)) {
+            if (piece != king) {
+                computeAvailableActionsPiece(chessState, bitboard, piece, actions);
+                if (!actions.isEmpty()) return true;
+            }
+        }
+        return false;
+    }
+
+    protected void computeAvailableActionsPiece(ChessGameState chessState, ChessBitboard bitboard, ChessPiece piece, List<AbstractAction> actions) {
+        int x = piece.getX();
+        int y = piece.getY();
         int playerId = piece.getOwnerId();
         ChessPiece.ChessPieceType type = piece.getChessPieceType();
         switch (type) {
             case KING:
-                actions.addAll(computeAvailableActionsKing(chessState, x, y, playerId));
+                computeAvailableActionsKing(chessState, bitboard, x, y, playerId, actions);
                 break;
             case PAWN:
-                actions.addAll(computeAvailableActionsPawn(chessState, x, y, playerId));
+                computeAvailableActionsPawn(chessState, bitboard, x, y, playerId, actions);
                 break;
             case ROOK:
-                actions.addAll(computeAvailableActionsRook(chessState, x, y, playerId));
+                computeAvailableActionsRook(bitboard, x, y, playerId, actions);
                 break;
             case BISHOP:
-                actions.addAll(computeAvailableActionsBishop(chessState, x, y, playerId));
+                computeAvailableActionsBishop(bitboard, x, y, playerId, actions);
                 break;
             case QUEEN:
                 // Queen can move like both a rook and a bishop
-                actions.addAll(computeAvailableActionsRook(chessState, x, y, playerId));
-                actions.addAll(computeAvailableActionsBishop(chessState, x, y, playerId));
+                computeAvailableActionsRook(bitboard, x, y, playerId, actions);
+                computeAvailableActionsBishop(bitboard, x, y, playerId, actions);
                 break;
             case KNIGHT:
-                actions.addAll(computeAvailableActionsKnight(chessState, x, y, playerId));
+                computeAvailableActionsKnight(bitboard, x, y, playerId, actions);
                 break;
         }
-        return actions;
     }
 
     protected boolean isWithinBounds(int x, int y) {
@@ -115,107 +140,22 @@ public class ChessForwardModel extends StandardForwardModel {
         // Check if the piece belongs to the same player
         return piece.getOwnerId(); // Return the player ID of the piece
     }
+
     protected boolean isCellThreatened(ChessGameState chessState, int x, int y, int playerId) {
         // Check if the cell is threatened by any piece from playerId
-        for (ChessPiece piece : chessState.getPlayerPieces(playerId)) {
-            int[] position = piece.getPosition();
-            int pieceX = position[0];
-            int pieceY = position[1];
-            
-            boolean canMove = true;
-            ChessPiece.ChessPieceType type = piece.getChessPieceType();
-            switch (type) {
-                case KING:
-                    // King can move one square in any direction
-                    if (Math.abs(pieceX - x) <= 1 && Math.abs(pieceY - y) <= 1) {
-                        return true;
-                    }
-                    break;
-                case PAWN:
-                    // Pawn can attack diagonally
-                    int direction = (playerId == 0) ? 1 : -1; // White moves up, Black moves down
-                    if ((x == pieceX - 1 || x == pieceX + 1) && y == pieceY + direction) {
-                        return true; // Pawn can attack diagonally
-                    }
-                    break;
-                case ROOK:
-                    // Rook can move any number of squares horizontally or vertically but we need to check for obstacles
-                    // Check if the rook is in the same row or column as the target cell
-                    if (pieceX == x || pieceY == y) {
-                        // Check if there are no pieces between the rook and the target cell
-                        int stepX = (x - pieceX) == 0 ? 0 : (x - pieceX) / Math.abs(x - pieceX);
-                        int stepY = (y - pieceY) == 0 ? 0 : (y - pieceY) / Math.abs(y - pieceY);
-                        if (stepX == 0 && stepY == 0) {
-                            canMove = false; // Cannot move to the same cell (it would be captured)
-                        }
-                        for (int i = 1; i < Math.max(Math.abs(x - pieceX), Math.abs(y - pieceY)); i++) {
-                            int checkX = pieceX + i * stepX;
-                            int checkY = pieceY + i * stepY;
-                            if (isOccupiedBy(chessState, checkX, checkY) != -1) {
-                                canMove = false;
-                                break; // There is a piece in the way, so the rook cannot attack
-                            }
-                        }
-                        if (canMove) {
-                            return true; // Rook can attack the target cell
-                        }
-                    }
-                    break;
-                case BISHOP:
-                    // Bishop can move any number of squares diagonally
-                    if (Math.abs(pieceX - x) == Math.abs(pieceY - y) && pieceX != x) {
-                        // Check if there are no pieces between the bishop and the target cell
-                        int stepX = (x - pieceX) / Math.abs(x - pieceX);
-                        int stepY = (y - pieceY) / Math.abs(y - pieceY);
-                        for (int i = 1; i < Math.abs(x - pieceX); i++) {
-                            int checkX = pieceX + i * stepX;
-                            int checkY = pieceY + i * stepY;
-                            if (isOccupiedBy(chessState, checkX, checkY) != -1) {
-                                canMove = false;
-                                break; // There is a piece in the way, so the bishop cannot attack
-                            }
-                        }
-                        if (canMove) {
-                            return true; // Bishop can attack the target cell
-                        }
-                    }
-                    break;
-                case QUEEN:
-                    // Queen can move like both a rook and a bishop
-                    if (pieceX == x || pieceY == y || ((Math.abs(pieceX - x) == Math.abs(pieceY - y) && pieceX != x))) {
-                        // Check if there are no pieces between the queen and the target cell
-                        int stepX = (x - pieceX) == 0 ? 0 : (x - pieceX) / Math.abs(x - pieceX);
-                        int stepY = (y - pieceY) == 0 ? 0 : (y - pieceY) / Math.abs(y - pieceY);
-                        if (stepX == 0 && stepY == 0) {
-                            canMove = false; // Cannot move to the same cell (it would be captured)
-                        }
-                        for (int i = 1; i < Math.max(Math.abs(x - pieceX), Math.abs(y - pieceY)); i++) {
-                            int checkX = pieceX + i * stepX;
-                            int checkY = pieceY + i * stepY;
-                            if (isOccupiedBy(chessState, checkX, checkY) != -1) {
-                                canMove = false;
-                                break;
-                            }
-                        }
-                        if (canMove) {
-                            return true; // Queen can attack the target cell
-                        }
-                    }
-                    break;
-                case KNIGHT:
-                    // Knight can move in an "L" shape: two squares in one direction and one square perpendicular
-                    if ((Math.abs(pieceX - x) == 2 && Math.abs(pieceY - y) == 1) || (Math.abs(pieceX - x) == 1 && Math.abs(pieceY - y) == 2)) {
-                        return true;
-                    }
-                    break;
-            }
-        }
+        return new ChessBitboard(chessState).isAttacked(x, y, playerId);
+    }
 
-        return false; 
+    /**
+     * @return true if moving the piece on (x, y) to (newX, newY) does not leave the player's king in check
+     */
+    private boolean isLegal(ChessBitboard bitboard, int x, int y, int newX, int newY) {
+        int to = ChessBitboard.square(newX, newY);
+        int captured = bitboard.ownerAt(newX, newY) == -1 ? -1 : to;
+        return bitboard.isLegal(ChessBitboard.square(x, y), to, captured);
     }
 
-    protected List<AbstractAction> computeAvailableActionsKing(ChessGameState chessState, int x, int y, int playerId) {
-        List<AbstractAction> actions = new ArrayList<>();
+    protected void computeAvailableActionsKing(ChessGameState chessState, ChessBitboard bitboard, int x, int y, int playerId, List<AbstractAction> actions) {
         int newX, newY;
         // King can move one square in any direction
         for (int dx = -1; dx <= 1; dx++) {
@@ -223,9 +163,8 @@ public class ChessForwardModel extends StandardForwardModel {
                 if (dx == 0 && dy == 0) continue; // Skip the current position
                 newX = x + dx;
                 newY = y + dy;
-                MovePiece move = new MovePiece(x, y, newX, newY);
-                if (isWithinBounds(newX, newY) && isOccupiedBy(chessState, newX, newY) != playerId && !CheckAfterMove(chessState, move)) {
-                    actions.add(move);
+                if (isWithinBounds(newX, newY) && bitboard.ownerAt(newX, newY) != playerId && isLegal(bitboard, x, y, newX, newY)) {
+                    actions.add(new MovePiece(x, y, newX, newY));
                 }
             }
         }
@@ -233,323 +172,138 @@ public class ChessForwardModel extends StandardForwardModel {
         // Check if the king and rook have not moved yet, there are no pieces between them, the king is not in check, and the squares the king moves through are not attacked
         // Check for castling to the left (queenside)
         ChessPiece kingChessPiece = chessState.getPiece(x, y);
+        if (kingChessPiece.getMoved() != ChessPiece.MovedState.NOT_MOVED || bitboard.isInCheck(playerId))
+            return;
 
         ChessPiece rookChessPiece = chessState.getPiece(0, y);
-        if (kingChessPiece.getMoved() == ChessPiece.MovedState.NOT_MOVED && rookChessPiece != null && rookChessPiece.getOwnerId() == playerId && rookChessPiece.getMoved() == ChessPiece.MovedState.NOT_MOVED) {
-            Castle move = new Castle(Castle.CastleType.QUEEN_SIDE);
-            if (isOccupiedBy(chessState, 1, y) == -1 && isOccupiedBy(chessState, 2, y) == -1 && isOccupiedBy(chessState, 3, y) == -1 && !isInCheck(chessState, playerId) && !isCellThreatened(chessState, x-2, y, 1-playerId) && !isCellThreatened(chessState, x-1, y, 1-playerId)) {
-                actions.add(move);
+        if (rookChessPiece != null && rookChessPiece.getOwnerId() == playerId && rookChessPiece.getMoved() == ChessPiece.MovedState.NOT_MOVED) {
+            if (bitboard.ownerAt(1, y) == -1 && bitboard.ownerAt(2, y) == -1 && bitboard.ownerAt(3, y) == -1 && !bitboard.isAttacked(x-2, y, 1-playerId) && !bitboard.isAttacked(x-1, y, 1-playerId)) {
+                actions.add(new Castle(Castle.CastleType.QUEEN_SIDE));
             }
         }
         // Check for castling to the right (kingside)
         rookChessPiece = chessState.getPiece(7, y);
-        if (kingChessPiece.getMoved() == ChessPiece.MovedState.NOT_MOVED && rookChessPiece != null && rookChessPiece.getOwnerId() == playerId && rookChessPiece.getMoved() == ChessPiece.MovedState.NOT_MOVED) {
-            Castle move = new Castle(Castle.CastleType.KING_SIDE);
-            if (isOccupiedBy(chessState, 5, y) == -1 && isOccupiedBy(chessState, 6, y) == -1 && !isInCheck(chessState, playerId) && !isCellThreatened(chessState, x+2, y, 1-playerId) && !isCellThreatened(chessState, x+1, y, 1-playerId)) {
-                actions.add(move);
+        if (rookChessPiece != null && rookChessPiece.getOwnerId() == playerId && rookChessPiece.getMoved() == ChessPiece.MovedState.NOT_MOVED) {
+            if (bitboard.ownerAt(5, y) == -1 && bitboard.ownerAt(6, y) == -1 && !bitboard.isAttacked(x+2, y, 1-playerId) && !bitboard.isAttacked(x+1, y, 1-playerId)) {
+                actions.add(new Castle(Castle.CastleType.KING_SIDE));
             }
         }
+    }
 
-        
-        return actions;
+    private void addPawnMove(int x, int y, int newX, int newY, List<AbstractAction> actions) {
+        //check if the pawn is on the last row for promotion
+        if (newY == 0 || newY == 7) {
+            // Pawn can be promoted to any piece type (except king)
+            for (ChessPiece.ChessPieceType type : ChessPiece.ChessPieceType.values()) {
+                if (type != ChessPiece.ChessPieceType.KING) {
+                    actions.add(new Promotion(x, y, newX, newY, type));
+                }
+            }
+        } else {
+            actions.add(new MovePiece(x, y, newX, newY));
+        }
     }
 
-    protected List<AbstractAction> computeAvailableActionsPawn(ChessGameState chessState, int x, int y, int playerId) {
-        List<AbstractAction> actions = new ArrayList<>();
+    protected void computeAvailableActionsPawn(ChessGameState chessState, ChessBitboard bitboard, int x, int y, int playerId, List<AbstractAction> actions) {
         int newX, newY;
-        ChessPiece enPassantTarget;
-        AbstractAction move;
         // Pawn can move one square forward, or two squares forward if it hasn't moved yet
         int direction = (playerId == 0) ? 1 : -1; // White moves up, Black moves down
         newX = x;
         newY = y + direction;
-        move = new MovePiece(x, y, newX, newY);
-        if (isWithinBounds(newX, newY) && isOccupiedBy(chessState, newX, newY) == -1 && !CheckAfterMove(chessState, move)) {
-            //check if the pawn is on the last row for promotion
-            if (newY == 0 || newY == 7) {
-                // Pawn can be promoted to any piece type (except king)
-                for (ChessPiece.ChessPieceType type : ChessPiece.ChessPieceType.values()) {
-                    if (type != ChessPiece.ChessPieceType.KING) {
-                        actions.add(new Promotion(x, y, newX, newY, type));
-                    }
-                }
-            } else {
-                actions.add(move);
-            }
-        }
-        // Check for null piece
-        if (chessState.getPiece(x, y) == null) {
-            return actions; // No piece to move, return empty actions
+        if (isWithinBounds(newX, newY) && bitboard.ownerAt(newX, newY) == -1 && isLegal(bitboard, x, y, newX, newY)) {
+            addPawnMove(x, y, newX, newY, actions);
         }
 
-
         // Check for double move
         if (chessState.getPiece(x, y).getMoved() == ChessPiece.MovedState.NOT_MOVED) {
             newY = y + 2 * direction;
-            move = new MovePiece(x, y, newX, newY);
-            if (isWithinBounds(newX, newY) && isOccupiedBy(chessState, newX, newY) == -1 && isOccupiedBy(chessState, x, y + direction) == -1 && !CheckAfterMove(chessState, move)) {
-                actions.add(move);
+            if (isWithinBounds(newX, newY) && bitboard.ownerAt(newX, newY) == -1 && bitboard.ownerAt(x, y + direction) == -1 && isLegal(bitboard, x, y, newX, newY)) {
+                actions.add(new MovePiece(x, y, newX, newY));
             }
         }
-        // Check for captures
-        newX = x - 1;
+        // Check for captures, and then en passant, on each side in turn
         newY = y + direction;
-        move = new MovePiece(x, y, newX, newY);
-        if (isWithinBounds(newX, newY) && isOccupiedBy(chessState, newX, newY) == 1-playerId && !CheckAfterMove(chessState, move)) {
-            //Check for promotion
-            if (newY == 0 || newY == 7) {
-                // Pawn can be promoted to any piece type (except king)
-                for (ChessPiece.ChessPieceType type : ChessPiece.ChessPieceType.values()) {
-                    if (type != ChessPiece.ChessPieceType.KING) {
-                        actions.add(new Promotion(x, y, newX, newY, type));
-                    }
-                }
-            } else
-                actions.add(new MovePiece(x, y, newX, newY));
-        }
-        //Enpassant logic
-        enPassantTarget = isWithinBounds(newX, y) ? chessState.getPiece(newX, y) : null;
-        move = new EnPassant(x, y, newX);
-        if (isWithinBounds(newX, newY) && enPassantTarget != null && enPassantTarget.getChessPieceType() == ChessPiece.ChessPieceType.PAWN &&
-         enPassantTarget.getEnPassant() && enPassantTarget.getOwnerId() == 1-playerId  && !CheckAfterMove(chessState, move)) {
-            actions.add(move);
+        for (int dx = -1; dx <= 1; dx += 2) {
+            newX = x + dx;
+            if (!isWithinBounds(newX, newY))
+                continue;
+            if (bitboard.ownerAt(newX, newY) == 1-playerId && isLegal(bitboard, x, y, newX, newY)) {
+                addPawnMove(x, y, newX, newY, actions);
+            }
+            //Enpassant logic
+            ChessPiece enPassantTarget = chessState.getPiece(newX, y);
+            if (enPassantTarget != null && enPassantTarget.getChessPieceType() == ChessPiece.ChessPieceType.PAWN &&
+                    enPassantTarget.getEnPassant() && enPassantTarget.getOwnerId() == 1-playerId &&
+                    bitboard.isLegal(ChessBitboard.square(x, y), ChessBitboard.square(newX, newY), ChessBitboard.square(newX, y))) {
+                actions.add(new EnPassant(x, y, newX));
+            }
         }
+    }
 
-
-        newX = x + 1;
-        move = new MovePiece(x, y, newX, newY);
-        if (isWithinBounds(newX, newY) && isOccupiedBy(chessState, newX, newY) == 1-playerId && !CheckAfterMove(chessState, move)) {
-            //Check for promotion
-            if (newY == 0 || newY == 7) {
-                // Pawn can be promoted to any piece type (except king)
-                for (ChessPiece.ChessPieceType type : ChessPiece.ChessPieceType.values()) {
-                    if (type != ChessPiece.ChessPieceType.KING) {
-                        actions.add(new Promotion(x, y, newX, newY, type));
-                    }
-                }
-            } else
+    /**
+     * Adds the moves along one ray from (x, y). We stop at the first piece, capturing it if it is an enemy.
+     * Squares where the move would leave the king in check are skipped, but we carry on past them (if empty).
+     */
+    private void addRayMoves(ChessBitboard bitboard, int x, int y, int dx, int dy, int playerId, List<AbstractAction> actions) {
+        int newX = x + dx;
+        int newY = y + dy;
+        while (isWithinBounds(newX, newY)) {
+            int occupiedBy = bitboard.ownerAt(newX, newY);
+            if (occupiedBy == playerId)
+                break; // Stop if blocked by own piece
+            if (isLegal(bitboard, x, y, newX, newY))
                 actions.add(new MovePiece(x, y, newX, newY));
+            if (occupiedBy != -1)
+                break; // Stop after capturing (or being unable to capture)
+            newX += dx;
+            newY += dy;
         }
-
-        //Enpassant logic
-        enPassantTarget = isWithinBounds(newX, y) ? chessState.getPiece(newX, y) : null;
-        move = new EnPassant(x, y, newX);
-        if (isWithinBounds(newX, newY) && enPassantTarget != null && enPassantTarget.getChessPieceType() == ChessPiece.ChessPieceType.PAWN &&
-         enPassantTarget.getEnPassant() && enPassantTarget.getOwnerId() == 1-playerId  && !CheckAfterMove(chessState, move)) {
-            actions.add(move);
-        }
-
-        return actions;
     }
 
-    protected List<MovePiece> computeAvailableActionsRook(ChessGameState chessState, int x, int y, int playerId) {
-        List<MovePiece> actions = new ArrayList<>();
-        int newX, newY;
+    protected void computeAvailableActionsRook(ChessBitboard bitboard, int x, int y, int playerId, List<AbstractAction> actions) {
         // Rook can move any number of squares horizontally or vertically, but we need to check for obstacles
-        // Horizontal moves
-        // Right direction
-        for (int i = 1; i < 8-x; i++) {
-            newX = x + i;
-            newY = y;
-            MovePiece move = new MovePiece(x, y, newX, newY);
-            boolean check = CheckAfterMove(chessState, move);
-            int occupiedBy = isOccupiedBy(chessState, newX, newY);
-            if (occupiedBy == -1 && !check) {
-                actions.add(new MovePiece(x, y, newX, newY));
-            } else if (occupiedBy == playerId) {
-                break; // Stop if blocked by own piece
-            } else if (occupiedBy == 1-playerId && !check) {
-                actions.add(new MovePiece(x, y, newX, newY));
-                break; // Stop after capturing
-            } else if (occupiedBy == 1-playerId && check) {
-                break; // Can't capture because it leaves the king in check. Stop looking further (blocked by enemy piece)
-            }
-        }
-        // Left direction
-        for (int i = 1; i <= x; i++) {
-            newX = x - i;
-            newY = y;
-            MovePiece move = new MovePiece(x, y, newX, newY);
-            boolean check = CheckAfterMove(chessState, move);
-            int occupiedBy = isOccupiedBy(chessState, newX, newY);
-            if (occupiedBy == -1 && !check) {
-                actions.add(new MovePiece(x, y, newX, newY));
-            } else if (occupiedBy == playerId) {
-                break; // Stop if blocked by own piece
-            } else if (occupiedBy == 1-playerId && !check) {
-                actions.add(new MovePiece(x, y, newX, newY));
-                break; // Stop after capturing
-            } else if (occupiedBy == 1-playerId && check) {
-                break; // Can't capture because it leaves the king in check. Stop looking further (blocked by enemy piece)
-            }
-        }
-        // Forward direction
-        for (int i = 1; i < 8-y; i++) {
-            newX = x;
-            newY = y + i;
-            MovePiece move = new MovePiece(x, y, newX, newY);
-            boolean check = CheckAfterMove(chessState, move);
-            int occupiedBy = isOccupiedBy(chessState, newX, newY);
-            if (occupiedBy == -1 && !check) {
-                actions.add(new MovePiece(x, y, newX, newY));
-            } else if (occupiedBy == playerId) {
-                break; // Stop if blocked by own piece
-            } else if (occupiedBy == 1-playerId && !check) {
-                actions.add(new MovePiece(x, y, newX, newY));
-                break; // Stop after capturing
-            } else if (occupiedBy == 1-playerId && check) {
-                break; // Can't capture because it leaves the king in check. Stop looking further (blocked by enemy piece)
-            }
-        }
-        // Backward direction
-        for (int i = 1; i <= y; i++) {
-            newX = x;
-            newY = y - i;
-            MovePiece move = new MovePiece(x, y, newX, newY);
-            boolean check = CheckAfterMove(chessState, move);
-            int occupiedBy = isOccupiedBy(chessState, newX, newY);
-            if (occupiedBy == -1 && !check) {
-                actions.add(new MovePiece(x, y, newX, newY));
-            } else if (occupiedBy == playerId) {
-                break; // Stop if blocked by own piece
-            } else if (occupiedBy == 1-playerId && !check) {
-                actions.add(new MovePiece(x, y, newX, newY));
-                break; // Stop after capturing
-            } else if (occupiedBy == 1-playerId && check) {
-                break; // Can't capture because it leaves the king in check. Stop looking further (blocked by enemy piece)
-            }
-        }
-        return actions;
+        addRayMoves(bitboard, x, y, 1, 0, playerId, actions);  // right
+        addRayMoves(bitboard, x, y, -1, 0, playerId, actions); // left
+        addRayMoves(bitboard, x, y, 0, 1, playerId, actions);  // forward
+        addRayMoves(bitboard, x, y, 0, -1, playerId, actions); // backward
     }
 
-    protected List<MovePiece> computeAvailableActionsBishop(ChessGameState chessState, int x, int y, int playerId) {
-        List<MovePiece> actions = new ArrayList<>();
-        int newX, newY;
+    protected void computeAvailableActionsBishop(ChessBitboard bitboard, int x, int y, int playerId, List<AbstractAction> actions) {
         // Bishop can move any number of squares diagonally, but we need to check for obstacles
-        // Diagonal moves
-        // Forward-right direction
-        for (int i = 1; i < 8-x && i < 8-y; i++) {
-            newX = x + i;
-            newY = y + i;
-            MovePiece move = new MovePiece(x, y, newX, newY);
-            boolean check = CheckAfterMove(chessState, move);
-            int occupiedBy = isOccupiedBy(chessState, newX, newY);
-            if (occupiedBy == -1 && !check) {
-                actions.add(new MovePiece(x, y, newX, newY));
-            } else if (occupiedBy == playerId) {
-                break; // Stop if blocked by own piece
-            } else if (occupiedBy == 1-playerId && !check) {
-                actions.add(new MovePiece(x, y, newX, newY));
-                break; // Stop after capturing
-            } else if (occupiedBy == 1-playerId && check) {
-                break; // Can't capture because it leaves the king in check. Stop looking further (blocked by enemy piece)
-            }
-        }
-        // Forward-left direction
-        for (int i = 1; i <= x && i < 8-y; i++) {
-            newX = x - i;
-            newY = y + i;
-            MovePiece move = new MovePiece(x, y, newX, newY);
-            boolean check = CheckAfterMove(chessState, move);
-            int occupiedBy = isOccupiedBy(chessState, newX, newY);
-            if (occupiedBy == -1 && !check) {
-                actions.add(new MovePiece(x, y, newX, newY));
-            } else if (occupiedBy == playerId) {
-                break; // Stop if blocked by own piece
-            } else if (occupiedBy == 1-playerId && !check) {
-                actions.add(new MovePiece(x, y, newX, newY));
-                break; // Stop after capturing
-            } else if (occupiedBy == 1-playerId && check) {
-                break; // Can't capture because it leaves the king in check. Stop looking further (blocked by enemy piece)
-            }
-        }
-        // Backward-right direction
-        for (int i = 1; i < 8-x && i <= y; i++) {
-            newX = x + i;
-            newY = y - i;
-            MovePiece move = new MovePiece(x, y, newX, newY);
-            boolean check = CheckAfterMove(chessState, move);
-            int occupiedBy = isOccupiedBy(chessState, newX, newY);
-            if (occupiedBy == -1 && !check) {
-                actions.add(new MovePiece(x, y, newX, newY));
-            } else if (occupiedBy == playerId) {
-                break; // Stop if blocked by own piece
-            } else if (occupiedBy == 1-playerId && !check) {
-                actions.add(new MovePiece(x, y, newX, newY));
-                break; // Stop after capturing
-            } else if (occupiedBy == 1-playerId && check) {
-                break; // Can't capture because it leaves the king in check. Stop looking further (blocked by enemy piece)
-            }
-        }
-        // Backward-left direction
-        for (int i = 1; i <= x && i <= y; i++) {
-            newX = x - i;
-            newY = y - i;
-            MovePiece move = new MovePiece(x, y, newX, newY);
-            boolean check = CheckAfterMove(chessState, move);
-            int occupiedBy = isOccupiedBy(chessState, newX, newY);
-            if (occupiedBy == -1 && !check) {
-                actions.add(new MovePiece(x, y, newX, newY));
-            } else if (occupiedBy == playerId) {
-                break; // Stop if blocked by own piece
-            } else if (occupiedBy == 1-playerId && !check) {
-                actions.add(new MovePiece(x, y, newX, newY));
-                break; // Stop after capturing
-            } else if (occupiedBy == 1-playerId && check) {
-                break; // Can't capture because it leaves the king in check. Stop looking further (blocked by enemy piece)
-            }
-        }
-        return actions;
-    }   
+        addRayMoves(bitboard, x, y, 1, 1, playerId, actions);   // forward-right
+        addRayMoves(bitboard, x, y, -1, 1, playerId, actions);  // forward-left
+        addRayMoves(bitboard, x, y, 1, -1, playerId, actions);  // backward-right
+        addRayMoves(bitboard, x, y, -1, -1, playerId, actions); // backward-left
+    }
 
-    protected List<MovePiece> computeAvailableActionsKnight(ChessGameState chessState, int x, int y, int playerId) {
-        List<MovePiece> actions = new ArrayList<>();
+    protected void computeAvailableActionsKnight(ChessBitboard bitboard, int x, int y, int playerId, List<AbstractAction> actions) {
         int newX, newY;
         // Knight can move in an "L" shape: two squares in one direction and one square perpendicular
-        int[][] moves = {
-                {2, 1}, {2, -1}, {-2, 1}, {-2, -1},
-                {1, 2}, {1, -2}, {-1, 2}, {-1, -2}
-        };
-        for (int[] move : moves) {
+        for (int[] move : KNIGHT_MOVES) {
             newX = x + move[0];
             newY = y + move[1];
-            MovePiece movePiece = new MovePiece(x, y, newX, newY);
             // Check if the new position is within bounds and not occupied by own piece
-            if (isWithinBounds(newX, newY) && isOccupiedBy(chessState, newX, newY) != playerId && !CheckAfterMove(chessState, movePiece)) {
-                actions.add(movePiece);
+            if (isWithinBounds(newX, newY) && bitboard.ownerAt(newX, newY) != playerId && isLegal(bitboard, x, y, newX, newY)) {
+                actions.add(new MovePiece(x, y, newX, newY));
             }
         }
-        return actions;
     }
 
-    protected boolean CheckAfterMove(ChessGameState chessState, AbstractAction action) {
-        
-        // Check if any opponent piece can attack the king's position after a move
-        int playerId = chessState.getCurrentPlayer();
-        ChessGameState nextGameState = chessState._copy(playerId);
-        action.execute(nextGameState);
-        int[] kingPosition = nextGameState.getKingPosition(playerId);
-        int kingX = kingPosition[0];
-        int kingY = kingPosition[1];
-        return isCellThreatened(nextGameState, kingX, kingY, 1-playerId);
-    }
+    private static final int[][] KNIGHT_MOVES = {
+            {2, 1}, {2, -1}, {-2, 1}, {-2, -1},
+            {1, 2}, {1, -2}, {-1, 2}, {-1, -2}
+    };
 
     protected boolean isInCheck(AbstractGameState gameState, int playerId) {
         // Check if the player's king is in check
-        ChessGameState chessState = (ChessGameState) gameState;
-        int[] kingPosition = chessState.getKingPosition(playerId);
-        int kingX = kingPosition[0];
-        int kingY = kingPosition[1];
-        // Check if any opponent piece can attack the king's position
-        return isCellThreatened(chessState, kingX, kingY, 1-playerId);
+        return new ChessBitboard((ChessGameState) gameState).isInCheck(playerId);
     }
 
     protected void checkGameEnd(ChessGameState chessState) {
 
         // Check if the game is over (checkmate or stalemate)
-        List<AbstractAction> availableActions = computeAvailableActions(chessState);
         ChessParameters chessParameters = (ChessParameters) chessState.getGameParameters();
-        if (availableActions.isEmpty() && chessState.isNotTerminal()) {
+        if (chessState.isNotTerminal() && !hasLegalAction(chessState)) {
             // No available actions, check for stalemate or checkmate
             if (isInCheck(chessState, chessState.getCurrentPlayer())) {
                 // Checkmate
@@ -231,105 +231,12 @@ public class ChessGameState extends AbstractGameState {
 
     public boolean isCellThreatened(int x, int y, int playerId) {
         // Check if the cell is threatened by any piece from playerId
-        for (ChessPiece piece : getPlayerPieces(playerId)) {
-            int[] position = piece.getPosition();
-            int pieceX = position[0];
-            int pieceY = position[1];
-            
-            boolean canMove = true;
-            ChessPiece.ChessPieceType type = piece.getChessPieceType();
-            switch (type) {
-                case KING:
-                    // King can move one square in any direction
-                    if (Math.abs(pieceX - x) <= 1 && Math.abs(pieceY - y) <= 1) {
-                        return true;
-                    }
-                    break;
-                case PAWN:
-                    // Pawn can attack diagonally
-                    int direction = (playerId == 0) ? 1 : -1; // White moves up, Black moves down
-                    if ((x == pieceX - 1 || x == pieceX + 1) && y == pieceY + direction) {
-                        return true; // Pawn can attack diagonally
-                    }
-                    break;
-                case ROOK:
-                    // Rook can move any number of squares horizontally or vertically but we need to check for obstacles
-                    // Check if the rook is in the same row or column as the target cell
-                    if (pieceX == x || pieceY == y) {
-                        // Check if there are no pieces between the rook and the target cell
-                        int stepX = (x - pieceX) == 0 ? 0 : (x - pieceX) / Math.abs(x - pieceX);
-                        int stepY = (y - pieceY) == 0 ? 0 : (y - pieceY) / Math.abs(y - pieceY);
-                        if (stepX == 0 && stepY == 0) {
-                            canMove = false; // Cannot move to the same cell (it would be captured)
-                        }
-                        for (int i = 1; i < Math.max(Math.abs(x - pieceX), Math.abs(y - pieceY)); i++) {
-                            int checkX = pieceX + i * stepX;
-                            int checkY = pieceY + i * stepY;
-                            if (isOccupiedBy(checkX, checkY) != -1) {
-                                canMove = false;
-                                break; // There is a piece in the way, so the rook cannot attack
-                            }
-                        }
-                        if (canMove) {
-                            return true; // Rook can attack the target cell
-                        }
-                    }
-                    break;
-                case BISHOP:
-                    // Bishop can move any number of squares diagonally
-                    if (Math.abs(pieceX - x) == Math.abs(pieceY - y) && pieceX != x) {
-                        // Check if there are no pieces between the bishop and the target cell
-                        int stepX = (x - pieceX) / Math.abs(x - pieceX);
-                        int stepY = (y - pieceY) / Math.abs(y - pieceY);
-                        for (int i = 1; i < Math.abs(x - pieceX); i++) {
-                            int checkX = pieceX + i * stepX;
-                            int checkY = pieceY + i * stepY;
-                            if (isOccupiedBy(checkX, checkY) != -1) {
-                                canMove = false;
-                                break; // There is a piece in the way, so the bishop cannot attack
-                            }
-                        }
-                        if (canMove) {
-                            return true; // Bishop can attack the target cell
-                        }
-                    }
-                    break;
-                case QUEEN:
-                    // Queen can move like both a rook and a bishop
-                    if (pieceX == x || pieceY == y || (Math.abs(pieceX - x) == Math.abs(pieceY - y) && pieceX != x)) {
-                        // Check if there are no pieces between the queen and the target cell
-                        int stepX = (x - pieceX) == 0 ? 0 : (x - pieceX) / Math.abs(x - pieceX);
-                        int stepY = (y - pieceY) == 0 ? 0 : (y - pieceY) / Math.abs(y - pieceY);
-                        if (stepX == 0 && stepY == 0) {
-                            canMove = false; // Cannot move to the same cell (it would be captured)
-                        }
-                        for (int i = 1; i < Math.max(Math.abs(x - pieceX), Math.abs(y - pieceY)); i++) {
-                            int checkX = pieceX + i * stepX;
-                            int checkY = pieceY + i * stepY;
-                            if (isOccupiedBy(checkX, checkY) != -1) {
-                                canMove = false;
-                                break;
-                            }
-                        }
-                        if (canMove) {
-                            return true; // Queen can attack the target cell
-                        }
-                    }
-                    break;
-                case KNIGHT:
-                    // Knight can move in an "L" shape: two squares in one direction and one square perpendicular
-                    if ((Math.abs(pieceX - x) == 2 && Math.abs(pieceY - y) == 1) || (Math.abs(pieceX - x) == 1 && Math.abs(pieceY - y) == 2)) {
-                        return true;
-                    }
-                    break;
-            }
-        }
-
-        return false; 
+        return new ChessBitboard(this).isAttacked(x, y, playerId);
     }
 
     protected List<AbstractAction> computeAvailableActionsKing(int x, int y, int playerId) {
         List<AbstractAction> actions = new ArrayList<>();
+        ChessBitboard bitboard = new ChessBitboard(this);
         int newX, newY;
         // King can move one square in any direction
         for (int dx = -1; dx <= 1; dx++) {
@@ -338,7 +245,7 @@ public class ChessGameState extends AbstractGameState {
                 newX = x + dx;
                 newY = y + dy;
                 MovePiece move = new MovePiece(x, y, newX, newY);
-                if (isWithinBounds(newX, newY) && isOccupiedBy(newX, newY) != playerId && !isCellThreatened(newX, newY, 1-playerId)) {
+                if (isWithinBounds(newX, newY) && bitboard.ownerAt(newX, newY) != playerId && !bitboard.isAttacked(newX, newY, 1-playerId)) {
                     actions.add(move);
                 }
             }
@@ -16,13 +16,21 @@ import java.util.List;
 
 public class Connect4ForwardModel extends SequentialActionForwardModel {
 
+    // The directions in which a line of discs can be made, as (dx, dy): columns, rows, main and inverse diagonals.
+    // Each points the way the board used to be scanned, so that winning cells are reported in the same order.
+    private static final int[][] LINES = {{0, -1}, {1, 0}, {1, -1}, {-1, -1}};
+
     @Override
     protected void _setup(AbstractGameState firstState) {
         Connect4GameParameters c4gp = (Connect4GameParameters) firstState.getGameParameters();
         int gridSize = c4gp.gridSize;
+        if (gridSize > 64)
+            throw new IllegalArgumentException("Connect4 grid size must be at most 64 : " + gridSize);
         Connect4GameState state = (Connect4GameState) firstState;
         state.gridBoard = new GridBoard(gridSize, gridSize, new BoardNode(Connect4Constants.emptyCell));
         state.winnerCells = new LinkedList<>();
+        state.discs = new long[2][gridSize];
+        state.heights = new int[gridSize];
     }
 
     @Override
@@ -31,215 +39,108 @@ public class Connect4ForwardModel extends SequentialActionForwardModel {
         ArrayList<AbstractAction> actions = new ArrayList<>();
         int player = c4gs.getCurrentPlayer();
 
-        if (gameState.isNotTerminal())
+        if (gameState.isNotTerminal()) {
+            int height = c4gs.gridBoard.getHeight();
+            int boardID = c4gs.gridBoard.getComponentID();
+            int valueID = Connect4Constants.playerMapping.get(player).getComponentID();
             for (int x = 0; x < c4gs.gridBoard.getWidth(); x++) {
-                int y = c4gs.gridBoard.getHeight() - 1; // this is bottom of column
-                boolean end = false;
-                while(!end)
-                {
-                    boolean newCol = false;
-                    if (c4gs.gridBoard.getElement(x, y).getComponentName().equals(Connect4Constants.emptyCell)) {
-                        actions.add(new SetGridValueAction(c4gs.gridBoard.getComponentID(), x, y, Connect4Constants.playerMapping.get(player).getComponentID()));
-                        newCol = true;
-                    }
-
-                    //Stop when reaching top (column is full) or on finding the first empty cell (action available)
-                    end = (--y <  0 || newCol);
-                }
+                // the first empty cell from the bottom of the column, if it is not full
+                if (c4gs.heights[x] < height)
+                    actions.add(new SetGridValueAction(boardID, x, height - 1 - c4gs.heights[x], valueID));
             }
+        }
         return actions;
     }
 
+    @Override
+    protected int _countAvailableActions(AbstractGameState gameState) {
+        Connect4GameState c4gs = (Connect4GameState) gameState;
+        if (!gameState.isNotTerminal())
+            return 0;
+        int height = c4gs.gridBoard.getHeight(), count = 0;
+        for (int x = 0; x < c4gs.gridBoard.getWidth(); x++) {
+            if (c4gs.heights[x] < height)
+                count++;
+        }
+        return count;
+    }
+
+    @Override
+    protected AbstractAction _getAvailableAction(AbstractGameState gameState, int index) {
+        // the index-th column that is not full
+        Connect4GameState c4gs = (Connect4GameState) gameState;
+        int height = c4gs.gridBoard.getHeight();
+        for (int x = 0; x < c4gs.gridBoard.getWidth(); x++) {
+            if (c4gs.heights[x] < height && index-- == 0)
+                return new SetGridValueAction(c4gs.gridBoard.getComponentID(), x, height - 1 - c4gs.heights[x],
+                        Connect4Constants.playerMapping.get(c4gs.getCurrentPlayer()).getComponentID());
+        }
+        throw new AssertionError("No column for action " + index);
+    }
+
     @Override
     protected void _afterAction(AbstractGameState currentState, AbstractAction action) {
         Connect4GameState c4gs = (Connect4GameState) currentState;
+        SetGridValueAction move = (SetGridValueAction) action;
+        c4gs.placeDisc(c4gs.getCurrentPlayer(), move.getX(), move.getY());
 
         // game-specific check for end of game
-        if (checkGameEnd(c4gs)) {
+        if (checkGameEnd(c4gs, c4gs.getCurrentPlayer(), move.getX(), move.getY())) {
             return;
         }
         super._afterAction(currentState, action);
     }
 
     /**
-     * Checks if the game ended.
+     * Checks if the game ended. Only a line through the disc just placed can be new, so we only look along the
+     * four lines through it, rather than scanning the whole board.
      *
      * @param gameState - game state to check game end.
+     * @param player    - the player who placed the last disc
+     * @param x         - column of the last disc
+     * @param y         - row of the last disc
      */
-    private boolean checkGameEnd(Connect4GameState gameState) {
-        GridBoard gridBoard = gameState.getGridBoard();
+    private boolean checkGameEnd(Connect4GameState gameState, int player, int x, int y) {
         Connect4GameParameters c4gp = (Connect4GameParameters) gameState.getGameParameters();
-        boolean gap = false;
-        LinkedList<Pair<Integer, Integer>> winning = new LinkedList<>();;
-
-        // Check columns
-        for (int x = 0; x < gridBoard.getWidth(); x++) {
-            int count = 0;
-            String lastToken = null;
-            winning.clear();
-            for (int y = gridBoard.getHeight() - 1; y >= 0; y--) {
-                BoardNode c = gridBoard.getElement(x, y);
-                if (c.getComponentName().equals(Connect4Constants.emptyCell)) {
-                    count = 0;
-                    lastToken = null;
-                    winning.clear();
-                    gap = true;
-                } else if (lastToken == null || !lastToken.equals(c.getComponentName())) {
-                    winning.clear();
-                    count = 1;
-                    lastToken = c.getComponentName();
-                    winning.add(new Pair<>(x, y));
-                } else {
-                    {
-                        count++;
-                        winning.add(new Pair<>(x, y));
-                        if (count == c4gp.winCount) {
-                            registerWinner(gameState, c, winning);
-                            return true;
-                        }
-                    }
-                    lastToken = c.getComponentName();
-                }
-            }
-        }
 
-        // Check rows
-        for (int y = gridBoard.getHeight() - 1; y >= 0; y--) {
-            int count = 0;
-            String lastToken = null;
-            winning.clear();
-            for (int x = 0; x < gridBoard.getWidth(); x++) {
-                BoardNode c = gridBoard.getElement(x, y);
-                if (c.getComponentName().equals(Connect4Constants.emptyCell)) {
-                    count = 0;
-                    lastToken = null;
-                    winning.clear();
-                } else if (lastToken == null || !lastToken.equals(c.getComponentName())) {
-                    winning.clear();
-                    count = 1;
-                    lastToken = c.getComponentName();
-                    winning.add(new Pair<>(x, y));
-                } else {
-                    {
-                        count++;
-                        winning.add(new Pair<>(x, y));
-                        if (count == c4gp.winCount) {
-                            registerWinner(gameState, c, winning);
-                            return true;
-                        }
-                    }
-                    lastToken = c.getComponentName();
-                }
-            }
-        }
-
-        //Check main diagonals (from col 0)
-        for (int y = gridBoard.getHeight() - 1; y >= 0; y--) {
-            if (checkMainDiagonals(gameState, 0, y))
+        for (int[] line : LINES) {
+            int dx = line[0], dy = line[1];
+            // walk back to the start of the run (in scan order) that contains (x, y)
+            int back = 0;
+            while (back < c4gp.winCount - 1 && gameState.hasDisc(player, x - (back + 1) * dx, y - (back + 1) * dy))
+                back++;
+            int forward = 0;
+            while (back + forward < c4gp.winCount - 1 && gameState.hasDisc(player, x + (forward + 1) * dx, y + (forward + 1) * dy))
+                forward++;
+            if (back + forward + 1 >= c4gp.winCount) {
+                LinkedList<Pair<Integer, Integer>> winning = new LinkedList<>();
+                for (int i = 0; i < c4gp.winCount; i++)
+                    winning.add(new Pair<>(x + (i - back) * dx, y + (i - back) * dy));
+                registerWinner(gameState, player, winning);
                 return true;
-
-        }
-
-        //Check main and inverse diagonals (from row 0)
-        for (int x = 1; x < gridBoard.getWidth(); x++) {
-            if (checkMainDiagonals(gameState, x, gridBoard.getHeight() - 1))
-                return true;
-            if (checkInvDiagonals(gameState, x, gridBoard.getHeight() - 1))
-                return true;
-        }
-
-        //Check inv diagonals (from last column)
-        for (int y = gridBoard.getHeight() - 2; y >= 0; y--) { //height -1 is checked in previous loop
-            if (checkInvDiagonals(gameState, gridBoard.getWidth()-1, y))
-                return true;
-        }
-
-        if (!gap) { //tie
-            gameState.setGameStatus(CoreConstants.GameResult.DRAW_GAME);
-            Arrays.fill(gameState.getPlayerResults(), CoreConstants.GameResult.DRAW_GAME);
-            return true;
-        }
-
-        return false;
-    }
-
-
-    private boolean checkMainDiagonals(Connect4GameState gameState, int xStart, int yStart)
-    {
-        GridBoard gridBoard = gameState.getGridBoard();
-        Connect4GameParameters c4gp = (Connect4GameParameters) gameState.getGameParameters();
-        int count = 0;
-        String lastToken = null;
-        LinkedList<Pair<Integer, Integer>> winning = new LinkedList<>();
-
-        for (int x = xStart, y = yStart; x < gridBoard.getWidth() && y >=0; x++, y--) {
-            BoardNode c = gridBoard.getElement(x, y);
-
-            if (c.getComponentName().equals(Connect4Constants.emptyCell)) {
-                count = 0;
-                lastToken = null;
-                winning.clear();
-            } else if (lastToken == null || !lastToken.equals(c.getComponentName())) {
-                winning.clear();
-                count = 1;
-                lastToken = c.getComponentName();
-                winning.add(new Pair<>(x, y));
-            } else {
-                count++;
-                winning.add(new Pair<>(x, y));
-                if (count == c4gp.winCount) {
-                    registerWinner(gameState, c, winning);
-                    return true;
-                }
-                lastToken = c.getComponentName();
             }
         }
-        return false;
-    }
 
-    private boolean checkInvDiagonals(Connect4GameState gameState, int xStart, int yStart)
-    {
         GridBoard gridBoard = gameState.getGridBoard();
-        Connect4GameParameters c4gp = (Connect4GameParameters) gameState.getGameParameters();
-        int count = 0;
-        String lastToken = null;
-        LinkedList<Pair<Integer, Integer>> winning = new LinkedList<>();
-
-        for (int x = xStart, y = yStart; x >= 0 && y >= 0; x--, y--) {
-            BoardNode c = gridBoard.getElement(x, y);
-
-            if (c.getComponentName().equals(Connect4Constants.emptyCell)) {
-                count = 0;
-                lastToken = null;
-                winning.clear();
-            } else if (lastToken == null || !lastToken.equals(c.getComponentName())) {
-                winning.clear();
-                count = 1;
-                lastToken = c.getComponentName();
-                winning.add(new Pair<>(x, y));
-            } else {
-                count++;
-                winning.add(new Pair<>(x, y));
-                if (count == c4gp.winCount) {
-                    registerWinner(gameState, c, winning);
-                    return true;
-                }
-                lastToken = c.getComponentName();
-            }
+        for (int col = 0; col < gridBoard.getWidth(); col++) {
+            if (gameState.heights[col] < gridBoard.getHeight())
+                return false;
         }
-        return false;
+        // tie
+        gameState.setGameStatus(CoreConstants.GameResult.DRAW_GAME);
+        Arrays.fill(gameState.getPlayerResults(), CoreConstants.GameResult.DRAW_GAME);
+        return true;
     }
 
     /**
      * Inform the game this player has won.
      *
-     * @param winnerSymbol - which player won.
+     * @param winningPlayer - which player won.
      */
-    private void registerWinner(Connect4GameState gameState, BoardNode winnerSymbol, LinkedList<Pair<Integer, Integer>> winPos) {
+    private void registerWinner(Connect4GameState gameState, int winningPlayer, LinkedList<Pair<Integer, Integer>> winPos) {
         gameState.setGameStatus(CoreConstants.GameResult.GAME_END);
-        int winningPlayer = Connect4Constants.playerMapping.indexOf(winnerSymbol);
         gameState.setPlayerResult(CoreConstants.GameResult.WIN_GAME, winningPlayer);
         gameState.setPlayerResult(CoreConstants.GameResult.LOSE_GAME, 1 - winningPlayer);
         gameState.registerWinningCells(winPos);
     }
-}
\ No newline at end of file
+}
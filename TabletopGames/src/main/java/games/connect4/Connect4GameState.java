@@ -21,6 +21,13 @@ public class Connect4GameState extends AbstractGameState implements IPrintable,
     GridBoard gridBoard;
     LinkedList<Pair<Integer, Integer>> winnerCells;
 
+    // A compact copy of the board, kept in step with gridBoard by Connect4ForwardModel, and used for move generation
+    // and win detection. discs[p][y] has bit x set if player p has a disc at (x, y); heights[x] is the number of discs
+    // in column x (so the next disc in that column goes to y = height - 1 - heights[x]).
+    // The gridBoard remains the representation used by the GUI and by SetGridValueAction.
+    long[][] discs;
+    int[] heights;
+
     public Connect4GameState(AbstractParameters gameParameters, int nPlayers) {
         super(gameParameters, nPlayers);
         winnerCells = new LinkedList<>();
@@ -31,8 +38,29 @@ public class Connect4GameState extends AbstractGameState implements IPrintable,
      * This returns the player id of the token at the given position. Or -1 if this is empty.
      */
     public int getPlayerAt(int x, int y) {
-        BoardNode token = gridBoard.getElement(x, y);
-        return token == null ? -1 : token.getOwnerId();
+        long b = 1L << x;
+        if ((discs[0][y] & b) != 0) return 0;
+        if ((discs[1][y] & b) != 0) return 1;
+        return -1;
+    }
+
+    /**
+     * @return true if player has a disc at (x, y); false if they do not, or if (x, y) is off the board
+     */
+    boolean hasDisc(int player, int x, int y) {
+        return x >= 0 && y >= 0 && x < gridBoard.getWidth() && y < gridBoard.getHeight() && (discs[player][y] & (1L << x)) != 0;
+    }
+
+    void placeDisc(int player, int x, int y) {
+        discs[player][y] |= 1L << x;
+        heights[x]++;
+    }
+
+    /**
+     * @return the number of discs in column x
+     */
+    public int getColumnHeight(int x) {
+        return heights[x];
     }
 
     @Override
@@ -52,6 +80,8 @@ public class Connect4GameState extends AbstractGameState implements IPrintable,
     protected AbstractGameState _copy(int playerId) {
         Connect4GameState s = new Connect4GameState(gameParameters.copy(), getNPlayers());
         s.gridBoard = gridBoard.copy();
+        s.discs = new long[][]{discs[0].clone(), discs[1].clone()};
+        s.heights = heights.clone();
 
         s.winnerCells.clear();
         for (Pair<Integer, Integer> wC : this.winnerCells)
@@ -1,11 +1,8 @@
 package games.connect4;
 import core.AbstractGameState;
-import core.components.BoardNode;
-import core.components.Token;
 import core.interfaces.IStateFeatureVector;
 import core.interfaces.IStateKey;
 
-import java.util.Arrays;
 import java.util.stream.IntStream;
 
 public class Connect4StateVector implements IStateFeatureVector, IStateKey {
@@ -17,18 +14,24 @@ public class Connect4StateVector implements IStateFeatureVector, IStateKey {
     @Override
     public double[] doubleVector(AbstractGameState gs, int playerID) {
         Connect4GameState state = (Connect4GameState) gs;
-        String playerChar = Connect4Constants.playerMapping.get(playerID).getComponentName();
+        int width = state.gridBoard.getWidth();
+        int height = state.gridBoard.getHeight();
 
-        return Arrays.stream(state.gridBoard.flattenGrid()).mapToDouble(c -> {
-            String pos = c.getComponentName();
-            if (pos.equals(playerChar)) {
-                return 1.0;
-            } else if (pos.equals(Connect4Constants.emptyCell)) {
-                return 0.0;
-            } else { // opponent's piece
-                return -1.0;
+        // one row after another, as GridBoard.flattenGrid()
+        double[] retValue = new double[width * height];
+        for (int y = 0; y < height; y++) {
+            long mine = state.discs[playerID][y];
+            long theirs = state.discs[1 - playerID][y];
+            for (int x = 0; x < width; x++) {
+                long b = 1L << x;
+                if ((mine & b) != 0) {
+                    retValue[y * width + x] = 1.0;
+                } else if ((theirs & b) != 0) { // opponent's piece
+                    retValue[y * width + x] = -1.0;
+                }
             }
-        }).toArray();
+        }
+        return retValue;
     }
 
     @Override
@@ -0,0 +1,203 @@
+package games.descent2e;
+
+import core.components.BoardNode;
+import core.components.GridBoard;
+import games.descent2e.actions.attack.RangedAttack;
+import utilities.LineOfSight;
+import utilities.Vector2D;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * Precomputed information about the master board of a Descent game, for use in action generation.
+ * <p>
+ * Everything here depends only on the map, which is fixed once the game is set up, so one index is built per game and
+ * shared by all copies of the game state (but see forCopy()). Nothing here depends on where the figures are: occupancy
+ * is always read from the board itself when a query is made (see DescentHelper).
+ * <p>
+ * Cells are indexed by y * width + x. Per-cell data (existence, terrain, neighbours, movement costs, distances and
+ * cells in range) is calculated when the index is built. Lines of sight are calculated the first time they are
+ * needed, and then cached in a concurrent map, as copies of a state may be used by several threads at once.
+ */
+public class DescentBoardIndex {
+
+    // Marks a line of sight that can never be clear, because it leaves the board or crosses a wall
+    private static final int[] NO_LINE = new int[0];
+
+    final int width, height;
+    final boolean[] exists;
+    final boolean[] walkable;
+    final int[] componentID;
+    final int[][] neighbours;           // cell indices, in the same order as BoardNode.getNeighbours()
+    final double[][] neighbourCost;
+
+    private final int[][] distances;    // BFS distances from each cell (-1 if unreachable)
+    private final int[][] inRange;      // cells within RangedAttack.MAX_RANGE steps of each cell
+    private final Map<Long, int[]> lines = new ConcurrentHashMap<>();
+
+    // the index to use for copies of a state that uses this one
+    private DescentBoardIndex copyIndex;
+
+    public DescentBoardIndex(GridBoard board) {
+        width = board.getWidth();
+        height = board.getHeight();
+        int nCells = width * height;
+        exists = new boolean[nCells];
+        walkable = new boolean[nCells];
+        componentID = new int[nCells];
+        neighbours = new int[nCells][];
+        neighbourCost = new double[nCells][];
+        distances = new int[nCells][];
+        inRange = new int[nCells][];
+
+        // by identity, as nodes from copies of the same tile share component IDs
+        Map<BoardNode, Integer> cellOf = new IdentityHashMap<>();
+        for (int cell = 0; cell < nCells; cell++) {
+            BoardNode node = board.getElement(cell % width, cell / width);
+            if (node != null) {
+                exists[cell] = true;
+                walkable[cell] = DescentTypes.TerrainType.isWalkableTerrain(node.getComponentName());
+                componentID[cell] = node.getComponentID();
+                cellOf.put(node, cell);
+            }
+        }
+        if (cellOf.values().stream().map(c -> componentID[c]).distinct().count() == cellOf.size())
+            copyIndex = this;
+        for (int cell = 0; cell < nCells; cell++) {
+            if (!exists[cell]) {
+                neighbours[cell] = new int[0];
+                neighbourCost[cell] = new double[0];
+                continue;
+            }
+            BoardNode node = board.getElement(cell % width, cell / width);
+            List<Integer> ns = new ArrayList<>();
+            List<Double> costs = new ArrayList<>();
+            for (BoardNode neighbour : node.getNeighbours().keySet()) {
+                if (neighbour == null || !cellOf.containsKey(neighbour)) continue;
+                ns.add(cellOf.get(neighbour));
+                costs.add(node.getNeighbourCost(neighbour));
+            }
+            neighbours[cell] = ns.stream().mapToInt(Integer::intValue).toArray();
+            neighbourCost[cell] = costs.stream().mapToDouble(Double::doubleValue).toArray();
+        }
+        for (int cell = 0; cell < nCells; cell++) {
+            distances[cell] = breadthFirstSearch(cell);
+            int[] dist = distances[cell];
+            inRange[cell] = IntStream.range(0, nCells)
+                    .filter(c -> dist[c] > 0 && dist[c] <= RangedAttack.MAX_RANGE)
+                    .boxed()
+                    .sorted(Comparator.comparingInt(c -> componentID[c]))
+                    .mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    /**
+     * GridBoard.copy() links the copied cells to their neighbours by component ID. If the same tile is used more
+     * than once in a map, its cells share IDs, and the copy can then be linked differently from the original board.
+     * A copy of a copy is linked in the same way as the first copy, so there are at most two distinct indices per game.
+     *
+     * @param copiedBoard the master board of the copy
+     * @return the index for a copy of a state that uses this index
+     */
+    public synchronized DescentBoardIndex forCopy(GridBoard copiedBoard) {
+        if (copyIndex == null) {
+            copyIndex = new DescentBoardIndex(copiedBoard);
+            copyIndex.copyIndex = copyIndex;
+        }
+        return copyIndex;
+    }
+
+    public int cell(Vector2D pos) {
+        return pos.getY() * width + pos.getX();
+    }
+
+    public int cell(int x, int y) {
+        return y * width + x;
+    }
+
+    public boolean exists(int x, int y) {
+        return x >= 0 && x < width && y >= 0 && y < height && exists[y * width + x];
+    }
+
+    public boolean isWalkable(int x, int y) {
+        return exists(x, y) && walkable[y * width + x];
+    }
+
+    public boolean isNeighbour(int cell, int other) {
+        for (int n : neighbours[cell])
+            if (n == other) return true;
+        return false;
+    }
+
+    // As BoardNode.getNeighbours().containsKey(), which matches nodes by component ID
+    private boolean isLinked(int cell, int other) {
+        for (int n : neighbours[cell])
+            if (componentID[n] == componentID[other]) return true;
+        return false;
+    }
+
+    /**
+     * @return the number of steps between each cell and the given one along the movement graph, ignoring terrain and
+     * figures (-1 if there is no path)
+     */
+    public int[] distancesFrom(int cell) {
+        return distances[cell];
+    }
+
+    /**
+     * @return all other cells within RangedAttack.MAX_RANGE steps of this one, in order of component ID
+     */
+    public int[] cellsInRange(int cell) {
+        return inRange[cell];
+    }
+
+    private int[] breadthFirstSearch(int cell) {
+        int[] dist = new int[exists.length];
+        Arrays.fill(dist, -1);
+        int[] queue = new int[exists.length];
+        int head = 0, tail = 0;
+        dist[cell] = 0;
+        queue[tail++] = cell;
+        while (head < tail) {
+            int c = queue[head++];
+            for (int n : neighbours[c]) {
+                if (dist[n] == -1) {
+                    dist[n] = dist[c] + 1;
+                    queue[tail++] = n;
+                }
+            }
+        }
+        return dist;
+    }
+
+    /**
+     * The cells that must be free of other figures for there to be line of sight from start to end. This is the
+     * line drawn by LineOfSight.bresenhamsLineAlgorithm, without its first and last cells.
+     *
+     * @return the cells to check, or null if there can never be line of sight (as the line leaves the board, or
+     * passes between two cells that are not connected)
+     */
+    public int[] lineOfSight(Vector2D start, Vector2D end) {
+        long key = (long) cell(start) * exists.length + cell(end);
+        int[] line = lines.computeIfAbsent(key, k -> traceLine(start, end));
+        return line == NO_LINE ? null : line;
+    }
+
+    private int[] traceLine(Vector2D start, Vector2D end) {
+        List<Vector2D> points = LineOfSight.bresenhamsLineAlgorithm(start, end);
+        int[] retValue = new int[Math.max(0, points.size() - 2)];
+        for (int i = 1; i < points.size(); i++) {
+            Vector2D previous = points.get(i - 1);
+            Vector2D point = points.get(i);
+            if (!exists(point.getX(), point.getY()))
+                return NO_LINE;
+            if (!isLinked(cell(previous), cell(point)))
+                return NO_LINE;
+            if (i < points.size() - 1)
+                retValue[i - 1] = cell(point);
+        }
+        return retValue;
+    }
+}
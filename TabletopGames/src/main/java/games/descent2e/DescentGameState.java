@@ -35,6 +35,7 @@ public class DescentGameState extends AbstractGameState implements IPrintable {
 
     Deck<Card> searchCards;
     GridBoard masterBoard;
+    DescentBoardIndex boardIndex;  // depends only on the map, so is shared between copies (see DescentBoardIndex.forCopy)
     DicePool attackDicePool;
     DicePool defenceDicePool;
     DicePool attributeDicePool;
@@ -127,6 +128,7 @@ public class DescentGameState extends AbstractGameState implements IPrintable {
             copy.tiles.put(e.getKey(), e.getValue().copy());
         }
         copy.masterBoard = masterBoard.copy();
+        copy.boardIndex = boardIndex == null ? null : boardIndex.forCopy(copy.masterBoard);
         copy.attackDicePool = attackDicePool.copy();
         copy.defenceDicePool = defenceDicePool.copy();
         copy.attributeDicePool = attributeDicePool.copy();
@@ -304,6 +306,12 @@ public class DescentGameState extends AbstractGameState implements IPrintable {
         return masterBoard;
     }
 
+    public DescentBoardIndex getBoardIndex() {
+        if (boardIndex == null)
+            boardIndex = new DescentBoardIndex(masterBoard);
+        return boardIndex;
+    }
+
     public List<Hero> getHeroes() {
         return heroes;
     }
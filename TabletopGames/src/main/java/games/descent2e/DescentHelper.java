@@ -15,7 +15,6 @@ import games.descent2e.actions.items.RerollAttributeTest;
 import games.descent2e.actions.monsterfeats.MonsterAbilities;
 import games.descent2e.components.*;
 import games.descent2e.components.tokens.DToken;
-import utilities.LineOfSight;
 import utilities.Pair;
 import utilities.Vector2D;
 
@@ -119,34 +118,25 @@ public class DescentHelper {
             attackingTiles.addAll(getAttackingTiles(f.getComponentID(), anchorTile, attackingTiles));
         }
 
-        // Find valid neighbours of neighbours in master graph - used for ranged attacks
-        for (BoardNode currentTile : attackingTiles) {
-            Set<BoardNode> rangedTargets = currentTile.getNeighbours().keySet();
-
-            // Only finds neighbours up to a set maximum range
-            for (int i = 1; i < RangedAttack.MAX_RANGE; i++) {
+        // Find all tiles within range of each tile the figure occupies - used for ranged attacks
+        DescentBoardIndex index = dgs.getBoardIndex();
+        Set<Integer> attackingCells = new HashSet<>();
+        for (BoardNode tile : attackingTiles)
+            attackingCells.add(index.cell(((PropertyVector2D) tile.getProperty(coordinateHash)).values));
 
-                Set<BoardNode> startTargets = rangedTargets;
-
-                for (BoardNode possibleTarget : startTargets) {
-                    // Collects all possible neighbours of neighbours, and adds them to the list of potential target locations
-                    Set<BoardNode> newTargets = new HashSet<>(possibleTarget.getNeighbours().keySet());
-                    newTargets.addAll(rangedTargets);
-                    rangedTargets = newTargets;
-                }
-            }
-
-            // Prevents the attacker from trying to shoot itself
-            attackingTiles.forEach(rangedTargets::remove);
+        for (BoardNode currentTile : attackingTiles) {
+            Vector2D currentLoc = ((PropertyVector2D) currentTile.getProperty(coordinateHash)).values;
 
-            for (BoardNode neighbour : rangedTargets) {
-                if (neighbour == null) continue;
+            for (int cell : index.cellsInRange(index.cell(currentLoc))) {
+                // Prevents the attacker from trying to shoot itself
+                if (attackingCells.contains(cell)) continue;
+                BoardNode neighbour = dgs.masterBoard.getElement(cell % index.width, cell / index.width);
                 int neighbourID = ((PropertyInt) neighbour.getProperty(playersHash)).value;
                 if (neighbourID != -1) {
                     Figure other = (Figure) dgs.getComponentById(neighbourID);
 
                     // Checks to make sure that there is a line of sight before approving the attack action
-                    if (hasLineOfSight(dgs, ((PropertyVector2D) currentTile.getProperty("coordinates")).values, ((PropertyVector2D) neighbour.getProperty("coordinates")).values)) {
+                    if (hasLineOfSight(dgs, currentLoc, ((PropertyVector2D) neighbour.getProperty(coordinateHash)).values)) {
                         if (f instanceof Monster && other instanceof Hero) {
                             // Monster attacks a hero
                             targets.add(other.getComponentID());
@@ -190,10 +180,14 @@ public class DescentHelper {
     }
 
     public static boolean hasLineOfSight(DescentGameState dgs, Vector2D startPoint, Vector2D endPoint){
-        int counter = 0;
-        boolean hasLineOfSight = true;
-
-        ArrayList<Vector2D> containedPoints = LineOfSight.bresenhamsLineAlgorithm(startPoint, endPoint);
+        // The line itself depends only on the map, and is cached: it must
+        // 1) only pass through board nodes that exist, and
+        // 2) only pass between board nodes that are connected
+        // What is left to check is that
+        // 3) each board node on the way is empty (or, if either figure is large, is occupied by itself or the target)
+        int[] line = dgs.getBoardIndex().lineOfSight(startPoint, endPoint);
+        if (line == null)
+            return false;
 
         BoardNode startTile = dgs.masterBoard.getElement(startPoint.getX(), startPoint.getY());
         int start = ((PropertyInt) startTile.getProperty(playersHash)).value;
@@ -201,44 +195,14 @@ public class DescentHelper {
         BoardNode targetTile = dgs.masterBoard.getElement(endPoint.getX(), endPoint.getY());
         int target = ((PropertyInt) targetTile.getProperty(playersHash)).value;
 
-        // For each coordinate in the line, check:
-        // 1) Does the coordinate have its board node
-        // 2) Is the board node empty (no character on location)
-        // 3) Is the board node connected to previously checked board node
-        // If any of these are false, then there is no LOS
-        for (int i = 1; i < containedPoints.size(); i++){
-
-            Vector2D previousPoint = containedPoints.get(i - 1);
-            Vector2D point = containedPoints.get(i);
-
-            // Check 1) Does the board node exist at this coordinate
-            BoardNode currentTile = dgs.masterBoard.getElement(point.getX(), point.getY());
-            if (currentTile == null){
-                hasLineOfSight = false;
-                break;
-            }
-
-            // Check 2) Is the board node empty (or, if either figure is large, not occupied by itself or the target)
+        int width = dgs.getBoardIndex().width;
+        for (int cell : line) {
+            BoardNode currentTile = dgs.masterBoard.getElement(cell % width, cell / width);
             int owner = ((PropertyInt) currentTile.getProperty(playersHash)).value;
-            if (owner != -1 && i != containedPoints.size() - 1){
-                if (owner != target && owner != start){
-                    hasLineOfSight = false;
-                    break;
-                }
-            }
-
-            // Check 3) Is the board node connected to previous board node
-            BoardNode previousTile = dgs.masterBoard.getElement(previousPoint.getX(), previousPoint.getY());
-            if (!previousTile.getNeighbours().containsKey(currentTile)){
-                hasLineOfSight = false;
-                break;
-            }
+            if (owner != -1 && owner != target && owner != start)
+                return false;
         }
-
-        if (hasLineOfSight)
-            counter++;
-
-        return (counter > 0);
+        return true;
     }
 
     public static List<AbstractAction> moveActions(DescentGameState dgs, Figure f) {
@@ -310,95 +274,122 @@ public class DescentHelper {
         return movePointOfInterest;
     }
 
-    private static HashMap<Vector2D, Pair<Double,List<Vector2D>>> getAllAdjacentNodes(DescentGameState dgs, Figure figure){
-        Vector2D figureLocation = figure.getPosition();
-        BoardNode figureNode = dgs.getMasterBoard().getElement(figureLocation.getX(), figureLocation.getY());
+    /**
+     * Finds the spaces the figure can move to, with the cheapest cost and path to each. The figure can move into an
+     * empty space (and stop there), or through spaces occupied by friendly figures. This is Dijkstra's algorithm over
+     * the movement graph in DescentBoardIndex, with the figures currently on the board as blockers.
+     */
+    static HashMap<Vector2D, Pair<Double,List<Vector2D>>> getAllAdjacentNodes(DescentGameState dgs, Figure figure){
+        DescentBoardIndex index = dgs.getBoardIndex();
+        GridBoard board = dgs.getMasterBoard();
+        int nCells = index.exists.length;
+        int source = index.cell(figure.getPosition());
         String figureType = figure.getTokenType();
 
-        //<Board Node, Cost to get there>
-        HashMap<BoardNode, Pair<Double,List<Vector2D>>> expandedBoardNodes = new HashMap<>();
-        HashMap<BoardNode, Pair<Double,List<Vector2D>>> nodesToBeExpanded = new HashMap<>();
-        HashMap<BoardNode, Pair<Double,List<Vector2D>>> allAdjacentNodes = new HashMap<>();
-
-        nodesToBeExpanded.put(figureNode, new Pair<>(0.0, new ArrayList<>()));
-        while (!nodesToBeExpanded.isEmpty()){
-            // Pick a node to expand, and remove it from the map
-            Map.Entry<BoardNode,Pair<Double,List<Vector2D>>> entry = nodesToBeExpanded.entrySet().iterator().next();
-            BoardNode expandingNode = entry.getKey();
-            double expandingNodeCost = entry.getValue().a;
-            List<Vector2D> expandingNodePath = entry.getValue().b;
-            nodesToBeExpanded.remove(expandingNode);
+        // cost[c] and previous[c] for the spaces we can move through (the source and friendly spaces)
+        double[] cost = new double[nCells];
+        int[] previous = new int[nCells];
+        boolean[] settled = new boolean[nCells];
+        // the same for the spaces we can end our move in
+        double[] endCost = new double[nCells];
+        int[] endPrevious = new int[nCells];
+        Arrays.fill(cost, Double.POSITIVE_INFINITY);
+        Arrays.fill(endCost, Double.POSITIVE_INFINITY);
+        // 0 if not yet classified, 1 for friendly, 2 for empty, 3 for blocked
+        byte[] type = new byte[nCells];
+
+        int[] frontier = new int[nCells];
+        int nFrontier = 0;
+        cost[source] = 0.0;
+        previous[source] = -1;
+        frontier[nFrontier++] = source;
+
+        while (nFrontier > 0) {
+            // Pick the cheapest node to expand
+            int best = 0;
+            for (int i = 1; i < nFrontier; i++)
+                if (cost[frontier[i]] < cost[frontier[best]]) best = i;
+            int expanding = frontier[best];
+            frontier[best] = frontier[--nFrontier];
+            if (settled[expanding]) continue;
+            settled[expanding] = true;
 
             // Go through all the neighbour nodes
-            HashMap<BoardNode, Double> neighbours = expandingNode.getNeighbours();
-            for (BoardNode neighbour : neighbours.keySet()){
-                Vector2D loc = ((PropertyVector2D) neighbour.getProperty(coordinateHash)).values;
-
-                double costToMoveToNeighbour = expandingNode.getNeighbourCost(neighbour);
-                double totalCost = expandingNodeCost + costToMoveToNeighbour;
-                List<Vector2D> totalPath = new ArrayList<>(expandingNodePath);
-                if (totalPath.contains(loc)) continue;
-                totalPath.add(loc);
-                boolean isFriendly = false;
-                boolean isEmpty = DescentTypes.TerrainType.isWalkableTerrain(neighbour.getComponentName());
-
-                PropertyInt figureOnLocation = (PropertyInt)neighbour.getProperty(playersHash);
-                if (figureOnLocation.value != -1) {
-                    isEmpty = false;
-                    Figure neighbourFigure = (Figure) dgs.getComponentById(figureOnLocation.value);
-
-                    if (neighbourFigure != null) {
-                        // If our current figure is the same as our neighbour (in the case of large figures), we can move into the neighbour tile
-                        if (figure.equals(neighbourFigure)) {
-                            isEmpty = true;
-                        }
-                        // If our current figure is the same team as the neighbour (Hero or Monster), we can move through it
-                        else if (figureType.equals(neighbourFigure.getTokenType())) {
-                            isFriendly = true;
-                        }
-                        // If our current figure is a monster with the Scamper passive, we can move through Hero figures as if they were friendly
-                        else if (figureType == "Monster") {
-                            if ((((Monster) figure).hasPassive(MonsterAbilities.MonsterPassive.SCAMPER)) && neighbourFigure.getTokenType().equals("Hero"))
-                                isFriendly = true;
-                        }
-                    }
-                    // If, for whatever reason, our Heroes are allowed to ignore enemies entirely when moving
-                    // We can move through all other figures as if they were friendly
-                    if (figure.canIgnoreEnemies())
-                    {
-                        isFriendly = true;
-                    }
-                }
-
-                if (isFriendly){
-                    //if the node is friendly and not expanded - add it to the expansion list
-                    if(!expandedBoardNodes.containsKey(neighbour)){
-                        nodesToBeExpanded.put(neighbour, new Pair<>(totalCost, totalPath));
-                        //if the node is friendly and expanded but the cost was higher - add it to the expansion list
-                    } else if (expandedBoardNodes.containsKey(neighbour) && expandedBoardNodes.get(neighbour).a > totalCost){
-                        expandedBoardNodes.remove(neighbour);
-                        nodesToBeExpanded.put(neighbour, new Pair<>(totalCost, totalPath));
+            int[] neighbours = index.neighbours[expanding];
+            for (int i = 0; i < neighbours.length; i++) {
+                int n = neighbours[i];
+                if (type[n] == 0)
+                    type[n] = classify(dgs, figure, figureType, board.getElement(n % index.width, n / index.width), index.walkable[n]);
+                double totalCost = cost[expanding] + index.neighbourCost[expanding][i];
+
+                if (type[n] == 1) {
+                    // friendly - we can move through it
+                    if (!settled[n] && totalCost < cost[n]) {
+                        cost[n] = totalCost;
+                        previous[n] = expanding;
+                        frontier[nFrontier++] = n;
                     }
-                } else if (isEmpty) {
-                    //if the node is empty - add it to adjacentNodeList
-                    if (!allAdjacentNodes.containsKey(neighbour) || allAdjacentNodes.get(neighbour).a > totalCost){
-                        allAdjacentNodes.put(neighbour, new Pair<>(totalCost, totalPath));
+                } else if (type[n] == 2) {
+                    // empty - we can end our move here
+                    if (totalCost < endCost[n]) {
+                        endCost[n] = totalCost;
+                        endPrevious[n] = expanding;
                     }
                 }
-                expandedBoardNodes.put(neighbour, new Pair<>(totalCost, totalPath));
             }
         }
 
         //Return list of coordinates
         HashMap<Vector2D, Pair<Double,List<Vector2D>>> allAdjacentLocations = new HashMap<>();
-        for (BoardNode boardNode : allAdjacentNodes.keySet()){
-            Vector2D loc = ((PropertyVector2D) boardNode.getProperty(coordinateHash)).values;
-            allAdjacentLocations.put(loc, allAdjacentNodes.get(boardNode));
+        for (int n = 0; n < nCells; n++) {
+            if (endCost[n] == Double.POSITIVE_INFINITY) continue;
+            LinkedList<Vector2D> path = new LinkedList<>();
+            path.add(new Vector2D(n % index.width, n / index.width));
+            for (int c = endPrevious[n]; c != source; c = previous[c])
+                path.addFirst(new Vector2D(c % index.width, c / index.width));
+            allAdjacentLocations.put(path.getLast(), new Pair<>(endCost[n], new ArrayList<>(path)));
         }
 
         return allAdjacentLocations;
     }
 
+    /**
+     * @return 1 if the figure can move through this node, 2 if it can end its move there, and 3 if neither
+     */
+    private static byte classify(DescentGameState dgs, Figure figure, String figureType, BoardNode node, boolean walkable) {
+        boolean isFriendly = false;
+        boolean isEmpty = walkable;
+
+        PropertyInt figureOnLocation = (PropertyInt) node.getProperty(playersHash);
+        if (figureOnLocation.value != -1) {
+            isEmpty = false;
+            Figure neighbourFigure = (Figure) dgs.getComponentById(figureOnLocation.value);
+
+            if (neighbourFigure != null) {
+                // If our current figure is the same as our neighbour (in the case of large figures), we can move into the neighbour tile
+                if (figure.equals(neighbourFigure)) {
+                    isEmpty = true;
+                }
+                // If our current figure is the same team as the neighbour (Hero or Monster), we can move through it
+                else if (figureType.equals(neighbourFigure.getTokenType())) {
+                    isFriendly = true;
+                }
+                // If our current figure is a monster with the Scamper passive, we can move through Hero figures as if they were friendly
+                else if (figureType == "Monster") {
+                    if ((((Monster) figure).hasPassive(MonsterAbilities.MonsterPassive.SCAMPER)) && neighbourFigure.getTokenType().equals("Hero"))
+                        isFriendly = true;
+                }
+            }
+            // If, for whatever reason, our Heroes are allowed to ignore enemies entirely when moving
+            // We can move through all other figures as if they were friendly
+            if (figure.canIgnoreEnemies())
+            {
+                isFriendly = true;
+            }
+        }
+        return isFriendly ? (byte) 1 : isEmpty ? (byte) 2 : (byte) 3;
+    }
+
     // Pair<final position, final orientation> -> pair<movement cost to get there, list of positions to travel through to get there>
     private static Map<Pair<Vector2D, Monster.Direction>, Pair<Double,List<Vector2D>>> getPossibleRotationsForMoveActions(Map<Vector2D, Pair<Double,List<Vector2D>>> allAdjacentNodes, DescentGameState dgs, Figure figure){
 
@@ -444,7 +435,7 @@ public class DescentHelper {
                             if (spaceOccupied != null)
                             {
                                 PropertyInt figureOnLocation = (PropertyInt) spaceOccupied.getProperty(playersHash);
-                                if (!DescentTypes.TerrainType.isWalkableTerrain(spaceOccupied.getComponentName()) ||
+                                if (!dgs.getBoardIndex().isWalkable(space.getX(), space.getY()) ||
                                         figureOnLocation.value != -1 && figureOnLocation.value != figure.getComponentID())
                                 {
                                     legal = false;
@@ -595,49 +586,15 @@ public class DescentHelper {
         // Breadth-First Search Lee Algorithm
         // Used to find the shortest path between two points
         // Used for the Heroes/Monsters to find the shortest path to their target enemy
+        // The distances depend only on the map, so the search from each start point is cached in the board index
 
-        GridBoard board = dgs.getMasterBoard();
+        DescentBoardIndex index = dgs.getBoardIndex();
 
         // Ensure that both start and end points are valid
-        if (board.getElement(start) == null || board.getElement(end) == null)
+        if (!index.exists(start.getX(), start.getY()) || !index.exists(end.getX(), end.getY()))
             return -1;
 
-        boolean[][] visited = new boolean[board.getWidth()][board.getHeight()];
-        visited[start.getX()][start.getY()] = true;
-
-        // Distance from the source cell is initialized to 0
-        Queue<Pair<BoardNode, Integer>> queue = new LinkedList<>();
-        queue.add(new Pair<BoardNode, Integer>((BoardNode) board.getElement(start), 0));
-
-        // BFS starting from start cell
-        while (!queue.isEmpty())
-        {
-            Pair<BoardNode, Integer> curr = queue.peek();
-            BoardNode node = curr.a;
-
-            Vector2D currLoc = ((PropertyVector2D) node.getProperty(coordinateHash)).values;
-
-            // If we have reached the destination cell, we are done
-            if (currLoc.equals(end))
-                return curr.b;
-
-            // Otherwise dequeue the front cell in the queue and enqueue its adjacent cells
-            queue.poll();
-
-            for (BoardNode neighbour : node.getNeighbours().keySet())
-            {
-                if (neighbour == null) continue;
-                Vector2D nextLoc = ((PropertyVector2D) neighbour.getProperty(coordinateHash)).values;
-                if (!checkValid(nextLoc.getX(), nextLoc.getY(), board)) continue;
-                if (!visited[nextLoc.getX()][nextLoc.getY()])
-                {
-                    visited[nextLoc.getX()][nextLoc.getY()] = true;
-                    queue.add(new Pair<>(neighbour, curr.b + 1));
-                }
-            }
-        }
-
-        return -1;
+        return index.distancesFrom(index.cell(start))[index.cell(end)];
     }
 
     // Check whether given cell(row,col) is a valid cell or not
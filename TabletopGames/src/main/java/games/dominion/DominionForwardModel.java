@@ -52,18 +52,19 @@ public class DominionForwardModel extends StandardForwardModel {
         state.defenceStatus = new boolean[state.getNPlayers()];  // defaults to false
 
         int victoryCards = params.VICTORY_CARDS_PER_PLAYER[state.getNPlayers()];
-        state.cardsIncludedInGame = new HashMap<>(16);
-        state.cardsIncludedInGame.put(CardType.PROVINCE, victoryCards);
-        state.cardsIncludedInGame.put(CardType.DUCHY, victoryCards);
-        state.cardsIncludedInGame.put(CardType.ESTATE, victoryCards);
-        state.cardsIncludedInGame.put(CardType.GOLD, params.GOLD_SUPPLY);
-        state.cardsIncludedInGame.put(CardType.SILVER, params.SILVER_SUPPLY);
-        state.cardsIncludedInGame.put(CardType.COPPER, params.COPPER_SUPPLY);
+        state.supply = new int[CardType.values().length];
+        state.supplyTypes = new ArrayList<>(16);
+        state.setSupply(CardType.PROVINCE, victoryCards);
+        state.setSupply(CardType.DUCHY, victoryCards);
+        state.setSupply(CardType.ESTATE, victoryCards);
+        state.setSupply(CardType.GOLD, params.GOLD_SUPPLY);
+        state.setSupply(CardType.SILVER, params.SILVER_SUPPLY);
+        state.setSupply(CardType.COPPER, params.COPPER_SUPPLY);
         for (CardType ct : params.cardsUsed) {
             int cardsToUse = ct.isVictory ? victoryCards : params.KINGDOM_CARDS_OF_EACH_TYPE;
             if (ct == CardType.CURSE)
                 cardsToUse = (state.getNPlayers() - 1) * params.CURSE_CARDS_PER_PLAYER;
-            state.cardsIncludedInGame.put(ct, cardsToUse);
+            state.setSupply(ct, cardsToUse);
         }
         state.setGamePhase(DominionGameState.DominionGamePhase.Play);
     }
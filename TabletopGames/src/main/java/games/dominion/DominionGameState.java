@@ -25,8 +25,13 @@ import static java.util.stream.Collectors.toList;
 
 public class DominionGameState extends AbstractGameState implements IPrintable {
 
-    Map<CardType, Integer> cardsIncludedInGame = new HashMap<>();
-    // Then Decks for each player - Hand, Discard and Draw
+    // The supply, as the number of cards left of each type (indexed by CardType ordinal); the types in the game are
+    // fixed at setup, so that list is shared between copies
+    int[] supply = new int[CardType.values().length];
+    List<CardType> supplyTypes = new ArrayList<>();
+    // Then Decks for each player - Hand, Discard and Draw. These are not counts, as actions change them through
+    // getDeck(), and the order of the Tableau and Draw piles matters. Copies share the list of (immutable) cards
+    // until one of them changes it (see Deck.copy()).
     PartialObservableDeck<DominionCard>[] playerHands;
     PartialObservableDeck<DominionCard>[] playerDrawPiles;
     Deck<DominionCard>[] playerDiscards;
@@ -58,8 +63,8 @@ public class DominionGameState extends AbstractGameState implements IPrintable {
     }
 
     public boolean removeCardFromTable(CardType type) {
-        if (cardsIncludedInGame.getOrDefault(type, 0) > 0) {
-            cardsIncludedInGame.put(type, cardsIncludedInGame.get(type) - 1);
+        if (supply[type.ordinal()] > 0) {
+            supply[type.ordinal()]--;
             return true;
         }
         return false;
@@ -71,13 +76,26 @@ public class DominionGameState extends AbstractGameState implements IPrintable {
         deck.add(newCard);
     }
 
+    /**
+     * Puts a pile of cards of this type in the supply (or replaces the pile already there). Used in setup.
+     */
+    public void setSupply(CardType type, int nCards) {
+        if (!supplyTypes.contains(type))
+            supplyTypes.add(type);
+        supply[type.ordinal()] = nCards;
+    }
+
     public int getEmptyDeckCount() {
-        return Math.toIntExact(cardsIncludedInGame.values().stream().filter(i -> i == 0).count());
+        int count = 0;
+        for (CardType type : supplyTypes)
+            if (supply[type.ordinal()] == 0)
+                count++;
+        return count;
     }
 
     public boolean gameOver() {
         DominionParameters params = (DominionParameters) gameParameters;
-        return cardsIncludedInGame.get(CardType.PROVINCE) == 0 ||
+        return supply[CardType.PROVINCE.ordinal()] == 0 ||
                 getEmptyDeckCount() >= params.PILES_EXHAUSTED_FOR_GAME_END;
     }
 
@@ -208,47 +226,52 @@ public class DominionGameState extends AbstractGameState implements IPrintable {
      * Use DeckType.ALL to count all cards in all decks.
      */
     public int cardsOfType(CardType type, int playerId, DeckType deck) {
-        Deck<DominionCard> allCards;
         switch (deck) {
             case SUPPLY:
-                return cardsIncludedInGame.getOrDefault(type, 0);
+                return supply[type.ordinal()];
             case HAND:
             case TABLE:
             case DRAW:
             case DISCARD:
             case TRASH:
-                allCards = getDeck(deck, playerId);
-                break;
+                return countType(getDeck(deck, playerId), type);
             case ALL:
-                allCards = new Deck<>("temp", VISIBLE_TO_ALL);
-                allCards.add(playerHands[playerId]);
-                allCards.add(playerDiscards[playerId]);
-                allCards.add(playerDrawPiles[playerId]);
-                allCards.add(playerTableaux[playerId]);
-                break;
+                return countType(playerHands[playerId], type) + countType(playerDiscards[playerId], type) +
+                        countType(playerDrawPiles[playerId], type) + countType(playerTableaux[playerId], type);
             default:
                 throw new IllegalStateException("Unexpected value: " + deck);
         }
+    }
 
-        return (int) allCards.stream().filter(c -> c.cardType() == type).count();
+    private static int countType(Deck<DominionCard> deck, CardType type) {
+        int count = 0;
+        for (DominionCard c : deck)
+            if (c.cardType() == type)
+                count++;
+        return count;
     }
 
     public List<CardType> getCardsToBuy() {
-        return cardsIncludedInGame.keySet().stream()
-                .filter(c -> cardsIncludedInGame.get(c) > 0)
+        return supplyTypes.stream()
+                .filter(c -> supply[c.ordinal()] > 0)
                 .sorted(comparingInt(c -> -c.cost))
-                .distinct()
                 .collect(toList());
     }
 
     public List<CardType> cardsIncludedInGame() {
-        return cardsIncludedInGame.keySet().stream()
+        return supplyTypes.stream()
                 .sorted(comparingInt(c -> -c.cost))
                 .collect(toList());
     }
 
+    /**
+     * @return - a read-only snapshot of the supply, from each card type in the game to the number of cards left
+     */
     public Map<CardType, Integer> getCardsIncludedInGame() {
-        return cardsIncludedInGame;
+        Map<CardType, Integer> retValue = new EnumMap<>(CardType.class);
+        for (CardType type : supplyTypes)
+            retValue.put(type, supply[type.ordinal()]);
+        return Collections.unmodifiableMap(retValue);
     }
 
     public void setDefended(int playerId) {
@@ -268,9 +291,8 @@ public class DominionGameState extends AbstractGameState implements IPrintable {
     @Override
     protected AbstractGameState _copy(int playerId) {
         DominionGameState retValue = new DominionGameState(((DominionParameters) gameParameters).shallowCopy(), nPlayers);
-        for (CardType ct : cardsIncludedInGame.keySet()) {
-            retValue.cardsIncludedInGame.put(ct, cardsIncludedInGame.get(ct));
-        }
+        retValue.supply = supply.clone();
+        retValue.supplyTypes = supplyTypes;
         for (int p = 0; p < nPlayers; p++) {
             if (playerId == -1) {
                 retValue.playerHands[p] = playerHands[p].copy();
@@ -416,7 +438,7 @@ public class DominionGameState extends AbstractGameState implements IPrintable {
     protected boolean _equals(Object o) {
         if (this == o) return true;
         if (!(o instanceof DominionGameState other)) return false;
-        return cardsIncludedInGame.equals(other.cardsIncludedInGame) &&
+        return Arrays.equals(supply, other.supply) && supplyTypes.equals(other.supplyTypes) &&
                 Arrays.equals(playerHands, other.playerHands) &&
                 Arrays.equals(playerResults, other.playerResults) &&
                 Arrays.equals(playerDiscards, other.playerDiscards) &&
@@ -432,10 +454,11 @@ public class DominionGameState extends AbstractGameState implements IPrintable {
 
     @Override
     public int hashCode() {
-        int result = Objects.hash(cardsIncludedInGame, trashPile, buysLeftForCurrentPlayer,
+        int result = Objects.hash(supplyTypes, trashPile, buysLeftForCurrentPlayer,
                 actionsLeftForCurrentPlayer, spentSoFar, additionalSpendAvailable, delayedActions, super.hashCode());
         result = result + 743 * Arrays.hashCode(playerHands) + 353 * Arrays.hashCode(playerDiscards) +
-                11 * Arrays.hashCode(playerTableaux) + 41 * Arrays.hashCode(playerDrawPiles) + Arrays.hashCode(defenceStatus);
+                11 * Arrays.hashCode(playerTableaux) + 41 * Arrays.hashCode(playerDrawPiles) + Arrays.hashCode(defenceStatus) +
+                31 * Arrays.hashCode(supply);
         return result;
     }
 
@@ -443,8 +466,8 @@ public class DominionGameState extends AbstractGameState implements IPrintable {
     public String toString() {
         StringBuilder retValue = new StringBuilder();
         retValue.append(String.format("Turn: %d, Current Player: %d, Phase: %s%n", getRoundCounter(), getCurrentPlayer(), gamePhase));
-        for (Map.Entry<CardType, Integer> s : cardsIncludedInGame.entrySet()) {
-            retValue.append(String.format("\t%2d %s%n", s.getValue(), s.getKey()));
+        for (CardType type : supplyTypes) {
+            retValue.append(String.format("\t%2d %s%n", supply[type.ordinal()], type));
         }
         for (int p = 0; p < getNPlayers(); p++) {
             retValue.append(String.format("Player: %d, Score: %2.0f, Hand: %d, Deck: %d, Discard: %d, Actions: %d, Buys: %d%n",
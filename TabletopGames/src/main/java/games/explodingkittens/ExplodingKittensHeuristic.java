@@ -54,7 +54,7 @@ public class ExplodingKittensHeuristic extends TunableParameters implements ISta
             return 1;
 
         double cardValues = 0.0;
-        for (ExplodingKittensCard card : ekgs.playerHandCards.get(playerId).getComponents()) {
+        for (ExplodingKittensCard card : ekgs.playerHandCards.get(playerId)) {
             cardValues += getCardValue(ekgs, card);
         }
 
@@ -153,15 +153,14 @@ public class HeartsForwardModel extends StandardForwardModel {
 
         if (hgs.getGamePhase() == HeartsGameState.Phase.PASSING) {
             // Generate Pass action for each card in the player's hand
-            List<FrenchCard> cards = playerHand.getComponents();
-            for (FrenchCard card : cards) {
+            for (FrenchCard card : playerHand) {
                 actions.add(new Pass(player, card));
             }
         } else {
 
             if (!hgs.trickDecks.stream().flatMap(IComponentContainer::stream).findAny().isPresent()) {
                 // First turn of the game, the player with 2 of clubs must play it
-                for (FrenchCard card : playerHand.getComponents()) {
+                for (FrenchCard card : playerHand) {
                     if (card.suite == FrenchCard.Suite.Clubs && card.number == 2) {
                         actions.add(new Play(player, card));
                         return actions;  // Return immediately, no other actions available
@@ -171,25 +170,25 @@ public class HeartsForwardModel extends StandardForwardModel {
 
             if (hgs.firstCardSuit == null) {
                 // this is the lead player, they can play any card (except for Hearts if they are not yet broken, or they have no choice)
-                boolean onlyHasHearts = playerHand.getComponents().stream().allMatch(card -> card.suite == FrenchCard.Suite.Hearts);
-                for (FrenchCard card : playerHand.getComponents()) {
+                boolean onlyHasHearts = playerHand.stream().allMatch(card -> card.suite == FrenchCard.Suite.Hearts);
+                for (FrenchCard card : playerHand) {
                     if (onlyHasHearts || hgs.heartsBroken || card.suite != FrenchCard.Suite.Hearts) {
                         actions.add(new Play(player, card));
                     }
                 }
             } else {
                 // Check if player has any cards of the lead suit
-                boolean hasLeadSuit = playerHand.getComponents().stream().anyMatch(card -> card.suite.equals(hgs.firstCardSuit));
+                boolean hasLeadSuit = playerHand.stream().anyMatch(card -> card.suite.equals(hgs.firstCardSuit));
 
                 if (hasLeadSuit) {
                     // Player can only play cards of the lead suit
-                    for (FrenchCard card : playerHand.getComponents()) {
+                    for (FrenchCard card : playerHand) {
                         if (card.suite.equals(hgs.firstCardSuit)) {
                             actions.add(new Play(player, card));
                         }
                     }
                 } else {
-                    for (FrenchCard card : playerHand.getComponents()) {
+                    for (FrenchCard card : playerHand) {
                         actions.add(new Play(player, card));
                     }
                 }
@@ -48,11 +48,11 @@ public class HeartsGameState extends AbstractGameState {
     protected List<Component> _getAllComponents() {
 
         List<Component> retValue = new ArrayList<>(playerDecks);
-        playerDecks.stream().flatMap(e -> e.getComponents().stream()).forEach(retValue::add);
+        playerDecks.stream().flatMap(Deck::stream).forEach(retValue::add);
         retValue.add(drawDeck);
         retValue.addAll(drawDeck.getComponents());
         retValue.addAll(trickDecks);
-        trickDecks.stream().flatMap(e -> e.getComponents().stream()).forEach(retValue::add);
+        trickDecks.stream().flatMap(Deck::stream).forEach(retValue::add);
         currentPlayedCards.forEach(e -> retValue.add(e.getValue()));
 
         return retValue;
@@ -84,7 +84,7 @@ public class HeartsGameState extends AbstractGameState {
                 int points = 0;
 
                 // Iterate over all cards in the trick deck
-                for (FrenchCard card : trickDeck.getComponents()) {
+                for (FrenchCard card : trickDeck) {
                     if (card.suite == FrenchCard.Suite.Hearts) {
                         points += params.heartCard;
                     }
@@ -216,7 +216,7 @@ public class HeartsGameState extends AbstractGameState {
     protected List<Integer> _getUnknownComponentsIds(int playerId) {
         List<Integer> retValue = new ArrayList<>();
         retValue.add(drawDeck.getComponentID());
-        for (Component c : drawDeck.getComponents()) {
+        for (Component c : drawDeck) {
             retValue.add(c.getComponentID());
         }
         return retValue;
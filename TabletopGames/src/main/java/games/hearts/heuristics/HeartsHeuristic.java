@@ -65,7 +65,7 @@ public class HeartsHeuristic extends TunableParameters implements IStateHeuristi
 
         // Reward for having less high-value cards
         double highValueCardFactor = 0.0;
-        int highValueCards = (int) tgs.getPlayerDecks().get(playerId).getComponents().stream()
+        int highValueCards = (int) tgs.getPlayerDecks().get(playerId).stream()
                 .filter(card -> (card).number > HIGH_VALUE_THRESHOLD)
                 .count();
         if(highValueCards < maxHighValueCards) {
@@ -10,7 +10,7 @@ public class ScoreAndHighCardsHeuristic extends HeartsHeuristic {
         double scoreFactor = (maxPossibleScore - tgs.getPlayerPoints(playerId) / maxPossibleScore);
 
         double highValueCardFactor = 0.0;
-        int highValueCards = (int) tgs.getPlayerDecks().get(playerId).getComponents().stream()
+        int highValueCards = (int) tgs.getPlayerDecks().get(playerId).stream()
                 .filter(card -> (card).number > HIGH_VALUE_THRESHOLD)
                 .count();
         if(highValueCards < maxHighValueCards) {
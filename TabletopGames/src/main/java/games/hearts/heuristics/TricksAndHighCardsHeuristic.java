@@ -12,7 +12,7 @@ public class TricksAndHighCardsHeuristic extends HeartsHeuristic {
         double tricksFactor = (maxPossibleTricks - tricksTaken) / maxPossibleTricks;
 
         double highValueCardFactor = 0.0;
-        int highValueCards = (int) tgs.getPlayerDecks().get(playerId).getComponents().stream()
+        int highValueCards = (int) tgs.getPlayerDecks().get(playerId).stream()
                 .filter(card -> (card).number > HIGH_VALUE_THRESHOLD)
                 .count();
         if(highValueCards < maxHighValueCards) {
@@ -11,7 +11,7 @@ public class TricksFactorHeuristic extends HeartsHeuristic {
         double scoreFactor = (maxPossibleScore - tgs.getPlayerPoints(playerId) / maxPossibleScore);
 
         double highValueCardFactor = 0.0;
-        int highValueCards = (int) tgs.getPlayerDecks().get(playerId).getComponents().stream()
+        int highValueCards = (int) tgs.getPlayerDecks().get(playerId).stream()
                 .filter(card -> (card).number > HIGH_VALUE_THRESHOLD)
                 .count();
         if(highValueCards < maxHighValueCards) {
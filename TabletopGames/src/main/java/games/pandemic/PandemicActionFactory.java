@@ -1,17 +1,13 @@
 package games.pandemic;
 
 import core.actions.*;
-import core.components.BoardNode;
 import core.components.Card;
 import core.components.Counter;
 import core.components.Deck;
 import core.properties.*;
 import games.pandemic.actions.*;
 
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
+import java.util.*;
 
 import static core.CoreConstants.*;
 import static games.pandemic.PandemicConstants.*;
@@ -28,51 +24,48 @@ class PandemicActionFactory {
     static List<AbstractAction> getPlayerActions(PandemicGameState pgs) {
         PandemicParameters pp = (PandemicParameters) pgs.getGameParameters();
 
-        // get player's hand, role card, role string, player location name and player location BoardNode
+        // get player's hand, role card, role string, player location and its name
         Deck<Card> playerHand = ((Deck<Card>) pgs.getComponentActingPlayer(playerHandHash));
         String roleString = pgs.getPlayerRoleActingPlayer();
-        PropertyString playerLocationName = (PropertyString) pgs.getComponentActingPlayer(playerCardHash)
-                .getProperty(playerLocationHash);
-        BoardNode playerLocationNode = pgs.world.getNodeByProperty(nameHash, playerLocationName);
         int activePlayer = pgs.getTurnOrder().getCurrentPlayer(pgs);
+        int playerLocation = pgs.getPlayerLocation(activePlayer);
+        String playerLocationName = pgs.getCities().getName(playerLocation);
 
         // Create a list for possible actions, including first move actions
         Set<AbstractAction> actions = new HashSet<>(getMoveActions(pgs, activePlayer, playerHand));
 
         // Build research station, discard card corresponding to current player location to build one, if not already there.
-        if (!((PropertyBoolean) playerLocationNode.getProperty(researchStationHash)).value
+        if (!pgs.hasResearchStation(playerLocation)
                 && ! roleString.equals("Operations Expert")) {
             int card_in_hand = -1;
             for (int idx = 0; idx < playerHand.getSize(); idx++) {
                 Card card = playerHand.getComponents().get(idx);
-                Property cardName = card.getProperty(nameHash);
+                String cardName = ((PropertyString) card.getProperty(nameHash)).value;
                 if (cardName.equals(playerLocationName)) {
                     card_in_hand = idx;
                     break;
                 }
             }
             if (card_in_hand != -1) {
-                actions.addAll(getResearchStationActions(pgs, playerLocationName.value,
+                actions.addAll(getResearchStationActions(pgs, playerLocationName,
                         playerHand.getComponents().get(card_in_hand), playerHand.getComponentID(),
                         pgs.getComponent(playerDeckDiscardHash).getComponentID(), card_in_hand));
             }
         }
 
         // Treat disease
-        PropertyIntArray cityInfections = (PropertyIntArray)playerLocationNode.getProperty(infectionHash);
-        for (int i = 0; i < cityInfections.getValues().length; i++){
-            if (cityInfections.getValues()[i] > 0){
+        for (int i = 0; i < colors.length; i++){
+            if (pgs.getDiseaseCubes(playerLocation, i) > 0){
                 boolean treatAll = roleString.equals("Medic");
 
-                actions.add(new TreatDisease(pp.nInitialDiseaseCubes, colors[i], playerLocationName.value, treatAll));
+                actions.add(new TreatDisease(pp.nInitialDiseaseCubes, colors[i], playerLocationName, treatAll));
             }
         }
 
         // Share knowledge, give or take card, player can only have 7 cards
         // Both players have to be at the same city
-        List<Integer> playersInSameLocation = ((PropertyIntArrayList)playerLocationNode.getProperty(playersHash)).getValues();
-        for (int i : playersInSameLocation) {
-            if (i != activePlayer) {
+        for (int i = 0; i < pgs.getNPlayers(); i++) {
+            if (i != activePlayer && pgs.getPlayerLocation(i) == playerLocation) {
                 // Give card
                 addShareKnowledgeActions(playerLocationName, actions, activePlayer, playerHand, roleString, i);
 
@@ -85,7 +78,7 @@ class PandemicActionFactory {
         }
 
         // Discover a cure, cards of the same colour at a research station
-        if (((PropertyBoolean) playerLocationNode.getProperty(researchStationHash)).value) {
+        if (pgs.hasResearchStation(playerLocation)) {
             ArrayList<Integer>[] colorCounter = new ArrayList[colors.length];
             for (Card card : playerHand.getComponents()) {
                 Property p = card.getProperty(colorHash);
@@ -110,7 +103,7 @@ class PandemicActionFactory {
         }
 
         // Special role actions
-        actions.addAll(getSpecialRoleActions(pgs, roleString, playerHand, playerLocationName.value));
+        actions.addAll(getSpecialRoleActions(pgs, roleString, playerHand, playerLocationName));
 
         // Event actions
         actions.addAll(getEventActions(pgs));
@@ -129,11 +122,11 @@ class PandemicActionFactory {
      * @param giverRole - role of player giving a card
      * @param receiver - ID of player receiving a card
      */
-    private static void addShareKnowledgeActions(PropertyString playerLocation, Set<AbstractAction> actions,
+    private static void addShareKnowledgeActions(String playerLocation, Set<AbstractAction> actions,
                                                  int giver, Deck<Card> giverDeck, String giverRole, int receiver) {
         for (int j = 0; j < giverDeck.getSize(); j++) {
             Card card = giverDeck.getComponents().get(j);
-            if (giverRole.equals("Researcher") || (card.getProperty(nameHash)).equals(playerLocation)) {
+            if (giverRole.equals("Researcher") || ((PropertyString) card.getProperty(nameHash)).value.equals(playerLocation)) {
                 actions.add(new ShareKnowledge(giver, receiver, j));
             }
         }
@@ -154,19 +147,17 @@ class PandemicActionFactory {
         switch (role) {
             // Operations expert special actions
             case "Operations Expert":
-                if (!(pgs.researchStationLocations.contains(playerLocation))) {
+                if (!pgs.hasResearchStation(pgs.getCities().getIndex(playerLocation))) {
                     actions.addAll(getResearchStationActions(pgs, playerLocation, null, -1, -1,-1));
                 } else {
-                    // List all the other nodes with combination of all the city cards in hand
-                    PropertyString playerLocationProperty = (PropertyString) pgs.getComponent(playerCardHash, playerIdx)
-                            .getProperty(playerLocationHash);
-                    String playerLocationName = playerLocationProperty.value;
-                    for (BoardNode bn : pgs.world.getBoardNodes()) {
-                        if (playerLocationName.equals(((PropertyString)bn.getProperty(nameHash)).value)) continue;
+                    // List all the other cities with combination of all the city cards in hand
+                    int playerLocationIdx = pgs.getPlayerLocation(playerIdx);
+                    for (int city = 0; city < pgs.getCities().getNCities(); city++) {
+                        if (city == playerLocationIdx) continue;
 
                         for (int c = 0; c < playerHand.getSize(); c++) {
                             if (playerHand.getComponents().get(c).getProperty(colorHash) != null) {
-                                actions.add(new MovePlayerWithCard(MovePlayer.MoveType.OperationsExpert, playerIdx, ((PropertyString) bn.getProperty(nameHash)).value, c, playerIdx));
+                                actions.add(new MovePlayerWithCard(MovePlayer.MoveType.OperationsExpert, playerIdx, pgs.getCities().getName(city), c, playerIdx));
                             }
                         }
                     }
@@ -177,8 +168,7 @@ class PandemicActionFactory {
                 // Move any pawn, if its owner agrees, to any city containing another pawn.
                 String[] locations = new String[pgs.getNPlayers()];
                 for (int i = 0; i < pgs.getNPlayers(); i++) {
-                    locations[i] = ((PropertyString) pgs.getComponent(playerCardHash, i)
-                            .getProperty(playerLocationHash)).value;
+                    locations[i] = pgs.getPlayerLocationName(i);
                 }
                 for (int j = 0; j < pgs.getNPlayers(); j++) {
                     for (int i = 0; i < pgs.getNPlayers(); i++) {
@@ -232,7 +222,9 @@ class PandemicActionFactory {
         // Check if any research station tokens left
         if (rStationCounter.getValue() == 0) {
             // If all research stations are used, then take one from board
-            for (String station : pgs.researchStationLocations) {
+            BitSet stations = pgs.getResearchStations();
+            for (int city = stations.nextSetBit(0); city >= 0; city = stations.nextSetBit(city + 1)) {
+                String station = pgs.getCities().getName(city);
                 if (card == null) actions.add(new AddResearchStationFrom(station, playerLocation));
                 else actions.add(new AddResearchStationWithCardFrom(station, playerLocation, deckFrom, deckTo, cardIdx));
             }
@@ -253,22 +245,20 @@ class PandemicActionFactory {
     static List<AbstractAction> getMoveActions(PandemicGameState pgs, int playerId, Deck<Card> playerHand){
         Set<AbstractAction> actions = new HashSet<>();
 
-        PropertyString playerLocationProperty = (PropertyString) pgs.getComponent(playerCardHash, playerId)
-                .getProperty(playerLocationHash);
-        String playerLocationName = playerLocationProperty.value;
-        BoardNode playerLocationNode = pgs.world.getNodeByProperty(nameHash, playerLocationProperty);
-        Set<BoardNode> neighbours = playerLocationNode.getNeighbours().keySet();
+        PandemicCities cities = pgs.getCities();
+        int playerLocation = pgs.getPlayerLocation(playerId);
+        String playerLocationName = cities.getName(playerLocation);
 
         // Drive / Ferry add actions for travelling to immediate cities
-        for (BoardNode otherCity : neighbours){
-            actions.add(new MovePlayer(MovePlayer.MoveType.DriveFerry, playerId, ((PropertyString)otherCity.getProperty(nameHash)).value));
+        for (int otherCity : cities.getNeighbours(playerLocation)){
+            actions.add(new MovePlayer(MovePlayer.MoveType.DriveFerry, playerId, cities.getName(otherCity)));
         }
 
         // Iterate over all the cities in the world
-        for (BoardNode bn: pgs.world.getBoardNodes()) {
-            String destination = ((PropertyString) bn.getProperty(nameHash)).value;
+        for (int city = 0; city < cities.getNCities(); city++) {
+            String destination = cities.getName(city);
 
-            if (!neighbours.contains(bn)) {  // Ignore neighbours, already covered in Drive/Ferry actions
+            if (!cities.areNeighbours(playerLocation, city)) {  // Ignore neighbours, already covered in Drive/Ferry actions
                 for (int c = 0; c < playerHand.getSize(); c++){
                     Card card = playerHand.getComponents().get(c);
 
@@ -292,9 +282,10 @@ class PandemicActionFactory {
 
         // Shuttle flight, move from city with research station to any other research station
         // If current city has research station, add every city that has research stations
-        if (((PropertyBoolean)playerLocationNode.getProperty(researchStationHash)).value) {
-            for (String station: pgs.researchStationLocations){
-                actions.add(new MovePlayer(MovePlayer.MoveType.ShuttleFlight, playerId, station));
+        if (pgs.hasResearchStation(playerLocation)) {
+            BitSet stations = pgs.getResearchStations();
+            for (int station = stations.nextSetBit(0); station >= 0; station = stations.nextSetBit(station + 1)){
+                actions.add(new MovePlayer(MovePlayer.MoveType.ShuttleFlight, playerId, cities.getName(station)));
             }
         }
 
@@ -380,12 +371,11 @@ class PandemicActionFactory {
             case "Airlift":
 //                System.out.println("Airlift");
 //            System.out.println("Move any 1 pawn to any city. Get permission before moving another player's pawn.");
-                for (BoardNode bn: pgs.world.getBoardNodes()) {
-                    String cityName = ((PropertyString) bn.getProperty(nameHash)).value;
+                for (int city = 0; city < pgs.getCities().getNCities(); city++) {
+                    String cityName = pgs.getCities().getName(city);
                     for (int i = 0; i < pgs.getNPlayers(); i++) {
                         // Check if player is already there
-                        String pLocation = ((PropertyString) pgs.getComponent(playerCardHash, i).getProperty(playerLocationHash)).value;
-                        if (pLocation.equals(cityName)) continue;
+                        if (pgs.getPlayerLocation(i) == city) continue;
                         actions.add(new MovePlayerWithCard(MovePlayer.MoveType.Airlift, i, cityName, cardIdx, playerIdx));
                     }
                 }
@@ -399,9 +389,9 @@ class PandemicActionFactory {
                 break;
             case "Government Grant":
                 // "Add 1 research station to any city (no City card needed)."
-                for (BoardNode bn: pgs.world.getBoardNodes()) {
-                    if (!((PropertyBoolean) bn.getProperty(researchStationHash)).value) {
-                        String cityName = ((PropertyString) bn.getProperty(nameHash)).value;
+                for (int city = 0; city < pgs.getCities().getNCities(); city++) {
+                    if (!pgs.hasResearchStation(city)) {
+                        String cityName = pgs.getCities().getName(city);
                         actions.addAll(getResearchStationActions(pgs, cityName, card, deckFrom, deckTo, cardIdx));
                     }
                 }
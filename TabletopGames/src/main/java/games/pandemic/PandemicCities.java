@@ -0,0 +1,81 @@
+package games.pandemic;
+
+import core.components.BoardNode;
+import core.components.GraphBoard;
+import core.properties.PropertyString;
+
+import java.util.*;
+
+import static core.CoreConstants.nameHash;
+
+/**
+ * The cities of the world map, numbered in the order the world lists its board nodes, with the routes between them.
+ * <p>
+ * The map does not change once the game is set up, so one of these is shared by all copies of the game state. What
+ * does change (disease cubes, research stations and where the players are) is kept by PandemicGameState, in arrays
+ * indexed by city.
+ */
+public class PandemicCities {
+
+    private final GraphBoard world;
+    private final BoardNode[] nodes;
+    private final String[] names;
+    private final int[][] neighbours;  // in the same order as BoardNode.getNeighbours()
+    private final boolean[][] isNeighbour;
+    private final Map<String, Integer> cityIndex = new HashMap<>();
+
+    public PandemicCities(GraphBoard world) {
+        this.world = world;
+        nodes = world.getBoardNodes().toArray(new BoardNode[0]);
+        int nCities = nodes.length;
+        names = new String[nCities];
+        neighbours = new int[nCities][];
+        isNeighbour = new boolean[nCities][nCities];
+        for (int city = 0; city < nCities; city++) {
+            names[city] = ((PropertyString) nodes[city].getProperty(nameHash)).value;
+            cityIndex.put(names[city], city);
+        }
+        for (int city = 0; city < nCities; city++) {
+            Set<BoardNode> ns = nodes[city].getNeighbours().keySet();
+            neighbours[city] = new int[ns.size()];
+            int i = 0;
+            for (BoardNode n : ns) {
+                int other = cityIndex.get(((PropertyString) n.getProperty(nameHash)).value);
+                neighbours[city][i++] = other;
+                isNeighbour[city][other] = true;
+            }
+        }
+    }
+
+    public GraphBoard getWorld() {
+        return world;
+    }
+
+    public int getNCities() {
+        return names.length;
+    }
+
+    /**
+     * @return - index of the city with this name, or -1 if there is none.
+     */
+    public int getIndex(String name) {
+        Integer city = name == null ? null : cityIndex.get(name);
+        return city == null ? -1 : city;
+    }
+
+    public String getName(int city) {
+        return names[city];
+    }
+
+    public BoardNode getNode(int city) {
+        return nodes[city];
+    }
+
+    public int[] getNeighbours(int city) {
+        return neighbours[city];
+    }
+
+    public boolean areNeighbours(int city, int other) {
+        return isNeighbour[city][other];
+    }
+}
@@ -7,6 +7,15 @@ import java.util.List;
 
 public class PandemicConstants {
     public final static String[] colors = new String[]{"yellow", "red", "blue", "black"};
+    // Hashes of the "Disease <colour>" and "Disease Cube <colour>" counters, in the same order as the colours
+    public final static int[] diseaseHash = new int[colors.length];
+    public final static int[] diseaseCubeHash = new int[colors.length];
+    static {
+        for (int i = 0; i < colors.length; i++) {
+            diseaseHash[i] = Hash.GetInstance().hash("Disease " + colors[i]);
+            diseaseCubeHash[i] = Hash.GetInstance().hash("Disease Cube " + colors[i]);
+        }
+    }
 
     public final static int playerLocationHash = Hash.GetInstance().hash("playerLocation");
     public final static int neighboursHash = Hash.GetInstance().hash("neighbours");
@@ -119,9 +119,6 @@ public class PandemicForwardModel extends AbstractRuleBasedForwardModel {
 
         nextPlayerRule.setNext(root);
 
-        // Next rule to execute is root
-        nextRule = root;
-
         // Draw game tree from root
 //        new GameFlowDiagram(root);
     }
@@ -134,6 +131,14 @@ public class PandemicForwardModel extends AbstractRuleBasedForwardModel {
         super(root);
     }
 
+    /**
+     * Copy constructor, sharing the rule graph of the given model.
+     * @param model - model to copy.
+     */
+    private PandemicForwardModel(PandemicForwardModel model) {
+        super(model);
+    }
+
     /**
      * Performs initial game setup according to game rules
      *  - sets up decks and shuffles
@@ -171,13 +176,15 @@ public class PandemicForwardModel extends AbstractRuleBasedForwardModel {
         Area gameArea = new Area(-1, "Game Area");
         state.areas.put(-1, gameArea);
 
-        // Load the board
-        state.world = _data.findGraphBoard("cities");
-        gameArea.putComponent(pandemicBoardHash, state.world);
+        // Load the board; the map does not change, so it is kept out of the game area and shared by all copies
+        state.cities = new PandemicCities(_data.findGraphBoard("cities"));
+        state.cubes = new byte[state.cities.getNCities() * colors.length];
+        state.researchStations = new BitSet(state.cities.getNCities());
+        state.playerLocations = new int[state.getNPlayers()];
+        Arrays.fill(state.playerLocations, -1);
 
         // Initialize game state variables
         state.setNCardsDrawn(0);
-        state.researchStationLocations = new ArrayList<>();
 
         // Set up the counters and sync with game parameters
         Counter infection_rate = _data.findCounter("Infection Rate");
@@ -193,17 +200,15 @@ public class PandemicForwardModel extends AbstractRuleBasedForwardModel {
         gameArea.putComponent(outbreaksHash, outbreaks);
         gameArea.putComponent(PandemicConstants.researchStationHash, researchStations);
 
-        for (String color : colors) {
-            int hash = Hash.GetInstance().hash("Disease " + color);
-            Counter diseaseC = _data.findCounter("Disease " + color);
+        for (int c = 0; c < colors.length; c++) {
+            Counter diseaseC = _data.findCounter("Disease " + colors[c]);
             diseaseC.setValue(0);  // 0 - cure not discovered; 1 - cure discovered; 2 - eradicated
-            gameArea.putComponent(hash, diseaseC);
+            gameArea.putComponent(diseaseHash[c], diseaseC);
 
-            hash = Hash.GetInstance().hash("Disease Cube " + color);
-            Counter diseaseCubeCounter = _data.findCounter("Disease Cube " + color);
+            Counter diseaseCubeCounter = _data.findCounter("Disease Cube " + colors[c]);
             diseaseCubeCounter.setMaximum(pp.nInitialDiseaseCubes);
             diseaseCubeCounter.setValue(pp.nInitialDiseaseCubes);
-            gameArea.putComponent(hash, diseaseCubeCounter);
+            gameArea.putComponent(diseaseCubeHash[c], diseaseCubeCounter);
         }
 
         // Set up decks
@@ -361,7 +366,7 @@ public class PandemicForwardModel extends AbstractRuleBasedForwardModel {
     }
 
     public PandemicForwardModel copy() {
-        PandemicForwardModel retValue = new PandemicForwardModel(copyRoot());
+        PandemicForwardModel retValue = new PandemicForwardModel(this);
         retValue.decisionPlayerID = decisionPlayerID;
         retValue.decorators = new ArrayList<>(decorators);
         return retValue;
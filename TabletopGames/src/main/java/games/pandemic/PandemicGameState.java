@@ -9,7 +9,6 @@ import core.components.Area;
 import core.AbstractParameters;
 import core.turnorders.TurnOrder;
 import games.GameType;
-import utilities.Hash;
 
 import java.util.*;
 
@@ -34,22 +33,28 @@ public class PandemicGameState extends AbstractGameStateWithTurnOrder implements
     // Temporary deck used as a buffer by several actions.
     Deck<Card> tempDeck;
 
-    // The main game board
-    GraphBoard world;
+    // The cities on the main game board, shared by all copies of the game state
+    PandemicCities cities;
+    // Disease cubes in each city, indexed by city * colors.length + colour
+    byte[] cubes;
+    // Cities with research stations
+    BitSet researchStations;
+    // City each player is in, -1 if not yet placed
+    int[] playerLocations;
     // Was a quiet night card played?
     boolean quietNight;
     // Was an epidemic card drawn?
     boolean epidemic;
     // How many cards the current player has drawn in their turn
     int nCardsDrawn;
-    // Keeps track of locations of all research stations (list of names of cities / board nodes)
-    ArrayList<String> researchStationLocations;
+    // Player whose hand went over capacity with the last card drawn by a player action (-1 if none)
+    int playerHandOverCapacity;
 
     @Override
     protected List<Component> _getAllComponents() {
         List<Component> components = new ArrayList<>(areas.values());
         components.add(tempDeck);
-        components.add(world);
+        components.add(cities.getWorld());
         return components;
     }
 
@@ -67,11 +72,11 @@ public class PandemicGameState extends AbstractGameStateWithTurnOrder implements
         double[] features = new double[3 + colors.length];
         int nDiseasesCured = 0;
         int i = 3;
-        for (String color: colors) {
-            Counter disease = (Counter) getComponent(Hash.GetInstance().hash("Disease " + color));
+        for (int c = 0; c < colors.length; c++) {
+            Counter disease = (Counter) getComponent(diseaseHash[c]);
             if (disease.getValue() >= 1) nDiseasesCured++;
 
-            Counter diseaseCube = (Counter) getComponent(Hash.GetInstance().hash("Disease cube " + color));
+            Counter diseaseCube = (Counter) getComponent(diseaseCubeHash[c]);
             features[i++] = diseaseCube.getValue();
         }
 
@@ -121,31 +126,38 @@ public class PandemicGameState extends AbstractGameStateWithTurnOrder implements
     protected void _reset() {
         areas = null;
         tempDeck = null;
-        world = null;
+        cities = null;
+        cubes = null;
+        researchStations = new BitSet();
+        playerLocations = null;
         quietNight = false;
         epidemic = false;
         nCardsDrawn = 0;
-        researchStationLocations = new ArrayList<>();
+        playerHandOverCapacity = -1;
     }
 
     @Override
     protected boolean _equals(Object o) {
         if (this == o) return true;
         if (!(o instanceof PandemicGameState)) return false;
-        if (!super.equals(o)) return false;
         PandemicGameState that = (PandemicGameState) o;
         return quietNight == that.quietNight &&
                 epidemic == that.epidemic &&
                 nCardsDrawn == that.nCardsDrawn &&
+                playerHandOverCapacity == that.playerHandOverCapacity &&
                 Objects.equals(areas, that.areas) &&
                 Objects.equals(tempDeck, that.tempDeck) &&
-                Objects.equals(world, that.world) &&
-                Objects.equals(researchStationLocations, that.researchStationLocations);
+                Arrays.equals(cubes, that.cubes) &&
+                Objects.equals(researchStations, that.researchStations) &&
+                Arrays.equals(playerLocations, that.playerLocations);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(super.hashCode(), areas, tempDeck, world, quietNight, epidemic, nCardsDrawn, researchStationLocations);
+        int result = Objects.hash(super.hashCode(), areas, tempDeck, quietNight, epidemic, nCardsDrawn, researchStations);
+        result = 31 * result + Arrays.hashCode(cubes);
+        result = 31 * result + Arrays.hashCode(playerLocations);
+        return result;
     }
 
     /**
@@ -179,8 +191,32 @@ public class PandemicGameState extends AbstractGameStateWithTurnOrder implements
     Area getArea(int playerId) {
         return areas.get(playerId);
     }
-    public void addResearchStation(String location) { researchStationLocations.add(location); }
-    public void removeResearchStation(String location) { researchStationLocations.remove(location); }
+    public PandemicCities getCities() {
+        return cities;
+    }
+    public int getDiseaseCubes(int city, int colour) {
+        return cubes[city * colors.length + colour];
+    }
+    public void setDiseaseCubes(int city, int colour, int nCubes) {
+        cubes[city * colors.length + colour] = (byte) nCubes;
+    }
+    public boolean hasResearchStation(int city) {
+        return researchStations.get(city);
+    }
+    public BitSet getResearchStations() {
+        return researchStations;
+    }
+    public void addResearchStation(int city) { researchStations.set(city); }
+    public void removeResearchStation(int city) { researchStations.clear(city); }
+    public int getPlayerLocation(int playerId) {
+        return playerLocations[playerId];
+    }
+    public String getPlayerLocationName(int playerId) {
+        return playerLocations[playerId] == -1 ? null : cities.getName(playerLocations[playerId]);
+    }
+    public void setPlayerLocation(int playerId, int city) {
+        playerLocations[playerId] = city;
+    }
     public void setQuietNight(boolean qn) {
         quietNight = qn;
     }
@@ -202,6 +238,12 @@ public class PandemicGameState extends AbstractGameStateWithTurnOrder implements
     public int getNCardsDrawn() {
         return nCardsDrawn;
     }
+    public void setPlayerHandOverCapacity(int playerId) {
+        playerHandOverCapacity = playerId;
+    }
+    public int getPlayerHandOverCapacity() {
+        return playerHandOverCapacity;
+    }
     public void clearTempDeck() {
         tempDeck.clear();
     }
@@ -217,7 +259,7 @@ public class PandemicGameState extends AbstractGameStateWithTurnOrder implements
         return ((PropertyString) playerCard.getProperty(nameHash)).value;
     }
     public GraphBoard getWorld() {
-        return world;
+        return cities.getWorld();
     }
 
     @Override
@@ -246,17 +288,21 @@ public class PandemicGameState extends AbstractGameStateWithTurnOrder implements
                         a.putComponent(e.getKey(), e.getValue().copy());
                     }
                 }
+                gs.areas.put(key, a);  // Already holds copies of the components
+            } else {
+                gs.areas.put(key, a.copy());
             }
-            gs.areas.put(key, a.copy());
         }
         gs.tempDeck = tempDeck.copy();
 
-        gs.world = world.copy();
+        gs.cities = cities;
+        gs.cubes = cubes.clone();
+        gs.researchStations = (BitSet) researchStations.clone();
+        gs.playerLocations = playerLocations.clone();
         gs.quietNight = quietNight;
         gs.epidemic = epidemic;
         gs.nCardsDrawn = nCardsDrawn;
-
-        gs.researchStationLocations = new ArrayList<>(researchStationLocations);
+        gs.playerHandOverCapacity = playerHandOverCapacity;
 
         return gs;
     }
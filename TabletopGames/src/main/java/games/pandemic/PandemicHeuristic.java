@@ -5,9 +5,7 @@ import core.CoreConstants;
 import core.components.Counter;
 import core.components.Deck;
 import core.interfaces.IStateHeuristic;
-import core.properties.PropertyString;
 import evaluation.optimisation.TunableParameters;
-import utilities.Hash;
 
 import static games.pandemic.PandemicConstants.*;
 import static utilities.Utils.indexOf;
@@ -59,19 +57,14 @@ public class PandemicHeuristic extends TunableParameters implements IStateHeuris
         int nCardsInHand = ((Deck) pgs.getComponentActingPlayer(CoreConstants.playerHandHash)).getSize() / (pp.maxCardsPerPlayer + 2);
         int nResearchStations = ((Counter) pgs.getComponent(PandemicConstants.researchStationHash)).getValue() / pp.nResearchStations;
 
-        int playerAtResStation = 0;
-        for (String resStationLocation: pgs.researchStationLocations){
-            if (((PropertyString) pgs.getComponentActingPlayer(playerCardHash).getProperty(playerLocationHash)).value.equals(resStationLocation)){
-                playerAtResStation = 1;
-            }
-
-        }
+        int playerAtResStation = pgs.hasResearchStation(pgs.getPlayerLocation(pgs.getCurrentPlayer())) ? 1 : 0;
         double nCuresDiscovered = 0;
         double nDiseaseCubes = 0;
 
-        for (String color : colors) {
-            nDiseaseCubes += ((Counter) pgs.getComponent(Hash.GetInstance().hash("Disease Cube " + color))).getValue();
-            if (((Counter) pgs.getComponent(Hash.GetInstance().hash("Disease Cube " + color))).getValue() > 0)
+        for (int c = 0; c < colors.length; c++) {
+            int nCubes = ((Counter) pgs.getComponent(diseaseCubeHash[c])).getValue();
+            nDiseaseCubes += nCubes;
+            if (nCubes > 0)
                 nCuresDiscovered += 1;
         }
 
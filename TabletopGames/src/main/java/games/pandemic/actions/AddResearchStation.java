@@ -1,18 +1,13 @@
 package games.pandemic.actions;
 
 import core.actions.AbstractAction;
-import core.components.BoardNode;
 import core.components.Counter;
-import core.properties.PropertyBoolean;
 import core.AbstractGameState;
-import core.properties.PropertyString;
 import games.pandemic.PandemicConstants;
 import games.pandemic.PandemicGameState;
 
 import java.util.Objects;
 
-import static core.CoreConstants.nameHash;
-
 public class AddResearchStation extends AbstractAction {
     protected String city;
 
@@ -22,13 +17,12 @@ public class AddResearchStation extends AbstractAction {
 
     @Override
     public boolean execute(AbstractGameState gs) {
-        BoardNode bn = ((PandemicGameState)gs).getWorld().getNodeByStringProperty(nameHash, city);
         PandemicGameState pgs = (PandemicGameState)gs;
-        if (bn != null) {
-            bn.setProperty(new PropertyBoolean("Research Stations", true));
+        int cityIdx = pgs.getCities().getIndex(city);
+        if (cityIdx != -1) {
             Counter rStationCounter = (Counter) pgs.getComponent(PandemicConstants.researchStationHash);
             rStationCounter.decrement(1); // We have one less research station
-            pgs.addResearchStation(((PropertyString) bn.getProperty(nameHash)).value);
+            pgs.addResearchStation(cityIdx);
             return true;
         }
         return false;
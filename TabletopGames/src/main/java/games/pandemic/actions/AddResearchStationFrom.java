@@ -1,16 +1,11 @@
 package games.pandemic.actions;
 
 import core.actions.AbstractAction;
-import core.components.BoardNode;
-import core.properties.PropertyBoolean;
 import core.AbstractGameState;
-import core.properties.PropertyString;
 import games.pandemic.PandemicGameState;
 
 import java.util.Objects;
 
-import static core.CoreConstants.nameHash;
-
 
 public class AddResearchStationFrom extends AddResearchStation {
 
@@ -27,10 +22,9 @@ public class AddResearchStationFrom extends AddResearchStation {
         boolean success = super.execute(gs);
 
         // Remove research station from "fromCity" location
-        BoardNode bn = pgs.getWorld().getNodeByStringProperty(nameHash, fromCity);
-        if (bn != null) {
-            bn.setProperty(new PropertyBoolean("Research Stations", false));
-            pgs.removeResearchStation(((PropertyString) bn.getProperty(nameHash)).value);
+        int cityIdx = pgs.getCities().getIndex(fromCity);
+        if (cityIdx != -1) {
+            pgs.removeResearchStation(cityIdx);
         }
 
         return success;
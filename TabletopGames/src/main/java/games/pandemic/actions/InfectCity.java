@@ -2,18 +2,14 @@ package games.pandemic.actions;
 
 import core.actions.AbstractAction;
 import core.actions.DrawCard;
-import core.components.BoardNode;
 import core.components.Card;
 import core.components.Counter;
 import core.properties.*;
 import core.AbstractGameState;
 import games.pandemic.PandemicConstants;
 import games.pandemic.PandemicGameState;
-import utilities.Hash;
 import utilities.Utils;
 
-import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.Objects;
 
 import static games.pandemic.PandemicConstants.*;
@@ -42,51 +38,54 @@ public class InfectCity extends DrawCard {
         PandemicGameState pgs = (PandemicGameState)gs;
         Card infectingCard = getCard(gs);
         PropertyColor color = (PropertyColor) infectingCard.getProperty(colorHash);
-        Counter diseaseCounter = (Counter) pgs.getComponent(Hash.GetInstance().hash("Disease " + color.valueStr));
+        int colorIdx = Utils.indexOf(colors, color.valueStr);
+        Counter diseaseCounter = (Counter) pgs.getComponent(diseaseHash[colorIdx]);
 
         boolean disease_eradicated = diseaseCounter.getValue() == 2;
         if (!disease_eradicated) {  // Only infect if disease is not eradicated
-            Counter diseaseCubeCounter = (Counter) pgs.getComponent(Hash.GetInstance().hash("Disease Cube " + color.valueStr));
-            int colorIdx = Utils.indexOf(colors, color.valueStr);
-            PropertyString city = (PropertyString) infectingCard.getProperty(nameHash);
+            Counter diseaseCubeCounter = (Counter) pgs.getComponent(diseaseCubeHash[colorIdx]);
+            PropertyString cityName = (PropertyString) infectingCard.getProperty(nameHash);
 
-            BoardNode bn = pgs.getWorld().getNodeByStringProperty(nameHash, city.value);
-            if (bn != null) {
+            int city = pgs.getCities().getIndex(cityName.value);
+            if (city != -1) {
                 // check if quarantine specialist is on that node
-                PropertyIntArrayList players = (PropertyIntArrayList)bn.getProperty(playersHash);
-                for (int playerIdx: players.getValues()){
-                    Card playerCard = (Card) pgs.getComponent(PandemicConstants.playerCardHash, playerIdx);
-                    String roleString = ((PropertyString)playerCard.getProperty(nameHash)).value;
-                    if (roleString.equals("Quarantine Specialist")){
+                for (int playerIdx = 0; playerIdx < pgs.getNPlayers(); playerIdx++) {
+                    if (pgs.getPlayerLocation(playerIdx) == city && pgs.getPlayerRole(playerIdx).equals("Quarantine Specialist")) {
                         // no infection or outbreak
                         return true;
                     }
                 }
-                PropertyIntArray infectionArray = (PropertyIntArray) bn.getProperty(infectionHash);
-                int[] array = infectionArray.getValues();
 
                 // Add count cubes to this city
-                array[colorIdx] += count;
+                int cubes = pgs.getDiseaseCubes(city, colorIdx) + count;
 
-                if (array[colorIdx] > maxCubesPerCity) {  // Outbreak!
+                if (cubes > maxCubesPerCity) {  // Outbreak!
                     Counter outbreakCounter = (Counter) pgs.getComponent(PandemicConstants.outbreaksHash);
 
-                    diseaseCubeCounter.decrement(maxCubesPerCity - array[colorIdx]);
-                    array[colorIdx] = maxCubesPerCity;
-                    HashSet<BoardNode> allCityOutbreaks = new HashSet<>();  // Make sure we don't get stuck in loop
-                    ArrayList<BoardNode> outbreaks = outbreak(bn, gs, colorIdx, diseaseCubeCounter, outbreakCounter);
-                    while (outbreaks.size() > 0) {  // Chain reaction
-                        ArrayList<BoardNode> outbreaks2 = new ArrayList<>();
-                        for (BoardNode b2 : outbreaks) {
-                            if (!allCityOutbreaks.contains(b2)) {
-                                outbreaks2.addAll(outbreak(b2, gs, colorIdx, diseaseCubeCounter, outbreakCounter));
+                    diseaseCubeCounter.decrement(maxCubesPerCity - cubes);
+                    pgs.setDiseaseCubes(city, colorIdx, maxCubesPerCity);
+
+                    // Chain reaction, one level of the queue at a time. Each outbreak adds at most one city per player,
+                    // and cities that outbreak in the second level are marked before the third, so this is large enough.
+                    int nPlayers = pgs.getNPlayers();
+                    int[] queue = new int[nPlayers * (nPlayers + 1)];
+                    boolean[] allCityOutbreaks = new boolean[pgs.getCities().getNCities()];  // Make sure we don't get stuck in loop
+                    int from = 0, to = outbreak(city, pgs, colorIdx, diseaseCubeCounter, outbreakCounter, queue, 0);
+                    while (to > from) {
+                        int next = to;
+                        for (int i = from; i < to; i++) {
+                            if (!allCityOutbreaks[queue[i]]) {
+                                next = outbreak(queue[i], pgs, colorIdx, diseaseCubeCounter, outbreakCounter, queue, next);
                             }
                         }
-                        outbreaks.clear();
-                        outbreaks.addAll(outbreaks2);
-                        allCityOutbreaks.addAll(outbreaks2);
+                        for (int i = to; i < next; i++) {
+                            allCityOutbreaks[queue[i]] = true;
+                        }
+                        from = to;
+                        to = next;
                     }
                 } else {
+                    pgs.setDiseaseCubes(city, colorIdx, cubes);
                     // Decrease the number of remaining cubes
                     diseaseCubeCounter.decrement(count);
                 }
@@ -96,39 +95,35 @@ public class InfectCity extends DrawCard {
         return false;
     }
 
-
-
-    private ArrayList<BoardNode> outbreak(BoardNode n, AbstractGameState gs, int colorIdx, Counter diseaseCubeCounter,
-                                          Counter outbreakCounter) {
-        PandemicGameState pgs = (PandemicGameState)gs;
-        // Returns list of neighbouring board nodes which have outbreaks happening as well for chain reactions
-        ArrayList<BoardNode> outbreaks = new ArrayList<>();
+    /**
+     * Adds neighbouring cities which have outbreaks happening as well (for chain reactions) to the queue, from index
+     * end.
+     * @return - the new end of the queue.
+     */
+    private int outbreak(int city, PandemicGameState pgs, int colorIdx, Counter diseaseCubeCounter,
+                         Counter outbreakCounter, int[] queue, int end) {
         outbreakCounter.increment(1);
 
-        // Find neighbouring board nodes
-        for (BoardNode b2 : n.getNeighbours().keySet()){
-
-            PropertyIntArrayList players = (PropertyIntArrayList)b2.getProperty(playersHash);
-            for (int playerIdx: players.getValues()){
-                Card playerCard = (Card)pgs.getComponent(PandemicConstants.playerCardHash, playerIdx);
-                String roleString = ((PropertyString)playerCard.getProperty(nameHash)).value;
-                if (!roleString.equals("Quarantine Specialist")) {
+        // Find neighbouring cities
+        for (int other : pgs.getCities().getNeighbours(city)) {
+            for (int playerIdx = 0; playerIdx < pgs.getNPlayers(); playerIdx++) {
+                if (pgs.getPlayerLocation(playerIdx) != other) continue;
+                if (!pgs.getPlayerRole(playerIdx).equals("Quarantine Specialist")) {
                     // no infection or outbreak in the city where the QS is placed
                     // Try to add a disease cube here
-                    PropertyIntArray infectionArray = (PropertyIntArray) b2.getProperty(infectionHash);
-                    int[] array = infectionArray.getValues();
-                    if (array[colorIdx] == maxCubesPerCity) {
+                    int cubes = pgs.getDiseaseCubes(other, colorIdx);
+                    if (cubes == maxCubesPerCity) {
                         // Chain outbreak
-                        outbreaks.add(b2);
+                        queue[end++] = other;
                     } else {
                         // Only add a cube here
-                        array[colorIdx] += 1;
+                        pgs.setDiseaseCubes(other, colorIdx, cubes + 1);
                         diseaseCubeCounter.decrement(1);
                     }
                 }
             }
         }
-        return outbreaks;
+        return end;
     }
 
     public int getCount() {
@@ -1,18 +1,11 @@
 package games.pandemic.actions;
 
 import core.actions.AbstractAction;
-import core.components.BoardNode;
-import core.components.Card;
-import core.properties.*;
 import core.AbstractGameState;
 import games.pandemic.PandemicGameState;
-import games.pandemic.PandemicConstants;
 
 import java.util.Objects;
 
-import static core.CoreConstants.nameHash;
-import static core.CoreConstants.playersHash;
-
 
 public class MovePlayer extends AbstractAction {
     int playerToMove;
@@ -38,9 +31,8 @@ public class MovePlayer extends AbstractAction {
     @Override
     public boolean execute(AbstractGameState gs) {
         PandemicGameState pgs = (PandemicGameState) gs;
-        PropertyString prop = (PropertyString) pgs.getComponent(PandemicConstants.playerCardHash, playerToMove).getProperty(PandemicConstants.playerLocationHash);
-        removePlayer((PandemicGameState)gs, prop.value, playerToMove);
-        placePlayer((PandemicGameState)gs, destination, playerToMove);
+        removePlayer(pgs, pgs.getPlayerLocationName(playerToMove), playerToMove);
+        placePlayer(pgs, destination, playerToMove);
         return true;
     }
 
@@ -51,21 +43,13 @@ public class MovePlayer extends AbstractAction {
 
 
     public static void placePlayer(PandemicGameState gs, String city, int playerIdx) {
-        BoardNode bn = gs.getWorld().getNodeByStringProperty(nameHash, city);
-        PropertyIntArrayList prop = (PropertyIntArrayList) bn.getProperty(playersHash);
-        prop.getValues().add(playerIdx);
-
-        Card playerCard = (Card) gs.getComponent(PandemicConstants.playerCardHash, playerIdx);
-        playerCard.setProperty(new PropertyString("playerLocation", city));
+        gs.setPlayerLocation(playerIdx, gs.getCities().getIndex(city));
     }
 
     public static void removePlayer(PandemicGameState gs, String city, int playerIdx) {
-        BoardNode bn = gs.getWorld().getNodeByStringProperty(nameHash, city);
-        PropertyIntArrayList prop = (PropertyIntArrayList) bn.getProperty(playersHash);
-        prop.getValues().remove(Integer.valueOf(playerIdx));
-
-        Card playerCard = (Card) gs.getComponent(PandemicConstants.playerCardHash, playerIdx);
-        playerCard.setProperty(new PropertyString("playerLocation", null));
+        if (gs.getPlayerLocation(playerIdx) == gs.getCities().getIndex(city)) {
+            gs.setPlayerLocation(playerIdx, -1);
+        }
     }
 
     public String getDestination(){
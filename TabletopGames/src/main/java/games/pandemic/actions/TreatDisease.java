@@ -1,18 +1,14 @@
 package games.pandemic.actions;
 
 import core.actions.AbstractAction;
-import core.components.BoardNode;
 import core.components.Counter;
-import core.properties.PropertyIntArray;
 import core.AbstractGameState;
 import games.pandemic.PandemicGameState;
-import utilities.Hash;
 import utilities.Utils;
 
 import java.util.Objects;
 
 import static games.pandemic.PandemicConstants.*;
-import static core.CoreConstants.nameHash;
 
 public class TreatDisease extends AbstractAction {
 
@@ -39,23 +35,22 @@ public class TreatDisease extends AbstractAction {
     public boolean execute(AbstractGameState gs) {
         PandemicGameState pgs = (PandemicGameState) gs;
 
-        Counter diseaseToken = (Counter) pgs.getComponent(Hash.GetInstance().hash("Disease " + color));
-        Counter diseaseCubeCounter = (Counter) pgs.getComponent(Hash.GetInstance().hash("Disease Cube " + color));
         int colorIdx = Utils.indexOf(colors, color);
+        Counter diseaseToken = (Counter) pgs.getComponent(diseaseHash[colorIdx]);
+        Counter diseaseCubeCounter = (Counter) pgs.getComponent(diseaseCubeHash[colorIdx]);
 
-        BoardNode bn = pgs.getWorld().getNodeByStringProperty(nameHash, city);
-        if (bn != null) {
-            PropertyIntArray infectionArray = (PropertyIntArray) bn.getProperty(infectionHash);
-            int[] array = infectionArray.getValues();
+        int cityIdx = pgs.getCities().getIndex(city);
+        if (cityIdx != -1) {
+            int cubes = pgs.getDiseaseCubes(cityIdx, colorIdx);
 
             boolean disease_cured = diseaseToken.getValue() > 0;
 
             if (!disease_cured && !treatAll) {  // Only remove 1 cube
-                diseaseCubeCounter.increment(Math.min(array[colorIdx], 1));
-                array[colorIdx] = Math.max(0, array[colorIdx] - 1);
+                diseaseCubeCounter.increment(Math.min(cubes, 1));
+                pgs.setDiseaseCubes(cityIdx, colorIdx, Math.max(0, cubes - 1));
             } else {
-                diseaseCubeCounter.increment(array[colorIdx]);
-                array[colorIdx] = 0;
+                diseaseCubeCounter.increment(cubes);
+                pgs.setDiseaseCubes(cityIdx, colorIdx, 0);
             }
 
             // If disease cured and no more cubes of this color on the map, disease becomes eradicated
@@ -311,8 +311,8 @@ public class PandemicBoardView extends JComponent {
             g.setColor(Color.black);
 
             // Check if a research stations is here, draw just underneath the node
-            PropertyBoolean isStation = (PropertyBoolean) b.getProperty(researchStationHash);
-            if (isStation.value) {
+            int city = gameState.getCities().getIndex(name);
+            if (gameState.hasResearchStation(city)) {
                 // Draw research station here
                 g.setColor(Color.WHITE);
                 g.fillRect(pos.getX() - researchStationSize/2, pos.getY() + nodeSize/2, researchStationSize, researchStationSize);
@@ -322,9 +322,8 @@ public class PandemicBoardView extends JComponent {
             }
 
             // Check if there are players here
-            PropertyIntArrayList prop = (PropertyIntArrayList) b.getProperty(playersHash);
-            ArrayList<Integer> players = prop.getValues();
-            for (int p: players) {
+            for (int p = 0; p < nPlayers; p++) {
+                if (gameState.getPlayerLocation(p) != city) continue;
                 // This player is here, draw them just above the node
 
                 // Position
@@ -354,15 +353,14 @@ public class PandemicBoardView extends JComponent {
             }
 
             // Draw disease cubes on top of the node
-            int[] array = ((PropertyIntArray) b.getProperty(infectionHash)).getValues();
             int total = 0;
-            for (int cube: array) {
-                total += cube;
+            for (int c = 0; c < PandemicConstants.colors.length; c++) {
+                total += gameState.getDiseaseCubes(city, c);
             }
             int idx = 0;
             int maxX = pos.getX() + (total + diseaseCubeDistance) * diseaseCubeSize / 4;
-            for (int c = 0; c < array.length; c++) {
-                int cube = array[c];
+            for (int c = 0; c < PandemicConstants.colors.length; c++) {
+                int cube = gameState.getDiseaseCubes(city, c);
                 Color cubeColor = Utils.stringToColor(PandemicConstants.colors[c]);
                 for (int i = 0; i < cube; i++) {
                     g.setColor(cubeColor);
@@ -395,9 +395,7 @@ public class PandemicGUIManager extends AbstractGUIManager implements IScreenHig
         if (player instanceof HumanGUIPlayer) {
             updateCardHighlightDisplay();
             if (newTurn) {
-                PropertyString playerLocationProperty = (PropertyString) this.gameState.getComponent(playerCardHash, activePlayer)
-                        .getProperty(playerLocationHash);
-                String playerLocationName = playerLocationProperty.value;
+                String playerLocationName = this.gameState.getPlayerLocationName(activePlayer);
                 JOptionPane.showMessageDialog(parent, "It's your turn! You are in " + playerLocationName + ". Current game phase: " + this.gameState.getGamePhase());
             }
         } else {
@@ -474,8 +472,7 @@ public class PandemicGUIManager extends AbstractGUIManager implements IScreenHig
                     actionButtons[k++].setButtonAction(action, gameState);
                 }
             } else if (action instanceof AddResearchStation) {
-                Card playerRole = (Card) this.gameState.getComponentActingPlayer(playerCardHash);
-                String playerLocation = ((PropertyString)playerRole.getProperty(playerLocationHash)).value;
+                String playerLocation = this.gameState.getPlayerLocationName(this.gameState.getCurrentPlayer());
                 String toCity = ((AddResearchStation) action).getCity();
 
                 if (bnHighlights.contains(toCity) || playerLocation.equals(toCity)) {
@@ -12,10 +12,7 @@ import static core.CoreConstants.playerHandHash;
 
 @SuppressWarnings("unchecked")
 public class PlayerHandOverCapacity extends ConditionNode {
-    private int playerId;
-
     public PlayerHandOverCapacity() {
-        this.playerId = -2;  // Current player by default
     }
 
     /**
@@ -24,7 +21,6 @@ public class PlayerHandOverCapacity extends ConditionNode {
      */
     public PlayerHandOverCapacity(PlayerHandOverCapacity playerHandOverCapacity) {
         super(playerHandOverCapacity);
-        this.playerId = playerHandOverCapacity.playerId;
     }
 
     @Override
@@ -32,8 +28,9 @@ public class PlayerHandOverCapacity extends ConditionNode {
         Deck<Card> playerDeck;
         PandemicGameState pgs = (PandemicGameState)gs;
 
+        int playerId = -2;  // Current player by default
         if (parent instanceof PlayerAction) {
-            playerId = ((PlayerAction) parent).getPlayerHandOverCapacity();
+            playerId = pgs.getPlayerHandOverCapacity();
         }
 
         if (playerId == -2) {
@@ -6,7 +6,6 @@ import core.components.Counter;
 import core.rules.GameOverCondition;
 import games.pandemic.PandemicConstants;
 import games.pandemic.PandemicGameState;
-import utilities.Hash;
 
 import static core.CoreConstants.GameResult.GAME_ONGOING;
 import static core.CoreConstants.GameResult.WIN_GAME;
@@ -15,8 +14,8 @@ public class GameOverDiseasesCured extends GameOverCondition {
     @Override
     public CoreConstants.GameResult test(AbstractGameState gs) {
         boolean all_cured = true;
-        for (String c : PandemicConstants.colors) {
-            if (((Counter)((PandemicGameState)gs).getComponent(Hash.GetInstance().hash("Disease " + c))).getValue() < 1) all_cured = false;
+        for (int c : PandemicConstants.diseaseHash) {
+            if (((Counter)((PandemicGameState)gs).getComponent(c)).getValue() < 1) all_cured = false;
         }
         if (all_cured) {
             if (gs.getCoreGameParameters().verbose) {
@@ -5,7 +5,6 @@ import core.CoreConstants;
 import core.components.Counter;
 import core.rules.GameOverCondition;
 import games.pandemic.PandemicGameState;
-import utilities.Hash;
 
 import static games.pandemic.PandemicConstants.*;
 import static core.CoreConstants.GameResult.LOSE_GAME;
@@ -14,8 +13,8 @@ import static core.CoreConstants.GameResult.GAME_ONGOING;
 public class GameOverInfection extends GameOverCondition {
     @Override
     public CoreConstants.GameResult test(AbstractGameState gs) {
-        for (String c: colors) {
-            if (((Counter)((PandemicGameState)gs).getComponent(Hash.GetInstance().hash("Disease Cube " + c))).getValue() < 0) {
+        for (int c: diseaseCubeHash) {
+            if (((Counter)((PandemicGameState)gs).getComponent(c)).getValue() < 0) {
                 return LOSE_GAME;
             }
         }
@@ -1,6 +1,7 @@
 package games.pandemic.rules.rules;
 
 import core.AbstractGameStateWithTurnOrder;
+import core.actions.AbstractAction;
 import core.actions.DrawCard;
 import core.components.Card;
 import core.components.Counter;
@@ -14,20 +15,17 @@ import games.pandemic.actions.Forecast;
 import games.pandemic.actions.MovePlayer;
 import games.pandemic.actions.QuietNight;
 import games.pandemic.actions.TreatDisease;
-import utilities.Hash;
 
 import static core.CoreConstants.playerHandHash;
 import static core.CoreConstants.nameHash;
 
 public class PlayerAction extends core.rules.rulenodes.PlayerAction {
 
-    private int playerHandOverCapacity;
     private int n_initial_disease_cubes;
 
     public PlayerAction(int n_initial_disease_cubes) {
         super();
         this.n_initial_disease_cubes = n_initial_disease_cubes;
-        this.playerHandOverCapacity = -1;
     }
 
     /**
@@ -37,12 +35,11 @@ public class PlayerAction extends core.rules.rulenodes.PlayerAction {
     public PlayerAction(PlayerAction playerAction) {
         super(playerAction);
         this.n_initial_disease_cubes = playerAction.n_initial_disease_cubes;
-        this.playerHandOverCapacity = playerAction.playerHandOverCapacity;
     }
 
     @Override
-    protected boolean run(AbstractGameStateWithTurnOrder gs) {
-        if(super.run(gs)) {
+    protected boolean run(AbstractGameStateWithTurnOrder gs, AbstractAction action) {
+        if(super.run(gs, action)) {
             PandemicGameState pgs = (PandemicGameState) gs;
             PandemicTurnOrder pto = (PandemicTurnOrder) pgs.getTurnOrder();
             int playerIdx = pto.getCurrentPlayer(gs);
@@ -57,12 +54,12 @@ public class PlayerAction extends core.rules.rulenodes.PlayerAction {
                 String roleString = ((PropertyString) playerCard.getProperty(nameHash)).value;
 
                 if (roleString.equals("Medic")) {
-                    for (String color : PandemicConstants.colors) {
-                        Counter diseaseToken = (Counter) ((PandemicGameState) gs).getComponent(Hash.GetInstance().hash("Disease " + color));
+                    for (int c = 0; c < PandemicConstants.colors.length; c++) {
+                        Counter diseaseToken = (Counter) pgs.getComponent(PandemicConstants.diseaseHash[c]);
                         String city = ((MovePlayer) action).getDestination();
                         boolean disease_cured = diseaseToken.getValue() > 0;
                         if (disease_cured) {
-                            new TreatDisease(n_initial_disease_cubes, color, city, true).execute(gs);
+                            new TreatDisease(n_initial_disease_cubes, PandemicConstants.colors[c], city, true).execute(gs);
                         }
                     }
                 }
@@ -70,9 +67,9 @@ public class PlayerAction extends core.rules.rulenodes.PlayerAction {
                 // Player hand may be over capacity, set parameter to inform next decision
                 Deck<Card> deckTo = (Deck<Card>) gs.getComponentById(((DrawCard) action).getDeckTo());
                 Deck<Card> playerHand = (Deck<Card>) pgs.getComponentActingPlayer(playerHandHash);
-                if (deckTo != null && deckTo.isOverCapacity()) playerHandOverCapacity = deckTo.getOwnerId();
-                else if (playerHand != null && playerHand.isOverCapacity()) playerHandOverCapacity = playerIdx;
-                else playerHandOverCapacity = -1;
+                if (deckTo != null && deckTo.isOverCapacity()) pgs.setPlayerHandOverCapacity(deckTo.getOwnerId());
+                else if (playerHand != null && playerHand.isOverCapacity()) pgs.setPlayerHandOverCapacity(playerIdx);
+                else pgs.setPlayerHandOverCapacity(-1);
             }
 
             // Check if this was an event action or a reaction. These actions are always played with the event card.
@@ -89,14 +86,6 @@ public class PlayerAction extends core.rules.rulenodes.PlayerAction {
         return false;
     }
 
-    public int getPlayerHandOverCapacity() {
-        return playerHandOverCapacity;
-    }
-
-    public void setPlayerHandOverCapacity(int playerHandOverCapacity) {
-        this.playerHandOverCapacity = playerHandOverCapacity;
-    }
-
     @Override
     protected Node _copy() {
         return new PlayerAction(this);
@@ -1,12 +1,10 @@
 package games.pandemic.stats;
 
 import core.AbstractGameState;
-import core.components.BoardNode;
 import core.components.Component;
 import core.components.Counter;
 import core.components.Deck;
 import core.interfaces.IGameEvent;
-import core.properties.PropertyIntArray;
 import evaluation.listeners.MetricsGameListener;
 import evaluation.metrics.AbstractMetric;
 import evaluation.metrics.Event;
@@ -20,7 +18,6 @@ import java.util.*;
 
 import static core.CoreConstants.GameResult.WIN_GAME;
 import static games.pandemic.PandemicConstants.colors;
-import static games.pandemic.PandemicConstants.infectionHash;
 
 @SuppressWarnings("unused")
 public class PandemicMetrics implements IMetricsCollection {
@@ -132,11 +129,9 @@ public class PandemicMetrics implements IMetricsCollection {
         PandemicParameters pp = (PandemicParameters) pgs.getGameParameters();
         int count = 0;
 
-        for (BoardNode bn: pgs.getWorld().getBoardNodes()) {
-            PropertyIntArray infectionArray = (PropertyIntArray) bn.getProperty(infectionHash);
-            int[] array = infectionArray.getValues();
-            for (int a: array) {
-                if (a >= pp.getMaxCubesPerCity() -1) {
+        for (int city = 0; city < pgs.getCities().getNCities(); city++) {
+            for (int c = 0; c < colors.length; c++) {
+                if (pgs.getDiseaseCubes(city, c) >= pp.getMaxCubesPerCity() -1) {
                     count++;
                     break;
                 }
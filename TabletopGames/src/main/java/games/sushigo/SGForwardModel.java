@@ -147,7 +147,7 @@ public class SGForwardModel extends StandardForwardModel implements ITreeActionS
             // We think this copy may be for the properties
             Deck<SGCard> cardsToKeep = gs.playedCards.get(i).copy();
             cardsToKeep.clear();
-            for (SGCard card : gs.playedCards.get(i).getComponents()) {
+            for (SGCard card : gs.playedCards.get(i)) {
                 if (card.type.isDiscardedBetweenRounds()) {
                     gs.discardPile.add(card);
                     gs.playedCardTypes[i].get(card.type).setValue(0);
@@ -216,7 +216,7 @@ public class SGForwardModel extends StandardForwardModel implements ITreeActionS
     private void removeUsedChopsticks(SGGameState gs, int playerId) {
         gs.playedCardTypes[playerId].get(SGCard.SGCardType.Chopsticks).decrement(1);
         SGCard chopsticks = null;
-        for (SGCard card: gs.playedCards.get(playerId).getComponents()) {
+        for (SGCard card : gs.playedCards.get(playerId)) {
             if (card.type == Chopsticks) {
                 chopsticks = card;
                 break;
@@ -272,6 +272,29 @@ public class SGForwardModel extends StandardForwardModel implements ITreeActionS
         return actions;
     }
 
+    @Override
+    protected int _countAvailableActions(AbstractGameState gameState) {
+        SGGameState sggs = (SGGameState) gameState;
+        int currentPlayer = sggs.getCurrentPlayer();
+        int handSize = sggs.getPlayerHands().get(currentPlayer).getSize();
+        return canUseChopsticks(sggs, currentPlayer, handSize) ? 2 * handSize : handSize;
+    }
+
+    @Override
+    protected AbstractAction _getAvailableAction(AbstractGameState gameState, int index) {
+        // in the same order as _computeAvailableActions(): each card, then (if possible) that card with chopsticks
+        SGGameState sggs = (SGGameState) gameState;
+        int currentPlayer = sggs.getCurrentPlayer();
+        int handSize = sggs.getPlayerHands().get(currentPlayer).getSize();
+        if (canUseChopsticks(sggs, currentPlayer, handSize))
+            return new ChooseCard(currentPlayer, index / 2, index % 2 == 1);
+        return new ChooseCard(currentPlayer, index, false);
+    }
+
+    private boolean canUseChopsticks(SGGameState sggs, int player, int handSize) {
+        return sggs.playedCardTypes[player].get(Chopsticks).getValue() > 0 && handSize > 1;
+    }
+
     @Override
     public ActionTreeNode initActionTree(AbstractGameState gameState) {
         /* action tree contains 2 branches: play and chopstick and subactions represent the card ids in hand */
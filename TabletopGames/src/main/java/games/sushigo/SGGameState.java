@@ -3,6 +3,7 @@ package games.sushigo;
 import core.AbstractGameState;
 import core.AbstractParameters;
 import core.components.*;
+import core.interfaces.IRedeterminisable;
 import games.GameType;
 import games.sushigo.actions.ChooseCard;
 import games.sushigo.cards.SGCard;
@@ -10,7 +11,7 @@ import games.sushigo.cards.SGCard;
 import java.util.*;
 
 @SuppressWarnings("unchecked")
-public class SGGameState extends AbstractGameState {
+public class SGGameState extends AbstractGameState implements IRedeterminisable {
     List<Deck<SGCard>> playerHands;
     Deck<SGCard> drawPile;
     Deck<SGCard> discardPile;
@@ -102,27 +103,7 @@ public class SGGameState extends AbstractGameState {
             }
         } else {
             // Now we need to redeterminise
-            // We need to shuffle the hands of other players with the draw deck and then redraw
-
-            // Add player hands unseen back to the draw pile
-            for (int p = 0; p < copy.playerHands.size(); p++) {
-                if (!isHandKnown(playerId, p)) {
-                    copy.drawPile.add(playerHands.get(p));
-                }
-            }
-            copy.drawPile.shuffle(redeterminisationRnd);
-
-            // Now we draw into the unknown player hands
-            for (int p = 0; p < copy.playerHands.size(); p++) {
-                if (!isHandKnown(playerId, p)) {
-                    Deck<SGCard> hand = copy.playerHands.get(p);
-                    int handSize = hand.getSize();
-                    hand.clear();
-                    for (int i = 0; i < handSize; i++) {
-                        hand.add(copy.drawPile.draw());
-                    }
-                }
-            }
+            copy.redeterminiseHands(playerId, redeterminisationRnd);
 
             // We don't know what other players have chosen for this round, hide card choices
             turnOwner = playerId;
@@ -139,6 +120,35 @@ public class SGGameState extends AbstractGameState {
         return copy;
     }
 
+    @Override
+    public void redeterminise(int playerId) {
+        redeterminiseHands(playerId, redeterminisationRnd);
+    }
+
+    private void redeterminiseHands(int playerId, Random rnd) {
+        // We need to shuffle the hands of other players with the draw deck and then redraw
+
+        // Add player hands unseen back to the draw pile
+        for (int p = 0; p < playerHands.size(); p++) {
+            if (!isHandKnown(playerId, p)) {
+                drawPile.add(playerHands.get(p));
+            }
+        }
+        drawPile.shuffle(rnd);
+
+        // Now we draw into the unknown player hands
+        for (int p = 0; p < playerHands.size(); p++) {
+            if (!isHandKnown(playerId, p)) {
+                Deck<SGCard> hand = playerHands.get(p);
+                int handSize = hand.getSize();
+                hand.clear();
+                for (int i = 0; i < handSize; i++) {
+                    hand.add(drawPile.draw());
+                }
+            }
+        }
+    }
+
     /**
      * we know the contents of the hands of the players that are deckRotations spaces to the left of the current player
      * if this returns true, then the information provided by the playerHands is reliably correct (if false, then this information is shuffled)
@@ -239,7 +249,7 @@ public class SGGameState extends AbstractGameState {
             for (int i = 0; i < getNPlayers(); i++) {
                 if (i != playerId) {
                     add(playerHands.get(i).getComponentID());
-                    for (Component c : playerHands.get(i).getComponents()) {
+                    for (Component c : playerHands.get(i)) {
                         add(c.getComponentID());
 
                     }
@@ -30,29 +30,23 @@ public class TMForwardModel extends StandardForwardModelWithTurnOrder {
         TMGameState gs = (TMGameState) firstState;
         TMGameParameters params = (TMGameParameters) firstState.getGameParameters();
 
-        gs.playerResources = new HashMap[gs.getNPlayers()];
-        gs.playerProduction = new HashMap[gs.getNPlayers()];
+        gs.ledger = new TMLedger(gs.getNPlayers());
         gs.playerResourceMap = new HashSet[gs.getNPlayers()];
         gs.playerDiscountEffects = new HashMap[gs.getNPlayers()];
-        gs.playerResourceIncreaseGen = new HashMap[gs.getNPlayers()];
 
         for (int i = 0; i < gs.getNPlayers(); i++) {
-            gs.playerResources[i] = new HashMap<>();
-            gs.playerProduction[i] = new HashMap<>();
-            gs.playerResourceIncreaseGen[i] = new HashMap<>();
             for (TMTypes.Resource res : TMTypes.Resource.values()) {
                 int startingRes = params.startingResources.get(res);
                 if (res == TR && gs.getNPlayers() == 1) {
                     startingRes = params.soloTR;
                 }
-                gs.playerResources[i].put(res, new Counter(startingRes, 0, params.maxPoints, res.toString() + "-" + i));
+                gs.ledger.addCounter(i, TMLedger.RESOURCES + res.ordinal(), startingRes, 0, params.maxPoints, res.toString() + "-" + i);
                 if (params.startingProduction.containsKey(res)) {
                     int startingProduction = params.startingProduction.get(res);
                     if (params.expansions.contains(TMTypes.Expansion.CorporateEra))
                         startingProduction = 0;  // No production in corporate era
-                    gs.playerProduction[i].put(res, new Counter(startingProduction, params.minimumProduction.get(res), params.maxPoints, res + "-prod-" + i));
+                    gs.ledger.addCounter(i, TMLedger.PRODUCTION + res.ordinal(), startingProduction, params.minimumProduction.get(res), params.maxPoints, res + "-prod-" + i);
                 }
-                gs.playerResourceIncreaseGen[i].put(res, false);
             }
             gs.playerResourceMap[i] = new HashSet<>();
             // By default, players can exchange steel for X MC and titanium for X MC. More may be added
@@ -146,32 +140,25 @@ public class TMForwardModel extends StandardForwardModelWithTurnOrder {
         gs.playerHands = new Deck[gs.getNPlayers()];
         gs.playerComplicatedPointCards = new Deck[gs.getNPlayers()];
         gs.playedCards = new Deck[gs.getNPlayers()];
-        gs.playerCardPoints = new Counter[gs.getNPlayers()];
         for (int i = 0; i < gs.getNPlayers(); i++) {
             gs.playerHands[i] = new Deck<>("Hand of p" + i, i, CoreConstants.VisibilityMode.VISIBLE_TO_OWNER);
             gs.playerCardChoice[i] = new Deck<>("Card Choice for p" + i, i, CoreConstants.VisibilityMode.VISIBLE_TO_OWNER);
             gs.playerComplicatedPointCards[i] = new Deck<>("Resource or Points Cards Played by p" + i, i, CoreConstants.VisibilityMode.VISIBLE_TO_ALL);
             gs.playedCards[i] = new Deck<>("Other Cards Played by p" + i, i, CoreConstants.VisibilityMode.VISIBLE_TO_ALL);
-            gs.playerCardPoints[i] = new Counter(0, 0, params.maxPoints, "Points of p" + i);
+            gs.ledger.addCounter(i, TMLedger.CARD_POINTS, 0, 0, params.maxPoints, "Points of p" + i);
         }
 
-        gs.playerTilesPlaced = new HashMap[gs.getNPlayers()];
-        gs.playerCardsPlayedTypes = new HashMap[gs.getNPlayers()];
-        gs.playerCardsPlayedTags = new HashMap[gs.getNPlayers()];
         gs.playerExtraActions = new HashSet[gs.getNPlayers()];
         gs.playerPersistingEffects = new HashSet[gs.getNPlayers()];
         for (int i = 0; i < gs.getNPlayers(); i++) {
-            gs.playerTilesPlaced[i] = new HashMap<>();
             for (TMTypes.Tile t : TMTypes.Tile.values()) {
-                gs.playerTilesPlaced[i].put(t, new Counter(0, 0, params.maxPoints, t.name() + " tiles placed player " + i));
+                gs.ledger.addCounter(i, TMLedger.TILES + t.ordinal(), 0, 0, params.maxPoints, t.name() + " tiles placed player " + i);
             }
-            gs.playerCardsPlayedTypes[i] = new HashMap<>();
             for (TMTypes.CardType t : TMTypes.CardType.values()) {
-                gs.playerCardsPlayedTypes[i].put(t, new Counter(0, 0, params.maxPoints, t.name() + " cards played player " + i));
+                gs.ledger.addCounter(i, TMLedger.CARD_TYPES + t.ordinal(), 0, 0, params.maxPoints, t.name() + " cards played player " + i);
             }
-            gs.playerCardsPlayedTags[i] = new HashMap<>();
             for (TMTypes.Tag t : TMTypes.Tag.values()) {
-                gs.playerCardsPlayedTags[i].put(t, new Counter(0, 0, params.maxPoints, t.name() + " cards played player " + i));
+                gs.ledger.addCounter(i, TMLedger.TAGS + t.ordinal(), 0, 0, params.maxPoints, t.name() + " cards played player " + i);
             }
             gs.playerExtraActions[i] = new HashSet<>();
             gs.playerPersistingEffects[i] = new HashSet<>();
@@ -212,7 +199,7 @@ public class TMForwardModel extends StandardForwardModelWithTurnOrder {
                     Vector2D v = neighbours.get(gs.getRnd().nextInt(neighbours.size()));
                     TMMapTile mtn = (TMMapTile) gs.board.getElement(v.getX(), v.getY());
                     if (mtn != null && mtn.getOwnerId() == -1 && mtn.getTileType() == TMTypes.MapTileType.Ground) {
-                        mtn.setTilePlaced(TMTypes.Tile.Greenery, gs);
+                        gs.getMapTileToModify(mtn.getComponentID()).setTilePlaced(TMTypes.Tile.Greenery, gs);
                         placed = true;
                     }
                 }
@@ -269,18 +256,20 @@ public class TMForwardModel extends StandardForwardModelWithTurnOrder {
             // Check if finished: all players passed
             if (((TMTurnOrder) gs.getTurnOrder()).nPassed == gs.getNPlayers()) {
                 // Production
+                TMLedger ledger = gs.ledger;
                 for (int i = 0; i < gs.getNPlayers(); i++) {
                     // First, energy turns to heat
-                    gs.getPlayerResources()[i].get(TMTypes.Resource.Heat).increment(gs.getPlayerResources()[i].get(TMTypes.Resource.Energy).getValue());
-                    gs.getPlayerResources()[i].get(TMTypes.Resource.Energy).setValue(0);
+                    int energy = TMLedger.RESOURCES + TMTypes.Resource.Energy.ordinal();
+                    ledger.increment(i, TMLedger.RESOURCES + TMTypes.Resource.Heat.ordinal(), ledger.get(i, energy));
+                    ledger.set(i, energy, 0);
                     // Then, all production values are added to resources
                     for (TMTypes.Resource res : TMTypes.Resource.values()) {
                         if (res.isPlayerBoardRes()) {
-                            gs.getPlayerResources()[i].get(res).increment(gs.getPlayerProduction()[i].get(res).getValue());
+                            ledger.increment(i, TMLedger.RESOURCES + res.ordinal(), ledger.get(i, TMLedger.PRODUCTION + res.ordinal()));
                         }
                     }
                     // TR also adds to mega credits
-                    gs.getPlayerResources()[i].get(TMTypes.Resource.MegaCredit).increment(gs.playerResources[i].get(TR).getValue());
+                    ledger.increment(i, TMLedger.RESOURCES + TMTypes.Resource.MegaCredit.ordinal(), ledger.get(i, TMLedger.RESOURCES + TR.ordinal()));
                 }
 
                 // Check game end before next research phase
@@ -322,7 +311,7 @@ public class TMForwardModel extends StandardForwardModelWithTurnOrder {
                     }
                     // Reset resource increase
                     for (TMTypes.Resource res : TMTypes.Resource.values()) {
-                        gs.playerResourceIncreaseGen[i].put(res, false);
+                        gs.setResourceIncreasedThisGen(i, res, false);
                     }
                 }
 
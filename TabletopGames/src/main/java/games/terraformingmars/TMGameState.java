@@ -34,7 +34,7 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
 
     // General state info
     int generation;
-    GridBoard board;
+    GridBoard board;  // Map tiles are shared between copies until changed, see getMapTileToModify()
     HashSet<TMMapTile> extraTiles;
     HashMap<TMTypes.GlobalParameter, GlobalParameter> globalParameters;
     HashSet<Bonus> bonuses;
@@ -43,17 +43,12 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
     // Effects and actions played
     HashSet<TMAction>[] playerExtraActions;
     HashSet<ResourceMapping>[] playerResourceMap;  // Effects for turning one resource into another
-    HashMap<Requirement, Integer>[] playerDiscountEffects;
+    HashMap<Requirement, Integer>[] playerDiscountEffects;  // Shared between copies, replaced when changed
     HashSet<Effect>[] playerPersistingEffects;
 
-    // Player-specific counters
-    HashMap<TMTypes.Resource, Counter>[] playerResources;
-    HashMap<TMTypes.Resource, Boolean>[] playerResourceIncreaseGen;  // True if this resource was increased this gen
-    HashMap<TMTypes.Resource, Counter>[] playerProduction;
-    HashMap<TMTypes.Tag, Counter>[] playerCardsPlayedTags;
-    HashMap<TMTypes.CardType, Counter>[] playerCardsPlayedTypes;
-    HashMap<TMTypes.Tile, Counter>[] playerTilesPlaced;
-    Counter[] playerCardPoints;  // Points gathered by playing cards
+    // Player-specific counters: resources, production, tags and card types played, tiles placed, points gathered by
+    // playing cards, and whether each resource was increased this generation
+    TMLedger ledger;
 
     // Player cards
     Deck<TMCard>[] playerHands;
@@ -103,13 +98,7 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
             addAll(Arrays.asList(playerCardChoice));
             addAll(Arrays.asList(playerComplicatedPointCards));
             addAll(Arrays.asList(playedCards));
-            addAll(Arrays.asList(playerCardPoints));
             for (int i = 0; i < getNPlayers(); i++) {
-                addAll(playerResources[i].values());
-                addAll(playerProduction[i].values());
-                addAll(playerCardsPlayedTags[i].values());
-                addAll(playerTilesPlaced[i].values());
-                addAll(playerCardsPlayedTypes[i].values());
                 if (playerCorporations[i] != null) {
                     add(playerCorporations[i]);
                 }
@@ -123,20 +112,13 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
 
         // General public info
         copy.generation = generation;
-        copy.board = board.emptyCopy();  // Deep copy of board
+        copy.board = board.emptyCopy();  // Map tiles are shared until changed
         for (int i = 0; i < board.getHeight(); i++) {
             for (int j = 0; j < board.getWidth(); j++) {
-                if (board.getElement(j, i) != null) {
-                    copy.board.setElement(j, i, board.getElement(j, i).copy());
-                } else {
-                    copy.board.setElement(j, i, null);
-                }
+                copy.board.setElement(j, i, board.getElement(j, i));
             }
         }
-        copy.extraTiles = new HashSet<>();
-        for (TMMapTile mt : extraTiles) {
-            copy.extraTiles.add(mt.copy());
-        }
+        copy.extraTiles = new HashSet<>(extraTiles);
         copy.globalParameters = new HashMap<>();
         for (TMTypes.GlobalParameter p : globalParameters.keySet()) {
             copy.globalParameters.put(p, globalParameters.get(p).copy());
@@ -165,14 +147,8 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
         copy.playerExtraActions = new HashSet[getNPlayers()];
         copy.playerResourceMap = new HashSet[getNPlayers()];
         copy.playerPersistingEffects = new HashSet[getNPlayers()];
-        copy.playerDiscountEffects = new HashMap[getNPlayers()];
-        copy.playerResources = new HashMap[getNPlayers()];
-        copy.playerResourceIncreaseGen = new HashMap[getNPlayers()];
-        copy.playerProduction = new HashMap[getNPlayers()];
-        copy.playerCardsPlayedTags = new HashMap[getNPlayers()];
-        copy.playerCardsPlayedTypes = new HashMap[getNPlayers()];
-        copy.playerTilesPlaced = new HashMap[getNPlayers()];
-        copy.playerCardPoints = new Counter[getNPlayers()];
+        copy.playerDiscountEffects = playerDiscountEffects.clone();
+        copy.ledger = ledger.copy();
         copy.playerComplicatedPointCards = new Deck[getNPlayers()];
         copy.playedCards = new Deck[getNPlayers()];
         copy.playerCorporations = new TMCard[getNPlayers()];
@@ -180,14 +156,6 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
             copy.playerExtraActions[i] = new HashSet<>();
             copy.playerResourceMap[i] = new HashSet<>();
             copy.playerPersistingEffects[i] = new HashSet<>();
-            copy.playerDiscountEffects[i] = new HashMap<>();
-            copy.playerResources[i] = new HashMap<>();
-            copy.playerResourceIncreaseGen[i] = new HashMap<>();
-            copy.playerProduction[i] = new HashMap<>();
-            copy.playerCardsPlayedTags[i] = new HashMap<>();
-            copy.playerCardsPlayedTypes[i] = new HashMap<>();
-            copy.playerTilesPlaced[i] = new HashMap<>();
-            copy.playerCardPoints[i] = playerCardPoints[i].copy();
             copy.playerComplicatedPointCards[i] = playerComplicatedPointCards[i].copy();
             copy.playedCards[i] = playedCards[i].copy();
             if (playerCorporations[i] != null) {
@@ -199,28 +167,9 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
             for (ResourceMapping rm : playerResourceMap[i]) {
                 copy.playerResourceMap[i].add(rm.copy());
             }
-            for (Requirement r : playerDiscountEffects[i].keySet()) {
-                copy.playerDiscountEffects[i].put(r.copy(), playerDiscountEffects[i].get(r));
-            }
             for (Effect e : playerPersistingEffects[i]) {
                 copy.playerPersistingEffects[i].add(e.copy());
             }
-            for (TMTypes.Resource r : playerResources[i].keySet()) {
-                copy.playerResources[i].put(r, playerResources[i].get(r).copy());
-                copy.playerResourceIncreaseGen[i].put(r, playerResourceIncreaseGen[i].get(r));
-            }
-            for (TMTypes.Resource r : playerProduction[i].keySet()) {
-                copy.playerProduction[i].put(r, playerProduction[i].get(r).copy());
-            }
-            for (TMTypes.Tag t : playerCardsPlayedTags[i].keySet()) {
-                copy.playerCardsPlayedTags[i].put(t, playerCardsPlayedTags[i].get(t).copy());
-            }
-            for (TMTypes.CardType t : playerCardsPlayedTypes[i].keySet()) {
-                copy.playerCardsPlayedTypes[i].put(t, playerCardsPlayedTypes[i].get(t).copy());
-            }
-            for (TMTypes.Tile t : playerTilesPlaced[i].keySet()) {
-                copy.playerTilesPlaced[i].put(t, playerTilesPlaced[i].get(t).copy());
-            }
         }
 
         // Player-specific hidden info
@@ -282,7 +231,7 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
 
     @Override
     public double getGameScore(int playerId) {
-        return playerResources[playerId].get(TMTypes.Resource.TR).getValue();
+        return ledger.get(playerId, TMLedger.RESOURCES + TMTypes.Resource.TR.ordinal());
 //        return countPoints(playerId);
     }
 
@@ -303,13 +252,7 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
                 && Arrays.equals(playerResourceMap, that.playerResourceMap)
                 && Arrays.equals(playerDiscountEffects, that.playerDiscountEffects)
                 && Arrays.equals(playerPersistingEffects, that.playerPersistingEffects)
-                && Arrays.equals(playerResources, that.playerResources)
-                && Arrays.equals(playerResourceIncreaseGen, that.playerResourceIncreaseGen)
-                && Arrays.equals(playerProduction, that.playerProduction)
-                && Arrays.equals(playerCardsPlayedTags, that.playerCardsPlayedTags)
-                && Arrays.equals(playerCardsPlayedTypes, that.playerCardsPlayedTypes)
-                && Arrays.equals(playerTilesPlaced, that.playerTilesPlaced)
-                && Arrays.equals(playerCardPoints, that.playerCardPoints)
+                && Objects.equals(ledger, that.ledger)
                 && Arrays.equals(playerHands, that.playerHands)
                 && Arrays.equals(playerComplicatedPointCards, that.playerComplicatedPointCards)
                 && Arrays.equals(playerCardChoice, that.playerCardChoice)
@@ -323,18 +266,11 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
     @Override
     public int hashCode() {
         int result = Objects.hash(super.hashCode(), generation, board, extraTiles, globalParameters, bonuses,
-                projectCards, corpCards, discardCards, milestones, awards, nMilestonesClaimed, nAwardsFunded);
+                projectCards, corpCards, discardCards, milestones, awards, nMilestonesClaimed, nAwardsFunded, ledger);
         result = 31 * result + Arrays.hashCode(playerExtraActions);
         result = 31 * result + Arrays.hashCode(playerResourceMap);
         result = 31 * result + Arrays.hashCode(playerDiscountEffects);
         result = 31 * result + Arrays.hashCode(playerPersistingEffects);
-        result = 31 * result + Arrays.hashCode(playerResources);
-        result = 31 * result + Arrays.hashCode(playerResourceIncreaseGen);
-        result = 31 * result + Arrays.hashCode(playerProduction);
-        result = 31 * result + Arrays.hashCode(playerCardsPlayedTags);
-        result = 31 * result + Arrays.hashCode(playerCardsPlayedTypes);
-        result = 31 * result + Arrays.hashCode(playerTilesPlaced);
-        result = 31 * result + Arrays.hashCode(playerCardPoints);
         result = 31 * result + Arrays.hashCode(playerHands);
         result = 31 * result + Arrays.hashCode(playerComplicatedPointCards);
         result = 31 * result + Arrays.hashCode(playerCardChoice);
@@ -383,18 +319,8 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
         result = 31 * result + Arrays.hashCode(playerResourceMap);
         result = 31 * result + Arrays.hashCode(playerDiscountEffects);
         result = 31 * result + Arrays.hashCode(playerPersistingEffects);
-        result = 31 * result + Arrays.hashCode(playerResources);
-        result = 31 * result + Arrays.hashCode(playerResourceIncreaseGen);
         sb.append(result).append("|9|");
-        result = Arrays.hashCode(playerProduction);
-        sb.append(result).append("|10|");
-        result = Arrays.hashCode(playerCardsPlayedTags);
-        sb.append(result).append("|10|");
-        result = Arrays.hashCode(playerCardsPlayedTypes);
-        sb.append(result).append("|12|");
-        result = Arrays.hashCode(playerTilesPlaced);
-        sb.append(result).append("|13|");
-        result = Arrays.hashCode(playerCardPoints);
+        result = Objects.hash(ledger);
         sb.append(result).append("|14|");
         result = Arrays.hashCode(playerHands);
         sb.append(result).append("|15|");
@@ -412,11 +338,24 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
      */
 
     public HashMap<TMTypes.Resource, Counter>[] getPlayerProduction() {
-        return playerProduction;
+        return ledger.getCounterMaps(TMLedger.PRODUCTION, TMTypes.Resource.values());
     }
 
     public HashMap<TMTypes.Resource, Counter>[] getPlayerResources() {
-        return playerResources;
+        return ledger.getCounterMaps(TMLedger.RESOURCES, TMTypes.Resource.values());
+    }
+
+    public TMLedger getLedger() {
+        return ledger;
+    }
+
+    /**
+     * As getComponentById(), but also finds the player counters, which are not among the components of the
+     * game state (see TMLedger).
+     */
+    public Counter getCounterById(int id) {
+        Counter c = ledger.getCounterById(id);
+        return c != null ? c : (Counter) getComponentById(id);
     }
 
     public GridBoard getBoard() {
@@ -440,11 +379,11 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
     }
 
     public HashMap<TMTypes.Tag, Counter>[] getPlayerCardsPlayedTags() {
-        return playerCardsPlayedTags;
+        return ledger.getCounterMaps(TMLedger.TAGS, TMTypes.Tag.values());
     }
 
     public HashMap<TMTypes.CardType, Counter>[] getPlayerCardsPlayedTypes() {
-        return playerCardsPlayedTypes;
+        return ledger.getCounterMaps(TMLedger.CARD_TYPES, TMTypes.CardType.values());
     }
 
     public HashSet<TMAction>[] getPlayerExtraActions() {
@@ -452,7 +391,29 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
     }
 
     public HashMap<TMTypes.Tile, Counter>[] getPlayerTilesPlaced() {
-        return playerTilesPlaced;
+        return ledger.getCounterMaps(TMLedger.TILES, TMTypes.Tile.values());
+    }
+
+    /**
+     * Map tiles are shared between copies of the game state until they change, so must not be changed in place.
+     * This replaces the tile (on the board, or one of the extra tiles) with a copy belonging to this game state only.
+     *
+     * @param mapTileID - component ID of the tile
+     * @return the tile, ready to be changed
+     */
+    public TMMapTile getMapTileToModify(int mapTileID) {
+        TMMapTile mt = (TMMapTile) getComponentById(mapTileID);
+        TMMapTile copy = mt.copy();
+        if (mt.getX() >= 0 && mt.getY() >= 0 && board.getElement(mt.getX(), mt.getY()) == mt) {
+            board.setElement(mt.getX(), mt.getY(), copy);
+        } else if (extraTiles.removeIf(t -> t == mt)) {
+            // by identity, as the hash of a tile changes with it, and it may have changed since it was added
+            extraTiles.add(copy);
+        } else {
+            throw new AssertionError("Map tile not found: " + mapTileID);
+        }
+        replaceComponent(copy);
+        return copy;
     }
 
     public HashSet<Milestone> getMilestones() {
@@ -506,8 +467,12 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
         return generation;
     }
 
-    public HashMap<TMTypes.Resource, Boolean>[] getPlayerResourceIncreaseGen() {
-        return playerResourceIncreaseGen;
+    public boolean isResourceIncreasedThisGen(int player, TMTypes.Resource resource) {
+        return ledger.get(player, TMLedger.INCREASED_THIS_GEN + resource.ordinal()) != 0;
+    }
+
+    public void setResourceIncreasedThisGen(int player, TMTypes.Resource resource, boolean increased) {
+        ledger.set(player, TMLedger.INCREASED_THIS_GEN + resource.ordinal(), increased ? 1 : 0);
     }
 
     public HashSet<Effect>[] getPlayerPersistingEffects() {
@@ -523,7 +488,11 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
     }
 
     public Counter[] getPlayerCardPoints() {
-        return playerCardPoints;
+        Counter[] points = new Counter[getNPlayers()];
+        for (int i = 0; i < getNPlayers(); i++) {
+            points[i] = ledger.getCounter(i, TMLedger.CARD_POINTS);
+        }
+        return points;
     }
 
     public Deck<TMCard>[] getPlayedCards() {
@@ -589,9 +558,9 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
             // A resource or production instead
             TMTypes.Resource res = TMTypes.Resource.valueOf(s.split("prod")[0]);
             if (s.contains("prod")) {
-                which = playerProduction[player].get(res);
+                which = ledger.getCounter(player, TMLedger.PRODUCTION + res.ordinal());
             } else {
-                which = playerResources[player].get(res);
+                which = ledger.getCounter(player, TMLedger.RESOURCES + res.ordinal());
             }
         }
         return which;
@@ -614,9 +583,10 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
         if (player == -3) return true;  // In solo play, this is the neutral player
 
         if (production) {
-            Counter c = playerProduction[player].get(to);
-            if (c.getMinimum() < 0) return c.getValue() + Math.abs(c.getMinimum()) >= amount;
-            return c.getValue() >= amount;
+            int slot = TMLedger.PRODUCTION + to.ordinal();
+            int min = ledger.minimum[player][slot];
+            if (min < 0) return ledger.get(player, slot) + Math.abs(min) >= amount;
+            return ledger.get(player, slot) >= amount;
         }
 
         int sum = playerResourceSum(player, card, from, to, true);
@@ -627,14 +597,14 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
         if (from == null || from.size() > 0) {
             int sum = 0;
             if (itself || from != null && from.contains(to))
-                sum = playerResources[player].get(to).getValue();  // All resources can be exchanged for themselves at rate 1.0
+                sum = ledger.get(player, TMLedger.RESOURCES + to.ordinal());  // All resources can be exchanged for themselves at rate 1.0
 
             // Add resources that this player can use as the "to" resource for this action
             for (ResourceMapping resMap : playerResourceMap[player]) {
                 if ((from == null || from.contains(resMap.from))
                         && resMap.to == to
                         && (resMap.requirement == null || resMap.requirement.testCondition(card))) {
-                    int n = playerResources[player].get(resMap.from).getValue();
+                    int n = ledger.get(player, TMLedger.RESOURCES + resMap.from.ordinal());
                     sum += n * resMap.rate;
                 }
             }
@@ -655,7 +625,7 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
         HashSet<TMTypes.Resource> resources = new HashSet<>();
         for (ResourceMapping resMap : playerResourceMap[player]) {
             if ((from == null || resMap.from == from) && resMap.to == to && (resMap.requirement == null || resMap.requirement.testCondition(card))) {
-                if (playerResources[player].get(resMap.from).getValue() > 0) {
+                if (ledger.get(player, TMLedger.RESOURCES + resMap.from.ordinal()) > 0) {
                     resources.add(resMap.from);
                 }
             }
@@ -664,7 +634,7 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
     }
 
     public void playerPay(int player, TMTypes.Resource resource, int amount) {
-        playerResources[player].get(resource).decrement(Math.abs(amount));
+        ledger.increment(player, TMLedger.RESOURCES + resource.ordinal(), -Math.abs(amount));
     }
 
     public double getResourceMapRate(TMTypes.Resource from, TMTypes.Resource to) {
@@ -680,15 +650,18 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
 
     public void addDiscountEffects(LinkedList<Discount> discounts) {
         int player = getCurrentPlayer();
+        // The map may be shared with copies of this state, so is replaced rather than changed
+        HashMap<Requirement, Integer> discountEffects = new HashMap<>(playerDiscountEffects[player]);
         for(Discount d : discounts){
             Requirement r = d.a;
             int amount = d.b;
-            if (playerDiscountEffects[player].containsKey(r)) {
-                playerDiscountEffects[player].put(r, playerDiscountEffects[player].get(r) + amount);
+            if (discountEffects.containsKey(r)) {
+                discountEffects.put(r, discountEffects.get(r) + amount);
             } else {
-                playerDiscountEffects[player].put(r, amount);
+                discountEffects.put(r, amount);
             }
         }
+        playerDiscountEffects[player] = discountEffects;
     }
 
     public void addPersistingEffects(Effect[] effects) {
@@ -723,16 +696,16 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
     }
 
     public boolean hasPlacedTile(int player) {
-        for (TMTypes.Tile t : playerTilesPlaced[player].keySet()) {
-            if (t.canBeOwned() && playerTilesPlaced[player].get(t).getValue() > 0) return true;
+        for (TMTypes.Tile t : TMTypes.Tile.values()) {
+            if (t.canBeOwned() && ledger.get(player, TMLedger.TILES + t.ordinal()) > 0) return true;
         }
         return false;
     }
 
     public boolean anyTilesPlaced() {
         for (int i = 0; i < getNPlayers(); i++) {
-            for (Counter c : playerTilesPlaced[i].values()) {
-                if (c.getValue() > 0) return true;
+            for (TMTypes.Tile t : TMTypes.Tile.values()) {
+                if (ledger.get(i, TMLedger.TILES + t.ordinal()) > 0) return true;
             }
         }
         return getNPlayers() == 1;
@@ -740,14 +713,14 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
 
     public boolean anyTilesPlaced(TMTypes.Tile type) {
         for (int i = 0; i < getNPlayers(); i++) {
-            if (playerTilesPlaced[i].get(type).getValue() > 0) return true;
+            if (ledger.get(i, TMLedger.TILES + type.ordinal()) > 0) return true;
         }
         return getNPlayers() == 1 && (type == TMTypes.Tile.City || type == TMTypes.Tile.Greenery);
     }
 
     public int countPoints(int player) {
         // Add TR
-        int points = playerResources[player].get(TMTypes.Resource.TR).getValue();
+        int points = ledger.get(player, TMLedger.RESOURCES + TMTypes.Resource.TR.ordinal());
         // Add milestones
         points += countPointsMilestones(player);
         // Add awards
@@ -824,7 +797,7 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
     public int countPointsBoard(int player) {
         int points = 0;
         // Greeneries
-        points += playerTilesPlaced[player].get(TMTypes.Tile.Greenery).getValue();
+        points += ledger.get(player, TMLedger.TILES + TMTypes.Tile.Greenery.ordinal());
         // Add cities on board
         for (int i = 0; i < board.getHeight(); i++) {
             for (int j = 0; j < board.getWidth(); j++) {
@@ -842,7 +815,7 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
         int points = 0;
 
         // Normal points
-        points += playerCardPoints[player].getValue();
+        points += ledger.get(player, TMLedger.CARD_POINTS);
         // Complicated points
         for (TMCard card : playerComplicatedPointCards[player].getComponents()) {
             if (card == null) {
@@ -858,7 +831,7 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
                 if (card.pointsResource != null) {
                     points += card.nPoints * card.nResourcesOnCard;
                 } else if (card.pointsTag != null) {
-                    points += card.nPoints * playerCardsPlayedTags[player].get(card.pointsTag).getValue();
+                    points += card.nPoints * ledger.get(player, TMLedger.TAGS + card.pointsTag.ordinal());
                 } else if (card.pointsTile != null) {
                     if (card.pointsTileAdjacent && card.mapTileIDTilePlaced >= 0) {  // TODO: mapTileIDPlaced should have been set in this case, bug
                         // only adjacent tiles count
@@ -871,7 +844,7 @@ public class TMGameState extends AbstractGameStateWithTurnOrder {
                             }
                         }
                     } else {
-                        points += card.nPoints * playerTilesPlaced[player].get(card.pointsTile).getValue();
+                        points += card.nPoints * ledger.get(player, TMLedger.TILES + card.pointsTile.ordinal());
                     }
                 } else if (card.getComponentName().equalsIgnoreCase("capital")) {
                     // x VP per Ocean adjacent
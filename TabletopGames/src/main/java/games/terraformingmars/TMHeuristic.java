@@ -132,13 +132,13 @@ public class TMHeuristic extends TunableParameters implements IStateHeuristic {
 
         double score = (gs.countPoints(playerId)*1.0 / params.maxPoints) * pointsWeight;
 
-        int nAutomatedCardsPlayed = gs.playerCardsPlayedTypes[playerId].get(TMTypes.CardType.Automated).getValue();
-        int nActiveCardsPlayed = gs.playerCardsPlayedTypes[playerId].get(TMTypes.CardType.Active).getValue();
-        int nEventsPlayed = gs.playerCardsPlayedTypes[playerId].get(TMTypes.CardType.Event).getValue();
+        int nAutomatedCardsPlayed = gs.ledger.get(playerId, TMLedger.CARD_TYPES + TMTypes.CardType.Automated.ordinal());
+        int nActiveCardsPlayed = gs.ledger.get(playerId, TMLedger.CARD_TYPES + TMTypes.CardType.Active.ordinal());
+        int nEventsPlayed = gs.ledger.get(playerId, TMLedger.CARD_TYPES + TMTypes.CardType.Event.ordinal());
 
         boolean shouldTerraform = false;
         for (int i = 0; i < gs.getNPlayers(); i++) {
-            if (i != playerId && gs.playerCardsPlayedTypes[i].get(TMTypes.CardType.Active).getValue() >= nActiveCardsPlayed + nActiveCardsDiffForTerraform) {
+            if (i != playerId && gs.ledger.get(i, TMLedger.CARD_TYPES + TMTypes.CardType.Active.ordinal()) >= nActiveCardsPlayed + nActiveCardsDiffForTerraform) {
                 shouldTerraform = true;
                 break;
             }
@@ -157,7 +157,7 @@ public class TMHeuristic extends TunableParameters implements IStateHeuristic {
 
         } else {
 
-            int nPoints = gs.playerCardPoints[playerId].getValue();
+            int nPoints = gs.ledger.get(playerId, TMLedger.CARD_POINTS);
 
             int nPointCards = 0;
             for (TMCard c: gs.getPlayerComplicatedPointCards()[playerId].getComponents()) {
@@ -197,7 +197,7 @@ public class TMHeuristic extends TunableParameters implements IStateHeuristic {
             // Evaluate current production (prioritize money)
             double production = 0;
             for (TMTypes.Resource r: TMTypes.Resource.values()) {
-                if (r.playerBoardRes) production += resourceProductionWeight.get(r) * gs.playerProduction[playerId].get(r).getValue() / maxProduction;
+                if (r.playerBoardRes) production += resourceProductionWeight.get(r) * gs.ledger.get(playerId, TMLedger.PRODUCTION + r.ordinal()) / maxProduction;
             }
             score += production * productionWeight;
 
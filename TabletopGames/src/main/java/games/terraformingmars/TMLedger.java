@@ -0,0 +1,270 @@
+package games.terraformingmars;
+
+import core.components.Counter;
+
+import java.util.*;
+
+/**
+ * The numbers describing each player in Terraforming Mars: resources and production, tags and card types played,
+ * tiles placed, points gathered by playing cards, and which resources were increased this generation. Each player's
+ * numbers are held in a single int array, indexed from the offsets below by enum ordinal, so copying the game state
+ * copies one array per player.
+ * <p>
+ * Actions, requirements and the GUI still use these numbers as Counters (see TMGameState.getPlayerResources() etc.).
+ * These Counters are views of the ledger, only created when asked for, and each keeps the same component ID in all
+ * copies of the game state. As they are not created with every copy, they are not among the game state's components:
+ * use TMGameState.getCounterById() rather than getComponentById() to find them.
+ */
+public class TMLedger {
+
+    static final int RESOURCES = 0;
+    static final int PRODUCTION = RESOURCES + TMTypes.Resource.values().length;
+    static final int TAGS = PRODUCTION + TMTypes.Resource.values().length;
+    static final int CARD_TYPES = TAGS + TMTypes.Tag.values().length;
+    static final int TILES = CARD_TYPES + TMTypes.CardType.values().length;
+    static final int CARD_POINTS = TILES + TMTypes.Tile.values().length;
+    static final int INCREASED_THIS_GEN = CARD_POINTS + 1;  // 1 if the resource was increased this generation, no Counter
+    static final int N_SLOTS = INCREASED_THIS_GEN + TMTypes.Resource.values().length;
+
+    // Set up with the game, and shared by all copies; componentID is -1 for slots with no Counter
+    final int[][] minimum, maximum, componentID;
+    final String[][] name;
+    final Map<Integer, Integer> slotByID;  // component ID -> player * N_SLOTS + slot
+
+    final int[][] values;
+
+    // Counter views, and maps of them by enum (indexed by offset), created when first needed
+    private Counter[][] counters;
+    private HashMap<?, Counter>[][] maps;
+
+    public TMLedger(int nPlayers) {
+        minimum = new int[nPlayers][N_SLOTS];
+        maximum = new int[nPlayers][N_SLOTS];
+        componentID = new int[nPlayers][N_SLOTS];
+        name = new String[nPlayers][N_SLOTS];
+        slotByID = new HashMap<>();
+        values = new int[nPlayers][N_SLOTS];
+        for (int[] ids : componentID)
+            Arrays.fill(ids, -1);
+        counters = new Counter[nPlayers][N_SLOTS];
+        maps = new HashMap[N_SLOTS][];
+    }
+
+    private TMLedger(TMLedger other) {
+        minimum = other.minimum;
+        maximum = other.maximum;
+        componentID = other.componentID;
+        name = other.name;
+        slotByID = other.slotByID;
+        values = new int[other.values.length][];
+        for (int p = 0; p < values.length; p++)
+            values[p] = other.values[p].clone();
+    }
+
+    public TMLedger copy() {
+        return new TMLedger(this);
+    }
+
+    /**
+     * Adds a Counter to the ledger during game setup. This is given a new component ID, which is then used by all
+     * copies.
+     */
+    void addCounter(int player, int slot, int value, int min, int max, String counterName) {
+        LedgerCounter c = new LedgerCounter(values[player], slot, min, max, counterName);
+        values[player][slot] = value;
+        minimum[player][slot] = min;
+        maximum[player][slot] = max;
+        componentID[player][slot] = c.getComponentID();
+        name[player][slot] = counterName;
+        slotByID.put(c.getComponentID(), player * N_SLOTS + slot);
+        counters[player][slot] = c;
+        Arrays.fill(maps, null);
+    }
+
+    public int get(int player, int slot) {
+        return values[player][slot];
+    }
+
+    public void set(int player, int slot, int value) {
+        values[player][slot] = value;
+    }
+
+    /**
+     * Adds amount to the value in this slot, keeping it within the minimum and maximum of its Counter.
+     *
+     * @return false if the value had to be capped, as Counter.increment()
+     */
+    public boolean increment(int player, int slot, int amount) {
+        int value = values[player][slot] + amount;
+        if (value > maximum[player][slot]) {
+            values[player][slot] = maximum[player][slot];
+            return false;
+        }
+        if (value < minimum[player][slot]) {
+            values[player][slot] = minimum[player][slot];
+            return false;
+        }
+        values[player][slot] = value;
+        return true;
+    }
+
+    /**
+     * @return the Counter for this slot, or null if it does not have one (e.g. production of a resource that
+     * cannot be produced)
+     */
+    public Counter getCounter(int player, int slot) {
+        if (componentID[player][slot] == -1)
+            return null;
+        if (counters == null)
+            counters = new Counter[values.length][N_SLOTS];
+        if (counters[player][slot] == null)
+            counters[player][slot] = new LedgerCounter(values[player], slot, minimum[player][slot],
+                    maximum[player][slot], name[player][slot], componentID[player][slot]);
+        return counters[player][slot];
+    }
+
+    /**
+     * @return the Counter with this component ID, or null if it is not in the ledger
+     */
+    public Counter getCounterById(int id) {
+        Integer index = slotByID.get(id);
+        if (index == null)
+            return null;
+        return getCounter(index / N_SLOTS, index % N_SLOTS);
+    }
+
+    /**
+     * @return for each player, the Counters of the slots from offset, by enum value
+     */
+    @SuppressWarnings("unchecked")
+    <E extends Enum<E>> HashMap<E, Counter>[] getCounterMaps(int offset, E[] keys) {
+        if (maps == null)
+            maps = new HashMap[N_SLOTS][];
+        if (maps[offset] == null) {
+            HashMap<E, Counter>[] byPlayer = new HashMap[values.length];
+            for (int p = 0; p < values.length; p++) {
+                byPlayer[p] = new HashMap<>();
+                for (E key : keys) {
+                    Counter c = getCounter(p, offset + key.ordinal());
+                    if (c != null)
+                        byPlayer[p].put(key, c);
+                }
+            }
+            maps[offset] = byPlayer;
+        }
+        return (HashMap<E, Counter>[]) maps[offset];
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TMLedger)) return false;
+        TMLedger that = (TMLedger) o;
+        return Arrays.deepEquals(values, that.values) && Arrays.deepEquals(componentID, that.componentID);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.deepHashCode(values);
+    }
+
+    /**
+     * A Counter that reads and writes a slot of the ledger. A copy of one is detached from the ledger.
+     */
+    private static class LedgerCounter extends Counter {
+        final int[] row;
+        final int slot;
+
+        LedgerCounter(int[] row, int slot, int minimum, int maximum, String name) {
+            super(0, minimum, maximum, name);
+            this.row = row;
+            this.slot = slot;
+        }
+
+        LedgerCounter(int[] row, int slot, int minimum, int maximum, String name, int ID) {
+            super(null, 0, minimum, maximum, name, ID);
+            this.row = row;
+            this.slot = slot;
+        }
+
+        @Override
+        public LedgerCounter copy() {
+            LedgerCounter copy = new LedgerCounter(row.clone(), slot, minimum, maximum, componentName, componentID);
+            copyComponentTo(copy);
+            return copy;
+        }
+
+        @Override
+        public boolean increment(int amount) {
+            row[slot] += amount;
+            return clamp();
+        }
+
+        @Override
+        public boolean decrement(int amount) {
+            row[slot] -= amount;
+            return clamp();
+        }
+
+        private boolean clamp() {
+            if (row[slot] > maximum) {
+                row[slot] = maximum;
+                return false;
+            }
+            if (row[slot] < minimum) {
+                row[slot] = minimum;
+                return false;
+            }
+            return true;
+        }
+
+        @Override
+        public Boolean isMinimum() {
+            return row[slot] <= minimum;
+        }
+
+        @Override
+        public Boolean isMaximum() {
+            return row[slot] >= maximum;
+        }
+
+        @Override
+        public int getValueIdx() {
+            return row[slot];
+        }
+
+        @Override
+        public int getValue() {
+            return row[slot];
+        }
+
+        @Override
+        public void setValue(int i) {
+            row[slot] = i;
+        }
+
+        @Override
+        public void setToMax() {
+            row[slot] = maximum;
+        }
+
+        @Override
+        public void setToMin() {
+            row[slot] = minimum;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Counter)) return false;
+            Counter counter = (Counter) o;
+            return componentID == counter.getComponentID() && getValue() == counter.getValue()
+                    && minimum == counter.getMinimum() && maximum == counter.getMaximum();
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(componentID, getValue(), minimum, maximum);
+        }
+    }
+}
@@ -164,11 +164,11 @@ public class ModifyPlayerResource extends TMModifyCounter implements IExtendedSe
                 }
                 c.increment((int)(-1 * change));
                 if (-1 * change > 0 && !counterResourceProduction) {
-                    gs.getPlayerResourceIncreaseGen()[targetPlayer].put(counterResource, true);
+                    gs.setResourceIncreasedThisGen(targetPlayer, counterResource, true);
                 }
             }
             if (change > 0 && !production) {
-                gs.getPlayerResourceIncreaseGen()[targetPlayer].put(resource, true);
+                gs.setResourceIncreasedThisGen(targetPlayer, resource, true);
             }
             return super._execute(gs);
         }
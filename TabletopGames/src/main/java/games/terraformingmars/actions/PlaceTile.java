@@ -127,7 +127,7 @@ public class PlaceTile extends TMAction implements IExtendedSequence {
     @Override
     public boolean _execute(TMGameState gs) {
         if (mapTileID != -1 && tile != null) {
-            TMMapTile mt = (TMMapTile)gs.getComponentById(mapTileID);
+            TMMapTile mt = gs.getMapTileToModify(mapTileID);
             boolean success = mt.placeTile(tile, gs);
             if (success && onMars) {
                 if (getCardID() != -1) {
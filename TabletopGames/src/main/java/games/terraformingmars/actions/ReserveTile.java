@@ -32,7 +32,7 @@ public class ReserveTile extends TMAction implements IExtendedSequence {
     @Override
     public boolean _execute(TMGameState gs) {
         if (mapTileID != -1) {
-            TMMapTile mt = (TMMapTile)gs.getComponentById(mapTileID);
+            TMMapTile mt = gs.getMapTileToModify(mapTileID);
             mt.setReserved(player);
             return true;
         }
@@ -35,7 +35,7 @@ public class TMModifyCounter extends TMAction {
 
     @Override
     public boolean _execute(TMGameState gs) {
-        Counter c = (Counter)gs.getComponentById(counterID);
+        Counter c = gs.getCounterById(counterID);
         if (gs.getNPlayers() == 1 && c == null) return true;  // Null if applied to neutral player in solo
         if (c instanceof GlobalParameter) return ((GlobalParameter) c).increment((int)change, gs);
         return c.increment((int)change);
@@ -63,7 +63,7 @@ public class TMModifyCounter extends TMAction {
 
     @Override
     public String getString(AbstractGameState gameState) {
-        return "Modify counter " + gameState.getComponentById(counterID).getComponentName() + " by " + change;
+        return "Modify counter " + ((TMGameState) gameState).getCounterById(counterID).getComponentName() + " by " + change;
     }
 
     @Override
@@ -44,7 +44,7 @@ public class GlobalParameter extends Counter {
 
                 // Player gets TR
                 gs.getPlayerResources()[player].get(TMTypes.Resource.TR).increment(1);
-                gs.getPlayerResourceIncreaseGen()[player].put(TMTypes.Resource.TR, true);
+                gs.setResourceIncreasedThisGen(player, TMTypes.Resource.TR, true);
 
                 // Params increase, check bonuses
                 for (Bonus b : gs.getBonuses()) {
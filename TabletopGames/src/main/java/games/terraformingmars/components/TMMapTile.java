@@ -94,7 +94,7 @@ public class TMMapTile extends BoardNode {
             // Current player gets resources
             for (TMTypes.Resource res : resources) {
                 gs.getPlayerResources()[player].get(res).increment(1);
-                gs.getPlayerResourceIncreaseGen()[player].put(res, true);
+                gs.setResourceIncreasedThisGen(player, res, true);
             }
         }
     }
@@ -105,7 +105,7 @@ public class CounterRequirement implements Requirement<TMGameState> {
             }
         } else {
             gs.getAllComponents();
-            which = (Counter) gs.getComponentById(counterID);
+            which = gs.getCounterById(counterID);
         }
 
         if (max && thresholdIdx == -1) {
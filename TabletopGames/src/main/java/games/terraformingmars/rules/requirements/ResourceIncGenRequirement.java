@@ -17,7 +17,7 @@ public class ResourceIncGenRequirement implements Requirement<TMGameState> {
     @Override
     public boolean testCondition(TMGameState gs) {
         // Check if this resource was increased for current player in this generation
-        return gs.getPlayerResourceIncreaseGen()[gs.getCurrentPlayer()].get(resource);
+        return gs.isResourceIncreasedThisGen(gs.getCurrentPlayer(), resource);
     }
 
     @Override
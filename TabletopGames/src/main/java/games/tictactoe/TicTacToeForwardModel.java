@@ -50,6 +50,31 @@ public class TicTacToeForwardModel extends StandardForwardModel implements ITree
         return actions;
         }
 
+    @Override
+    protected int _countAvailableActions(AbstractGameState gameState) {
+        TicTacToeGameState tttgs = (TicTacToeGameState) gameState;
+        if (!gameState.isNotTerminal())
+            return 0;
+        int count = 0;
+        for (int x = 0; x < tttgs.gridBoard.getWidth(); x++)
+            for (int y = 0; y < tttgs.gridBoard.getHeight(); y++)
+                if (tttgs.gridBoard.getElement(x, y).getComponentName().equals(TicTacToeConstants.emptyCell))
+                    count++;
+        return count;
+    }
+
+    @Override
+    protected AbstractAction _getAvailableAction(AbstractGameState gameState, int index) {
+        // the index-th empty cell, in the same order as _computeAvailableActions()
+        TicTacToeGameState tttgs = (TicTacToeGameState) gameState;
+        for (int x = 0; x < tttgs.gridBoard.getWidth(); x++)
+            for (int y = 0; y < tttgs.gridBoard.getHeight(); y++)
+                if (tttgs.gridBoard.getElement(x, y).getComponentName().equals(TicTacToeConstants.emptyCell) && index-- == 0)
+                    return new SetGridValueAction(tttgs.gridBoard.getComponentID(), x, y,
+                            TicTacToeConstants.playerMapping.get(gameState.getCurrentPlayer()).getComponentID());
+        throw new AssertionError("No empty cell for action " + index);
+    }
+
     @Override
     protected void _afterAction(AbstractGameState currentState, AbstractAction action) {
         if (checkAndProcessGameEnd((TicTacToeGameState) currentState)) {
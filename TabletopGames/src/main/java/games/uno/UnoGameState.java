@@ -118,7 +118,7 @@ public class UnoGameState extends AbstractGameState implements IPrintable {
         int nPoints = 0;
         for (int otherPlayer = 0; otherPlayer < getNPlayers(); otherPlayer++) {
             if ((selfOnly && otherPlayer == playerID) || (!selfOnly && otherPlayer != playerID)) {
-                for (UnoCard card : playerDecks.get(otherPlayer).getComponents()) {
+                for (UnoCard card : playerDecks.get(otherPlayer)) {
                     switch (card.type) {
                         case Number:
                             nPoints += card.number;
@@ -285,7 +285,7 @@ public class UnoGameState extends AbstractGameState implements IPrintable {
         StringBuilder sb = new StringBuilder();
         sb.append("Player Hand : ");
 
-        for (UnoCard card : playerDecks.get(getCurrentPlayer()).getComponents()) {
+        for (UnoCard card : playerDecks.get(getCurrentPlayer())) {
             sb.append(card.toString());
             sb.append(" ");
         }
@@ -74,7 +74,7 @@ public class UnoCard extends Card {
                 if (this.drawN >= 1) {
                     int playerID = gameState.getCurrentPlayer();
                     Deck<UnoCard> playerHand = gameState.getPlayerDecks().get(playerID);
-                    for (UnoCard card : playerHand.getComponents()) {
+                    for (UnoCard card : playerHand) {
                         if (card.color.equals(gameState.getCurrentColor()))
                             return false;
                     }
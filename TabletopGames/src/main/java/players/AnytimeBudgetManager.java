@@ -0,0 +1,76 @@
+package players;
+
+import core.AbstractGameState;
+import utilities.ElapsedCpuChessTimer;
+
+import static players.PlayerConstants.BUDGET_TIME;
+
+/**
+ * Decides how much time an IAnyTimePlayer spends on each decision, when it has a BUDGET_TIME budget.
+ * <p>
+ * By default every decision gets PlayerParameters.budget milliseconds. With useGameClock the player instead spends
+ * 1/movesToGo of what is left on its game clock (plus the increment it gets back for the action), so that it cannot
+ * run out of time however long the game is. With bankUnusedTime any time a decision does not use (because it
+ * stopped early) is kept, and a share of it added to later decisions; there is no need for this with the game
+ * clock, which keeps the unused time anyway.
+ * One of these should be kept by the player for a whole game, with reset() called from initializePlayer().
+ */
+public class AnytimeBudgetManager {
+
+    private long bankedMs;
+
+    public void reset() {
+        bankedMs = 0;
+    }
+
+    /**
+     * @param params   - the player's parameters
+     * @param state    - the state the decision is to be made in (as seen by the player)
+     * @param playerId - the player making the decision
+     * @return - the budget for this decision. This is params.budget unless we have a BUDGET_TIME budget.
+     */
+    public int allocate(PlayerParameters params, AbstractGameState state, int playerId) {
+        if (params.budgetType != BUDGET_TIME)
+            return params.budget;
+        long allocation = params.budget;
+        ElapsedCpuChessTimer[] clocks = state.getPlayerTimer();
+        if (params.useGameClock && clocks != null && clocks[playerId] != null) {
+            ElapsedCpuChessTimer clock = clocks[playerId];
+            long remaining = clock.remainingTimeMillis() - params.breakMS;
+            allocation = remaining / Math.max(params.movesToGo, 1) + clock.incrementActionMillis();
+            // we must finish with time on the clock, before the increment is added
+            allocation = Math.min(allocation, remaining - 1);
+        } else if (params.bankUnusedTime) {
+            allocation += bankedMs / Math.max(params.movesToGo, 1);
+        }
+        return (int) Math.max(1, Math.min(allocation, Integer.MAX_VALUE));
+    }
+
+    /**
+     * To be called after each decision, with the time it actually took.
+     */
+    public void used(PlayerParameters params, long usedMs) {
+        // we drew the share of the bank we were given, and put back what we did not use of that and the budget
+        if (params.budgetType == BUDGET_TIME && params.bankUnusedTime && !params.useGameClock)
+            bankedMs = Math.max(0, bankedMs + params.budget - usedMs);
+    }
+
+    public long getBankedMs() {
+        return bankedMs;
+    }
+
+    /**
+     * The early stopping rule for searches that pick the action visited most often: stop once the second-best action
+     * could not catch up with the best even if it got every remaining iteration.
+     *
+     * @param bestVisits     - visits to the most visited action
+     * @param secondVisits   - visits to the next most visited
+     * @param remainingMs    - time left in the budget for this decision
+     * @param msPerIteration - average time taken by an iteration so far
+     */
+    public static boolean canStopEarly(int bestVisits, int secondVisits, long remainingMs, double msPerIteration) {
+        if (msPerIteration <= 0.0)
+            return false;
+        return bestVisits - secondVisits > remainingMs / msPerIteration;
+    }
+}
@@ -23,6 +23,15 @@ public class PlayerParameters extends TunableParameters<AbstractPlayer> {
     // otherwise the Random() object will be used from the old game, ensuring that we do not take exactly the same
     // set of actions
     public boolean resetSeedEachGame = false;
+    // Time management for IAnyTimePlayers with a BUDGET_TIME budget (see AnytimeBudgetManager)
+    // useGameClock takes each decision's time from what is left on the player's game clock (spread over movesToGo
+    // decisions) instead of using budget; bankUnusedTime carries time not used by one decision over to later ones;
+    // and earlyStop allows a search to stop once its choice can no longer change (for MCTS, only with the ROBUST
+    // selection policy, which picks the most visited action).
+    public boolean useGameClock = false;
+    public int movesToGo = 30;
+    public boolean bankUnusedTime = false;
+    public boolean earlyStop = false;
 
     // Heuristic
     public IStateHeuristic gameHeuristic;
@@ -40,6 +49,10 @@ public class PlayerParameters extends TunableParameters<AbstractPlayer> {
         addTunableParameter("actionSpaceContext", ActionSpace.Context.Default, Arrays.asList(ActionSpace.Context.values()));
         addTunableParameter("randomSeed", (int) System.currentTimeMillis());
         addTunableParameter("resetSeedEachGame", false);
+        addTunableParameter("useGameClock", false);
+        addTunableParameter("movesToGo", 30);
+        addTunableParameter("bankUnusedTime", false);
+        addTunableParameter("earlyStop", false);
         addTunableParameter("epsilon", 1e-6);
         addTunableParameter("actionRestriction", IPlayerDecorator.class);
     }
@@ -58,6 +71,10 @@ public class PlayerParameters extends TunableParameters<AbstractPlayer> {
         budget = (int) getParameterValue("budget");
         resetSeedEachGame = (boolean) getParameterValue("resetSeedEachGame");
         breakMS = (int) getParameterValue("breakMS");
+        useGameClock = (boolean) getParameterValue("useGameClock");
+        movesToGo = (int) getParameterValue("movesToGo");
+        bankUnusedTime = (boolean) getParameterValue("bankUnusedTime");
+        earlyStop = (boolean) getParameterValue("earlyStop");
         noiseEpsilon = (double) getParameterValue("epsilon");
         budgetType = (PlayerConstants) getParameterValue("budgetType");
         actionSpace = new ActionSpace ((ActionSpace.Structure) getParameterValue("actionSpaceStructure"),
@@ -2,62 +2,197 @@ package players.groupF;
 
 import java.util.*;
 
+/**
+ * A frequency model of the actions each opponent takes, used to sample their moves in RHEA simulations.
+ * <p>
+ * Actions are reduced to small int keys (in SushiGo the type of card played), and for each opponent we keep a
+ * decayed count per key in a primitive array. Rather than decaying every count on each observation, the weight of
+ * a new observation grows by 1/decayRate each time (and everything is rescaled once the weight gets large), which
+ * gives the same distribution.
+ * <p>
+ * Sampling uses an alias table per opponent (Vose's method), rebuilt only after that opponent has been observed
+ * again, so that each draw is O(1). Restricting the draw to the actions actually available is done by rejection,
+ * with an exact fallback if that keeps failing.
+ */
 public class OpponentModel {
-    private Map<Integer, Map<Integer, Double>> actionCounts;
     private static final double probSmoothing = 1.0;
     private static final double decayRate = 0.9;
+    private static final double maxWeight = 1e100;
+    private static final int maxRejections = 8;
 
-    public OpponentModel() {
-        this.actionCounts = new HashMap<>();
+    private double[][] counts;      // [opponent][action key], in units of weight[opponent]
+    private final double[] weight;  // the weight of the next observation of each opponent
+    private final double[] total;   // sum of counts[opponent]
+    private double[][] aliasProb;
+    private int[][] alias;
+    private final boolean[] dirty;
+
+    // scratch space for sampleAction(), indexed by action key; stamp is generation for the keys available in the
+    // current call (and -generation while the fallback is counting them)
+    private int[] stamp = new int[0];
+    private int[] stampIndex = new int[0];
+    private int[] stampCount = new int[0];
+    private int generation;
+
+    public OpponentModel(int nPlayers, int nActions) {
+        if (nActions <= 0) throw new IllegalArgumentException("Number of actions must be > 0");
+        counts = new double[nPlayers][nActions];
+        weight = new double[nPlayers];
+        total = new double[nPlayers];
+        aliasProb = new double[nPlayers][];
+        alias = new int[nPlayers][];
+        dirty = new boolean[nPlayers];
+        reset();
+    }
+
+    public int getNActions() {
+        return counts[0].length;
     }
 
-    // This function observes what actions our opponents performed and put it on the hashmap
-    public void actionObserved(int opponentId, int action, List<Integer> validActions) {
-        actionCounts.putIfAbsent(opponentId, new HashMap<>());
-        Map<Integer, Double> counts = actionCounts.get(opponentId);
-        // If the action is valid, it puts the action on the counts hashmap
-        // buts decays after a certain amount of time
-        for (int a : validActions) {
-            counts.put(a, counts.getOrDefault(a, 0.0) * decayRate);
+    // This function records the action an opponent performed
+    public void actionObserved(int opponentId, int action) {
+        if (action < 0) throw new IllegalArgumentException("Action keys must be >= 0, not " + action);
+        if (action >= counts[opponentId].length) grow(action + 1);
+        weight[opponentId] /= decayRate;  // equivalent to decaying all the existing counts
+        counts[opponentId][action] += weight[opponentId];
+        total[opponentId] += weight[opponentId];
+        if (weight[opponentId] > maxWeight) {
+            double[] c = counts[opponentId];
+            for (int a = 0; a < c.length; a++) c[a] /= weight[opponentId];
+            total[opponentId] /= weight[opponentId];
+            weight[opponentId] = 1.0;
         }
+        dirty[opponentId] = true;
+    }
 
-        counts.put(action, counts.getOrDefault(action, 0.0) + 1.0);
+    // The probability of the opponent taking the action, if all actions were available
+    public double getProbability(int opponentId, int action) {
+        if (action < 0 || action >= counts[opponentId].length) return 0.0;
+        return smoothed(opponentId, action) / smoothedTotal(opponentId);
     }
-    // This function gets the probability distribution of each action to determine what approach is the best to choose.
-    public Map<Integer, Double> getActionDistribution(int opponentId, List<Integer> validActions) {
-        Map<Integer, Double> probs = new HashMap<>();
-        Map<Integer, Double> counts = actionCounts.getOrDefault(opponentId, new HashMap<>());
 
-        // Increments the total and uses smoothing to ensure probability sums to 1
-        double total = 0.0;
-        for (int action : validActions) {
-            total += counts.getOrDefault(action, 0.0) + probSmoothing;
-        }
+    private double smoothed(int opponentId, int action) {
+        return counts[opponentId][action] + probSmoothing * weight[opponentId];
+    }
 
+    private double smoothedTotal(int opponentId) {
+        return total[opponentId] + probSmoothing * weight[opponentId] * counts[opponentId].length;
+    }
 
-        for (int action : validActions) {
-            double count = counts.getOrDefault(action, 0.0) + probSmoothing;
-            probs.put(action, count / total);
-        }
+    /**
+     * Samples an action key for the opponent from the model, as if all actions were available
+     */
+    public int sampleAction(int opponentId, Random random) {
+        if (dirty[opponentId] || alias[opponentId] == null) buildAliasTable(opponentId);
+        int i = random.nextInt(alias[opponentId].length);
+        return random.nextDouble() < aliasProb[opponentId][i] ? i : alias[opponentId][i];
+    }
 
-        return probs;
+    /**
+     * Samples one of the available actions for the opponent, with probabilities proportional to the model.
+     * If several available actions share a key, one of them is picked uniformly.
+     *
+     * @param actionKeys the key of each available action (keys not yet observed are treated as unlikely actions)
+     * @return the index into actionKeys of the chosen action
+     */
+    public int sampleAction(int opponentId, int[] actionKeys, Random random) {
+        if (actionKeys.length == 0) throw new IllegalArgumentException("No actions to sample from");
+        int nKeys = counts[opponentId].length;
+        for (int key : actionKeys) {
+            if (key < 0) throw new IllegalArgumentException("Action keys must be >= 0, not " + key);
+            nKeys = Math.max(nKeys, key + 1);
+        }
+        if (stamp.length < nKeys) {
+            stamp = new int[nKeys];
+            stampIndex = new int[nKeys];
+            stampCount = new int[nKeys];
+            generation = 0;
+        }
+        if (generation == Integer.MAX_VALUE) {
+            Arrays.fill(stamp, 0);
+            generation = 0;
+        }
+        generation++;
+        for (int i = 0; i < actionKeys.length; i++) {
+            int key = actionKeys[i];
+            if (stamp[key] != generation) {
+                stamp[key] = generation;
+                stampIndex[key] = i;
+                stampCount[key] = 1;
+            } else if (random.nextInt(++stampCount[key]) == 0) {
+                stampIndex[key] = i;  // reservoir sampling over the actions with this key
+            }
+        }
+        for (int attempt = 0; attempt < maxRejections; attempt++) {
+            int key = sampleAction(opponentId, random);
+            if (stamp[key] == generation) return stampIndex[key];
+        }
+        // the available actions are unlikely under the model, so we sample from their keys directly (each key once,
+        // however many actions share it), and then take the action already picked for that key
+        double sum = 0.0;
+        for (int key : actionKeys) {
+            if (stamp[key] == generation) {
+                stamp[key] = -generation;
+                sum += keyWeight(opponentId, key);
+            }
+        }
+        double r = random.nextDouble() * sum;
+        int last = actionKeys[0];
+        for (int key : actionKeys) {
+            if (stamp[key] == -generation) {
+                stamp[key] = generation;
+                last = key;
+                r -= keyWeight(opponentId, key);
+                if (r < 0) return stampIndex[key];
+            }
+        }
+        return stampIndex[last];
     }
 
-    // Determine what action an opponent could take according to probability
-    public int sampleAction(int opponentId, List<Integer> validActions, Random random) {
-        Map<Integer, Double> probs = getActionDistribution(opponentId, validActions);
+    private double keyWeight(int opponentId, int key) {
+        return key < counts[opponentId].length ? smoothed(opponentId, key) : probSmoothing * weight[opponentId];
+    }
 
-        double r = random.nextDouble();
-        double cumulative = 0.0;
-        for (int action : validActions) {
-            cumulative += probs.get(action);
-            if (r <= cumulative) return action;
+    private void buildAliasTable(int opponentId) {
+        int n = counts[opponentId].length;
+        double[] prob = new double[n];
+        int[] al = new int[n];
+        double scale = n / smoothedTotal(opponentId);
+        int[] small = new int[n], large = new int[n];
+        int nSmall = 0, nLarge = 0;
+        for (int a = 0; a < n; a++) {
+            prob[a] = smoothed(opponentId, a) * scale;
+            if (prob[a] < 1.0) small[nSmall++] = a;
+            else large[nLarge++] = a;
+        }
+        while (nSmall > 0 && nLarge > 0) {
+            int s = small[--nSmall], l = large[--nLarge];
+            al[s] = l;
+            prob[l] = (prob[l] + prob[s]) - 1.0;
+            if (prob[l] < 1.0) small[nSmall++] = l;
+            else large[nLarge++] = l;
         }
+        // anything left over is 1.0 up to rounding
+        while (nLarge > 0) prob[large[--nLarge]] = 1.0;
+        while (nSmall > 0) prob[small[--nSmall]] = 1.0;
+        aliasProb[opponentId] = prob;
+        alias[opponentId] = al;
+        dirty[opponentId] = false;
+    }
 
-        return validActions.get(random.nextInt(validActions.size()));
+    private void grow(int nActions) {
+        for (int p = 0; p < counts.length; p++) {
+            counts[p] = Arrays.copyOf(counts[p], nActions);
+            dirty[p] = true;
+        }
     }
 
     public void reset() {
-        actionCounts.clear();
+        for (int p = 0; p < counts.length; p++) {
+            Arrays.fill(counts[p], 0.0);
+            weight[p] = 1.0;
+            total[p] = 0.0;
+            dirty[p] = true;
+        }
     }
 }
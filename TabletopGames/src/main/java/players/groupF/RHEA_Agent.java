@@ -1,11 +1,13 @@
 package players.groupF;
 
+import core.AbstractGameState;
+import core.actions.AbstractAction;
 import games.sushigo.SGForwardModel;
 import games.sushigo.SGGameState;
 import games.sushigo.actions.ChooseCard;
+import games.sushigo.cards.SGCard;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Random;
 
@@ -16,6 +18,9 @@ import java.util.Random;
  *  - Simulates sequences of future actions (Individuals)
  *  - Evaluates them with a forward model and a fitness function
  *  - Selects the best first action to execute
+ *
+ * The opponents' moves in the simulations are sampled from an OpponentModel of the types of card each of them plays,
+ * which is learned during the game from the cards they reveal.
  */
 public class RHEA_Agent {
 
@@ -37,8 +42,14 @@ public class RHEA_Agent {
     // Stores the best action sequence after evaluation
     private Individual_Action bestIndividual;
 
-    // Optional opponent modeling (currently not used in decision-making)
-    private HashMap<Integer, OpponentModel> opponentModels;
+    // Model of the cards each opponent plays, used for their moves in simulations
+    private OpponentModel opponentModel;
+
+    // The player we are deciding for
+    private int playerId = -1;
+
+    // The number of each type of card each player had played when we last looked (to spot newly revealed cards)
+    private int[][] lastPlayed;
 
     /**
      * Constructor
@@ -51,22 +62,44 @@ public class RHEA_Agent {
         this.random = new Random(seed); // initialize RNG with seed
         this.forwardModel = forwardModel; // store forward model reference
         this.population = new ArrayList<>(); // initialize empty population
-        this.opponentModels = new HashMap<>(); // initialize empty opponent model map
     }
 
     /**
      * Initialize opponent models for the current game state
      * @param state Current SGGameState
+     * @param playerId The player we are deciding for
+     */
+    public void initializePlayer(SGGameState state, int playerId) {
+        this.playerId = playerId;
+        // one model for all opponents, keyed by card type
+        opponentModel = new OpponentModel(state.getNPlayers(), SGCard.SGCardType.values().length);
+        lastPlayed = new int[state.getNPlayers()][SGCard.SGCardType.values().length];
+        observe(state);
+    }
+
+    /**
+     * Update the opponent models with any cards revealed since the last observation.
+     * (The ChooseCard actions in the history only give positions in hands that we may not have seen, so it is the
+     * revealed cards that tell us what each opponent chose.)
+     * @param state Current SGGameState
      */
-    public void initializePlayer(SGGameState state) {
-        opponentModels.clear(); // clear previous opponent models
-        for (int i = 0; i < state.getNPlayers(); i++) {
-            if (i != state.getCurrentPlayer()) {
-                opponentModels.put(i, new OpponentModel()); // create model for each opponent
+    public void observe(SGGameState state) {
+        if (lastPlayed == null) return; // not initialised
+        for (int p = 0; p < state.getNPlayers(); p++) {
+            for (SGCard.SGCardType type : SGCard.SGCardType.values()) {
+                int played = state.getPlayedCardTypesAllGame()[p].get(type).getValue();
+                if (played > lastPlayed[p][type.ordinal()] && p != playerId) {
+                    opponentModel.actionObserved(p, type.ordinal());
+                }
+                lastPlayed[p][type.ordinal()] = played;
             }
         }
     }
 
+    public OpponentModel getOpponentModel() {
+        return opponentModel;
+    }
+
     /**
      * Select the best action using RHEA simulation
      * @param gameState Current SGGameState
@@ -84,6 +117,10 @@ public class RHEA_Agent {
         if (evaluator == null) {
             evaluator = new RHEA_Evaluator(config, fm);
         }
+        observe(gameState);
+        if (config.useOpponentModel() && opponentModel != null) {
+            evaluator.setOpponentModel(opponentModel, RHEA_Agent::cardType, random);
+        }
 
         // 1️⃣ Initialize a random population of candidate action sequences
         initializePopulation(actions.size(), config.getHorizon());
@@ -109,6 +146,14 @@ public class RHEA_Agent {
         return actions.get(random.nextInt(actions.size()));
     }
 
+    /**
+     * The key of a ChooseCard action in the opponent model: the type of the card chosen
+     */
+    private static int cardType(AbstractGameState state, AbstractAction action) {
+        ChooseCard cc = (ChooseCard) action;
+        return ((SGGameState) state).getPlayerHands().get(cc.playerId).get(cc.cardIdx).type.ordinal();
+    }
+
     /**
      * Initialize a population of random action sequences
      * @param actionSpaceSize Number of legal actions in the current state
@@ -6,6 +6,7 @@ public class RHEA_Config {
     private int generations;
     private double mutationRate;
     private int timeLimitMs;
+    private boolean useOpponentModel = true; // sample opponent moves from the OpponentModel in simulations
 
     public RHEA_Config() {
         this(20, 5, 15, 0.2, 100);
@@ -27,9 +28,11 @@ public class RHEA_Config {
     public int getGenerations() { return generations; }
     public double getMutationRate() { return mutationRate; }
     public int getTimeLimitMs() { return timeLimitMs; }
+    public boolean useOpponentModel() { return useOpponentModel; }
 
     // Optional setters if needed
     public void setMutationRate(double mutationRate) { this.mutationRate = mutationRate; }
+    public void setUseOpponentModel(boolean useOpponentModel) { this.useOpponentModel = useOpponentModel; }
 
     //for JSON loading
     //public static RHEA_Config fromJSON(String filePath) { ... }
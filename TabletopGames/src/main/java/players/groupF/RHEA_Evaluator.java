@@ -6,11 +6,15 @@ import core.AbstractForwardModel;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
+import java.util.function.ToIntBiFunction;
 
 /**
  * RHEA_Evaluator that maps integer action indices (Individual_Action) to real
- * AbstractAction objects via forwardModel.computeAvailableActions(...) and
+ * AbstractAction objects via forwardModel.getAvailableAction(...) and
  * then advances the state with forwardModel.next(...).
+ * If an OpponentModel is set, then the indices are only used for the moves of the planning player, and the moves of
+ * the other players in between are sampled from the model. Either way the horizon is the number of actions simulated.
  */
 public class RHEA_Evaluator {
 
@@ -21,6 +25,10 @@ public class RHEA_Evaluator {
     private long totalEvalTimeNs;
     private static final double MAX_SCORE = 50;
 
+    private OpponentModel opponentModel;
+    private ToIntBiFunction<AbstractGameState, AbstractAction> actionKey;
+    private Random random;
+
     /**
      * @param config RHEA hyperparameters (horizon, etc.)
      * @param forwardModel The game's forward model instance (must expose public next(...) and computeAvailableActions(...))
@@ -33,6 +41,18 @@ public class RHEA_Evaluator {
         this.totalEvalTimeNs = 0;
     }
 
+    /**
+     * @param opponentModel model to sample the moves of opponents from (or null to play the plan for everyone)
+     * @param actionKey     maps an available action (in the given state) to its key in the opponent model
+     * @param random        random number generator for the samples
+     */
+    public void setOpponentModel(OpponentModel opponentModel, ToIntBiFunction<AbstractGameState, AbstractAction> actionKey,
+                                 Random random) {
+        this.opponentModel = opponentModel;
+        this.actionKey = actionKey;
+        this.random = random;
+    }
+
     /**
      * Evaluate an individual (sequence of integer action indices).
      *
@@ -63,33 +83,35 @@ public class RHEA_Evaluator {
 
     /**
      * Simulate the integer-indexed action sequence by mapping to real AbstractAction objects
-     * from forwardModel.computeAvailableActions(simState) at each step.
+     * from forwardModel.getAvailableAction(simState, index) at each step.
      */
     private double simulate(Individual_Action ind, AbstractGameState originalState) {
         AbstractGameState simState = originalState.copy();
+        int playerId = originalState.getCurrentPlayer();
 
         try {
-            int steps = 0;
-            for (Integer actionIndex : ind.getActionSequence()) {
+            List<Integer> sequence = ind.getActionSequence();
+            int next = 0;
+            for (int steps = 0; steps < config.getHorizon(); steps++) {
                 // stop on terminal or horizon
-                if (!simState.isNotTerminal() || steps++ >= config.getHorizon()) break;
-
-                // get available actions for the current player in this simulated state
-                List<AbstractAction> available = forwardModel.computeAvailableActions(simState);
+                if (!simState.isNotTerminal()) break;
 
-                // invalid if no available actions
-                if (available == null || available.isEmpty()) {
-                    return Double.NEGATIVE_INFINITY;
+                // an opponent's move (as modelled) uses up the horizon, but not the plan
+                if (opponentModel != null && simState.getCurrentPlayer() != playerId) {
+                    forwardModel.next(simState, opponentAction(simState));
+                    continue;
                 }
-
-                // actionIndex must be a valid index into 'available'
-                if (actionIndex == null || actionIndex < 0 || actionIndex >= available.size()) {
-                    // plan requests a non-existent action -> penalize
+                if (next >= sequence.size()) break;
+                Integer actionIndex = sequence.get(next++);
+
+                // actionIndex must be a valid index into the available actions for the current player (the forward
+                // model does not need to list them all if it can count them)
+                AbstractAction chosen = actionIndex == null ? null : forwardModel.getAvailableAction(simState, actionIndex);
+                if (chosen == null) {
+                    // plan requests a non-existent action (or there are none) -> penalize
                     return Double.NEGATIVE_INFINITY;
                 }
 
-                AbstractAction chosen = available.get(actionIndex);
-
                 // advance the simulated state using the forward model (public next method)
                 forwardModel.next(simState, chosen);
 
@@ -101,13 +123,20 @@ public class RHEA_Evaluator {
         }
 
         // after simulation compute relative normalized score for the original player
-        int playerId = originalState.getCurrentPlayer();
         double myScore = simState.getGameScore(playerId);
         double avgOpp = getOpponentAverageScore(simState, playerId);
         double relative = myScore - avgOpp;
         return relative / MAX_SCORE;
     }
 
+    private AbstractAction opponentAction(AbstractGameState simState) {
+        List<AbstractAction> actions = forwardModel.computeAvailableActions(simState);
+        int[] keys = new int[actions.size()];
+        for (int i = 0; i < keys.length; i++)
+            keys[i] = actionKey.applyAsInt(simState, actions.get(i));
+        return actions.get(opponentModel.sampleAction(simState.getCurrentPlayer(), keys, random));
+    }
+
     private double getOpponentAverageScore(AbstractGameState state, int playerId) {
         double total = 0;
         int count = 0;
@@ -32,7 +32,17 @@ public class RHEA_PlayerWrapper extends  AbstractPlayer{
     @Override
     public void initializePlayer(AbstractGameState state) {
         if (state instanceof SGGameState sgs) {
-            agent.initializePlayer(sgs);
+            agent.initializePlayer(sgs, getPlayerID());
+        }
+    }
+
+    /**
+     * Lets the agent learn from the opponents' moves when it has no decision to make.
+     */
+    @Override
+    public void registerUpdatedObservation(AbstractGameState state) {
+        if (state instanceof SGGameState sgs) {
+            agent.observe(sgs);
         }
     }
 
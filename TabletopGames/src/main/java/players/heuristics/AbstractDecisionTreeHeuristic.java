@@ -18,9 +18,13 @@ public abstract class AbstractDecisionTreeHeuristic {
     }
 
     protected DecisionTreeRegressionModel drModel;
+    // the same model, flattened for evaluation (Spark's node-by-node predict() is far too slow for use in search)
+    protected FlatDecisionTree tree;
 
     public AbstractDecisionTreeHeuristic(DecisionTreeRegressionModel drModel) {
         this.drModel = drModel;
+        if (drModel != null)
+            tree = FlatDecisionTree.fromModel(drModel);
     }
 
     public AbstractDecisionTreeHeuristic(String directory) {
@@ -30,6 +34,7 @@ public abstract class AbstractDecisionTreeHeuristic {
             return;
         }
         drModel = DecisionTreeRegressionModel.load(directory);
+        tree = FlatDecisionTree.fromModel(drModel);
     }
 
     public static String prettifyDecisionTreeDescription(DecisionTreeRegressionModel model, String[] featureNames) {
@@ -0,0 +1,135 @@
+package players.heuristics;
+
+import org.apache.spark.ml.regression.DecisionTreeRegressionModel;
+import org.apache.spark.ml.tree.CategoricalSplit;
+import org.apache.spark.ml.tree.ContinuousSplit;
+import org.apache.spark.ml.tree.InternalNode;
+import org.apache.spark.ml.tree.Node;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A regression tree flattened into primitive arrays, for fast evaluation.
+ * <p>
+ * Nodes are stored in breadth-first order, with the right child of a node always immediately after the left child.
+ * A split sends a row right if row[feature] > threshold (or is NaN), which matches Spark's ContinuousSplit.
+ * Both children of a leaf point back to the leaf itself, so that every evaluation is exactly depth steps of the same
+ * select, with no test for whether we have reached a leaf.
+ */
+public class FlatDecisionTree {
+
+    final int[] feature;
+    final double[] threshold;
+    final int[] leftChild;
+    final int[] rightChild;
+    final double[] value;
+    final int depth;
+
+    /**
+     * @param feature   the feature index used by the split at each node (ignored for leaves)
+     * @param threshold the split threshold at each node (rows with a value <= threshold go left)
+     * @param leftChild the index of the left child of each node, or -1 for a leaf
+     * @param value     the prediction at each node (only used for leaves)
+     */
+    public FlatDecisionTree(int[] feature, double[] threshold, int[] leftChild, double[] value) {
+        int n = feature.length;
+        if (threshold.length != n || leftChild.length != n || value.length != n)
+            throw new IllegalArgumentException("All node arrays must be the same length");
+        this.feature = feature.clone();
+        this.threshold = threshold.clone();
+        this.leftChild = leftChild.clone();
+        this.rightChild = new int[n];
+        this.value = value.clone();
+        int[] nodeDepth = new int[n];
+        int maxDepth = 0;
+        for (int i = 0; i < n; i++) {
+            if (leftChild[i] < 0) {
+                this.feature[i] = 0;
+                this.leftChild[i] = i;
+                this.rightChild[i] = i;
+            } else {
+                this.rightChild[i] = leftChild[i] + 1;
+                if (leftChild[i] <= i || leftChild[i] + 1 >= n)
+                    throw new IllegalArgumentException("Children must follow their parent, with right after left : " + i);
+                nodeDepth[leftChild[i]] = nodeDepth[i] + 1;
+                nodeDepth[leftChild[i] + 1] = nodeDepth[i] + 1;
+                maxDepth = Math.max(maxDepth, nodeDepth[i] + 1);
+            }
+        }
+        this.depth = maxDepth;
+    }
+
+    public static FlatDecisionTree fromModel(DecisionTreeRegressionModel model) {
+        List<Node> nodes = new ArrayList<>();
+        List<Integer> leftChildren = new ArrayList<>();
+        ArrayDeque<Node> queue = new ArrayDeque<>();
+        queue.add(model.rootNode());
+        int nextIndex = 1;
+        while (!queue.isEmpty()) {
+            Node node = queue.poll();
+            nodes.add(node);
+            if (node instanceof InternalNode internal) {
+                leftChildren.add(nextIndex);
+                nextIndex += 2;
+                queue.add(internal.leftChild());
+                queue.add(internal.rightChild());
+            } else {
+                leftChildren.add(-1);
+            }
+        }
+        int n = nodes.size();
+        int[] feature = new int[n];
+        double[] threshold = new double[n];
+        int[] leftChild = new int[n];
+        double[] value = new double[n];
+        for (int i = 0; i < n; i++) {
+            Node node = nodes.get(i);
+            value[i] = node.prediction();
+            leftChild[i] = leftChildren.get(i);
+            if (node instanceof InternalNode internal) {
+                if (internal.split() instanceof ContinuousSplit split) {
+                    feature[i] = split.featureIndex();
+                    threshold[i] = split.threshold();
+                } else if (internal.split() instanceof CategoricalSplit) {
+                    throw new IllegalArgumentException("Categorical splits are not supported; all features are expected to be continuous");
+                }
+            }
+        }
+        return new FlatDecisionTree(feature, threshold, leftChild, value);
+    }
+
+    public double predict(double[] row) {
+        int node = 0;
+        for (int d = 0; d < depth; d++)
+            node = row[feature[node]] <= threshold[node] ? leftChild[node] : rightChild[node];
+        return value[node];
+    }
+
+    /**
+     * Evaluates all rows together, level by level. This keeps the (small) tree arrays hot in cache, and gives the
+     * CPU independent work across rows rather than a chain of dependent loads within one.
+     */
+    public double[] predict(double[][] rows) {
+        int[] nodes = new int[rows.length];
+        for (int d = 0; d < depth; d++) {
+            for (int r = 0; r < rows.length; r++) {
+                int node = nodes[r];
+                nodes[r] = rows[r][feature[node]] <= threshold[node] ? leftChild[node] : rightChild[node];
+            }
+        }
+        double[] retValue = new double[rows.length];
+        for (int r = 0; r < rows.length; r++)
+            retValue[r] = value[nodes[r]];
+        return retValue;
+    }
+
+    public int size() {
+        return feature.length;
+    }
+
+    public int depth() {
+        return depth;
+    }
+}
@@ -28,6 +28,8 @@ public abstract class GLMHeuristic implements ICoefficients, IHasName {
 
     // This is not actually used, but is available immediately after training
     protected GeneralizedLinearRegressionModel underlyingModel;
+    // The AIC of the fit when trained without an underlying Spark model (see GLMSolver)
+    protected double aic = Double.NaN;
 
     @Override
     public double[] coefficients() {
@@ -79,6 +81,20 @@ public abstract class GLMHeuristic implements ICoefficients, IHasName {
         return underlyingModel;
     }
 
+    /**
+     * The Akaike Information Criterion of the fit that produced the coefficients (NaN if not trained here)
+     */
+    public double getAIC() {
+        if (underlyingModel != null)
+            return underlyingModel.summary().aic();
+        return aic;
+    }
+
+    public GLMHeuristic setAIC(double aic) {
+        this.aic = aic;
+        return this;
+    }
+
     public GLMHeuristic setModel(GeneralizedLinearRegressionModel model) {
         this.underlyingModel = model;
         double[] coeffs = model.coefficients().toArray();
@@ -99,14 +99,36 @@ public class LinearActionHeuristic extends GLMHeuristic implements IActionHeuris
     }
 
     @Override
-    public double[] evaluateAllActions(List<AbstractAction> actions, AbstractGameState state) {
+    public double[] evaluateActions(List<AbstractAction> actions, AbstractGameState state, List<AbstractAction> contextActions) {
         if (coefficients == null)
             throw new AssertionError("No coefficients found");
         double[] retValue = new double[actions.size()];
-        double[] phi = features == null ? new double[0] : features.doubleVector(state, state.getCurrentPlayer());
-        for (AbstractAction action : actions) {
-            double[] combined = mergePhiAndPsi(state, phi, action);
-            retValue[actions.indexOf(action)] = inverseLinkFunction.applyAsDouble(applyCoefficients(combined));
+        int player = state.getCurrentPlayer();
+        double[] phi = features == null ? new double[0] : features.doubleVector(state, player);
+        if (interactionCoefficients == null || interactionCoefficients.length == 0) {
+            // Without interactions the state features contribute the same amount to every action, so we
+            // calculate that once, and then only need the action features for each action
+            double stateValue = coefficients[0];
+            for (int i = 0; i < phi.length; i++)
+                stateValue += phi[i] * coefficients[i + 1];
+            int offset = phi.length + 1;
+            for (int a = 0; a < retValue.length; a++) {
+                double[] psi = actionFeatures.doubleVector(actions.get(a), state, player);
+                double value = stateValue;
+                for (int i = 0; i < psi.length; i++)
+                    value += psi[i] * coefficients[i + offset];
+                retValue[a] = inverseLinkFunction.applyAsDouble(value);
+            }
+        } else {
+            // interactions can span state and action features, so we need the full vector, but can still
+            // re-use a single buffer with the state features already in place
+            double[] combined = new double[phi.length + actionFeatures.names().length];
+            System.arraycopy(phi, 0, combined, 0, phi.length);
+            for (int a = 0; a < retValue.length; a++) {
+                double[] psi = actionFeatures.doubleVector(actions.get(a), state, player);
+                System.arraycopy(psi, 0, combined, phi.length, psi.length);
+                retValue[a] = inverseLinkFunction.applyAsDouble(applyCoefficients(combined));
+            }
         }
         return retValue;
     }
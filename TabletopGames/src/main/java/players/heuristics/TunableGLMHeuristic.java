@@ -67,9 +67,9 @@ public class TunableGLMHeuristic extends TunableParameters implements IActionHeu
     }
 
     @Override
-    public double[] evaluateAllActions(List<AbstractAction> actions, AbstractGameState state) {
+    public double[] evaluateActions(List<AbstractAction> actions, AbstractGameState state, List<AbstractAction> contextActions) {
         if (heuristic instanceof IActionHeuristic actionHeuristic)
-            return actionHeuristic.evaluateAllActions(actions, state);
+            return actionHeuristic.evaluateActions(actions, state, contextActions);
         throw new AssertionError("Heuristic is not an IActionHeuristic");
     }
 
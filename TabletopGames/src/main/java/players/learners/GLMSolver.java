@@ -0,0 +1,287 @@
+package players.learners;
+
+import java.util.stream.IntStream;
+
+/**
+ * An in-JVM solver for the two Generalised Linear Models we use for heuristics (Gaussian/identity and
+ * Binomial/logit). This is intended for the small problems (a few thousand rows, tens of features) that
+ * ExpertIteration produces, for which starting a Spark session is far more expensive than the fit itself.
+ * <p>
+ * Data is supplied in the format used by AbstractLearner.dataArray; i.e. each row has the bias term (1.0) at index 0,
+ * followed by the features. The returned coefficients use the same layout (intercept first), which is the one
+ * expected by GLMHeuristic.
+ * <p>
+ * Everything is done in a single pass over the data per iteration, accumulating (weighted) first and second moments
+ * into primitive arrays. If threads > 1 then the rows are split into contiguous blocks, each accumulated separately
+ * and then merged.
+ * <p>
+ * The regularisation follows the conventions of Spark's GeneralizedLinearRegression (with elasticNetParam = 0):
+ * - Gaussian: the L2 penalty is applied to standardised coefficients, so each coefficient is penalised in proportion
+ * to the variance of its feature; and as Spark also standardises the label, the penalty is divided by its (weighted)
+ * standard deviation
+ * - Binomial: IRLS, with an unstandardised L2 penalty in each weighted least squares step
+ * The intercept is never penalised. Features with zero variance are given a coefficient of zero.
+ */
+public class GLMSolver {
+
+    public record Result(double[] coefficients, double aic, int iterations) {
+    }
+
+    private static final double ZERO_VARIANCE = 1e-12;
+
+    final double regParam;
+    final int maxIterations;
+    final double tolerance;
+    final int threads;
+
+    public GLMSolver(double regParam, int maxIterations, double tolerance, int threads) {
+        if (regParam < 0.0)
+            throw new IllegalArgumentException("regParam must be non-negative : " + regParam);
+        this.regParam = regParam;
+        this.maxIterations = maxIterations;
+        this.tolerance = tolerance;
+        this.threads = Math.max(1, threads);
+    }
+
+    /**
+     * Ordinary Least Squares (with ridge penalty). This is a single pass over the data to accumulate the
+     * normal equations, and then a Cholesky solve.
+     */
+    public Result fitGaussian(double[][] data, double[] target) {
+        int n = data.length;
+        int p = data[0].length - 1;
+        Moments m = accumulate(data, target, null);
+        double[] beta = solve(m, true);
+        double rss = 0.0;
+        for (int i = 0; i < n; i++) {
+            double r = target[i] - linearPredictor(data[i], beta);
+            rss += r * r;
+        }
+        // the +2 is for the estimated dispersion parameter
+        double aic = n * (Math.log(2.0 * Math.PI * rss / n) + 1.0) + 2.0 + 2.0 * (p + 1);
+        return new Result(beta, aic, 1);
+    }
+
+    /**
+     * Logistic regression via Iteratively Reweighted Least Squares. Targets are expected to be in [0, 1], and
+     * fractional values are permitted.
+     */
+    public Result fitBinomial(double[][] data, double[] target) {
+        int n = data.length;
+        int p = data[0].length - 1;
+        double[] weights = new double[n];
+        double[] response = new double[n];
+        double[] mu = new double[n];
+        // initialise as Spark does, shrinking the targets towards 0.5
+        for (int i = 0; i < n; i++) {
+            mu[i] = (target[i] + 0.5) / 2.0;
+            double eta = Math.log(mu[i] / (1.0 - mu[i]));
+            weights[i] = mu[i] * (1.0 - mu[i]);
+            response[i] = eta + (target[i] - mu[i]) / weights[i];
+        }
+        double[] beta = new double[p + 1];
+        int iteration = 0;
+        boolean converged = false;
+        while (!converged && iteration < maxIterations) {
+            iteration++;
+            Moments m = accumulate(data, response, weights);
+            double[] newBeta = solve(m, false);
+            double maxChange = 0.0;
+            for (int j = 0; j <= p; j++) {
+                double change = Math.abs(newBeta[j] - beta[j]) / Math.max(1.0, Math.abs(beta[j]));
+                maxChange = Math.max(maxChange, change);
+            }
+            beta = newBeta;
+            converged = maxChange < tolerance;
+            for (int i = 0; i < n; i++) {
+                double eta = linearPredictor(data[i], beta);
+                mu[i] = inverseLogit(eta);
+                // keep the weights away from zero, so that the working response stays finite
+                weights[i] = Math.max(mu[i] * (1.0 - mu[i]), 1e-10);
+                response[i] = eta + (target[i] - mu[i]) / weights[i];
+            }
+        }
+        double logLikelihood = 0.0;
+        for (int i = 0; i < n; i++) {
+            double m = Math.min(Math.max(mu[i], 1e-15), 1.0 - 1e-15);
+            logLikelihood += Math.round(target[i]) == 1 ? Math.log(m) : Math.log(1.0 - m);
+        }
+        double aic = -2.0 * logLikelihood + 2.0 * (p + 1);
+        return new Result(beta, aic, iteration);
+    }
+
+    public static double inverseLogit(double x) {
+        return 1.0 / (1.0 + Math.exp(-x));
+    }
+
+    static double linearPredictor(double[] row, double[] beta) {
+        double retValue = beta[0];
+        for (int j = 1; j < beta.length; j++)
+            retValue += row[j] * beta[j];
+        return retValue;
+    }
+
+    /**
+     * Sufficient statistics for a weighted least squares problem.
+     * xx holds the upper triangle of the (uncentred) cross-product matrix in row-major order of a p x p array.
+     */
+    static final class Moments {
+        final int p;
+        double sumW, sumY, sumYY;
+        final double[] sumX;
+        final double[] sumXY;
+        final double[] xx;
+
+        Moments(int p) {
+            this.p = p;
+            sumX = new double[p];
+            sumXY = new double[p];
+            xx = new double[p * p];
+        }
+
+        void add(double[] row, double y, double w) {
+            sumW += w;
+            sumY += w * y;
+            sumYY += w * y * y;
+            for (int j = 0; j < p; j++) {
+                double wxj = w * row[j + 1];
+                if (wxj == 0.0) continue;  // sparse features are common (e.g. one-hot encodings)
+                sumX[j] += wxj;
+                sumXY[j] += wxj * y;
+                int offset = j * p;
+                for (int k = j; k < p; k++)
+                    xx[offset + k] += wxj * row[k + 1];
+            }
+        }
+
+        void merge(Moments other) {
+            sumW += other.sumW;
+            sumY += other.sumY;
+            sumYY += other.sumYY;
+            for (int j = 0; j < p; j++) {
+                sumX[j] += other.sumX[j];
+                sumXY[j] += other.sumXY[j];
+            }
+            for (int j = 0; j < xx.length; j++)
+                xx[j] += other.xx[j];
+        }
+    }
+
+    Moments accumulate(double[][] data, double[] y, double[] w) {
+        int n = data.length;
+        int p = data[0].length - 1;
+        if (threads == 1 || n < threads * 64) {
+            Moments m = new Moments(p);
+            for (int i = 0; i < n; i++)
+                m.add(data[i], y[i], w == null ? 1.0 : w[i]);
+            return m;
+        }
+        int blockSize = (n + threads - 1) / threads;
+        Moments[] partials = new Moments[threads];
+        IntStream.range(0, threads).parallel().forEach(t -> {
+            Moments m = new Moments(p);
+            int end = Math.min(n, (t + 1) * blockSize);
+            for (int i = t * blockSize; i < end; i++)
+                m.add(data[i], y[i], w == null ? 1.0 : w[i]);
+            partials[t] = m;
+        });
+        // merge in a fixed order so that results do not depend on thread scheduling
+        for (int t = 1; t < threads; t++)
+            partials[0].merge(partials[t]);
+        return partials[0];
+    }
+
+    /**
+     * Solves the centred (and penalised) normal equations, and then recovers the intercept from the means.
+     */
+    double[] solve(Moments m, boolean standardisedPenalty) {
+        int p = m.p;
+        double[] mean = new double[p];
+        for (int j = 0; j < p; j++)
+            mean[j] = m.sumX[j] / m.sumW;
+        double meanY = m.sumY / m.sumW;
+        double penalty = regParam;
+        if (standardisedPenalty) {
+            double sigmaY = Math.sqrt(Math.max(0.0, m.sumYY / m.sumW - meanY * meanY));
+            if (sigmaY > ZERO_VARIANCE)
+                penalty /= sigmaY;
+        }
+
+        double[] a = new double[p * p];
+        double[] b = new double[p];
+        boolean[] active = new boolean[p];
+        for (int j = 0; j < p; j++) {
+            double variance = m.xx[j * p + j] / m.sumW - mean[j] * mean[j];
+            active[j] = variance > ZERO_VARIANCE;
+        }
+        for (int j = 0; j < p; j++) {
+            if (!active[j]) {
+                a[j * p + j] = 1.0;
+                continue;
+            }
+            for (int k = j; k < p; k++) {
+                if (!active[k]) continue;
+                double c = m.xx[j * p + k] / m.sumW - mean[j] * mean[k];
+                a[j * p + k] = c;
+                a[k * p + j] = c;
+            }
+            a[j * p + j] += penalty * (standardisedPenalty ? a[j * p + j] : 1.0);
+            b[j] = m.sumXY[j] / m.sumW - mean[j] * meanY;
+        }
+        double[] coefficients = choleskySolve(a, b, p);
+        double[] retValue = new double[p + 1];
+        retValue[0] = meanY;
+        for (int j = 0; j < p; j++) {
+            retValue[j + 1] = coefficients[j];
+            retValue[0] -= mean[j] * coefficients[j];
+        }
+        return retValue;
+    }
+
+    /**
+     * Solves A x = b for symmetric positive (semi-)definite A, held as a flat p x p array.
+     * A is overwritten with its Cholesky factor. Near-singular pivots (perfectly collinear features when there is
+     * no regularisation) are treated as zero, which sets the relevant coefficient to zero.
+     */
+    static double[] choleskySolve(double[] a, double[] b, int p) {
+        for (int j = 0; j < p; j++) {
+            double diagonal = a[j * p + j];
+            for (int k = 0; k < j; k++)
+                diagonal -= a[j * p + k] * a[j * p + k];
+            double pivotScale = Math.max(Math.abs(a[j * p + j]), 1.0);
+            if (diagonal <= ZERO_VARIANCE * pivotScale) {
+                // singular direction; zero out the row so that the coefficient is dropped
+                for (int k = 0; k < j; k++)
+                    a[j * p + k] = 0.0;
+                a[j * p + j] = Double.POSITIVE_INFINITY;
+                for (int i = j + 1; i < p; i++)
+                    a[i * p + j] = 0.0;
+                continue;
+            }
+            double l = Math.sqrt(diagonal);
+            a[j * p + j] = l;
+            for (int i = j + 1; i < p; i++) {
+                double sum = a[i * p + j];
+                for (int k = 0; k < j; k++)
+                    sum -= a[i * p + k] * a[j * p + k];
+                a[i * p + j] = sum / l;
+            }
+        }
+        // forward substitution: L y = b
+        double[] x = new double[p];
+        for (int i = 0; i < p; i++) {
+            double sum = b[i];
+            for (int k = 0; k < i; k++)
+                sum -= a[i * p + k] * x[k];
+            x[i] = sum / a[i * p + i];
+        }
+        // back substitution: L^T x = y
+        for (int i = p - 1; i >= 0; i--) {
+            double sum = x[i];
+            for (int k = i + 1; k < p; k++)
+                sum -= a[k * p + i] * x[k];
+            x[i] = sum / a[i * p + i];
+        }
+        return x;
+    }
+}
@@ -147,7 +147,7 @@ public class LearnFromData {
         if (startingHeuristic instanceof GLMHeuristic glm) {
             AutomatedFeatures asf = (AutomatedFeatures) (learner.getActionFeatureVector() != null ? learner.getActionFeatureVector() : learner.getStateFeatureVector());
             String bestFeatureDescription = "";
-            double baseBIC = bicFromAic(glm.getModel().summary().aic(), asf.names().length, n);
+            double baseBIC = bicFromAic(glm.getAIC(), asf.names().length, n);
             double bestBIC = baseBIC;
             System.out.println("Starting modified BIC: " + baseBIC);
             List<String> excludedFeatures = new ArrayList<>();
@@ -324,7 +324,7 @@ public class LearnFromData {
                     startTime = System.currentTimeMillis();
                     bicMultiplier = bicMultiplier + baseBicMultiplier;
                     // then adjust current bestBIC to reflect the new multiplier
-                    bestBIC = bicFromAic(glm.getModel().summary().aic(), asf.names().length, n);
+                    bestBIC = bicFromAic(glm.getAIC(), asf.names().length, n);
                 }
             } while (bestFeatures != null);
 
@@ -385,7 +385,7 @@ public class LearnFromData {
             learner.setStateFeatureVector(localASF);
 
         GLMHeuristic newHeuristic = (GLMHeuristic) learner.learnFrom(outputFile);
-        double newBIC = bicFromAic(newHeuristic.getModel().summary().aic(), localASF.names().length, n);
+        double newBIC = bicFromAic(newHeuristic.getAIC(), localASF.names().length, n);
         return new FeatureAnalysisResult(localASF, newHeuristic, newBIC);
     }
 
@@ -0,0 +1,59 @@
+package players.learners;
+
+import core.interfaces.IActionFeatureVector;
+import core.interfaces.IStateFeatureVector;
+import players.heuristics.GLMHeuristic;
+
+/**
+ * Fits GLMs directly in the JVM using GLMSolver, without the Spark session that ApacheLearner requires.
+ * This produces the same heuristics (and hence the same coefficient JSON) as the equivalent ApacheLearner.
+ */
+public abstract class NativeGLMLearner extends AbstractLearner {
+
+    double regParam = 0.1;
+    int threads = 1;
+    int maxIterations = 25;
+    double tolerance = 1e-6;
+    boolean debug = false;
+
+    public NativeGLMLearner() {
+        super();
+    }
+
+    public NativeGLMLearner(double gamma, double regParam, Target target, int threads) {
+        this(gamma, regParam, target, null, null);
+        this.threads = threads;
+    }
+
+    public NativeGLMLearner(double gamma, double regParam, Target target,
+                            IStateFeatureVector stateFeatureVector, IActionFeatureVector actionFeatureVector) {
+        super(gamma, target, stateFeatureVector, actionFeatureVector);
+        this.regParam = regParam;
+    }
+
+    public NativeGLMLearner setThreads(int threads) {
+        this.threads = threads;
+        return this;
+    }
+
+    @Override
+    public Object learnFrom(String... files) {
+        loadData(files);
+        double[] y = new double[target.length];
+        for (int i = 0; i < y.length; i++)
+            y[i] = target[i][0];
+        GLMSolver solver = new GLMSolver(regParam, maxIterations, tolerance, threads);
+        GLMSolver.Result result = fit(solver, dataArray, y);
+        if (debug)
+            System.out.printf("%s fit on %d rows in %d iterations, AIC %.2f%n",
+                    name(), dataArray.length, result.iterations(), result.aic());
+        GLMHeuristic retValue = createHeuristic(result.coefficients());
+        retValue.setAIC(result.aic());
+        return retValue;
+    }
+
+    abstract GLMSolver.Result fit(GLMSolver solver, double[][] data, double[] y);
+
+    abstract GLMHeuristic createHeuristic(double[] coefficients);
+
+}
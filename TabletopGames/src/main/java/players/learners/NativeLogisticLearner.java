@@ -0,0 +1,54 @@
+package players.learners;
+
+import core.interfaces.IActionFeatureVector;
+import core.interfaces.IStateFeatureVector;
+import players.heuristics.GLMHeuristic;
+import players.heuristics.LogisticActionHeuristic;
+import players.heuristics.LogisticStateHeuristic;
+import players.heuristics.WinOnlyHeuristic;
+
+/**
+ * The in-JVM equivalent of LogisticLearner (fitted by IRLS)
+ */
+public class NativeLogisticLearner extends NativeGLMLearner {
+
+    public NativeLogisticLearner() {
+        super();
+    }
+
+    public NativeLogisticLearner(double gamma, double regParam, Target target) {
+        this(gamma, regParam, target, null, null);
+    }
+
+    public NativeLogisticLearner(double gamma, double regParam, Target target, int threads) {
+        super(gamma, regParam, target, threads);
+    }
+
+    public NativeLogisticLearner(Target target, IStateFeatureVector stateFeatureVector) {
+        this(1.0, 0.1, target, stateFeatureVector, null);
+    }
+
+    public NativeLogisticLearner(double gamma, double regParam, Target target,
+                                 IStateFeatureVector stateFeatureVector, IActionFeatureVector actionFeatureVector) {
+        super(gamma, regParam, target, stateFeatureVector, actionFeatureVector);
+    }
+
+    @Override
+    GLMSolver.Result fit(GLMSolver solver, double[][] data, double[] y) {
+        return solver.fitBinomial(data, y);
+    }
+
+    @Override
+    GLMHeuristic createHeuristic(double[] coefficients) {
+        if (this.actionFeatureVector == null) {
+            return new LogisticStateHeuristic(stateFeatureVector, coefficients, new WinOnlyHeuristic());
+        } else {
+            return new LogisticActionHeuristic(actionFeatureVector, stateFeatureVector, coefficients);
+        }
+    }
+
+    @Override
+    public String name() {
+        return "NativeLogistic";
+    }
+}
@@ -0,0 +1,57 @@
+package players.learners;
+
+import core.interfaces.IActionFeatureVector;
+import core.interfaces.IStateFeatureVector;
+import players.heuristics.*;
+
+/**
+ * The in-JVM equivalent of OLSLearner
+ */
+public class NativeOLSLearner extends NativeGLMLearner {
+
+    public NativeOLSLearner() {
+        super();
+    }
+
+    public NativeOLSLearner(double gamma, double regParam, Target target) {
+        this(gamma, regParam, target, null, null);
+    }
+
+    public NativeOLSLearner(double gamma, double regParam, Target target, int threads) {
+        super(gamma, regParam, target, threads);
+    }
+
+    public NativeOLSLearner(Target target, IStateFeatureVector stateFeatureVector) {
+        this(1.0, 0.1, target, stateFeatureVector, null);
+    }
+
+    public NativeOLSLearner(double gamma, double regParam, Target target,
+                            IStateFeatureVector stateFeatureVector, IActionFeatureVector actionFeatureVector) {
+        super(gamma, regParam, target, stateFeatureVector, actionFeatureVector);
+    }
+
+    @Override
+    GLMSolver.Result fit(GLMSolver solver, double[][] data, double[] y) {
+        return solver.fitGaussian(data, y);
+    }
+
+    @Override
+    GLMHeuristic createHeuristic(double[] coefficients) {
+        if (this.actionFeatureVector == null) {
+            return new LinearStateHeuristic(stateFeatureVector, coefficients,
+                    switch (targetType) {
+                        case ORDINAL, ORD_MEAN, ORD_SCALE, ORD_MEAN_SCALE -> new OrdinalPosition();
+                        case SCORE -> new PureScoreHeuristic();
+                        case SCORE_DELTA -> new LeaderHeuristic();
+                        default -> new WinOnlyHeuristic();
+                    });
+        } else {
+            return new LinearActionHeuristic(actionFeatureVector, stateFeatureVector, coefficients);
+        }
+    }
+
+    @Override
+    public String name() {
+        return "NativeOLS";
+    }
+}
@@ -0,0 +1,114 @@
+package players.mcts;
+
+import java.util.Arrays;
+
+/**
+ * Visits and total value for each of a set of long keys, in primitive arrays with open addressing (linear probing).
+ * This avoids the boxing and the Pair objects of a Map<Object, Pair<Integer, Double>>, which matters when a
+ * rollout policy looks up every available action at every step.
+ * A slot is empty if it has no visits.
+ */
+class ActionStatsTable {
+
+    private long[] keys;
+    private int[] visits;
+    private double[] totValues;
+    private int mask;
+    private int size;
+
+    ActionStatsTable(int initialCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(initialCapacity, 8));
+        if (capacity < initialCapacity)
+            capacity <<= 1;
+        keys = new long[capacity];
+        visits = new int[capacity];
+        totValues = new double[capacity];
+        mask = capacity - 1;
+    }
+
+    private int slot(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        int i = (int) (h ^ (h >>> 32)) & mask;
+        while (visits[i] > 0 && keys[i] != key)
+            i = (i + 1) & mask;
+        return i;
+    }
+
+    void add(long key, double value) {
+        int i = slot(key);
+        if (visits[i] == 0) {
+            if (2 * (size + 1) > keys.length) {
+                resize(keys.length * 2);
+                i = slot(key);
+            }
+            keys[i] = key;
+            size++;
+        }
+        visits[i]++;
+        totValues[i] += value;
+    }
+
+    int visits(long key) {
+        return visits[slot(key)];
+    }
+
+    /**
+     * @return - the mean value for the key, or NaN if it has no visits
+     */
+    double mean(long key) {
+        int i = slot(key);
+        return visits[i] == 0 ? Double.NaN : totValues[i] / visits[i];
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Scales down all the visits by gamma (as Utils.decay() does for MAST statistics), keeping the mean values.
+     * Keys with no visits left are removed.
+     */
+    void decay(double gamma) {
+        long[] oldKeys = keys;
+        int[] oldVisits = visits;
+        double[] oldValues = totValues;
+        keys = new long[oldKeys.length];
+        visits = new int[oldKeys.length];
+        totValues = new double[oldKeys.length];
+        size = 0;
+        for (int j = 0; j < oldKeys.length; j++) {
+            int newVisits = (int) (oldVisits[j] * gamma);
+            if (newVisits > 0) {
+                int i = slot(oldKeys[j]);
+                keys[i] = oldKeys[j];
+                visits[i] = newVisits;
+                totValues[i] = oldValues[j] * newVisits / oldVisits[j];
+                size++;
+            }
+        }
+    }
+
+    void clear() {
+        Arrays.fill(visits, 0);
+        Arrays.fill(totValues, 0.0);
+        size = 0;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldVisits = visits;
+        double[] oldValues = totValues;
+        keys = new long[capacity];
+        visits = new int[capacity];
+        totValues = new double[capacity];
+        mask = capacity - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldVisits[j] > 0) {
+                int i = slot(oldKeys[j]);
+                keys[i] = oldKeys[j];
+                visits[i] = oldVisits[j];
+                totValues[i] = oldValues[j];
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package players.mcts;
+
+import core.AbstractGameState;
+import core.interfaces.IRedeterminisable;
+
+/**
+ * A fixed set of determinisations for Information_Set MCTS, used in place of a new copy(playerId) on every iteration.
+ * <p>
+ * Each determinisation is sampled the first time it is needed, and iterations then cycle through them, each starting
+ * from a plain copy() of its determinisation (which does not need the hidden information to be shuffled again).
+ * If determinisationRefresh is set, then a determinisation is resampled after that many iterations; in place if the
+ * game state is IRedeterminisable, and otherwise from a new copy(playerId) of the root state.
+ * <p>
+ * The results of the iterations from each determinisation are recorded (by position in the pool, so across any
+ * resamples), so that we can see how much the value of the position depends on the hidden information.
+ * A new pool is used for each search.
+ */
+public class DeterminisationPool {
+
+    private final AbstractGameState[] determinisations;
+    private final int[] uses;
+    private final int[] visits;
+    private final double[] totValue;
+    private final double[] totSquares;
+    private int next;
+    private int current = -1;
+    int samples; // the number of times we have sampled a determinisation
+
+    DeterminisationPool(int size) {
+        if (size <= 0)
+            throw new IllegalArgumentException("Determinisation pool size must be positive, not " + size);
+        determinisations = new AbstractGameState[size];
+        uses = new int[size];
+        visits = new int[size];
+        totValue = new double[size];
+        totSquares = new double[size];
+    }
+
+    /**
+     * @param rootState - the state at the root of the search (from which determinisations are sampled)
+     * @param player    - the player from whose perspective we determinise
+     * @return - a state to use for the next iteration (which the caller is free to change)
+     */
+    AbstractGameState nextState(MCTSParams params, AbstractGameState rootState, int player) {
+        current = next;
+        next = (next + 1) % determinisations.length;
+        AbstractGameState determinisation = determinisations[current];
+        if (determinisation == null) {
+            determinisations[current] = rootState.copy(player);
+            samples++;
+        } else if (params.determinisationRefresh > 0 && uses[current] >= params.determinisationRefresh) {
+            if (determinisation instanceof IRedeterminisable redeterminisable)
+                redeterminisable.redeterminise(player);
+            else
+                determinisations[current] = rootState.copy(player);
+            uses[current] = 0;
+            samples++;
+        }
+        uses[current]++;
+        return determinisations[current].copy();
+    }
+
+    /**
+     * @return - the index of the determinisation used by the last call to nextState()
+     */
+    int current() {
+        return current;
+    }
+
+    /**
+     * Records the result of an iteration (for the decision player) against the determinisation it used
+     */
+    void record(int index, double value) {
+        visits[index]++;
+        totValue[index] += value;
+        totSquares[index] += value * value;
+    }
+
+    public int size() {
+        return determinisations.length;
+    }
+
+    public int getVisits(int index) {
+        return visits[index];
+    }
+
+    /**
+     * @return - the mean result of the iterations from this determinisation, or NaN if there have been none
+     */
+    public double getMean(int index) {
+        return visits[index] == 0 ? Double.NaN : totValue[index] / visits[index];
+    }
+
+    /**
+     * @return - the variance of the results of the iterations from this determinisation, or NaN if there have been none
+     */
+    public double getVariance(int index) {
+        if (visits[index] == 0)
+            return Double.NaN;
+        double mean = getMean(index);
+        return Math.max(0.0, totSquares[index] / visits[index] - mean * mean);
+    }
+
+    /**
+     * @return - the variance of the mean results of the determinisations (over those that have been used); the part of
+     * the variance of all the results that is due to the hidden information.
+     */
+    public double getVarianceOfMeans() {
+        int n = 0;
+        double total = 0.0, totalSquares = 0.0;
+        for (int i = 0; i < visits.length; i++) {
+            if (visits[i] == 0)
+                continue;
+            double mean = getMean(i);
+            n++;
+            total += mean;
+            totalSquares += mean * mean;
+        }
+        if (n == 0)
+            return Double.NaN;
+        return Math.max(0.0, totalSquares / n - (total / n) * (total / n));
+    }
+}
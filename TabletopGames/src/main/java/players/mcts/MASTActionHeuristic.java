@@ -42,13 +42,23 @@ public class MASTActionHeuristic extends TunableParameters<MASTActionHeuristic>
 
     @Override
     public double evaluateAction(AbstractAction action, AbstractGameState state, List<AbstractAction> contextActions) {
-        Object key = actionKey == null ? action : actionKey.key(action);
+        return valueOf(action, MASTStatistics.get(state.getCurrentPlayer()));
+    }
+
+    @Override
+    public double[] evaluateActions(List<AbstractAction> actions, AbstractGameState state, List<AbstractAction> contextActions) {
         Map<Object, Pair<Integer, Double>> MAST = MASTStatistics.get(state.getCurrentPlayer());
-        if (MAST.containsKey(key)) {
-            Pair<Integer, Double> stats = MAST.get(key);
-            if (stats.a > 0)
-                return stats.b / stats.a;
-        }
+        double[] retValue = new double[actions.size()];
+        for (int i = 0; i < retValue.length; i++)
+            retValue[i] = valueOf(actions.get(i), MAST);
+        return retValue;
+    }
+
+    private double valueOf(AbstractAction action, Map<Object, Pair<Integer, Double>> MAST) {
+        Object key = actionKey == null ? action : actionKey.key(action);
+        Pair<Integer, Double> stats = MAST.get(key);
+        if (stats != null && stats.a > 0)
+            return stats.b / stats.a;
         return defaultValue;
     }
 
@@ -62,6 +62,17 @@ public class MASTPlusActionHeuristic extends TunableParameters<MASTPlusActionHeu
             return baseHeuristic.evaluateAction(action, state, actions);
     }
 
+    @Override
+    public double[] evaluateActions(List<AbstractAction> actions, AbstractGameState state, List<AbstractAction> contextActions) {
+        double[] retValue = baseHeuristic.evaluateActions(actions, state, contextActions);
+        if (beta > 0.0) {
+            double[] external = externalHeuristic.evaluateActions(actions, state, contextActions);
+            for (int i = 0; i < retValue.length; i++)
+                retValue[i] = (1 - beta) * retValue[i] + beta * external[i];
+        }
+        return retValue;
+    }
+
     @Override
     public void setMASTStats(List<Map<Object, Pair<Integer, Double>>> MASTStats) {
         baseHeuristic.setMASTStats(MASTStats);
@@ -115,6 +115,11 @@ public class MCGSNode extends SingleTreeNode {
         keysTorRemove.forEach(transpositionMap::remove);
     }
 
+    @Override
+    protected boolean canBatchEvaluations() {
+        return false;
+    }
+
     /**
      * Back up the value of the child through all parents. Increase number of visits and total value.
      *
@@ -28,6 +28,8 @@ public class MCTSParams extends PlayerParameters {
     public boolean rolloutLengthPerPlayer = false;  // if true, then rolloutLength is multiplied by the number of players
     public int maxTreeDepth = 1000; // effectively no limit
     public MCTSEnums.Information information = Information_Set;  // this should be the default in TAG, given that most games have hidden information
+    public int determinisationPoolSize = 0;  // with Information_Set, if more than 0, iterations cycle through this many determinisations
+    public int determinisationRefresh = 0;  // if more than 0, each pooled determinisation is resampled after this many iterations
     public MCTSEnums.MASTType MAST = None;
     public boolean useMAST = false;
     public double MASTGamma = 0.0;
@@ -35,6 +37,8 @@ public class MCTSParams extends PlayerParameters {
     public double MASTBoltzmann = 0.1;
     public double exp3Boltzmann = 0.1;
     public boolean useMASTAsActionHeuristic = false;
+    public int NSTLength = 2;  // with NST rollouts, the longest sequence of actions to keep statistics for (1 is MAST)
+    public int NSTMinVisits = 7;  // sequences longer than one action are only used by NST once seen this many times
     public MCTSEnums.SelectionPolicy selectionPolicy = SIMPLE;  // In general better than ROBUST
     public MCTSEnums.TreePolicy treePolicy = UCB;
     public MCTSEnums.OpponentTreePolicy opponentTreePolicy = OneTree;
@@ -69,10 +73,18 @@ public class MCTSParams extends PlayerParameters {
     public double progressiveWideningConstant = 0.0; //  Zero indicates switched off (well, less than 1.0)
     public double progressiveWideningExponent = 0.0;
     public double progressiveBias = 0.0;
+    public boolean lazyActions = false;  // with Progressive Widening, only create the actions that can be considered (see SingleTreeNode.computeActions)
     public boolean reuseTree = false;
     public MCTSEnums.BackupPolicy backupPolicy = MCTSEnums.BackupPolicy.MonteCarlo;
     public double backupLambda = 1.0;
     public int maxBackupThreshold = 1000000;
+    public int rolloutCutoffInterval = 0;  // if more than 0, then every this many actions we check if the rollout can stop (see RolloutCutoffs)
+    public IStateHeuristic rolloutCutoffHeuristic;  // a cheap heuristic to stop rollouts once it is confident of the result
+    public double rolloutCutoffConfidence = 0.95;
+    public int rolloutCacheSize = 0;  // the number of rollout results to cache, by the hash of states passed through
+    public double rolloutCutoffTolerance = 0.0;  // stop where the value has been measured to predict the rollout result to within this
+    public int evaluationBatchSize = 1;  // if more than 1, then leaf states are gathered and passed to the heuristic together
+    public double virtualLoss = 1.0;  // each pending evaluation counts as a visit with a reward of -virtualLoss while the rest of a batch is selected
     public Class<?> instantiationClass;
 
     public MCTSParams() {
@@ -92,6 +104,8 @@ public class MCTSParams extends PlayerParameters {
         addTunableParameter("opponentModelParams", ITunableParameters.class);
         addTunableParameter("opponentModel", new RandomPlayer());
         addTunableParameter("information", Information_Set, Arrays.asList(MCTSEnums.Information.values()));
+        addTunableParameter("determinisationPoolSize", 0, Arrays.asList(0, 1, 4, 16, 64));
+        addTunableParameter("determinisationRefresh", 0);
         addTunableParameter("selectionPolicy", SIMPLE, Arrays.asList(MCTSEnums.SelectionPolicy.values()));
         addTunableParameter("treePolicy", UCB, Arrays.asList(MCTSEnums.TreePolicy.values()));
         addTunableParameter("opponentTreePolicy", OneTree, Arrays.asList(MCTSEnums.OpponentTreePolicy.values()));
@@ -100,8 +114,11 @@ public class MCTSParams extends PlayerParameters {
         addTunableParameter("MAST", None, Arrays.asList(MCTSEnums.MASTType.values()));
         addTunableParameter("MASTGamma", 0.0, Arrays.asList(0.0, 0.5, 0.9, 1.0));
         addTunableParameter("useMASTAsActionHeuristic", false);
+        addTunableParameter("NSTLength", 2, Arrays.asList(1, 2, 3));
+        addTunableParameter("NSTMinVisits", 7);
         addTunableParameter("progressiveWideningConstant", 0.0, Arrays.asList(0.0, 1.0, 2.0, 4.0, 8.0, 16.0, 32.0));
         addTunableParameter("progressiveWideningExponent", 0.0, Arrays.asList(0.0, 0.1, 0.2, 0.3, 0.5));
+        addTunableParameter("lazyActions", false);
         addTunableParameter("normaliseRewards", true);
         addTunableParameter("maintainMasterState", false);
         addTunableParameter("discardStateAfterEachIteration", true);
@@ -122,6 +139,13 @@ public class MCTSParams extends PlayerParameters {
         addTunableParameter("backupPolicy", MCTSEnums.BackupPolicy.MonteCarlo, Arrays.asList(MCTSEnums.BackupPolicy.values()));
         addTunableParameter("backupLambda", 1.0);
         addTunableParameter("maxBackupThreshold", 1000000);
+        addTunableParameter("rolloutCutoffInterval", 0, Arrays.asList(0, 1, 3, 10, 30));
+        addTunableParameter("rolloutCutoffHeuristic", IStateHeuristic.class);
+        addTunableParameter("rolloutCutoffConfidence", 0.95);
+        addTunableParameter("rolloutCacheSize", 0);
+        addTunableParameter("rolloutCutoffTolerance", 0.0);
+        addTunableParameter("evaluationBatchSize", 1, Arrays.asList(1, 2, 4, 8, 16, 32));
+        addTunableParameter("virtualLoss", 1.0);
         addTunableParameter("instantiationClass", "players.mcts.MCTSPlayer");
     }
 
@@ -137,6 +161,8 @@ public class MCTSParams extends PlayerParameters {
         rolloutTermination = (MCTSEnums.RolloutTermination) getParameterValue("rolloutTermination");
         oppModelType = (MCTSEnums.Strategies) getParameterValue("oppModelType");
         information = (MCTSEnums.Information) getParameterValue("information");
+        determinisationPoolSize = (int) getParameterValue("determinisationPoolSize");
+        determinisationRefresh = (int) getParameterValue("determinisationRefresh");
         treePolicy = (MCTSEnums.TreePolicy) getParameterValue("treePolicy");
         selectionPolicy = (MCTSEnums.SelectionPolicy) getParameterValue("selectionPolicy");
         opponentTreePolicy = (MCTSEnums.OpponentTreePolicy) getParameterValue("opponentTreePolicy");
@@ -144,6 +170,8 @@ public class MCTSParams extends PlayerParameters {
         MASTBoltzmann = (double) getParameterValue("MASTBoltzmann");
         MAST = (MCTSEnums.MASTType) getParameterValue("MAST");
         MASTGamma = (double) getParameterValue("MASTGamma");
+        NSTLength = (int) getParameterValue("NSTLength");
+        NSTMinVisits = (int) getParameterValue("NSTMinVisits");
         exp3Boltzmann = (double) getParameterValue("exp3Boltzmann");
         rolloutClass = (String) getParameterValue("rolloutClass");
         oppModelClass = (String) getParameterValue("oppModelClass");
@@ -152,6 +180,7 @@ public class MCTSParams extends PlayerParameters {
         omaVisits = (int) getParameterValue("omaVisits");
         progressiveWideningConstant = (double) getParameterValue("progressiveWideningConstant");
         progressiveWideningExponent = (double) getParameterValue("progressiveWideningExponent");
+        lazyActions = (boolean) getParameterValue("lazyActions");
         normaliseRewards = (boolean) getParameterValue("normaliseRewards");
         maintainMasterState = (boolean) getParameterValue("maintainMasterState");
         paranoid = (boolean) getParameterValue("paranoid");
@@ -178,6 +207,13 @@ public class MCTSParams extends PlayerParameters {
         backupPolicy = (MCTSEnums.BackupPolicy) getParameterValue("backupPolicy");
         backupLambda = (double) getParameterValue("backupLambda");
         maxBackupThreshold = (int) getParameterValue("maxBackupThreshold");
+        rolloutCutoffInterval = (int) getParameterValue("rolloutCutoffInterval");
+        rolloutCutoffHeuristic = (IStateHeuristic) getParameterValue("rolloutCutoffHeuristic");
+        rolloutCutoffConfidence = (double) getParameterValue("rolloutCutoffConfidence");
+        rolloutCacheSize = (int) getParameterValue("rolloutCacheSize");
+        rolloutCutoffTolerance = (double) getParameterValue("rolloutCutoffTolerance");
+        evaluationBatchSize = (int) getParameterValue("evaluationBatchSize");
+        virtualLoss = (double) getParameterValue("virtualLoss");
         try {
             instantiationClass = Class.forName((String) getParameterValue("instantiationClass"));
         } catch (ClassNotFoundException e) {
@@ -233,6 +269,7 @@ public class MCTSParams extends PlayerParameters {
         return switch (type) {
             case RANDOM -> new RandomPlayer(new Random(getRandomSeed()));
             case MAST -> new MASTPlayer(MASTActionKey, MASTBoltzmann, 0.0, getRandomSeed(), MASTDefaultValue);
+            case NST -> new NSTPlayer(NSTMinVisits, MASTBoltzmann, 0.0, getRandomSeed(), MASTDefaultValue);
             case CLASS ->
                 // we have a bespoke Class to instantiate (for anything other than an AbstractPlayer we could just rely on the core JSON loading)
                     JSONUtils.loadClass(details);
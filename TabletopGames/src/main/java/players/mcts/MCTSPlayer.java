@@ -9,6 +9,7 @@ import evaluation.listeners.IGameListener;
 import core.interfaces.IStateHeuristic;
 import evaluation.metrics.Event;
 import llm.IHasStateHeuristic;
+import players.AnytimeBudgetManager;
 import players.IAnyTimePlayer;
 import utilities.Pair;
 import utilities.Utils;
@@ -31,6 +32,9 @@ public class MCTSPlayer extends AbstractPlayer implements IAnyTimePlayer, IHasSt
     List<Map<Object, Pair<Integer, Double>>> MASTStats;
     protected Map<Object, Integer> oldGraphKeys = new HashMap<>();
     protected List<Object> recentlyRemovedKeys = new ArrayList<>();
+    protected AnytimeBudgetManager budgetManager = new AnytimeBudgetManager();
+    protected RolloutCutoffs rolloutCutoffs;
+    protected NGramStatistics nGramStats;
 
     public MCTSPlayer() {
         this(new MCTSParams());
@@ -65,6 +69,9 @@ public class MCTSPlayer extends AbstractPlayer implements IAnyTimePlayer, IHasSt
         MASTStats = null;
         root = null;
         oldGraphKeys = new HashMap<>();
+        budgetManager.reset();
+        rolloutCutoffs = null;
+        nGramStats = null;
         getParameters().getRolloutStrategy().initializePlayer(state);
         getParameters().getOpponentModel().initializePlayer(state);
     }
@@ -117,6 +124,10 @@ public class MCTSPlayer extends AbstractPlayer implements IAnyTimePlayer, IHasSt
             }
         }
         mtRoot.roots = newRoots;
+        // and drop anything left from the last iteration of the previous search, which would otherwise keep
+        // the pruned parts of the old trees in memory until the next iteration
+        mtRoot.currentLocation = new SingleTreeNode[state.getNPlayers()];
+        mtRoot.currentNodeTrajectory = new ArrayList<>();
         mtRoot.state = state.copy();
         return mtRoot;
     }
@@ -252,11 +263,27 @@ public class MCTSPlayer extends AbstractPlayer implements IAnyTimePlayer, IHasSt
         } else {
             root = newRoot;
         }
+        if (getParameters().rolloutCutoffInterval > 0) {
+            if (rolloutCutoffs == null)
+                rolloutCutoffs = new RolloutCutoffs(getParameters());
+            root.rolloutCutoffs = rolloutCutoffs;
+        }
         if (MASTStats != null && getParameters().MASTGamma > 0.0)
             root.MASTStatistics = MASTStats.stream()
                     .map(m -> Utils.decay(m, getParameters().MASTGamma))
                     .collect(Collectors.toList());
 
+        if (getParameters().getRolloutStrategy() instanceof NSTPlayer || getParameters().getOpponentModel() instanceof NSTPlayer) {
+            if (nGramStats == null)
+                nGramStats = new NGramStatistics(gameState.getNPlayers(), getParameters().NSTLength, getParameters().MASTActionKey);
+            else
+                nGramStats.decay(getParameters().MASTGamma);
+            root.nGramStatistics = nGramStats;
+            if (getParameters().getRolloutStrategy() instanceof NSTPlayer nst)
+                nst.setStatistics(nGramStats);
+            if (getParameters().getOpponentModel() instanceof NSTPlayer nst)
+                nst.setStatistics(nGramStats);
+        }
         if (getParameters().getRolloutStrategy() instanceof IMASTUser) {
             ((IMASTUser) getParameters().getRolloutStrategy()).setMASTStats(root.MASTStatistics);
         }
@@ -269,10 +296,12 @@ public class MCTSPlayer extends AbstractPlayer implements IAnyTimePlayer, IHasSt
     public AbstractAction _getAction(AbstractGameState gameState, List<AbstractAction> actions) {
         // Search for best action from the root
         long currentTimeNano = System.nanoTime();
+        int budget = budgetManager.allocate(getParameters(), gameState, getPlayerID());
         createRootNode(gameState);
         long timeTaken = System.nanoTime() - currentTimeNano;
 
-        root.mctsSearch(timeTaken / 1000000);
+        root.mctsSearch(timeTaken / 1000000, budget);
+        budgetManager.used(getParameters(), timeTaken / 1000000 + (long) root.timeTaken);
 
         if (getParameters().actionHeuristic instanceof ITreeProcessor)
             ((ITreeProcessor) getParameters().actionHeuristic).process(root);
@@ -330,13 +359,16 @@ public class MCTSPlayer extends AbstractPlayer implements IAnyTimePlayer, IHasSt
         Map<AbstractAction, Map<String, Object>> retValue = new LinkedHashMap<>();
 
         if (root != null && root.getVisits() > 1) {
-            for (AbstractAction action : root.actionValues.keySet()) {
+            List<AbstractAction> actions = new ArrayList<>(root.actionValues.keySet());
+            double[] actionHeuristicValues = getParameters().actionHeuristic.evaluateActions(actions, root.state, root.actionsFromOpenLoopState);
+            double heuristicValue = getParameters().heuristic.evaluateState(root.state, root.decisionPlayer);
+            for (int i = 0; i < actions.size(); i++) {
+                AbstractAction action = actions.get(i);
                 ActionStats stats = root.actionValues.get(action);
                 int visits = stats == null ? 0 : stats.nVisits;
                 double visitProportion = visits / (double) root.getVisits();
                 double meanValue = stats == null || visits == 0 ? 0.0 : stats.totValue[root.decisionPlayer] / visits;
-                double heuristicValue = getParameters().heuristic.evaluateState(root.state, root.decisionPlayer);
-                double actionValue = getParameters().actionHeuristic.evaluateAction(action, root.state, root.actionsFromOpenLoopState);
+                double actionValue = actionHeuristicValues[i];
 
                 Map<String, Object> actionValues = new HashMap<>();
                 actionValues.put("visits", visits);
@@ -55,6 +55,11 @@ public class MultiTreeNode extends SingleTreeNode {
         currentLocation = new SingleTreeNode[state.getNPlayers()];
         currentLocation[this.decisionPlayer] = roots[decisionPlayer];
     }
+
+    @Override
+    protected boolean canBatchEvaluations() {
+        return false;
+    }
     /**
      * oneSearchIteration() implements the strategy for tree search (plus expansion, rollouts, backup and so on)
      * Its result is purely stored in the tree generated from root
@@ -100,11 +105,7 @@ public class MultiTreeNode extends SingleTreeNode {
                 // note that different players will enter rollout at different times, which is why
                 // we cannot have a simple rollout() method as in SingleTree search
                 AbstractPlayer agent = currentActor == decisionPlayer ? params.getRolloutStrategy() : params.getOpponentModel();
-                List<AbstractAction> availableActions = forwardModel.computeAvailableActions(currentState, mctsPlayer.getParameters().actionSpace);
-                if (availableActions.isEmpty())
-                    throw new AssertionError("We should always have something to choose from");
-
-                AbstractAction chosen = agent.getAction(currentState, availableActions);
+                AbstractAction chosen = agent.getAction(currentState, forwardModel, mctsPlayer.getParameters().actionSpace);
                 if (debug)
                     System.out.printf("Rollout action chosen for P%d - %s %n", currentActor, chosen);
 
@@ -155,6 +156,8 @@ public class MultiTreeNode extends SingleTreeNode {
         }
         rolloutActionsTaken += actionsInRollout.size();
         root.updateMASTStatistics(actionsInTree, actionsInRollout, finalValues);
+        if (determinisationPool != null)
+            determinisationPool.record(determinisationPool.current(), finalValues[decisionPlayer]);
     }
 
 
@@ -0,0 +1,157 @@
+package players.mcts;
+
+import core.AbstractGameState;
+import core.actions.AbstractAction;
+import core.interfaces.IActionKey;
+import utilities.Pair;
+
+import java.util.List;
+
+/**
+ * The statistics for N-gram Selection Technique (NST) rollouts: the mean result (for the player who took the last
+ * action) of every sequence of up to maxLength consecutive actions seen in MCTS iterations. With a maxLength of 1
+ * these are just the MAST statistics.
+ * <p>
+ * Each action is reduced to an int key (IActionKey.hash(), or the hashCode() of the action if there is no IActionKey),
+ * and the keys of a sequence are combined into a long; so two different sequences can occasionally share statistics.
+ * These are held in one ActionStatsTable per player and sequence length.
+ * <p>
+ * One of these is kept by MCTSPlayer for a whole game, and decayed between decisions by MASTGamma.
+ */
+public class NGramStatistics {
+
+    final int maxLength;
+    final IActionKey actionKey;
+    private final ActionStatsTable[][] tables;
+    private final int[] keyBuffer;
+
+    public NGramStatistics(int nPlayers, int maxLength, IActionKey actionKey) {
+        if (maxLength < 1)
+            throw new IllegalArgumentException("N-gram length must be at least 1, not " + maxLength);
+        this.maxLength = maxLength;
+        this.actionKey = actionKey;
+        tables = new ActionStatsTable[nPlayers][maxLength];
+        for (int p = 0; p < nPlayers; p++)
+            for (int n = 0; n < maxLength; n++)
+                tables[p][n] = new ActionStatsTable(64);
+        keyBuffer = new int[maxLength - 1];
+    }
+
+    int keyOf(AbstractAction action) {
+        return actionKey == null ? action.hashCode() : actionKey.hash(action);
+    }
+
+    /**
+     * Extends the key of a sequence by one action (the key of the empty sequence is 0)
+     */
+    static long extend(long gramKey, int actionKey) {
+        return (gramKey + 1) * 0x100000001B3L + (actionKey & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Records the result of an iteration for every sequence of actions in it. The actions that led to the start of
+     * the iteration (from the history of the root state) are used as the start of the first sequences.
+     *
+     * @param rootState - the state at the start of the iteration
+     * @param actions   - all the actions taken in the iteration, in order
+     * @param result    - the result of the iteration (for each player)
+     */
+    void update(AbstractGameState rootState, List<Pair<Integer, AbstractAction>> actions, double[] result) {
+        int[] keys = new int[maxLength - 1 + actions.size()];
+        int start = 0;
+        for (int j = maxLength - 1; j >= 1; j--) {
+            Pair<Integer, AbstractAction> previous = rootState.getRecentAction(j);
+            if (previous == null)
+                start = maxLength - j;
+            else
+                keys[maxLength - 1 - j] = keyOf(previous.b);
+        }
+        for (int i = 0; i < actions.size(); i++)
+            keys[maxLength - 1 + i] = keyOf(actions.get(i).b);
+
+        for (int i = 0; i < actions.size(); i++) {
+            int player = actions.get(i).a;
+            int last = maxLength - 1 + i;
+            // the gram of length n is keys[last - n + 1 .. last]; we build the key from the last action backwards
+            long gramKey = 0;
+            for (int n = 1; n <= maxLength && last - n + 1 >= start; n++) {
+                gramKey = extend(gramKey, keys[last - n + 1]);
+                tables[player][n - 1].add(gramKey, result[player]);
+            }
+        }
+    }
+
+    /**
+     * The NST value of each action for the player to move in the state. This is the average of the mean results of
+     * the sequences ending with the action (and starting with the most recent actions in the state history); the
+     * action on its own is included if it has been seen at all, and longer sequences only once they have at least
+     * minVisits.
+     *
+     * @return - the values, with defaultValue for any action that has not been seen
+     */
+    double[] values(AbstractGameState state, List<AbstractAction> actions, int minVisits, double defaultValue) {
+        int player = state.getCurrentPlayer();
+        int known = 0;
+        for (; known < maxLength - 1; known++) {
+            Pair<Integer, AbstractAction> previous = state.getRecentAction(known + 1);
+            if (previous == null)
+                break;
+            keyBuffer[known] = keyOf(previous.b);  // keyBuffer[0] is the most recent
+        }
+        double[] retValue = new double[actions.size()];
+        for (int i = 0; i < retValue.length; i++) {
+            long gramKey = extend(0, keyOf(actions.get(i)));
+            double total = 0.0;
+            int count = 0;
+            for (int n = 1; n <= known + 1; n++) {
+                if (n > 1)
+                    gramKey = extend(gramKey, keyBuffer[n - 2]);
+                ActionStatsTable table = tables[player][n - 1];
+                int visits = table.visits(gramKey);
+                if (visits > 0 && (n == 1 || visits >= minVisits)) {
+                    total += table.mean(gramKey);
+                    count++;
+                } else if (visits == 0) {
+                    break;  // a longer sequence cannot have been seen either
+                }
+            }
+            retValue[i] = count == 0 ? defaultValue : total / count;
+        }
+        return retValue;
+    }
+
+    /**
+     * @param gram - a sequence of actions, with the most recent last
+     * @return - the number of times the sequence has been seen, ending with an action by the player
+     */
+    public int getVisits(int player, List<AbstractAction> gram) {
+        return tables[player][gram.size() - 1].visits(keyOf(gram));
+    }
+
+    /**
+     * @return - the mean result for the player of iterations in which the sequence was seen, or NaN if it has not been
+     */
+    public double getMean(int player, List<AbstractAction> gram) {
+        return tables[player][gram.size() - 1].mean(keyOf(gram));
+    }
+
+    private long keyOf(List<AbstractAction> gram) {
+        long gramKey = 0;
+        for (int j = gram.size() - 1; j >= 0; j--)
+            gramKey = extend(gramKey, keyOf(gram.get(j)));
+        return gramKey;
+    }
+
+    /**
+     * Scales down the statistics from earlier decisions; with a gamma of zero they are discarded
+     */
+    public void decay(double gamma) {
+        for (ActionStatsTable[] playerTables : tables)
+            for (ActionStatsTable table : playerTables) {
+                if (gamma <= 0.0)
+                    table.clear();
+                else if (gamma < 1.0)
+                    table.decay(gamma);
+            }
+    }
+}
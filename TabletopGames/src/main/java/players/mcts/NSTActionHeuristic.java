@@ -0,0 +1,43 @@
+package players.mcts;
+
+import core.AbstractGameState;
+import core.actions.AbstractAction;
+import core.interfaces.IActionHeuristic;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Values actions by their N-gram statistics (see NGramStatistics.values()), given the actions that led to the state.
+ * The statistics are set by MCTSPlayer before each search.
+ */
+public class NSTActionHeuristic implements IActionHeuristic {
+
+    NGramStatistics statistics;
+    final int minVisits;
+    final double defaultValue;
+
+    public NSTActionHeuristic(int minVisits, double defaultValue) {
+        this.minVisits = minVisits;
+        this.defaultValue = defaultValue;
+    }
+
+    public void setStatistics(NGramStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    @Override
+    public double evaluateAction(AbstractAction action, AbstractGameState state, List<AbstractAction> contextActions) {
+        return evaluateActions(List.of(action), state, contextActions)[0];
+    }
+
+    @Override
+    public double[] evaluateActions(List<AbstractAction> actions, AbstractGameState state, List<AbstractAction> contextActions) {
+        if (statistics == null) {
+            double[] retValue = new double[actions.size()];
+            Arrays.fill(retValue, defaultValue);
+            return retValue;
+        }
+        return statistics.values(state, actions, minVisits, defaultValue);
+    }
+}
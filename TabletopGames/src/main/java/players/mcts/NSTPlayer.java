@@ -0,0 +1,17 @@
+package players.mcts;
+
+import players.simple.BoltzmannActionPlayer;
+
+/**
+ * A rollout policy that picks actions with a Boltzmann distribution over their N-gram (NST) values.
+ */
+public class NSTPlayer extends BoltzmannActionPlayer {
+
+    public NSTPlayer(int minVisits, double temperature, double epsilon, long seed, double defaultValue) {
+        super(new NSTActionHeuristic(minVisits, defaultValue), temperature, epsilon, seed);
+    }
+
+    public void setStatistics(NGramStatistics statistics) {
+        ((NSTActionHeuristic) actionHeuristic).setStatistics(statistics);
+    }
+}
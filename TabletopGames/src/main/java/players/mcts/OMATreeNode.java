@@ -46,6 +46,16 @@ public class OMATreeNode extends SingleTreeNode {
         super.rootify(template, state);
         this.OMAParent = Optional.empty();
     }
+
+    @Override
+    protected void resetDepth(SingleTreeNode newRoot) {
+        // When a tree is reused, an OMAParent can be above the new root (with OMA_All this is usual for the other
+        // players); that part of the tree has been pruned, so we drop the link, both so that it can be
+        // garbage collected, and so that we do not look for the OMAParent above the root in selection.
+        // resetDepth is applied top-down, so any OMAParent still in the tree already has its root reset
+        OMAParent = OMAParent.filter(p -> p.root == newRoot);
+        super.resetDepth(newRoot);
+    }
     /**
      * Back up the value of the child through all parents. Increase number of visits and total value.
      *
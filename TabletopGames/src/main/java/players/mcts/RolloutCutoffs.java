@@ -0,0 +1,163 @@
+package players.mcts;
+
+import core.AbstractGameState;
+import core.interfaces.IStateHeuristic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Decides whether an MCTS rollout can stop before it reaches rolloutLength. This is checked every
+ * rolloutCutoffInterval rollout actions (including at the start), and the rollout stops if:
+ * - the state is in the cache of earlier rollout results (keyed by the hashCode of the state), in which case the
+ * cached mean result is used in place of evaluating the final state;
+ * - the rolloutCutoffHeuristic is confident of the result for the decision player (its value, scaled to [0, 1],
+ * is at least rolloutCutoffConfidence, or at most 1 - rolloutCutoffConfidence);
+ * - or, if rolloutCutoffTolerance is set, the mean squared difference between the value of states at this point and
+ * the eventual result of their rollouts has been measured to be within the tolerance. Both are given by the MCTS
+ * heuristic (not the rolloutCutoffHeuristic), so that they are on the same scale. To keep measuring this, every
+ * tenth rollout ignores this rule.
+ * <p>
+ * One of these is kept by MCTSPlayer for the whole game, so the cache and the measurements carry over between decisions.
+ */
+class RolloutCutoffs {
+
+    static final int MIN_SAMPLES = 20;
+    static final int FULL_ROLLOUT_EVERY = 10;
+
+    /**
+     * What we saw at each check on one rollout
+     */
+    static class Trace {
+        final List<Integer> keys = new ArrayList<>();
+        final List<Double> values = new ArrayList<>();
+        final boolean fullLength;
+        double[] cachedResult;
+        boolean cutOff;
+
+        Trace(boolean fullLength) {
+            this.fullLength = fullLength;
+        }
+    }
+
+    private final int[] cacheKeys;
+    private final double[][] cacheTotals;
+    private final int[] cacheCounts;
+    private final int mask;
+    private double[] squaredErrors = new double[8];
+    private int[] errorCounts = new int[8];
+    private int rollouts;
+
+    RolloutCutoffs(MCTSParams params) {
+        if (params.rolloutCacheSize > 0) {
+            int capacity = Integer.highestOneBit(params.rolloutCacheSize);
+            if (capacity < params.rolloutCacheSize && capacity < (1 << 30))
+                capacity <<= 1;
+            cacheKeys = new int[capacity];
+            cacheTotals = new double[capacity][];
+            cacheCounts = new int[capacity];
+            mask = capacity - 1;
+        } else {
+            cacheKeys = null;
+            cacheTotals = null;
+            cacheCounts = null;
+            mask = 0;
+        }
+    }
+
+    Trace newTrace() {
+        return new Trace(rollouts++ % FULL_ROLLOUT_EVERY == 0);
+    }
+
+    private int slot(int key) {
+        return (key ^ (key >>> 16)) & mask;
+    }
+
+    /**
+     * @return - the mean result of earlier rollouts through a state with this key, or null if there is none cached.
+     */
+    double[] cachedResult(int key) {
+        if (cacheKeys == null)
+            return null;
+        int i = slot(key);
+        if (cacheCounts[i] == 0 || cacheKeys[i] != key)
+            return null;
+        double[] retValue = cacheTotals[i].clone();
+        for (int p = 0; p < retValue.length; p++)
+            retValue[p] /= cacheCounts[i];
+        return retValue;
+    }
+
+    /**
+     * Checks whether the rollout should stop at this state, recording what it needs to in the trace.
+     *
+     * @param checkpoint - the number of checks made so far on this rollout
+     */
+    boolean cutOff(MCTSParams params, Trace trace, AbstractGameState state, int player, int checkpoint) {
+        if (cacheKeys != null) {
+            int key = state.hashCode();
+            trace.cachedResult = cachedResult(key);
+            if (trace.cachedResult != null)
+                return trace.cutOff = true;
+            trace.keys.add(key);
+        }
+        if (params.rolloutCutoffHeuristic != null) {
+            IStateHeuristic evaluator = params.rolloutCutoffHeuristic;
+            double value = evaluator.evaluateState(state, player);
+            double range = evaluator.maxValue() - evaluator.minValue();
+            double scaled = range > 0.0 ? (value - evaluator.minValue()) / range : 0.5;
+            if (scaled >= params.rolloutCutoffConfidence || scaled <= 1.0 - params.rolloutCutoffConfidence)
+                return trace.cutOff = true;
+        }
+        // compared with the result of the rollout, so this must be the heuristic that the result comes from
+        if (params.rolloutCutoffTolerance > 0.0)
+            trace.values.add(params.heuristic.evaluateState(state, player));
+        if (params.rolloutCutoffTolerance > 0.0 && !trace.fullLength && checkpoint > 0 && checkpoint < errorCounts.length
+                && errorCounts[checkpoint] >= MIN_SAMPLES
+                && squaredErrors[checkpoint] / errorCounts[checkpoint] <= params.rolloutCutoffTolerance)
+            return trace.cutOff = true;
+        return false;
+    }
+
+    /**
+     * Records the result of a rollout, against all the states it was checked at; and if it was not cut off, then
+     * against the values at each check.
+     */
+    void record(MCTSParams params, Trace trace, double[] result, int player) {
+        if (cacheKeys != null) {
+            for (int key : trace.keys) {
+                int i = slot(key);
+                if (cacheCounts[i] == 0 || cacheKeys[i] != key) {
+                    cacheKeys[i] = key;
+                    cacheTotals[i] = new double[result.length];
+                    cacheCounts[i] = 0;
+                }
+                for (int p = 0; p < result.length; p++)
+                    cacheTotals[i][p] += result[p];
+                cacheCounts[i]++;
+            }
+        }
+        if (params.rolloutCutoffTolerance > 0.0 && !trace.cutOff) {
+            if (trace.values.size() > errorCounts.length) {
+                squaredErrors = Arrays.copyOf(squaredErrors, trace.values.size() * 2);
+                errorCounts = Arrays.copyOf(errorCounts, trace.values.size() * 2);
+            }
+            for (int k = 0; k < trace.values.size(); k++) {
+                double error = result[player] - trace.values.get(k);
+                squaredErrors[k] += error * error;
+                errorCounts[k]++;
+            }
+        }
+    }
+
+    /**
+     * @return - the mean squared difference between the value at the given check and the final result, or NaN if
+     * we have no measurements yet
+     */
+    double meanSquaredError(int checkpoint) {
+        if (checkpoint >= errorCounts.length || errorCounts[checkpoint] == 0)
+            return Double.NaN;
+        return squaredErrors[checkpoint] / errorCounts[checkpoint];
+    }
+}
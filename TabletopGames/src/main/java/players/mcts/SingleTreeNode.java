@@ -3,6 +3,8 @@ package players.mcts;
 import core.*;
 import core.actions.AbstractAction;
 import core.interfaces.IActionHeuristic;
+import core.interfaces.IBatchStateHeuristic;
+import players.AnytimeBudgetManager;
 import players.PlayerConstants;
 import utilities.*;
 
@@ -13,6 +15,7 @@ import java.util.stream.IntStream;
 import static java.util.stream.Collectors.*;
 import static players.PlayerConstants.*;
 import static players.mcts.MCTSEnums.Information.Closed_Loop;
+import static players.mcts.MCTSEnums.Information.Information_Set;
 import static players.mcts.MCTSEnums.OpponentTreePolicy.*;
 import static players.mcts.MCTSEnums.RolloutTermination.EXACT;
 import static players.mcts.MCTSEnums.SelectionPolicy.*;
@@ -45,6 +48,8 @@ public class SingleTreeNode {
     // (specifically when using SelfOnly trees, with START/END_TURN/ROUND rollout termination conditions
     protected int lastActorInRollout, lastTurnInRollout, lastRoundInRollout, turnAtStartOfRollout, roundAtStartOfRollout;
     List<AbstractAction> actionsFromOpenLoopState = new ArrayList<>();
+    // true if computeActions() last created only some of the actions available, with lazyActions
+    boolean actionsCreatedLazily;
     Map<AbstractAction, Double> actionValueEstimates = new HashMap<>();
     Map<AbstractAction, Double> actionPDFEstimates = new HashMap<>();
     // Depth of this node
@@ -77,6 +82,13 @@ public class SingleTreeNode {
     protected List<SingleTreeNode> currentNodeTrajectory;
     protected List<Pair<Integer, AbstractAction>> actionsInTree;
     List<Pair<Integer, AbstractAction>> actionsInRollout;
+    // only on the root, and only if rolloutCutoffInterval is set; what we have seen on the current rollout
+    RolloutCutoffs rolloutCutoffs;
+    RolloutCutoffs.Trace rolloutTrace;
+    // only on the root, and only if determinisationPoolSize is set (with Information_Set)
+    DeterminisationPool determinisationPool;
+    // only on the root, and only with NST rollouts; updated with the actions from both tree and rollout
+    NGramStatistics nGramStatistics;
 
     protected SingleTreeNode() {
     }
@@ -197,7 +209,7 @@ public class SingleTreeNode {
     protected void setActionsFromOpenLoopState(AbstractGameState actionState) {
         openLoopState = actionState;
         if (actionState.getCurrentPlayer() == this.decisionPlayer && actionState.isNotTerminalForPlayer(decisionPlayer)) {
-            actionsFromOpenLoopState = forwardModel.computeAvailableActions(actionState, params.actionSpace);
+            actionsFromOpenLoopState = computeActions(actionState);
             //      System.out.printf("Setting OLS actions for P%d (%d)%n%s%n", decisionPlayer, actionState.getCurrentPlayer(),
 //                actionsFromOpenLoopState.stream().map(a -> "\t" + a.toString() + "\n").collect(joining()));
             if (actionsFromOpenLoopState.size() != actionsFromOpenLoopState.stream().distinct().count())
@@ -223,10 +235,16 @@ public class SingleTreeNode {
                             actionValueEstimates.put(actionsFromOpenLoopState.get(i), actionValues[i]);
                         }
                     } else {
-                        // we just initialise the new actions
+                        // we just initialise the new actions (as a single batch)
+                        List<AbstractAction> newActions = new ArrayList<>();
                         for (AbstractAction action : actionsFromOpenLoopState) {
-                            if (!actionValueEstimates.containsKey(action)) {
-                                actionValueEstimates.put(action, params.actionHeuristic.evaluateAction(action, actionState, actionsFromOpenLoopState));
+                            if (!actionValueEstimates.containsKey(action))
+                                newActions.add(action);
+                        }
+                        if (!newActions.isEmpty()) {
+                            double[] actionValues = params.actionHeuristic.evaluateActions(newActions, actionState, actionsFromOpenLoopState);
+                            for (int i = 0; i < newActions.size(); i++) {
+                                actionValueEstimates.put(newActions.get(i), actionValues[i]);
                             }
                         }
                     }
@@ -304,12 +322,21 @@ public class SingleTreeNode {
         nodeClash = 0;
         rolloutActionsTaken = 0;
         regretMatchingAverage.clear();
+        determinisationPool = params.information == Information_Set && params.determinisationPoolSize > 0
+                ? new DeterminisationPool(params.determinisationPoolSize) : null;
     }
 
     /**
      * Performs full MCTS search, using the defined budget limits.
      */
     public void mctsSearch(long initialisationTime) {
+        mctsSearch(initialisationTime, params.budget);
+    }
+
+    /**
+     * Performs full MCTS search, with the given budget (of the type in params) in place of the one in params.
+     */
+    public void mctsSearch(long initialisationTime, int budget) {
         initialiseRootMetrics();
         initialisationTimeTaken = initialisationTime;
         // Variables for tracking time budget
@@ -318,33 +345,27 @@ public class SingleTreeNode {
         int remainingLimit = params.breakMS;
         ElapsedCpuTimer elapsedTimer = new ElapsedCpuTimer();
         if (params.budgetType == BUDGET_TIME) {
-            elapsedTimer.setMaxTimeMillis(params.budget - initialisationTime);
+            elapsedTimer.setMaxTimeMillis(budget - initialisationTime);
         }
 
         // Tracking number of iterations for iteration budget
         int numIters = 0;
         boolean stop = false;
         while (!stop) {
-            switch (params.information) {
-                case Closed_Loop:
-                    setActionsFromOpenLoopState(state);
-                    break;
-                case Open_Loop:
-                    setActionsFromOpenLoopState(state.copy());
-                    copyCount++;
-                    break;
-                case Information_Set:
-                    if (redeterminisationPlayer == -1)
-                        redeterminisationPlayer = decisionPlayer;
-                    setActionsFromOpenLoopState(state.copy(redeterminisationPlayer));
-                    copyCount++;
-                    break;
-            }
-            // Selection + expansion: navigate tree until a node not fully expanded is found, add a new node to the tree
-            oneSearchIteration();
+            // the first iteration is always run on its own, so that we have some rewards to normalise virtual loss against
+            if (numIters > 0 && params.evaluationBatchSize > 1 && canBatchEvaluations()) {
+                int batchSize = params.evaluationBatchSize;
+                if (params.budgetType == BUDGET_ITERATIONS)
+                    batchSize = Math.min(batchSize, budget - numIters);
+                numIters += batchedSearchIterations(batchSize);
+            } else {
+                resetOpenLoopState();
+                // Selection + expansion: navigate tree until a node not fully expanded is found, add a new node to the tree
+                oneSearchIteration();
 
-            // Finished iteration
-            numIters++;
+                // Finished iteration
+                numIters++;
+            }
             // Check stopping condition
             PlayerConstants budgetType = params.budgetType;
             if (budgetType == BUDGET_TIME) {
@@ -352,21 +373,68 @@ public class SingleTreeNode {
                 remaining = elapsedTimer.remainingTimeMillis();
                 avgTimeTaken = (double) elapsedTimer.elapsedMillis() / numIters;
                 stop = remaining <= 2 * avgTimeTaken || remaining <= remainingLimit;
+                if (!stop && params.earlyStop)
+                    stop = bestActionSettled(remaining, avgTimeTaken);
             } else if (budgetType == BUDGET_ITERATIONS) {
                 // Iteration budget
-                stop = numIters >= params.budget;
+                stop = numIters >= budget;
             } else if (budgetType == BUDGET_FM_CALLS) {
                 // FM calls budget
-                stop = fmCallsCount > params.budget || numIters > params.budget;
+                stop = fmCallsCount > budget || numIters > budget;
             } else if (budgetType == BUDGET_COPY_CALLS) {
-                stop = copyCount > params.budget || numIters > params.budget;
+                stop = copyCount > budget || numIters > budget;
             } else if (budgetType == BUDGET_FMANDCOPY_CALLS) {
-                stop = (copyCount + fmCallsCount) > params.budget || numIters > params.budget;
+                stop = (copyCount + fmCallsCount) > budget || numIters > budget;
             }
         }
         timeTaken = elapsedTimer.elapsedMillis();
     }
 
+    /**
+     * True if the most visited action at the root cannot be overtaken in the time left. This is only known when the
+     * most visited action is the one bestAction() picks (the ROBUST selection policy); with SIMPLE the average value
+     * of any action can still change, so we never stop early.
+     */
+    boolean bestActionSettled(long remainingMs, double msPerIteration) {
+        if (params.selectionPolicy != ROBUST || params.treePolicy == EXP3 || params.treePolicy == RegretMatching)
+            return false;
+        SingleTreeNode decisionRoot = this instanceof MultiTreeNode mtn ? mtn.getRoot(decisionPlayer) : this;
+        int best = 0, second = 0;
+        for (ActionStats stats : decisionRoot.actionValues.values()) {
+            if (stats.nVisits > best) {
+                second = best;
+                best = stats.nVisits;
+            } else if (stats.nVisits > second) {
+                second = stats.nVisits;
+            }
+        }
+        return AnytimeBudgetManager.canStopEarly(best, second, remainingMs, msPerIteration);
+    }
+
+    /**
+     * Sets the state on the root at the start of an iteration (a copy, or a redeterminisation, unless we are Closed_Loop)
+     */
+    protected void resetOpenLoopState() {
+        switch (params.information) {
+            case Closed_Loop:
+                setActionsFromOpenLoopState(state);
+                break;
+            case Open_Loop:
+                setActionsFromOpenLoopState(state.copy());
+                copyCount++;
+                break;
+            case Information_Set:
+                if (redeterminisationPlayer == -1)
+                    redeterminisationPlayer = decisionPlayer;
+                if (determinisationPool != null)
+                    setActionsFromOpenLoopState(determinisationPool.nextState(params, state, redeterminisationPlayer));
+                else
+                    setActionsFromOpenLoopState(state.copy(redeterminisationPlayer));
+                copyCount++;
+                break;
+        }
+    }
+
     /**
      * oneSearchIteration() implements the strategy for tree search (plus expansion, rollouts, backup and so on)
      * Its result is purely stored in the tree generated from root
@@ -391,10 +459,141 @@ public class SingleTreeNode {
 
         selected.backUp(delta);
         updateMASTStatistics(actionsInTree, actionsInRollout, delta);
+        if (determinisationPool != null)
+            determinisationPool.record(determinisationPool.current(), delta[decisionPlayer]);
+    }
+
+    /**
+     * Whether batchedSearchIterations() can be used with this type of tree. It relies on each iteration being
+     * a single trajectory from the root, backed up by backUp(), so MultiTree and MCGS (which can loop) do not.
+     */
+    protected boolean canBatchEvaluations() {
+        return true;
+    }
+
+    /**
+     * Runs several iterations, but evaluates all their final states with one call to the heuristic (if it
+     * is an IBatchStateHeuristic) before any of them are backed up.
+     * While the batch is gathered, each pending trajectory counts as a visit with a reward of -virtualLoss for
+     * the acting player at each node on it, so that later iterations in the batch are pushed to explore elsewhere.
+     *
+     * @param batchSize - the number of iterations to run
+     * @return - the number of iterations run
+     */
+    protected int batchedSearchIterations(int batchSize) {
+        List<PendingEvaluation> batch = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            resetOpenLoopState();
+            actionsInTree = new ArrayList<>();
+            currentNodeTrajectory = new ArrayList<>();
+            actionsInRollout = new ArrayList<>();
+
+            SingleTreeNode selected = treePolicy();
+            int lastActorInTree = actionsInTree.isEmpty() ? decisionPlayer : actionsInTree.get(actionsInTree.size() - 1).a;
+            AbstractGameState finalState = selected.playOut(lastActorInTree);
+            rolloutActionsTaken += actionsInRollout.size();
+
+            // backUp() looks at the actions that were available at each node when we passed through, and the next
+            // iteration will overwrite these, so we keep them with the rest of the trajectory
+            List<List<AbstractAction>> availableActions = new ArrayList<>(currentNodeTrajectory.size());
+            for (SingleTreeNode node : currentNodeTrajectory)
+                availableActions.add(node.actionsFromOpenLoopState);
+            PendingEvaluation pending = new PendingEvaluation(selected, finalState, rolloutTrace,
+                    determinisationPool == null ? -1 : determinisationPool.current(), currentNodeTrajectory, actionsInTree,
+                    actionsInRollout, availableActions, new double[currentNodeTrajectory.size()], new boolean[currentNodeTrajectory.size()]);
+            addVirtualLoss(pending);
+            batch.add(pending);
+        }
+
+        // rollouts that stopped at a state in the rollout cache already have their result
+        double[][] results = new double[batch.size()][];
+        List<Integer> toEvaluate = new ArrayList<>(batch.size());
+        for (int i = 0; i < results.length; i++) {
+            RolloutCutoffs.Trace trace = batch.get(i).trace;
+            if (trace != null && trace.cachedResult != null)
+                results[i] = trace.cachedResult;
+            else
+                toEvaluate.add(i);
+        }
+        if (params.heuristic instanceof IBatchStateHeuristic batchHeuristic) {
+            double[][] values = batchHeuristic.evaluateStates(toEvaluate.stream().map(i -> batch.get(i).finalState).toList());
+            for (int j = 0; j < values.length; j++) {
+                checkHeuristicValues(values[j]);
+                results[toEvaluate.get(j)] = values[j];
+            }
+        } else {
+            for (int i : toEvaluate)
+                results[i] = evaluateState(batch.get(i).finalState);
+        }
+
+        // virtual loss is removed in reverse order, so that each node is restored exactly to its previous statistics
+        for (int i = batch.size() - 1; i >= 0; i--)
+            removeVirtualLoss(batch.get(i));
+        for (int i = 0; i < batch.size(); i++) {
+            PendingEvaluation pending = batch.get(i);
+            actionsInTree = pending.actionsInTree;
+            currentNodeTrajectory = pending.trajectory;
+            actionsInRollout = pending.actionsInRollout;
+            for (int j = 0; j < currentNodeTrajectory.size(); j++)
+                currentNodeTrajectory.get(j).actionsFromOpenLoopState = pending.availableActions.get(j);
+            recordRollout(pending.trace, results[i]);
+            pending.leaf.backUp(results[i]);
+            if (determinisationPool != null)
+                determinisationPool.record(pending.determinisation, results[i][decisionPlayer]);
+            updateMASTStatistics(actionsInTree, actionsInRollout, results[i]);
+        }
+        return batch.size();
+    }
+
+    private record PendingEvaluation(SingleTreeNode leaf, AbstractGameState finalState, RolloutCutoffs.Trace trace,
+                                     int determinisation,
+                                     List<SingleTreeNode> trajectory,
+                                     List<Pair<Integer, AbstractAction>> actionsInTree,
+                                     List<Pair<Integer, AbstractAction>> actionsInRollout,
+                                     List<List<AbstractAction>> availableActions,
+                                     double[] previousValues, boolean[] addedStats) {
+    }
+
+    private void addVirtualLoss(PendingEvaluation pending) {
+        for (int i = 0; i < pending.trajectory.size(); i++) {
+            SingleTreeNode node = pending.trajectory.get(i);
+            AbstractAction action = pending.actionsInTree.get(i).b;
+            ActionStats stats = node.actionValues.get(action);
+            if (stats == null) {
+                stats = new ActionStats(state.getNPlayers());
+                node.actionValues.put(action, stats);
+                pending.addedStats[i] = true;
+            }
+            pending.previousValues[i] = stats.totValue[node.decisionPlayer];
+            stats.totValue[node.decisionPlayer] -= params.virtualLoss;
+            stats.nVisits++;
+            stats.validVisits++;
+            node.nVisits++;
+        }
+    }
+
+    private void removeVirtualLoss(PendingEvaluation pending) {
+        for (int i = pending.trajectory.size() - 1; i >= 0; i--) {
+            SingleTreeNode node = pending.trajectory.get(i);
+            AbstractAction action = pending.actionsInTree.get(i).b;
+            ActionStats stats = node.actionValues.get(action);
+            stats.totValue[node.decisionPlayer] = pending.previousValues[i];
+            stats.nVisits--;
+            stats.validVisits--;
+            node.nVisits--;
+            if (pending.addedStats[i])
+                node.actionValues.remove(action);
+        }
     }
 
     protected void updateMASTStatistics
             (List<Pair<Integer, AbstractAction>> tree, List<Pair<Integer, AbstractAction>> rollout, double[] value) {
+        if (nGramStatistics != null) {
+            List<Pair<Integer, AbstractAction>> allActions = new ArrayList<>(tree.size() + rollout.size());
+            allActions.addAll(tree);
+            allActions.addAll(rollout);
+            nGramStatistics.update(state, allActions, value);
+        }
         if (params.useMAST) {
             List<Pair<Integer, AbstractAction>> MASTActions = new ArrayList<>();
             switch (params.MAST) {
@@ -503,9 +702,38 @@ public class SingleTreeNode {
         return cur;
     }
 
+    /**
+     * The actions available in the state.
+     * With lazyActions and Progressive Widening, if the forward model can index its actions without building them all,
+     * then we only create the ones that widening can consider by the time this visit is backed up. These are the first
+     * in the order of the forward model, so a game that wants to benefit from this should put its most promising
+     * actions first.
+     * In Closed_Loop a node is not given a new state on each visit, so nextNodeInTree() calls this again when
+     * widening can consider more actions than were created.
+     */
+    protected List<AbstractAction> computeActions(AbstractGameState actionState) {
+        actionsCreatedLazily = false;
+        int available = params.lazyActions && params.progressiveWideningConstant >= 1.0
+                ? forwardModel.countAvailableActionsWithoutList(actionState, params.actionSpace) : -1;
+        if (available >= 0) {
+            // backUp() increments nVisits before it calls actionsToConsider()
+            int widened = Math.min(wideningLimit(nVisits + 1), available);
+            actionsCreatedLazily = widened < available;
+            List<AbstractAction> retValue = new ArrayList<>(Math.max(widened, 0));
+            for (int i = 0; i < widened; i++)
+                retValue.add(forwardModel.getAvailableAction(actionState, i, available));
+            return retValue;
+        }
+        return forwardModel.computeAvailableActions(actionState, params.actionSpace);
+    }
+
+    private int wideningLimit(int visits) {
+        return (int) Math.floor(params.progressiveWideningConstant * Math.pow(visits + 1, params.progressiveWideningExponent));
+    }
+
     protected List<AbstractAction> actionsToConsider(List<AbstractAction> allAvailable) {
         if (!allAvailable.isEmpty() && params.progressiveWideningConstant >= 1.0) {
-            int actionsToConsider = (int) Math.floor(params.progressiveWideningConstant * Math.pow(nVisits + 1, params.progressiveWideningExponent));
+            int actionsToConsider = wideningLimit(nVisits);
             actionsToConsider = Math.min(actionsToConsider, allAvailable.size());
             // takes account of the expanded actions
             if (actionsToConsider <= 0) return new ArrayList<>();
@@ -513,10 +741,20 @@ public class SingleTreeNode {
             // It is perfectly possible that a previously expanded action falls out of the considered list
             // depending on the advantage heuristic used.
             // However, we do break ties in favour of already expanded actions
-            List<AbstractAction> sortedActions = new ArrayList<>(allAvailable);
-            sortedActions.sort(Comparator.comparingDouble(a -> -actionValueEstimates.getOrDefault(a, 0.0) -
-                    actionValues.getOrDefault(a, new ActionStats(1)).nVisits * 1e-6));
-            return new ArrayList<>(sortedActions.subList(0, actionsToConsider));
+            // The sort keys are looked up once per action (and the sort is stable, so equal keys keep their order)
+            double[] sortKeys = new double[allAvailable.size()];
+            Integer[] order = new Integer[allAvailable.size()];
+            for (int i = 0; i < order.length; i++) {
+                AbstractAction action = allAvailable.get(i);
+                ActionStats stats = actionValues.get(action);
+                sortKeys[i] = -actionValueEstimates.getOrDefault(action, 0.0) - (stats == null ? 0 : stats.nVisits) * 1e-6;
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.comparingDouble(i -> sortKeys[i]));
+            List<AbstractAction> retValue = new ArrayList<>(actionsToConsider);
+            for (int i = 0; i < actionsToConsider; i++)
+                retValue.add(allAvailable.get(order[i]));
+            return retValue;
         }
         return new ArrayList<>(allAvailable);
     }
@@ -579,10 +817,7 @@ public class SingleTreeNode {
         while (gs.getCurrentPlayer() != id && gs.isNotTerminalForPlayer(id) && !(inRollout && finishRollout(gs))) {
             //       AbstractGameState preGS = gs.copy();
             AbstractPlayer oppModel = params.getOpponentModel();
-            List<AbstractAction> availableActions = forwardModel.computeAvailableActions(gs, params.actionSpace);
-            if (availableActions.isEmpty())
-                throw new AssertionError("Should always have at least one action possible..." + (action != null ? " Last action: " + action : ""));
-            action = oppModel.getAction(gs, availableActions);
+            action = oppModel.getAction(gs, forwardModel, params.actionSpace);
             if (inRollout) {
                 root.actionsInRollout.add(new Pair<>(gs.getCurrentPlayer(), action));
                 lastActorInRollout = gs.getCurrentPlayer();
@@ -684,7 +919,12 @@ public class SingleTreeNode {
         if (nodeArray == null) return null;
         if (params.information == Closed_Loop) {
             // in this case we have determinism...there should just be a single child node in the array...so we get that
-            return Arrays.stream(nodeArray).filter(Objects::nonNull).findFirst().orElse(null);
+            SingleTreeNode nextNode = Arrays.stream(nodeArray).filter(Objects::nonNull).findFirst().orElse(null);
+            // the state does not change, but with lazyActions we may now need to create more of its actions
+            if (nextNode != null && nextNode.actionsCreatedLazily
+                    && nextNode.wideningLimit(nextNode.nVisits + 1) > nextNode.actionsFromOpenLoopState.size())
+                nextNode.setActionsFromOpenLoopState(nextNode.state);
+            return nextNode;
         } else {
             //  int nextPlayer = params.opponentTreePolicy.selfOnlyTree ? decisionPlayer : openLoopState.getCurrentPlayer();
             SingleTreeNode nextNode = nodeArray[openLoopState.getCurrentPlayer()];
@@ -882,6 +1122,24 @@ public class SingleTreeNode {
      * @return - value of rollout.
      */
     protected double[] rollout(int lastActor) {
+        AbstractGameState finalState = playOut(lastActor);
+        RolloutCutoffs.Trace trace = root.rolloutTrace;
+        double[] result = trace != null && trace.cachedResult != null ? trace.cachedResult : evaluateState(finalState);
+        recordRollout(trace, result);
+        return result;
+    }
+
+    private void recordRollout(RolloutCutoffs.Trace trace, double[] result) {
+        if (trace != null)
+            root.rolloutCutoffs.record(params, trace, result, root.decisionPlayer);
+    }
+
+    /**
+     * Plays out the rollout from this node, without evaluating where it ends up.
+     *
+     * @return - the state at the end of the rollout.
+     */
+    protected AbstractGameState playOut(int lastActor) {
         lastActorInRollout = lastActor;
         roundAtStartOfRollout = openLoopState.getRoundCounter();
         turnAtStartOfRollout = openLoopState.getTurnCounter();
@@ -890,6 +1148,7 @@ public class SingleTreeNode {
 
         // If rollouts are enabled, select actions for the rollout in line with the rollout policy
         AbstractGameState rolloutState = openLoopState;
+        root.rolloutTrace = null;
         if (params.rolloutLength > 0 || params.rolloutTermination != EXACT) {
             // even if rollout length is zero, we may rollout a few actions to reach the end of our turn, or the start of our next turn
             if (params.information == Closed_Loop) {
@@ -901,25 +1160,38 @@ public class SingleTreeNode {
             }
 
             AbstractAction next = null;
+            RolloutCutoffs cutoffs = params.rolloutCutoffInterval > 0 ? root.rolloutCutoffs : null;
+            if (cutoffs != null)
+                root.rolloutTrace = cutoffs.newTrace();
+            int steps = 0;
             while (!finishRollout(rolloutState)) {
-                List<AbstractAction> availableActions = forwardModel.computeAvailableActions(rolloutState, params.actionSpace);
-                if (availableActions.isEmpty()) {
-                    throw new AssertionError("No actions available in rollout!" + (next != null ? " Last action: " + next : ""));
-                }
+                if (cutoffs != null && steps % params.rolloutCutoffInterval == 0 &&
+                        cutoffs.cutOff(params, root.rolloutTrace, rolloutState, root.decisionPlayer, steps / params.rolloutCutoffInterval))
+                    break;
+                steps++;
                 AbstractPlayer agent = rolloutState.getCurrentPlayer() == root.decisionPlayer ? params.getRolloutStrategy() : params.getOpponentModel();
-                next = agent.getAction(rolloutState, availableActions);
+                // a random rollout policy picks an action without the forward model listing them all
+                next = agent.getAction(rolloutState, forwardModel, params.actionSpace);
                 advanceState(rolloutState, next, true);
             }
         }
-        // Evaluate final state and return normalised score
-        double[] retValue = new double[rolloutState.getNPlayers()];
+        return rolloutState;
+    }
 
-        for (int i = 0; i < retValue.length; i++) {
+    // Evaluate final state and return normalised score
+    protected double[] evaluateState(AbstractGameState rolloutState) {
+        double[] retValue = new double[rolloutState.getNPlayers()];
+        for (int i = 0; i < retValue.length; i++)
             retValue[i] = params.heuristic.evaluateState(rolloutState, i);
-            if (Double.isNaN(retValue[i]) || Double.isInfinite(retValue[i]))
+        checkHeuristicValues(retValue);
+        return retValue;
+    }
+
+    private void checkHeuristicValues(double[] values) {
+        for (double value : values) {
+            if (Double.isNaN(value) || Double.isInfinite(value))
                 throw new AssertionError("Illegal heuristic value - should be a number - " + params.heuristic.toString());
         }
-        return retValue;
     }
 
     /**
@@ -1175,7 +1447,7 @@ public class SingleTreeNode {
                             || params.opponentTreePolicy == MCGSSelfOnly)) {
                 // In these cases we need to recompute the available actions from the root state to ensure that
                 // we only consider the ones that are valid in the caller (in MCGS case it is possible that we have a loop round to the root)
-                availableActions = actionsToConsider(forwardModel.computeAvailableActions(state, params.actionSpace));
+                availableActions = actionsToConsider(computeActions(state));
             }
             for (AbstractAction action : availableActions) {
                 if (!actionValues.containsKey(action)) {
@@ -1293,6 +1565,13 @@ public class SingleTreeNode {
         return parent.matchingParent(match);
     }
 
+    /**
+     * @return - the pool of determinisations used in the last search from this root, or null if there was none
+     */
+    public DeterminisationPool getDeterminisationPool() {
+        return determinisationPool;
+    }
+
     public SingleTreeNode getParent() {
         return parent;
     }
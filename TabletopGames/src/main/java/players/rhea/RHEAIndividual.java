@@ -152,11 +152,11 @@ public class RHEAIndividual implements Comparable<RHEAIndividual> {
                 while (gsCopy.isNotTerminal() && !(gsCopy.getCurrentPlayer() == playerID)) {
                     // now we fast forward through any opponent moves with a random OM
                     // TODO: Add in other opponent model options, and record other player moves for MAST
-                    List<AbstractAction> moves = fm.computeAvailableActions(gsCopy);
-                    if (moves.isEmpty()) {
+                    AbstractAction move = fm.sampleRandomAction(gsCopy, gen);
+                    if (move == null) {
                         throw new AssertionError("No moves found in state " + gsCopy);
                     }
-                    fm.next(gsCopy, moves.get(gen.nextInt(moves.size())));
+                    fm.next(gsCopy, move);
                     fmCalls++;
                 }
                 oldGameStates[i+1] = gameStates[i+1];
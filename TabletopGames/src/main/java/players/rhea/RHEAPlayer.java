@@ -3,6 +3,7 @@ package players.rhea;
 import core.AbstractGameState;
 import core.AbstractPlayer;
 import core.actions.AbstractAction;
+import players.AnytimeBudgetManager;
 import players.IAnyTimePlayer;
 import players.PlayerConstants;
 import players.mcts.MASTPlayer;
@@ -25,6 +26,7 @@ public class RHEAPlayer extends AbstractPlayer implements IAnyTimePlayer {
     protected int copyCalls = 0;
     protected int repairCount, nonRepairCount;
     private MASTPlayer mastPlayer;
+    protected AnytimeBudgetManager budgetManager = new AnytimeBudgetManager();
 
     public RHEAPlayer(RHEAParams params) {
         super(params, "RHEAPlayer");
@@ -44,12 +46,13 @@ public class RHEAPlayer extends AbstractPlayer implements IAnyTimePlayer {
         for (int i = 0; i < state.getNPlayers(); i++)
             MASTStatistics.add(new HashMap<>());
         population = new ArrayList<>();
+        budgetManager.reset();
     }
 
     @Override
     public AbstractAction _getAction(AbstractGameState stateObs, List<AbstractAction> possibleActions) {
         ElapsedCpuTimer timer = new ElapsedCpuTimer();  // New timer for this game tick
-        timer.setMaxTimeMillis(parameters.budget);
+        timer.setMaxTimeMillis(budgetManager.allocate(parameters, stateObs, getPlayerID()));
         numIters = 0;
         fmCalls = 0;
         copyCalls = 0;
@@ -101,6 +104,7 @@ public class RHEAPlayer extends AbstractPlayer implements IAnyTimePlayer {
         }
 
         timeTaken = timer.elapsedMillis();
+        budgetManager.used(parameters, (long) timeTaken);
         timePerIteration = numIters == 0 ? 0.0 : (timeTaken - initTime) / numIters;
         // Return first action of best individual
         AbstractAction retValue = population.get(0).actions[0];
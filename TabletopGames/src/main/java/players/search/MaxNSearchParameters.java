@@ -1,6 +1,7 @@
 package players.search;
 
 import core.AbstractPlayer;
+import core.interfaces.IStateKey;
 import core.interfaces.IStateHeuristic;
 import players.PlayerConstants;
 import players.PlayerParameters;
@@ -19,6 +20,12 @@ public class MaxNSearchParameters extends PlayerParameters {
     protected boolean alphaBetaPruning = true;
     protected boolean iterativeDeepening = false;
     protected boolean expandByEstimatedValue = false;
+    // number of entries in the transposition table (0 for none); this is kept between decisions
+    protected int transpositionTableSize = 0;
+    // the key for a state in the transposition table; if null, the state's hashCode() is used
+    protected IStateKey transpositionKey = null;
+    // try the actions that caused cut-offs elsewhere in the search first (killer and history heuristics)
+    protected boolean moveOrdering = false;
 
     public MaxNSearchParameters() {
         this.addTunableParameter("searchDepth", 1);
@@ -28,6 +35,9 @@ public class MaxNSearchParameters extends PlayerParameters {
         this.addTunableParameter("iterativeDeepening", false);
         this.addTunableParameter("alphaBetaPruning", true);
         this.addTunableParameter("expandByEstimatedValue", false);
+        this.addTunableParameter("transpositionTableSize", 0);
+        this.addTunableParameter("transpositionKey", IStateKey.class);
+        this.addTunableParameter("moveOrdering", false);
     }
 
     @Override
@@ -40,6 +50,9 @@ public class MaxNSearchParameters extends PlayerParameters {
         iterativeDeepening = (boolean) getParameterValue("iterativeDeepening");
         alphaBetaPruning = (boolean) getParameterValue("alphaBetaPruning");
         expandByEstimatedValue = (boolean) getParameterValue("expandByEstimatedValue");
+        transpositionTableSize = (int) getParameterValue("transpositionTableSize");
+        transpositionKey = (IStateKey) getParameterValue("transpositionKey");
+        moveOrdering = (boolean) getParameterValue("moveOrdering");
         if (heuristic == null) {
             heuristic = new GameDefaultHeuristic();
         }
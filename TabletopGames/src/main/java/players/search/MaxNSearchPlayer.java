@@ -31,11 +31,29 @@ public class MaxNSearchPlayer extends AbstractPlayer implements IHasStateHeurist
      * <p>
      * Additionally, the BUDGET can be specified as a cutoff for the search. If this much time passes
      * without the search finishing, the best action found so far is returned (likely to be pretty random).
+     * <p></p>
+     * To search deeper in the same time:
+     * - transpositionTableSize: results are stored by state (keyed by transpositionKey, or the state's hashCode),
+     * and reused when the same state is reached again with at most the same depth left to search. The best action
+     * found from a state is also tried first the next time it is searched (e.g. in the next iterative deepening pass).
+     * - moveOrdering: actions that caused an alpha-beta cut-off are tried first, both at the same distance from the
+     * root (killer actions) and anywhere else in the search (history heuristic).
+     * The last child of each node is applied to the node's own state rather than a copy (there is no undo in the
+     * forward model, but nothing needs the state of a node once its last child is searched).
      */
 
 
     private long startTime;
     private SearchResult rootResult;
+    private AbstractGameState rootState;
+    private int rootTick;
+    private boolean outOfTime;
+
+    private TranspositionTable transpositionTable;
+    // killer actions indexed by number of actions from the root, and history scores; these are kept between
+    // iterative deepening passes, but not between decisions
+    private final List<AbstractAction[]> killerActions = new ArrayList<>();
+    private final Map<AbstractAction, Integer> historyScores = new HashMap<>();
 
     protected List<Map<AbstractAction, ActionStats>> actionValueEstimates;
 
@@ -57,6 +75,16 @@ public class MaxNSearchPlayer extends AbstractPlayer implements IHasStateHeurist
         // - TURN: only when turn number has changed as a result of applying the action
         startTime = System.currentTimeMillis();
         rootResult = null;
+        rootState = gs;
+        rootTick = gs.getGameTick();
+        outOfTime = false;
+        killerActions.clear();
+        historyScores.clear();
+        int tableSize = getParameters().transpositionTableSize;
+        if (tableSize <= 0)
+            transpositionTable = null;
+        else if (transpositionTable == null || transpositionTable.capacity() < tableSize)
+            transpositionTable = new TranspositionTable(tableSize);
         actionValueEstimates = new ArrayList<>();
         if (getParameters().iterativeDeepening) {
             // we do a depth D = 1 search, then D = 2 and so on until we reach maxDepth or exhaust budget
@@ -71,7 +99,12 @@ public class MaxNSearchPlayer extends AbstractPlayer implements IHasStateHeurist
                     }
                     actionValueEstimates.add(0, newMap);
                 }
-                rootResult = expand(gs, actions, depth, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+                SearchResult result = expand(gs, actions, depth, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+                // if we run out of time part way through a pass, we keep the result of the last complete one
+                if (rootResult == null || !outOfTime)
+                    rootResult = result;
+                if (outOfTime)
+                    break;
             }
         } else {
             for (int depth = 0; depth < getParameters().searchDepth; depth++) {
@@ -124,6 +157,31 @@ public class MaxNSearchPlayer extends AbstractPlayer implements IHasStateHeurist
             return new SearchResult(null, values, alpha, beta, null);
         }
 
+        boolean atRoot = state == rootState;
+        boolean pruning = params.paranoid && params.alphaBetaPruning;
+        int ply = state.getGameTick() - rootTick;
+        int currentPlayer = state.getCurrentPlayer();
+        int turn = state.getTurnCounter();
+
+        // a previous search from this state may make this one unnecessary, or at least say what to try first
+        Object key = null;
+        AbstractAction hashAction = null;
+        if (transpositionTable != null) {
+            key = params.transpositionKey == null ? state.hashCode() : params.transpositionKey.getKey(state);
+            TranspositionTable.Entry entry = transpositionTable.get(key);
+            if (entry != null) {
+                hashAction = entry.bestAction();
+                if (!atRoot && entry.depth() >= searchDepth) {
+                    double value = entry.value()[getPlayerID()];
+                    if (entry.bound() == TranspositionTable.Bound.EXACT ||
+                            (entry.bound() == TranspositionTable.Bound.LOWER && value > beta) ||
+                            (entry.bound() == TranspositionTable.Bound.UPPER && value < alpha))
+                        return new SearchResult(entry.bestAction(), entry.value(), alpha, beta, null);
+                }
+            }
+        }
+        double alphaAtStart = alpha, betaAtStart = beta;
+
         // otherwise we recurse to find the best action and value
         double[] bestValues = new double[state.getNPlayers()];
         double bestValue = Double.NEGATIVE_INFINITY;
@@ -133,24 +191,36 @@ public class MaxNSearchPlayer extends AbstractPlayer implements IHasStateHeurist
             // sort actions based on actionValueEstimates (with highest value first)
             actions.sort(Comparator.comparingDouble(a -> -actionValueEstimates.get(searchDepth - 1)
                     .getOrDefault(a, new ActionStats(state.getNPlayers()))
-                    .totValue[state.getCurrentPlayer()]));
+                    .totValue[currentPlayer]));
         } else {
             Collections.shuffle(actions, getRnd());
         }
+        if (params.moveOrdering)
+            orderActions(actions, ply);
+        if (hashAction != null && actions.remove(hashAction))
+            actions.add(0, hashAction);
+
         Map<AbstractAction, ActionStats> statsMap = actionValueEstimates.get(searchDepth - 1);
-        Map<AbstractAction, double[]> actionValues = new HashMap<>();
-        for (AbstractAction action : actions) {
-            AbstractGameState stateCopy = state.copy();
+        // the values of all actions are only kept at the root
+        Map<AbstractAction, double[]> actionValues = atRoot ? new HashMap<>() : null;
+        int nActions = actions.size();
+        for (int i = 0; i < nActions; i++) {
+            AbstractAction action = actions.get(i);
+            // the state of a node is not needed after its last child, so (unless it is the root, which is not ours, or
+            // a transposition key made from it might still refer to its components) that child can be reached by
+            // applying the action to it directly
+            boolean inPlace = i == nActions - 1 && !atRoot && (key == null || params.transpositionKey == null);
+            AbstractGameState stateCopy = inPlace ? state : state.copy();
             getForwardModel().next(stateCopy, action);
-            // if we are at the bottom, then save a bit of time by not calculating the valid actions (which we'll never try)
-            List<AbstractAction> nextActions = searchDepth > 0 ? getForwardModel().computeAvailableActions(stateCopy) : List.of();
 
             int newDepth = switch (params.searchUnit) {
                 case ACTION -> searchDepth - 1;
-                case MACRO_ACTION ->
-                        state.getCurrentPlayer() != stateCopy.getCurrentPlayer() ? searchDepth - 1 : searchDepth;
-                case TURN -> state.getTurnCounter() != stateCopy.getTurnCounter() ? searchDepth - 1 : searchDepth;
+                case MACRO_ACTION -> currentPlayer != stateCopy.getCurrentPlayer() ? searchDepth - 1 : searchDepth;
+                case TURN -> turn != stateCopy.getTurnCounter() ? searchDepth - 1 : searchDepth;
             };
+            // if we are at the bottom, then save a bit of time by not calculating the valid actions (which we'll never try)
+            List<AbstractAction> nextActions = newDepth > 0 && stateCopy.isNotTerminal() ?
+                    getForwardModel().computeAvailableActions(stateCopy) : List.of();
 
             // recurse - we are here just interested in the value of stateCopy, and hence of taking action
             // We are not interested in the best action from stateCopy
@@ -163,41 +233,81 @@ public class MaxNSearchPlayer extends AbstractPlayer implements IHasStateHeurist
                 statsMap.get(action).update(result.value);
             }
 
-            actionValues.put(action, result.value);
+            if (actionValues != null)
+                actionValues.put(action, result.value);
             // we make the decision based on the actor at state, not the actor at stateCopy
-            if (result.value[state.getCurrentPlayer()] > bestValue) {
+            if (result.value[currentPlayer] > bestValue) {
                 bestAction = action;
-                bestValue = result.value[state.getCurrentPlayer()];
+                bestValue = result.value[currentPlayer];
                 bestValues = result.value;
 
-                if (params.paranoid && params.alphaBetaPruning) {
+                if (pruning) {
                     // alpha-beta pruning
                     // bestValue is already from the perspective of the current player (i.e. negated for opponents)
-                    if (getPlayerID() == state.getCurrentPlayer()) {
-                        if (bestValue > beta) {
-                            return new SearchResult(bestAction, bestValues, alpha, beta, actionValues);
-                        }
+                    boolean cutOff;
+                    if (getPlayerID() == currentPlayer) {
+                        cutOff = bestValue > beta;
                         alpha = Math.max(alpha, bestValue);
                     } else {
-                        if (-bestValue < alpha) {
-                            return new SearchResult(bestAction, bestValues, alpha, beta, actionValues);
-                        }
+                        cutOff = -bestValue < alpha;
                         beta = Math.min(beta, -bestValue);
                     }
+                    if (cutOff) {
+                        recordCutOff(action, ply, searchDepth);
+                        break;
+                    }
                 }
             }
 
             if (System.currentTimeMillis() - startTime > params.budget) {
                 // out of time - return best action so far
+                outOfTime = true;
                 return new SearchResult(bestAction, bestValues, alpha, beta, actionValues);
             }
         }
         if (bestAction == null) {
             throw new AssertionError("No best action found");
         }
+        if (transpositionTable != null && !outOfTime) {
+            TranspositionTable.Bound bound = TranspositionTable.Bound.EXACT;
+            if (pruning) {
+                double value = bestValues[getPlayerID()];
+                if (value <= alphaAtStart)
+                    bound = TranspositionTable.Bound.UPPER;
+                else if (value >= betaAtStart)
+                    bound = TranspositionTable.Bound.LOWER;
+            }
+            transpositionTable.put(new TranspositionTable.Entry(key, searchDepth, bestValues, bound, bestAction));
+        }
         return new SearchResult(bestAction, bestValues, alpha, beta, actionValues);
     }
 
+    /**
+     * Stable sort of the actions, with the killer actions at this distance from the root first, and then the rest
+     * by history score (so actions that have never caused a cut-off stay in the order they were in).
+     */
+    private void orderActions(List<AbstractAction> actions, int ply) {
+        AbstractAction[] killers = ply < killerActions.size() ? killerActions.get(ply) : null;
+        actions.sort(Comparator.comparingInt(a -> {
+            if (killers != null && (a.equals(killers[0]) || a.equals(killers[1])))
+                return Integer.MIN_VALUE;
+            return -historyScores.getOrDefault(a, 0);
+        }));
+    }
+
+    private void recordCutOff(AbstractAction action, int ply, int searchDepth) {
+        if (!getParameters().moveOrdering)
+            return;
+        while (killerActions.size() <= ply)
+            killerActions.add(new AbstractAction[2]);
+        AbstractAction[] killers = killerActions.get(ply);
+        if (!action.equals(killers[0])) {
+            killers[1] = killers[0];
+            killers[0] = action;
+        }
+        historyScores.merge(action, searchDepth * searchDepth, Integer::sum);
+    }
+
     @Override
     public MaxNSearchPlayer copy() {
         MaxNSearchPlayer retValue = new MaxNSearchPlayer((MaxNSearchParameters) getParameters().shallowCopy());
@@ -0,0 +1,62 @@
+package players.search;
+
+import core.actions.AbstractAction;
+
+/**
+ * A fixed-size table of the results of earlier searches from a state, for MaxNSearchPlayer.
+ * <p>
+ * Each key has one slot (chosen by its hashCode), and a new result replaces whatever is there unless that is a
+ * deeper search of the same state. Keys are compared with equals(), so a collision can only give the wrong result
+ * if two different states have the same key (as they can when the hashCode of the state is used as the key).
+ */
+class TranspositionTable {
+
+    /**
+     * What the stored value says about the true value of the state (for the searching player, in paranoid search).
+     * Without alpha-beta pruning, everything is EXACT.
+     */
+    enum Bound {
+        EXACT, LOWER, UPPER
+    }
+
+    record Entry(Object key, int depth, double[] value, Bound bound, AbstractAction bestAction) {
+    }
+
+    private final Entry[] entries;
+    private final int mask;
+
+    TranspositionTable(int size) {
+        if (size <= 0)
+            throw new IllegalArgumentException("Transposition table size must be positive, not " + size);
+        int capacity = Integer.highestOneBit(size);
+        if (capacity < size && capacity < (1 << 30))
+            capacity <<= 1;
+        entries = new Entry[capacity];
+        mask = capacity - 1;
+    }
+
+    private int index(Object key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    /**
+     * @return - the stored result for this key, or null if there is none.
+     */
+    Entry get(Object key) {
+        Entry entry = entries[index(key)];
+        return entry != null && entry.key.equals(key) ? entry : null;
+    }
+
+    void put(Entry entry) {
+        int i = index(entry.key);
+        Entry old = entries[i];
+        if (old != null && old.depth > entry.depth && old.key.equals(entry.key))
+            return;
+        entries[i] = entry;
+    }
+
+    int capacity() {
+        return entries.length;
+    }
+}
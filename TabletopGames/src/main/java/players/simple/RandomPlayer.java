@@ -1,8 +1,10 @@
 package players.simple;
 
+import core.AbstractForwardModel;
 import core.AbstractGameState;
 import core.AbstractPlayer;
 import core.actions.AbstractAction;
+import core.actions.ActionSpace;
 
 import java.util.List;
 import java.util.Random;
@@ -28,6 +30,14 @@ public class RandomPlayer extends AbstractPlayer {
         return actions.get(randomAction);
     }
 
+    @Override
+    protected AbstractAction _sampleAction(AbstractGameState gameState, AbstractForwardModel forwardModel, ActionSpace actionSpace) {
+        // if the forward model would have to list the actions anyway, or there is no choice to make, then this is
+        // left to _getAction()
+        int nActions = forwardModel.countAvailableActionsWithoutList(gameState, actionSpace);
+        return nActions > 1 ? forwardModel.getAvailableAction(gameState, rnd.nextInt(nActions), nActions) : null;
+    }
+
     @Override
     public RandomPlayer copy() {
         RandomPlayer retValue = new RandomPlayer(new Random(rnd.nextInt()));
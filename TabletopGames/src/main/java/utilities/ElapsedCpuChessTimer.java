@@ -62,15 +62,29 @@ public class ElapsedCpuChessTimer extends ElapsedCpuTimer {
         return (timeRemaining - incrementAction) <= 0;
     }
 
+    private ElapsedCpuChessTimer(ElapsedCpuChessTimer other) {
+        // the public constructor takes minutes and seconds, so we copy the (nanosecond) fields directly
+        maxTime = other.maxTime;
+        incrementAction = other.incrementAction;
+        incrementTurn = other.incrementTurn;
+        incrementRound = other.incrementRound;
+        incrementMilestone = other.incrementMilestone;
+        oldTime = other.oldTime;
+        bean = other.bean;
+        nIters = other.nIters;
+        timeRemaining = other.timeRemaining;
+    }
+
+    /**
+     * @return - the time added to the clock after each action
+     */
+    public long incrementActionMillis() {
+        return (long) (incrementAction / 1000000.0);
+    }
+
     public ElapsedCpuChessTimer copy()
     {
-        ElapsedCpuChessTimer newCpuTimer = new ElapsedCpuChessTimer(this.maxTime, this.incrementAction,
-                this.incrementTurn, this.incrementRound, this.incrementMilestone);
-        newCpuTimer.oldTime = this.oldTime;
-        newCpuTimer.bean = this.bean;
-        newCpuTimer.nIters = this.nIters;
-        newCpuTimer.timeRemaining = this.timeRemaining;
-        return newCpuTimer;
+        return new ElapsedCpuChessTimer(this);
     }
 
     @Override
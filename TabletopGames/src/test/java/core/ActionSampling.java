@@ -0,0 +1,106 @@
+package core;
+
+import core.actions.AbstractAction;
+import core.actions.ActionSpace;
+import games.GameType;
+import games.loveletter.LoveLetterForwardModel;
+import games.tictactoe.TicTacToeForwardModel;
+import org.junit.Test;
+import players.simple.RandomPlayer;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class ActionSampling {
+
+    private boolean checkAgainstList(GameType gameType, int nPlayers) {
+        return checkAgainstList(gameType, nPlayers, null);
+    }
+
+    // plays random games, checking at every step that the actions the forward model gives one at a time are the
+    // ones in the full list; returns true if any of the states could be indexed without building the list
+    private boolean checkAgainstList(GameType gameType, int nPlayers, AbstractForwardModel forwardModel) {
+        Random rnd = new Random(81);
+        boolean indexed = false;
+        for (int game = 0; game < 5; game++) {
+            AbstractParameters params = gameType.createParameters(game);
+            AbstractForwardModel fm = forwardModel == null ? gameType.createForwardModel(params, nPlayers) : forwardModel;
+            AbstractGameState state = gameType.createGameState(params, nPlayers);
+            fm.setup(state);
+            while (state.isNotTerminal()) {
+                // the default action space, as rollouts use, rather than the one in the game parameters
+                List<AbstractAction> actions = fm.computeAvailableActions(state, ActionSpace.Default);
+                assertEquals(actions.size(), fm.countAvailableActions(state, ActionSpace.Default));
+                for (int i = 0; i < actions.size(); i++)
+                    assertEquals(actions.get(i), fm.getAvailableAction(state, i, ActionSpace.Default));
+                assertNull(fm.getAvailableAction(state, actions.size(), ActionSpace.Default));
+                int count = fm.countAvailableActionsWithoutList(state, ActionSpace.Default);
+                assertTrue(count == -1 || count == actions.size());
+                if (count >= 0)
+                    indexed = true;
+
+                long seed = rnd.nextLong();
+                AbstractAction sampled = fm.sampleRandomAction(state, new Random(seed), ActionSpace.Default);
+                assertEquals(actions.get(new Random(seed).nextInt(actions.size())), sampled);
+                fm.next(state, sampled);
+            }
+        }
+        return indexed;
+    }
+
+    @Test
+    public void connect4() {
+        assertTrue(checkAgainstList(GameType.Connect4, 2));
+    }
+
+    @Test
+    public void ticTacToe() {
+        assertTrue(checkAgainstList(GameType.TicTacToe, 2));
+    }
+
+    @Test
+    public void sushiGo() {
+        assertTrue(checkAgainstList(GameType.SushiGo, 3));
+    }
+
+    @Test
+    public void gamesThatOnlyListActions() {
+        assertFalse(checkAgainstList(GameType.LoveLetter, 2));
+    }
+
+    @Test
+    public void gamesThatOnlyCountActions() {
+        // the default _getAvailableAction() falls back to the list
+        assertTrue(checkAgainstList(GameType.LoveLetter, 2, new LoveLetterForwardModel() {
+            @Override
+            protected int _countAvailableActions(AbstractGameState gameState) {
+                return _computeAvailableActions(gameState).size();
+            }
+        }));
+    }
+
+    @Test
+    public void randomPlayerCountsActionsOnce() {
+        int[] counted = new int[1];
+        TicTacToeForwardModel fm = new TicTacToeForwardModel() {
+            @Override
+            protected int _countAvailableActions(AbstractGameState gameState) {
+                counted[0]++;
+                return super._countAvailableActions(gameState);
+            }
+        };
+        AbstractGameState state = GameType.TicTacToe.createGameState(GameType.TicTacToe.createParameters(3), 2);
+        fm.setup(state);
+        RandomPlayer player = new RandomPlayer(new Random(5));
+        while (state.isNotTerminal()) {
+            List<AbstractAction> actions = fm.computeAvailableActions(state, ActionSpace.Default);
+            counted[0] = 0;
+            AbstractAction action = player.getAction(state, fm, ActionSpace.Default);
+            assertEquals(1, counted[0]);
+            assertTrue(actions.contains(action));
+            fm.next(state, action);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package core;
+
+import core.components.Card;
+import core.components.Deck;
+import core.components.FrenchCard;
+import core.components.PartialObservableDeck;
+import org.junit.Test;
+
+import java.util.*;
+
+import static core.CoreConstants.VisibilityMode.HIDDEN_TO_ALL;
+import static org.junit.Assert.*;
+
+public class DeckCopies {
+
+    Random rnd = new Random(393);
+
+    @Test
+    public void copyOfImmutableCardsIsIndependentOfOriginal() {
+        Deck<FrenchCard> deck = FrenchCard.generateDeck("Test", HIDDEN_TO_ALL);
+        List<FrenchCard> before = new ArrayList<>(deck.getComponents());
+        Deck<FrenchCard> copy = deck.copy();
+        assertEquals(deck, copy);
+        assertSame(deck.get(0), copy.get(0));
+
+        FrenchCard drawn = copy.draw();
+        assertEquals(before.get(0), drawn);
+        assertEquals(before.size() - 1, copy.getSize());
+        assertEquals(before, deck.getComponents());
+
+        deck.shuffle(rnd);
+        deck.add(drawn);
+        assertEquals(before.size() - 1, copy.getSize());
+        assertEquals(before.subList(1, before.size()), copy.getComponents());
+    }
+
+    @Test
+    public void changingTheListOfTheOriginalDoesNotChangeCopies() {
+        Deck<FrenchCard> deck = FrenchCard.generateDeck("Test", HIDDEN_TO_ALL);
+        Deck<FrenchCard> copy = deck.copy();
+        Deck<FrenchCard> copyOfCopy = copy.copy();
+        FrenchCard top = deck.peek();
+        assertTrue(deck.getComponents().remove(top));
+        assertFalse(deck.contains(top));
+        assertTrue(copy.contains(top));
+        assertTrue(copyOfCopy.contains(top));
+
+        copy.clear();
+        assertEquals(0, copy.getSize());
+        assertEquals(deck.getSize() + 1, copyOfCopy.getSize());
+    }
+
+    @Test
+    public void mutableCardsAreCopied() {
+        Deck<Card> deck = new Deck<>("Test", HIDDEN_TO_ALL);
+        for (int i = 0; i < 5; i++)
+            deck.add(new Card("Card " + i));
+        Deck<Card> copy = deck.copy();
+        assertEquals(deck, copy);
+        for (int i = 0; i < 5; i++) {
+            assertNotSame(deck.get(i), copy.get(i));
+            assertEquals(deck.get(i).getComponentID(), copy.get(i).getComponentID());
+        }
+    }
+
+    @Test
+    public void visibilityStaysWithSharedComponents() {
+        PartialObservableDeck<FrenchCard> deck = new PartialObservableDeck<>("Test", -1, new boolean[]{false, false});
+        for (FrenchCard card : FrenchCard.generateDeck("Cards", HIDDEN_TO_ALL))
+            deck.add(card);
+        deck.setVisibilityOfComponent(3, 0, true);
+        FrenchCard visible = deck.get(3);
+
+        PartialObservableDeck<FrenchCard> copy = deck.copy();
+        copy.pick(0);
+        assertSame(visible, copy.get(2));
+        assertTrue(copy.isComponentVisible(2, 0));
+        assertSame(visible, deck.get(3));
+        assertTrue(deck.isComponentVisible(3, 0));
+        assertFalse(deck.isComponentVisible(2, 0));
+    }
+
+    @Test
+    public void shuffleAndKeepVisibilityStopsSharing() {
+        var deck = new PartialObservableDeck<FrenchCard>("Test", -1, new boolean[]{false, false}) {
+            List<FrenchCard> list() {
+                return components;
+            }
+        };
+        for (FrenchCard card : FrenchCard.generateDeck("Cards", HIDDEN_TO_ALL))
+            deck.add(card);
+        deck.setVisibilityOfComponent(3, 0, true);
+        FrenchCard visible = deck.get(3);
+        PartialObservableDeck<FrenchCard> copy = deck.copy();
+        List<FrenchCard> before = new ArrayList<>(copy.getComponents());
+
+        deck.shuffleAndKeepVisibility(rnd);
+        assertTrue(deck.isComponentVisible(deck.list().indexOf(visible), 0));
+        // the shuffled list is the deck's own, so it is not copied again on the next change
+        List<FrenchCard> shuffled = deck.list();
+        deck.draw();
+        assertSame(shuffled, deck.list());
+        assertEquals(before, copy.getComponents());
+    }
+}
@@ -0,0 +1,56 @@
+package core;
+
+import core.components.BoardNode;
+import core.components.GridBoard;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class GridBoardCopies {
+
+    @Test
+    public void sharedNodesStaySharedInCopies() {
+        BoardNode empty = new BoardNode("empty");
+        BoardNode cross = new BoardNode("x");
+        GridBoard board = new GridBoard(3, 3, empty);
+        board.setElement(1, 1, cross);
+
+        GridBoard copy = board.copy();
+        assertEquals(board, copy);
+        assertNotSame(empty, copy.getElement(0, 0));
+        assertSame(copy.getElement(0, 0), copy.getElement(2, 2));
+        assertEquals(cross.getComponentID(), copy.getElement(1, 1).getComponentID());
+        assertEquals(8, copy.countEmptyCells(copy.getElement(0, 0)));
+
+        copy.setElement(0, 0, copy.getElement(1, 1));
+        assertSame(empty, board.getElement(0, 0));
+        assertEquals(8, board.countEmptyCells(empty));
+    }
+
+    @Test
+    public void neighboursAreLinkedBetweenCopies() {
+        GridBoard board = new GridBoard(2, 2);
+        for (int i = 0; i < 4; i++)
+            board.setElement(i % 2, i / 2, new BoardNode("cell " + i));
+        board.getElement(0, 0).addNeighbourWithCost(board.getElement(1, 0), 2.0);
+        board.getElement(1, 0).addNeighbourWithCost(board.getElement(0, 0), 2.0);
+
+        GridBoard copy = board.copy();
+        BoardNode a = copy.getElement(0, 0), b = copy.getElement(1, 0);
+        assertTrue(a.getNeighbours().containsKey(b));
+        assertEquals(2.0, a.getNeighbourCost(b), 1e-9);
+        assertTrue(copy.getElement(0, 1).getNeighbours().isEmpty());
+    }
+
+    @Test
+    public void neighbourCellsMatchGridIndices() {
+        GridBoard board = new GridBoard(3, 2);
+        int[] result = new int[8];
+        assertEquals(3, board.getNeighbourCells(0, 0, true, result));
+        assertArrayEquals(new int[]{board.getCellIndex(1, 0), board.getCellIndex(0, 1), board.getCellIndex(1, 1)},
+                Arrays.copyOf(result, 3));
+        assertEquals(3, board.getNeighbourCells(1, 1, false, result));
+    }
+}
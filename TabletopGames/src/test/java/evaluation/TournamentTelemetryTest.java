@@ -0,0 +1,125 @@
+package evaluation;
+
+import evaluation.tournaments.TournamentTelemetry;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TournamentTelemetryTest {
+
+    TournamentTelemetry telemetry;
+    List<Integer> matchup = List.of(0, 1);
+
+    @Before
+    public void setup() {
+        telemetry = new TournamentTelemetry(List.of("Strong", "Weak"));
+    }
+
+    private void play(boolean firstWins) {
+        telemetry.recordGame(matchup,
+                new double[]{firstWins ? 1.0 : 0.0, firstWins ? 0.0 : 1.0},
+                new int[]{firstWins ? 1 : 2, firstWins ? 2 : 1},
+                new double[]{firstWins ? 10 : 5, firstWins ? 5 : 10});
+    }
+
+    @Test
+    public void runningStatistics() {
+        for (int i = 0; i < 10; i++)
+            play(i % 5 != 0);
+        assertEquals(10, telemetry.getTotalGames());
+        assertEquals(0.8, telemetry.winRate(0), 1e-9);
+        assertEquals(0.2, telemetry.winRate(1), 1e-9);
+        assertEquals(1.2, telemetry.ordinalMean(0), 1e-9);
+        assertEquals(Math.sqrt(0.16 / 10), telemetry.winRateStdErr(0), 1e-9);
+        assertTrue(telemetry.snapshot().contains("\"gamesPlayed\": 10"));
+    }
+
+    @Test
+    public void neverDecidedWhenSwitchedOff() {
+        for (int i = 0; i < 100; i++)
+            play(true);
+        assertFalse(telemetry.isDecided(matchup));
+    }
+
+    @Test
+    public void decidedOnlyAfterMinimumGames() {
+        telemetry.setEarlyStopping(0.99, 20);
+        for (int i = 0; i < 19; i++) {
+            play(i % 10 != 0);
+            assertFalse(telemetry.isDecided(matchup));
+        }
+        play(true);
+        assertTrue(telemetry.isDecided(matchup));
+    }
+
+    @Test
+    public void closeMatchupIsNotDecided() {
+        telemetry.setEarlyStopping(0.99, 20);
+        for (int i = 0; i < 200; i++)
+            play(i % 2 == 0);
+        assertFalse(telemetry.isDecided(matchup));
+    }
+
+    private void play(TournamentTelemetry.HeadToHead sample, List<Integer> agents, boolean firstWins) {
+        double[] points = {firstWins ? 1.0 : 0.0, firstWins ? 0.0 : 1.0};
+        telemetry.recordGame(agents, points, new int[]{firstWins ? 1 : 2, firstWins ? 2 : 1}, new double[]{0.0, 0.0});
+        sample.record(agents, points);
+    }
+
+    @Test
+    public void pooledLeadDoesNotStopANewMatchup() {
+        telemetry = new TournamentTelemetry(List.of("A", "B", "C", "D"));
+        telemetry.setEarlyStopping(0.99, 20);
+        // A always beats B, and D always beats C; so pooled over these matchups A has won everything and C nothing
+        TournamentTelemetry.HeadToHead first = telemetry.newHeadToHead();
+        for (int i = 0; i < 40; i++)
+            play(first, List.of(0, 1), true);
+        assertTrue(telemetry.isDecided(first, List.of(0, 1)));
+        TournamentTelemetry.HeadToHead second = telemetry.newHeadToHead();
+        for (int i = 0; i < 40; i++)
+            play(second, List.of(3, 2), true);
+        assertTrue(telemetry.isDecided(second, List.of(3, 2)));
+        assertEquals(1.0, telemetry.winRate(0), 1e-9);
+        assertEquals(0.0, telemetry.winRate(2), 1e-9);
+
+        // A then meets C: neither the new matchup, nor the tournament as a whole, has enough games between them
+        TournamentTelemetry.HeadToHead third = telemetry.newHeadToHead();
+        for (int i = 0; i < 19; i++) {
+            play(third, List.of(0, 2), i % 2 == 0);
+            assertFalse(telemetry.isDecided(third, List.of(0, 2)));
+            assertFalse(telemetry.isDecided(List.of(0, 2)));
+        }
+        // and a close contest stays undecided after the minimum
+        for (int i = 0; i < 40; i++) {
+            play(third, List.of(0, 2), i % 2 == 1);
+            assertFalse(telemetry.isDecided(third, List.of(0, 2)));
+        }
+        assertEquals(59, third.games(0, 2));
+        assertEquals(1.0 / 59, third.meanDifference(0, 2), 1e-9);  // A has won 30 to 29
+    }
+
+    @Test
+    public void earlierMatchupsDoNotCountTowardsANewOne() {
+        telemetry.setEarlyStopping(0.99, 20);
+        TournamentTelemetry.HeadToHead first = telemetry.newHeadToHead();
+        for (int i = 0; i < 40; i++)
+            play(first, matchup, true);
+        // the same agents in another seating: this sample starts empty
+        TournamentTelemetry.HeadToHead second = telemetry.newHeadToHead();
+        play(second, List.of(1, 0), false);
+        assertFalse(telemetry.isDecided(second, List.of(1, 0)));
+        assertEquals(1, second.games(0, 1));
+        assertTrue(telemetry.isDecided(List.of(1, 0)));  // but over the whole tournament, it is decided
+    }
+
+    @Test
+    public void selfPlayIsNeverDecided() {
+        telemetry.setEarlyStopping(0.99, 1);
+        for (int i = 0; i < 50; i++)
+            play(true);
+        assertFalse(telemetry.isDecided(List.of(0, 0)));
+    }
+}
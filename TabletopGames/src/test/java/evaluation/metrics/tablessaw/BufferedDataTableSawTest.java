@@ -0,0 +1,113 @@
+package evaluation.metrics.tablessaw;
+
+import core.AbstractPlayer;
+import core.Game;
+import evaluation.listeners.FastMetricsGameListener;
+import evaluation.listeners.MetricsGameListener;
+import evaluation.metrics.AbstractMetric;
+import evaluation.metrics.Event;
+import evaluation.metrics.IDataLogger;
+import evaluation.metrics.GameMetrics;
+import games.GameType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import players.simple.RandomPlayer;
+import tech.tablesaw.api.Table;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static evaluation.metrics.Event.GameEvent.*;
+import static evaluation.metrics.IDataLogger.ReportDestination.ToConsole;
+import static evaluation.metrics.IDataLogger.ReportType.Summary;
+import static org.junit.Assert.*;
+
+public class BufferedDataTableSawTest {
+
+    int defaultBufferRows;
+    FastMetricsGameListener fastListener;
+
+    @Before
+    public void setup() {
+        defaultBufferRows = FastMetricsGameListener.BUFFER_ROWS;
+        FastMetricsGameListener.BUFFER_ROWS = 8;  // so that we hand off several blocks to the writer thread
+    }
+
+    @After
+    public void tearDown() {
+        FastMetricsGameListener.BUFFER_ROWS = defaultBufferRows;
+        if (fastListener != null)
+            fastListener.shutdown();
+    }
+
+    private AbstractMetric gameScore() {
+        return new GameMetrics.GameScore(ABOUT_TO_START, ACTION_CHOSEN, ROUND_OVER, GAME_OVER);
+    }
+
+    private void runGames(int nGames, MetricsGameListener... listeners) {
+        List<AbstractPlayer> players = List.of(new RandomPlayer(), new RandomPlayer());
+        Game game = GameType.TicTacToe.createGameInstance(2, 404);
+        Set<String> names = players.stream().map(AbstractPlayer::toString).collect(Collectors.toSet());
+        for (MetricsGameListener listener : listeners) {
+            listener.init(game, 2, names);
+            game.addListener(listener);
+        }
+        for (int i = 0; i < nGames; i++) {
+            game.reset(players, 404 + i);
+            game.run();
+        }
+    }
+
+    private static Table table(AbstractMetric metric) {
+        return ((DataTableSaw) metric.getDataLogger()).data;
+    }
+
+    private static int rowsFor(Table table, Event.GameEvent event) {
+        return table.where(table.stringColumn("Event").isEqualTo(event.name())).rowCount();
+    }
+
+    @Test
+    public void drainedTableMatchesMetricsGameListener() {
+        AbstractMetric slowMetric = gameScore();
+        AbstractMetric fastMetric = gameScore();
+        MetricsGameListener slowListener = new MetricsGameListener(ToConsole, new AbstractMetric[]{slowMetric});
+        fastListener = new FastMetricsGameListener(ToConsole, new IDataLogger.ReportType[]{Summary},
+                1.0, new AbstractMetric[]{fastMetric});
+        runGames(5, slowListener, fastListener);
+        fastListener.drain();
+
+        Table expected = table(slowMetric);
+        Table actual = table(fastMetric);
+        assertTrue(expected.rowCount() > FastMetricsGameListener.BUFFER_ROWS);
+        assertEquals(expected.rowCount(), actual.rowCount());
+        assertEquals(expected.columnCount(), actual.columnCount());
+        for (String name : expected.columnNames())
+            assertEquals(name, expected.column(name).asList(), actual.column(name).asList());
+        assertEquals(slowMetric.getColumnNames(), fastMetric.getColumnNames());
+    }
+
+    @Test
+    public void samplingKeepsStartAndEndOfEveryGame() {
+        AbstractMetric slowMetric = gameScore();
+        AbstractMetric fastMetric = gameScore();
+        MetricsGameListener slowListener = new MetricsGameListener(ToConsole, new AbstractMetric[]{slowMetric});
+        fastListener = new FastMetricsGameListener(ToConsole, new IDataLogger.ReportType[]{Summary},
+                0.25, new AbstractMetric[]{fastMetric});
+        int nGames = 7;
+        runGames(nGames, slowListener, fastListener);
+        fastListener.drain();
+
+        Table all = table(slowMetric);
+        Table sampled = table(fastMetric);
+        assertEquals(nGames, rowsFor(sampled, ABOUT_TO_START));
+        assertEquals(nGames, rowsFor(sampled, GAME_OVER));
+        // the other events are recorded about one time in four
+        int allActions = rowsFor(all, ACTION_CHOSEN);
+        int sampledActions = rowsFor(sampled, ACTION_CHOSEN);
+        assertTrue(sampledActions > 0);
+        assertTrue(sampledActions < allActions / 2);
+        assertEquals(nGames, fastMetric.getGamesCompleted());
+    }
+}
@@ -0,0 +1,126 @@
+package games.catan;
+
+import core.components.BoardNodeWithEdges;
+import core.components.Edge;
+import core.components.GraphBoardWithEdges;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class CatanRoadNetworkTests {
+
+    GraphBoardWithEdges graph;
+    BoardNodeWithEdges[] vertices;
+    Edge[] roads;
+
+    /**
+     * Sets up a board with the given vertices and roads (as pairs of vertex indices), none of them owned
+     */
+    private void board(int nVertices, int[][] ends) {
+        graph = new GraphBoardWithEdges();
+        vertices = new BoardNodeWithEdges[nVertices];
+        for (int v = 0; v < nVertices; v++) {
+            vertices[v] = new BoardNodeWithEdges();
+            graph.addBoardNode(vertices[v]);
+        }
+        roads = new Edge[ends.length];
+        for (int e = 0; e < ends.length; e++)
+            roads[e] = graph.addConnection(vertices[ends[e][0]], vertices[ends[e][1]]);
+    }
+
+    private int build(CatanRoadNetwork network, int player, int... roadIndices) {
+        int length = 0;
+        for (int e : roadIndices)
+            length = network.addRoad(roads[e].getComponentID(), player);
+        return length;
+    }
+
+    private void settle(CatanRoadNetwork network, int player, int vertex) {
+        network.addSettlement(vertices[vertex].getComponentID(), player);
+    }
+
+    @Test
+    public void branchCountsOnlyOneArm() {
+        // 0-1-2-3-4, with 2-5-6 branching off at 2
+        board(7, new int[][]{{0, 1}, {1, 2}, {2, 3}, {3, 4}, {2, 5}, {5, 6}});
+        CatanRoadNetwork network = new CatanRoadNetwork(graph, 2);
+        assertEquals(1, build(network, 0, 0));
+        assertEquals(2, build(network, 0, 1));
+        assertEquals(3, build(network, 0, 4));  // 0-1-2-5
+        assertEquals(4, build(network, 0, 5));
+        assertEquals(4, build(network, 0, 2, 3));
+        // six roads, but the longest trail is any two of the three arms from 2
+        assertEquals(4, network.getLongestRoad(0));
+        assertEquals(0, network.getLongestRoad(1));
+    }
+
+    @Test
+    public void loopCanBeTravelledRound() {
+        // a hexagon 0-1-2-3-4-5-0, with a tail 0-6
+        board(7, new int[][]{{0, 1}, {1, 2}, {2, 3}, {3, 4}, {4, 5}, {5, 0}, {0, 6}});
+        CatanRoadNetwork network = new CatanRoadNetwork(graph, 2);
+        assertEquals(5, build(network, 0, 0, 1, 2, 3, 4));
+        assertEquals(6, build(network, 0, 5));
+        // from the end of the tail, all the way round the loop and back to 0
+        assertEquals(7, build(network, 0, 6));
+    }
+
+    @Test
+    public void opponentSettlementCutsRoad() {
+        // 0-1-2-3-4-5-6
+        board(7, new int[][]{{0, 1}, {1, 2}, {2, 3}, {3, 4}, {4, 5}, {5, 6}});
+        CatanRoadNetwork network = new CatanRoadNetwork(graph, 3);
+        assertEquals(6, build(network, 0, 0, 1, 2, 3, 4, 5));
+
+        // our own settlement, or one at the end of the road, does not break it
+        settle(network, 0, 3);
+        assertEquals(6, network.getLongestRoad(0));
+        settle(network, 1, 6);
+        assertEquals(6, network.getLongestRoad(0));
+
+        // an opponent's settlement in the middle does
+        settle(network, 2, 2);
+        assertEquals(4, network.getLongestRoad(0));
+        settle(network, 1, 4);
+        assertEquals(2, network.getLongestRoad(0));  // 0-1-2, 2-3-4 and 4-5-6
+
+        // and a road can end at, but not pass through, an opponent's building
+        board(5, new int[][]{{0, 1}, {1, 2}, {2, 3}, {3, 4}});
+        network = new CatanRoadNetwork(graph, 2);
+        settle(network, 1, 2);
+        assertEquals(2, build(network, 0, 0, 1));
+        assertEquals(2, build(network, 0, 2));
+        assertEquals(2, build(network, 0, 3));
+    }
+
+    @Test
+    public void roadsAlreadyOnTheBoardAreIndexed() {
+        board(7, new int[][]{{0, 1}, {1, 2}, {2, 3}, {3, 4}, {2, 5}, {5, 6}});
+        for (int e = 0; e < roads.length; e++)
+            roads[e].setOwnerId(e < 4 ? 0 : 1);
+        vertices[3].setOwnerId(1);
+        CatanRoadNetwork network = new CatanRoadNetwork(graph, 2);
+        assertEquals(3, network.getLongestRoad(0));  // 0-1-2-3, then the settlement at 3 cuts off 3-4
+        assertEquals(2, network.getLongestRoad(1));
+    }
+
+    @Test
+    public void copiesAreIndependent() {
+        board(7, new int[][]{{0, 1}, {1, 2}, {2, 3}, {3, 4}, {4, 5}, {5, 6}});
+        CatanRoadNetwork network = new CatanRoadNetwork(graph, 2);
+        build(network, 0, 0, 1, 2);
+        CatanRoadNetwork copy = network.copy();
+
+        assertEquals(5, build(copy, 0, 3, 4));
+        assertEquals(3, network.getLongestRoad(0));
+
+        settle(network, 1, 1);
+        assertEquals(2, network.getLongestRoad(0));
+        assertEquals(5, copy.getLongestRoad(0));
+
+        // a road can now be built on the original that is already owned in the copy
+        assertEquals(1, build(network, 1, 3));
+        assertEquals(0, copy.getLongestRoad(1));
+        assertEquals(1, build(copy, 1, 5));
+    }
+}
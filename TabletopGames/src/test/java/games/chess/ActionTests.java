@@ -15,6 +15,7 @@ import games.chess.actions.Castle;
 import games.chess.actions.EnPassant;
 import games.chess.actions.MovePiece;
 import games.chess.actions.Castle.CastleType;
+import games.chess.components.ChessBoard;
 import games.chess.components.ChessPiece;
 
 public class ActionTests {
@@ -202,4 +203,47 @@ public class ActionTests {
         //Check game is over
         assertTrue(state.isGameOver());
     }
+
+    private ChessGameState emptyBoard() {
+        ChessGameState state = (ChessGameState) game.getGameState().copy();
+        state.whitePieces.clear();
+        state.blackPieces.clear();
+        state.board = new ChessBoard();
+        return state;
+    }
+
+    @Test
+    public void PinnedPieceTest() {
+        ChessGameState state = emptyBoard();
+        state.setPiece(4, 0, new ChessPiece(ChessPiece.ChessPieceType.KING, 0, 4, 0, ChessPiece.MovedState.MOVED));
+        state.setPiece(4, 1, new ChessPiece(ChessPiece.ChessPieceType.ROOK, 0, 4, 1, ChessPiece.MovedState.MOVED));
+        state.setPiece(4, 7, new ChessPiece(ChessPiece.ChessPieceType.ROOK, 1, 4, 7, ChessPiece.MovedState.MOVED));
+        state.setPiece(0, 7, new ChessPiece(ChessPiece.ChessPieceType.KING, 1, 0, 7, ChessPiece.MovedState.MOVED));
+        List<AbstractAction> actions = fm.computeAvailableActions(state);
+        // The rook is pinned to the e-file (5 moves and the capture), and the king has 4 moves
+        assertEquals(10, actions.size());
+        assertTrue(actions.stream().noneMatch(e -> e.equals(new MovePiece(4, 1, 3, 1))));
+        assertTrue(actions.contains(new MovePiece(4, 1, 4, 7)));
+    }
+
+    @Test
+    public void EnPassantDiscoveredCheckTest() {
+        // Capturing en passant would remove both pawns from the 5th rank, exposing the white king to the rook
+        ChessGameState state = emptyBoard();
+        state.setPiece(0, 4, new ChessPiece(ChessPiece.ChessPieceType.KING, 0, 0, 4, ChessPiece.MovedState.MOVED));
+        state.setPiece(4, 4, new ChessPiece(ChessPiece.ChessPieceType.PAWN, 0, 4, 4, ChessPiece.MovedState.MOVED));
+        state.setPiece(7, 4, new ChessPiece(ChessPiece.ChessPieceType.ROOK, 1, 7, 4, ChessPiece.MovedState.MOVED));
+        state.setPiece(7, 7, new ChessPiece(ChessPiece.ChessPieceType.KING, 1, 7, 7, ChessPiece.MovedState.MOVED));
+        ChessPiece blackPawn = new ChessPiece(ChessPiece.ChessPieceType.PAWN, 1, 3, 4, ChessPiece.MovedState.MOVED);
+        blackPawn.setEnPassant(true);
+        state.setPiece(3, 4, blackPawn);
+        List<AbstractAction> actions = fm.computeAvailableActions(state);
+        assertTrue(actions.stream().noneMatch(e -> e instanceof EnPassant));
+        assertTrue(actions.contains(new MovePiece(4, 4, 4, 5)));
+
+        // without the rook the capture is fine
+        state.deletePiece(state.getPiece(7, 4));
+        actions = fm.computeAvailableActions(state);
+        assertTrue(actions.contains(new EnPassant(4, 4, 3)));
+    }
 }
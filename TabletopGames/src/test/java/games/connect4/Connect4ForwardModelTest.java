@@ -0,0 +1,74 @@
+package games.connect4;
+
+import core.CoreConstants;
+import core.actions.AbstractAction;
+import core.actions.SetGridValueAction;
+import org.junit.Before;
+import org.junit.Test;
+import utilities.Pair;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class Connect4ForwardModelTest {
+
+    Connect4ForwardModel fm = new Connect4ForwardModel();
+    Connect4GameState state;
+
+    @Before
+    public void setup() {
+        state = new Connect4GameState(new Connect4GameParameters(), 2);
+        fm.setup(state);
+    }
+
+    private void drop(int... columns) {
+        for (int column : columns) {
+            List<AbstractAction> actions = fm.computeAvailableActions(state);
+            AbstractAction action = actions.stream()
+                    .filter(a -> ((SetGridValueAction) a).getX() == column)
+                    .findFirst().orElseThrow();
+            fm.next(state, action);
+        }
+    }
+
+    @Test
+    public void discsFallToBottomOfColumn() {
+        drop(3, 3, 3);
+        assertEquals(3, state.getColumnHeight(3));
+        assertEquals(0, state.getPlayerAt(3, 7));
+        assertEquals(1, state.getPlayerAt(3, 6));
+        assertEquals(0, state.getPlayerAt(3, 5));
+        assertEquals(-1, state.getPlayerAt(3, 4));
+        assertEquals("x", state.getGridBoard().getElement(3, 5).getComponentName());
+        for (AbstractAction action : fm.computeAvailableActions(state)) {
+            SetGridValueAction move = (SetGridValueAction) action;
+            assertEquals(7 - state.getColumnHeight(move.getX()), move.getY());
+        }
+    }
+
+    @Test
+    public void verticalWin() {
+        drop(0, 1, 0, 1, 0, 1);
+        assertTrue(state.isNotTerminal());
+        drop(0);
+        assertEquals(CoreConstants.GameResult.WIN_GAME, state.getPlayerResults()[0]);
+        assertEquals(CoreConstants.GameResult.LOSE_GAME, state.getPlayerResults()[1]);
+        assertEquals(List.of(new Pair<>(0, 7), new Pair<>(0, 6), new Pair<>(0, 5), new Pair<>(0, 4)), state.getWinningCells());
+    }
+
+    @Test
+    public void diagonalWinCompletedInTheMiddle() {
+        // player 0 has (0,7), (1,6) and (3,4), and then completes the line with (2,5)
+        drop(0, 1, 1, 2, 2, 3, 3, 3, 3, 7, 2);
+        assertEquals(CoreConstants.GameResult.WIN_GAME, state.getPlayerResults()[0]);
+        assertEquals(List.of(new Pair<>(0, 7), new Pair<>(1, 6), new Pair<>(2, 5), new Pair<>(3, 4)), state.getWinningCells());
+    }
+
+    @Test
+    public void noWinAcrossTheEdgeOfTheBoard() {
+        // two discs at each end of the same rows must not count as a line
+        drop(6, 6, 7, 7, 0, 0, 1, 1);
+        assertTrue(state.isNotTerminal());
+    }
+}
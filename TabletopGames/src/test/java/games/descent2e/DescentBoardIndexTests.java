@@ -0,0 +1,243 @@
+package games.descent2e;
+
+import core.actions.AbstractAction;
+import core.components.BoardNode;
+import core.components.GridBoard;
+import core.properties.PropertyInt;
+import core.properties.PropertyVector2D;
+import games.descent2e.actions.monsterfeats.MonsterAbilities;
+import games.descent2e.components.Figure;
+import games.descent2e.components.Monster;
+import org.junit.Before;
+import org.junit.Test;
+import utilities.LineOfSight;
+import utilities.Pair;
+import utilities.Vector2D;
+
+import java.util.*;
+
+import static core.CoreConstants.coordinateHash;
+import static core.CoreConstants.playersHash;
+import static org.junit.Assert.*;
+
+/**
+ * Checks DescentBoardIndex, and the searches in DescentHelper that use it, against searches over the BoardNode
+ * links of the master board (as DescentHelper did before the index). The default map uses some tiles twice, so
+ * copies of the state use a separate index (see DescentBoardIndex.forCopy), and each test is run on a state, its
+ * copy, and a copy of that.
+ */
+public class DescentBoardIndexTests {
+
+    DescentGameState state;
+    DescentForwardModel fm = new DescentForwardModel();
+    List<DescentGameState> states;
+
+    @Before
+    public void setup() {
+        DescentParameters params = new DescentParameters();
+        params.setRandomSeed(234);
+        state = new DescentGameState(params, 2);
+        fm.setup(state);
+        // spread the figures out a bit
+        Random rnd = new Random(492);
+        for (int i = 0; i < 40 && state.isNotTerminal(); i++) {
+            List<AbstractAction> actions = fm.computeAvailableActions(state);
+            fm.next(state, actions.get(rnd.nextInt(actions.size())));
+        }
+        DescentGameState copy = (DescentGameState) state.copy();
+        states = List.of(state, copy, (DescentGameState) copy.copy());
+    }
+
+    @Test
+    public void copiesWithDuplicateTilesUseTheirOwnIndex() {
+        GridBoard board = state.getMasterBoard();
+        Set<Integer> ids = new HashSet<>();
+        int nNodes = 0;
+        for (BoardNode node : board.getComponents()) {
+            if (node == null) continue;
+            nNodes++;
+            ids.add(node.getComponentID());
+        }
+        assertTrue("The map should use a tile more than once", ids.size() < nNodes);
+        assertNotSame(state.getBoardIndex(), states.get(1).getBoardIndex());
+        assertSame(states.get(1).getBoardIndex(), states.get(2).getBoardIndex());
+    }
+
+    @Test
+    public void neighboursMatchTheBoard() {
+        for (DescentGameState dgs : states) {
+            GridBoard board = dgs.getMasterBoard();
+            DescentBoardIndex index = dgs.getBoardIndex();
+            for (int y = 0; y < board.getHeight(); y++) {
+                for (int x = 0; x < board.getWidth(); x++) {
+                    BoardNode node = board.getElement(x, y);
+                    assertEquals(node != null, index.exists(x, y));
+                    if (node == null) continue;
+                    Map<Vector2D, Double> expected = new HashMap<>();
+                    for (BoardNode neighbour : node.getNeighbours().keySet()) {
+                        if (neighbour == null) continue;
+                        expected.put(position(neighbour), node.getNeighbourCost(neighbour));
+                    }
+                    Map<Vector2D, Double> actual = new HashMap<>();
+                    int cell = index.cell(x, y);
+                    for (int i = 0; i < index.neighbours[cell].length; i++) {
+                        int n = index.neighbours[cell][i];
+                        actual.put(new Vector2D(n % index.width, n / index.width), index.neighbourCost[cell][i]);
+                    }
+                    assertEquals("Neighbours of " + x + ", " + y, expected, actual);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void lineOfSightMatchesLineOfSightUtility() {
+        for (DescentGameState dgs : states) {
+            List<Vector2D> cells = cells(dgs.getMasterBoard());
+            for (Vector2D start : cells) {
+                for (Vector2D end : cells) {
+                    if (start.equals(end)) continue;
+                    assertEquals("Line of sight from " + start + " to " + end,
+                            lineOfSight(dgs, start, end), DescentHelper.hasLineOfSight(dgs, start, end));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void distancesMatchBreadthFirstSearch() {
+        for (DescentGameState dgs : states) {
+            GridBoard board = dgs.getMasterBoard();
+            List<Vector2D> cells = cells(board);
+            for (Vector2D start : cells) {
+                Map<Vector2D, Integer> expected = distances(board, start);
+                for (Vector2D end : cells)
+                    assertEquals("Distance from " + start + " to " + end,
+                            (int) expected.getOrDefault(end, -1), DescentHelper.bfsLee(dgs, start, end));
+            }
+        }
+    }
+
+    @Test
+    public void movesMatchTheBoard() {
+        for (DescentGameState dgs : states) {
+            List<Figure> figures = new ArrayList<>(dgs.getHeroes());
+            dgs.getMonsters().forEach(figures::addAll);
+            for (Figure f : figures) {
+                Map<Vector2D, Double> expected = adjacentNodes(dgs, f);
+                Map<Vector2D, Pair<Double, List<Vector2D>>> actual = DescentHelper.getAllAdjacentNodes(dgs, f);
+                assertEquals(f.toString(), expected.keySet(), actual.keySet());
+                for (Vector2D loc : expected.keySet()) {
+                    assertEquals(f + " to " + loc, expected.get(loc), actual.get(loc).a, 1e-9);
+                    List<Vector2D> path = actual.get(loc).b;
+                    assertEquals(loc, path.get(path.size() - 1));
+                }
+            }
+        }
+    }
+
+    private static Vector2D position(BoardNode node) {
+        return ((PropertyVector2D) node.getProperty(coordinateHash)).values;
+    }
+
+    private static List<Vector2D> cells(GridBoard board) {
+        List<Vector2D> cells = new ArrayList<>();
+        for (int y = 0; y < board.getHeight(); y++)
+            for (int x = 0; x < board.getWidth(); x++)
+                if (board.getElement(x, y) != null) cells.add(new Vector2D(x, y));
+        return cells;
+    }
+
+    // Line of sight, checked along the BoardNode links of the board
+    private static boolean lineOfSight(DescentGameState dgs, Vector2D startPoint, Vector2D endPoint) {
+        GridBoard board = dgs.getMasterBoard();
+        List<Vector2D> containedPoints = LineOfSight.bresenhamsLineAlgorithm(startPoint, endPoint);
+        int start = ((PropertyInt) board.getElement(startPoint.getX(), startPoint.getY()).getProperty(playersHash)).value;
+        int target = ((PropertyInt) board.getElement(endPoint.getX(), endPoint.getY()).getProperty(playersHash)).value;
+        for (int i = 1; i < containedPoints.size(); i++) {
+            Vector2D previousPoint = containedPoints.get(i - 1);
+            Vector2D point = containedPoints.get(i);
+            BoardNode currentTile = board.getElement(point.getX(), point.getY());
+            if (currentTile == null)
+                return false;
+            int owner = ((PropertyInt) currentTile.getProperty(playersHash)).value;
+            if (owner != -1 && i != containedPoints.size() - 1 && owner != target && owner != start)
+                return false;
+            BoardNode previousTile = board.getElement(previousPoint.getX(), previousPoint.getY());
+            if (!previousTile.getNeighbours().containsKey(currentTile))
+                return false;
+        }
+        return true;
+    }
+
+    // Breadth-first search along the BoardNode links of the board
+    private static Map<Vector2D, Integer> distances(GridBoard board, Vector2D start) {
+        Map<Vector2D, Integer> distances = new HashMap<>();
+        Queue<BoardNode> queue = new LinkedList<>();
+        distances.put(start, 0);
+        queue.add(board.getElement(start.getX(), start.getY()));
+        while (!queue.isEmpty()) {
+            BoardNode node = queue.poll();
+            int distance = distances.get(position(node));
+            for (BoardNode neighbour : node.getNeighbours().keySet()) {
+                if (neighbour == null) continue;
+                Vector2D loc = position(neighbour);
+                if (!DescentHelper.checkValid(loc.getX(), loc.getY(), board)) continue;
+                if (!distances.containsKey(loc)) {
+                    distances.put(loc, distance + 1);
+                    queue.add(neighbour);
+                }
+            }
+        }
+        return distances;
+    }
+
+    // The cheapest cost of moving to each space the figure can end its move in, along the BoardNode links of the board
+    private static Map<Vector2D, Double> adjacentNodes(DescentGameState dgs, Figure figure) {
+        Vector2D figureLocation = figure.getPosition();
+        BoardNode figureNode = dgs.getMasterBoard().getElement(figureLocation.getX(), figureLocation.getY());
+        String figureType = figure.getTokenType();
+
+        // by identity, as nodes from copies of the same tile share component IDs
+        Map<BoardNode, Double> expanded = new IdentityHashMap<>();
+        Map<BoardNode, Double> toExpand = new IdentityHashMap<>();
+        Map<Vector2D, Double> adjacent = new HashMap<>();
+        toExpand.put(figureNode, 0.0);
+        while (!toExpand.isEmpty()) {
+            Map.Entry<BoardNode, Double> entry = toExpand.entrySet().iterator().next();
+            BoardNode expanding = entry.getKey();
+            double cost = entry.getValue();
+            toExpand.remove(expanding);
+            for (BoardNode neighbour : expanding.getNeighbours().keySet()) {
+                double totalCost = cost + expanding.getNeighbourCost(neighbour);
+                boolean isFriendly = false;
+                boolean isEmpty = DescentTypes.TerrainType.isWalkableTerrain(neighbour.getComponentName());
+                int occupant = ((PropertyInt) neighbour.getProperty(playersHash)).value;
+                if (occupant != -1) {
+                    isEmpty = false;
+                    Figure other = (Figure) dgs.getComponentById(occupant);
+                    if (other != null) {
+                        if (figure.equals(other))
+                            isEmpty = true;
+                        else if (figureType.equals(other.getTokenType()))
+                            isFriendly = true;
+                        else if (figureType.equals("Monster") && ((Monster) figure).hasPassive(MonsterAbilities.MonsterPassive.SCAMPER)
+                                && other.getTokenType().equals("Hero"))
+                            isFriendly = true;
+                    }
+                    if (figure.canIgnoreEnemies())
+                        isFriendly = true;
+                }
+                if (isFriendly) {
+                    if (!expanded.containsKey(neighbour) || expanded.get(neighbour) > totalCost) {
+                        expanded.put(neighbour, totalCost);
+                        toExpand.put(neighbour, totalCost);
+                    }
+                } else if (isEmpty) {
+                    adjacent.merge(position(neighbour), totalCost, Math::min);
+                }
+            }
+        }
+        return adjacent;
+    }
+}
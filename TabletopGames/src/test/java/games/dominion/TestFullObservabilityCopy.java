@@ -90,4 +90,26 @@ public class TestFullObservabilityCopy {
         assertEquals(startState.getQueuedAction(0), fullCopy.getQueuedAction(0));
     }
 
+    @Test
+    public void supplyCountsAreIndependentInCopies() {
+        DominionParameters params = new DominionParameters();
+        params.setRandomSeed(36);
+        Game game = new Game(GameType.Dominion, new DominionForwardModel(), new DominionGameState(params, 4));
+        DominionGameState startState = (DominionGameState) game.getGameState();
+        int provinces = startState.cardsOfType(CardType.PROVINCE, -1, DeckType.SUPPLY);
+        int coppers = startState.cardsOfType(CardType.COPPER, 0, DeckType.ALL);
+
+        DominionGameState fullCopy = (DominionGameState) startState.copy();
+        assertTrue(fullCopy.removeCardFromTable(CardType.PROVINCE));
+        fullCopy.addCard(CardType.COPPER, 0, DeckType.DISCARD);
+        assertEquals(provinces - 1, fullCopy.cardsOfType(CardType.PROVINCE, -1, DeckType.SUPPLY));
+        assertEquals(provinces - 1, (int) fullCopy.getCardsIncludedInGame().get(CardType.PROVINCE));
+        assertEquals(coppers + 1, fullCopy.cardsOfType(CardType.COPPER, 0, DeckType.ALL));
+        assertNotEquals(startState, fullCopy);
+
+        assertEquals(provinces, startState.cardsOfType(CardType.PROVINCE, -1, DeckType.SUPPLY));
+        assertEquals(coppers, startState.cardsOfType(CardType.COPPER, 0, DeckType.ALL));
+        assertEquals(startState.cardsIncludedInGame(), fullCopy.cardsIncludedInGame());
+        assertEquals(0, fullCopy.getEmptyDeckCount());
+    }
 }
@@ -0,0 +1,67 @@
+package games.pandemic;
+
+import games.pandemic.actions.AddResearchStationFrom;
+import games.pandemic.actions.MovePlayer;
+import games.pandemic.actions.TreatDisease;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CityStateCopies {
+
+    private PandemicGameState setup() {
+        PandemicParameters params = new PandemicParameters("data/pandemic/");
+        params.setRandomSeed(42);
+        PandemicForwardModel fm = new PandemicForwardModel(params, 2);
+        PandemicGameState state = new PandemicGameState(params, 2);
+        fm.setup(state);
+        return state;
+    }
+
+    @Test
+    public void setupPlacesPlayersStationAndCubes() {
+        PandemicGameState state = setup();
+        PandemicCities cities = state.getCities();
+        int atlanta = cities.getIndex("Atlanta");
+        assertEquals(48, cities.getNCities());
+        assertEquals(-1, cities.getIndex("Atlantis"));
+        assertEquals(atlanta, state.getPlayerLocation(0));
+        assertEquals("Atlanta", state.getPlayerLocationName(1));
+        assertTrue(state.hasResearchStation(atlanta));
+        assertEquals(1, state.getResearchStations().cardinality());
+
+        int nCubes = 0;
+        for (int city = 0; city < cities.getNCities(); city++)
+            for (int c = 0; c < PandemicConstants.colors.length; c++)
+                nCubes += state.getDiseaseCubes(city, c);
+        assertEquals(18, nCubes);  // 3 cities each with 3, 2 and 1 cubes
+    }
+
+    @Test
+    public void copiesShareTheMapButNotTheCities() {
+        PandemicGameState state = setup();
+        PandemicCities cities = state.getCities();
+        int atlanta = cities.getIndex("Atlanta");
+        int chicago = cities.getIndex("Chicago");
+        assertTrue(cities.areNeighbours(atlanta, chicago));
+
+        PandemicGameState copy = (PandemicGameState) state.copy();
+        assertSame(cities, copy.getCities());
+        assertEquals(state, copy);
+
+        copy.setDiseaseCubes(chicago, 1, 2);
+        new TreatDisease(24, PandemicConstants.colors[1], "Chicago").execute(copy);
+        new MovePlayer(MovePlayer.MoveType.DriveFerry, 0, "Chicago").execute(copy);
+        new AddResearchStationFrom("Atlanta", "Chicago").execute(copy);
+        assertEquals(1, copy.getDiseaseCubes(chicago, 1));
+        assertEquals(chicago, copy.getPlayerLocation(0));
+        assertTrue(copy.hasResearchStation(chicago));
+        assertFalse(copy.hasResearchStation(atlanta));
+        assertNotEquals(state, copy);
+
+        assertEquals(0, state.getDiseaseCubes(chicago, 1));
+        assertEquals(atlanta, state.getPlayerLocation(0));
+        assertTrue(state.hasResearchStation(atlanta));
+        assertFalse(state.hasResearchStation(chicago));
+    }
+}
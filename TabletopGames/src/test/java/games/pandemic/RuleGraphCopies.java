@@ -0,0 +1,62 @@
+package games.pandemic;
+
+import core.actions.AbstractAction;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class RuleGraphCopies {
+
+    private void playRandom(PandemicForwardModel fm, PandemicGameState state, int nActions, Random rnd) {
+        for (int i = 0; i < nActions && state.isNotTerminal(); i++) {
+            List<AbstractAction> actions = fm.computeAvailableActions(state);
+            fm.next(state, actions.get(rnd.nextInt(actions.size())));
+        }
+    }
+
+    @Test
+    public void copiesOfTheStateKeepTheirOwnPositionInTheRules() {
+        PandemicParameters params = new PandemicParameters("data/pandemic/");
+        params.setRandomSeed(42);
+        PandemicForwardModel fm = new PandemicForwardModel(params, 2);
+        PandemicGameState state = new PandemicGameState(params, 2);
+        fm.setup(state);
+        playRandom(fm, state, 3, new Random(4031));
+        int nextRule = state.getNextRule(), lastRule = state.getLastRule();
+
+        PandemicGameState copy = (PandemicGameState) state.copy();
+        assertEquals(nextRule, copy.getNextRule());
+        assertEquals(lastRule, copy.getLastRule());
+
+        // Finishing the turn on a copy, with a copy of the model, leaves the original where it was
+        PandemicGameState other = (PandemicGameState) state.copy();
+        playRandom(fm.copy(), copy, 3, new Random(1));
+        assertNotEquals(3, ((PandemicTurnOrder) copy.getTurnOrder()).getTurnStep());
+        assertEquals(nextRule, state.getNextRule());
+        assertEquals(lastRule, state.getLastRule());
+        assertEquals(3, ((PandemicTurnOrder) state.getTurnOrder()).getTurnStep());
+
+        playRandom(fm, other, 3, new Random(1));
+        assertEquals(copy.getNextRule(), other.getNextRule());
+        assertEquals(copy.getLastRule(), other.getLastRule());
+        assertEquals(copy.getCurrentPlayer(), other.getCurrentPlayer());
+    }
+
+    @Test
+    public void theRuleCursorIsNotPartOfEqualsOrHashCode() {
+        PandemicParameters params = new PandemicParameters("data/pandemic/");
+        params.setRandomSeed(42);
+        PandemicForwardModel fm = new PandemicForwardModel(params, 2);
+        PandemicGameState state = new PandemicGameState(params, 2);
+        fm.setup(state);
+        playRandom(fm, state, 3, new Random(4031));
+
+        PandemicGameState copy = (PandemicGameState) state.copy();
+        copy.setRuleCursor(state.getNextRule() + 1, state.getNextRule());
+        assertEquals(state, copy);
+        assertEquals(state.hashCode(), copy.hashCode());
+    }
+}
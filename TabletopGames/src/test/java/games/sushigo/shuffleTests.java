@@ -50,6 +50,32 @@ public class shuffleTests {
 
     }
 
+    @Test
+    public void testRedeterminisationInPlace() {
+        // a copy for player 2 can then be redeterminised again, without a further copy
+        SGGameState copy = (SGGameState) state.copy(2);
+        SGGameState before = (SGGameState) copy.copy();
+        copy.redeterminise(2);
+        for (int i = 0; i < 4; i++) {
+            var hand = copy.getPlayerHands().get(i);
+            assertEquals(8, hand.getSize());
+            if (i == 2) {
+                for (int j = 0; j < hand.getSize(); j++) {
+                    assertEquals(before.getPlayerHands().get(i).get(j), hand.get(j));
+                }
+            } else {
+                int identicalCount = 0;
+                for (int j = 0; j < hand.getSize(); j++) {
+                    if (hand.get(j).equals(before.getPlayerHands().get(i).get(j))) {
+                        identicalCount++;
+                    }
+                }
+                assertEquals(1, identicalCount, 1);
+            }
+        }
+        assertEquals(before.drawPile.getSize(), copy.drawPile.getSize());
+    }
+
     @Test
     public void testRedeterminisationWithOneCardKnown() {
         // we take one turn for each player, so that hands are passed on, and all players know all the cards in the hand of the player to their left
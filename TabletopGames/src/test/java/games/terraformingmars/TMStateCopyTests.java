@@ -0,0 +1,133 @@
+package games.terraformingmars;
+
+import core.components.BoardNode;
+import core.components.Counter;
+import games.terraformingmars.components.TMMapTile;
+import org.junit.Before;
+import org.junit.Test;
+
+import static games.terraformingmars.TMTypes.Resource.*;
+import static org.junit.Assert.*;
+
+/**
+ * Copies of the game state share the ledger's setup data and any map tiles not yet changed (see TMLedger and
+ * TMGameState.getMapTileToModify()). Changes to either a copy or the original must not be seen by the other.
+ */
+public class TMStateCopyTests {
+
+    TMForwardModel fm = new TMForwardModel();
+    TMGameState state;
+
+    @Before
+    public void setup() {
+        TMGameParameters params = new TMGameParameters();
+        params.setRandomSeed(3812);
+        state = new TMGameState(params, 2);
+        fm.setup(state);
+    }
+
+    @Test
+    public void ledgerCopiesAreIndependent() {
+        TMLedger ledger = state.getLedger();
+        int slot = TMLedger.RESOURCES + MegaCredit.ordinal();
+        int credits = ledger.get(0, slot);
+        Counter original = state.getPlayerResources()[0].get(MegaCredit);
+
+        TMGameState copy = (TMGameState) state.copy();
+        TMLedger copyLedger = copy.getLedger();
+        assertEquals(credits, copyLedger.get(0, slot));
+        assertTrue(copyLedger.increment(0, slot, 5));
+        copy.getPlayerProduction()[1].get(Plant).increment(2);
+        assertEquals(credits + 5, copyLedger.get(0, slot));
+        assertEquals(credits, ledger.get(0, slot));
+        assertEquals(credits, original.getValue());
+        assertEquals(state.getPlayerProduction()[1].get(Plant).getValue() + 2, copy.getPlayerProduction()[1].get(Plant).getValue());
+
+        // the original's Counter views, created before the copy, change the original only
+        original.increment(3);
+        state.getPlayerCardsPlayedTags()[0].get(TMTypes.Tag.Science).increment(1);
+        assertEquals(credits + 3, ledger.get(0, slot));
+        assertEquals(credits + 5, copyLedger.get(0, slot));
+        assertEquals(0, copy.getPlayerCardsPlayedTags()[0].get(TMTypes.Tag.Science).getValue());
+
+        // views in the copy are of the copy's ledger, and keep the component ID of the original
+        Counter copied = copy.getPlayerResources()[0].get(MegaCredit);
+        assertNotSame(original, copied);
+        assertEquals(original.getComponentID(), copied.getComponentID());
+        assertSame(copied, copy.getCounterById(original.getComponentID()));
+        assertEquals(credits + 5, copy.getCounterById(original.getComponentID()).getValue());
+        assertEquals(credits + 3, state.getCounterById(original.getComponentID()).getValue());
+
+        // and a copy of a Counter is detached from both
+        Counter detached = copied.copy();
+        detached.increment(10);
+        assertEquals(credits + 5, copied.getValue());
+        assertEquals(credits + 15, detached.getValue());
+
+        // Counters are capped as before
+        original.setValue(0);
+        assertFalse(original.decrement(1));
+        assertEquals(0, ledger.get(0, slot));
+        assertEquals(credits + 5, copyLedger.get(0, slot));
+    }
+
+    @Test
+    public void mapTilesChangedAfterACopyAreIndependent() {
+        TMMapTile tile = null;
+        for (BoardNode bn : state.board.getComponents()) {
+            TMMapTile mt = (TMMapTile) bn;
+            if (mt != null && mt.getTileType() == TMTypes.MapTileType.Ground && mt.getTilePlaced() == null) {
+                tile = mt;
+                break;
+            }
+        }
+        assertNotNull(tile);
+        int id = tile.getComponentID(), x = tile.getX(), y = tile.getY();
+
+        TMGameState copy = (TMGameState) state.copy();
+        assertSame(tile, copy.board.getElement(x, y));  // shared until changed
+
+        TMMapTile changed = copy.getMapTileToModify(id);
+        changed.setTilePlaced(TMTypes.Tile.City, copy);
+        assertNotSame(tile, changed);
+        assertSame(changed, copy.board.getElement(x, y));
+        assertSame(changed, copy.getComponentById(id));
+        assertNull(tile.getTilePlaced());
+        assertSame(tile, state.board.getElement(x, y));
+        assertSame(tile, state.getComponentById(id));
+        assertEquals(-1, tile.getOwnerId());
+
+        // a copy of the copy shares its changed tile, until that is changed again
+        TMGameState copyOfCopy = (TMGameState) copy.copy();
+        assertSame(changed, copyOfCopy.board.getElement(x, y));
+        copyOfCopy.getMapTileToModify(id).removeTile();
+        assertNull(((TMMapTile) copyOfCopy.board.getElement(x, y)).getTilePlaced());
+        assertEquals(TMTypes.Tile.City, changed.getTilePlaced());
+
+        // and the original can be changed without affecting either
+        state.getMapTileToModify(id).setReserved(1);
+        assertEquals(1, ((TMMapTile) state.board.getElement(x, y)).getReserved());
+        assertNotEquals(1, changed.getReserved());
+        assertNotEquals(1, ((TMMapTile) copyOfCopy.board.getElement(x, y)).getReserved());
+        assertEquals(TMTypes.Tile.City, ((TMMapTile) copy.getComponentById(id)).getTilePlaced());
+    }
+
+    @Test
+    public void extraTilesChangedAfterACopyAreIndependent() {
+        TMMapTile tile = state.extraTiles.iterator().next();
+        int id = tile.getComponentID();
+
+        TMGameState copy = (TMGameState) state.copy();
+        copy.getMapTileToModify(id).setTilePlaced(TMTypes.Tile.City, copy);
+        assertNull(tile.getTilePlaced());
+        assertTrue(state.extraTiles.contains(tile));
+        assertEquals(TMTypes.Tile.City, ((TMMapTile) copy.getComponentById(id)).getTilePlaced());
+        assertFalse(copy.extraTiles.contains(tile));
+        assertEquals(state.extraTiles.size(), copy.extraTiles.size());
+
+        // a tile can be changed more than once
+        copy.getMapTileToModify(id).removeTile();
+        assertNull(((TMMapTile) copy.getComponentById(id)).getTilePlaced());
+        assertEquals(state.extraTiles.size(), copy.extraTiles.size());
+    }
+}
@@ -0,0 +1,83 @@
+package players;
+
+import core.AbstractForwardModel;
+import core.AbstractGameState;
+import core.AbstractParameters;
+import games.GameType;
+import org.junit.Before;
+import org.junit.Test;
+import utilities.ElapsedCpuChessTimer;
+
+import static org.junit.Assert.*;
+import static players.PlayerConstants.*;
+
+public class AnytimeBudgetManagerTests {
+
+    PlayerParameters params;
+    AbstractGameState state;
+    AnytimeBudgetManager manager = new AnytimeBudgetManager();
+
+    @Before
+    public void setup() {
+        params = new PlayerParameters();
+        params.budgetType = BUDGET_TIME;
+        params.budget = 100;
+        AbstractParameters gameParams = GameType.TicTacToe.createParameters(3);
+        AbstractForwardModel fm = GameType.TicTacToe.createForwardModel(gameParams, 2);
+        state = GameType.TicTacToe.createGameState(gameParams, 2);
+        fm.setup(state);
+        // one minute on the clock, and two seconds back for every action
+        state.getPlayerTimer()[0] = new ElapsedCpuChessTimer(1, 2, 0, 0, 0);
+    }
+
+    @Test
+    public void fixedBudgetByDefault() {
+        assertEquals(100, manager.allocate(params, state, 0));
+        manager.used(params, 10);
+        assertEquals(100, manager.allocate(params, state, 0));
+
+        params.budgetType = BUDGET_ITERATIONS;
+        params.useGameClock = true;
+        params.bankUnusedTime = true;
+        assertEquals(100, manager.allocate(params, state, 0));
+    }
+
+    @Test
+    public void gameClockIsSpreadOverMovesToGo() {
+        params.useGameClock = true;
+        params.movesToGo = 30;
+        assertEquals(60000 / 30 + 2000, manager.allocate(params, state, 0));
+        // the player sees a copy of the state, which must have the same clock
+        assertEquals(60000 / 30 + 2000, manager.allocate(params, state.copy(0), 0));
+
+        params.movesToGo = 1;
+        params.breakMS = 500;
+        assertEquals(60000 - 500 - 1, manager.allocate(params, state, 0));
+    }
+
+    @Test
+    public void unusedTimeIsBanked() {
+        params.bankUnusedTime = true;
+        params.movesToGo = 10;
+        manager.used(params, 40);
+        assertEquals(60, manager.getBankedMs());
+        assertEquals(106, manager.allocate(params, state, 0));
+        manager.used(params, 106);
+        assertEquals(54, manager.getBankedMs());
+        manager.used(params, 500);
+        assertEquals(0, manager.getBankedMs());
+        assertEquals(100, manager.allocate(params, state, 0));
+
+        manager.used(params, 0);
+        manager.reset();
+        assertEquals(0, manager.getBankedMs());
+    }
+
+    @Test
+    public void earlyStopOnlyWhenTheLeaderCannotBeCaught() {
+        assertFalse(AnytimeBudgetManager.canStopEarly(50, 10, 100, 1.0));
+        assertTrue(AnytimeBudgetManager.canStopEarly(150, 10, 100, 1.0));
+        assertTrue(AnytimeBudgetManager.canStopEarly(50, 10, 100, 5.0));
+        assertFalse(AnytimeBudgetManager.canStopEarly(50, 10, 100, 0.0));
+    }
+}
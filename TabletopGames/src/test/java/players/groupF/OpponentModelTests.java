@@ -0,0 +1,139 @@
+package players.groupF;
+
+import core.Game;
+import games.GameType;
+import games.sushigo.SGForwardModel;
+import games.sushigo.cards.SGCard;
+import org.junit.Test;
+import players.PlayerParameters;
+import players.simple.RandomPlayer;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class OpponentModelTests {
+
+    @Test
+    public void uniformBeforeAnyObservations() {
+        OpponentModel model = new OpponentModel(3, 5);
+        for (int a = 0; a < 5; a++)
+            assertEquals(0.2, model.getProbability(1, a), 1e-9);
+    }
+
+    @Test
+    public void olderObservationsDecay() {
+        OpponentModel model = new OpponentModel(3, 5);
+        model.actionObserved(1, 0);
+        model.actionObserved(1, 1);
+        // the first observation has decayed to 0.9, plus smoothing of 1.0 for each action
+        assertEquals(1.9 / 6.9, model.getProbability(1, 0), 1e-9);
+        assertEquals(2.0 / 6.9, model.getProbability(1, 1), 1e-9);
+        assertEquals(1.0 / 6.9, model.getProbability(1, 2), 1e-9);
+        // other opponents are unaffected
+        assertEquals(0.2, model.getProbability(2, 1), 1e-9);
+        // and this still holds once the weights have been rescaled
+        for (int i = 0; i < 3000; i++)
+            model.actionObserved(1, i % 2);
+        // alternating observations, ending with 1: the geometric sums are 1 / 0.19 for 1 and 0.9 / 0.19 for 0
+        assertEquals((1.0 / 0.19 + 1.0) / 15.0, model.getProbability(1, 1), 1e-6);
+        assertEquals((0.9 / 0.19 + 1.0) / 15.0, model.getProbability(1, 0), 1e-6);
+        assertEquals(1.0 / 15.0, model.getProbability(1, 2), 1e-6);
+        double total = 0.0;
+        for (int a = 0; a < 5; a++)
+            total += model.getProbability(1, a);
+        assertEquals(1.0, total, 1e-9);
+    }
+
+    @Test
+    public void samplesMatchTheDistribution() {
+        OpponentModel model = new OpponentModel(2, 6);
+        for (int i = 0; i < 5; i++)
+            model.actionObserved(1, 4);
+        model.actionObserved(1, 2);
+        Random rnd = new Random(73);
+        int[] counts = new int[6];
+        int n = 100000;
+        for (int i = 0; i < n; i++)
+            counts[model.sampleAction(1, rnd)]++;
+        for (int a = 0; a < 6; a++)
+            assertEquals(model.getProbability(1, a), counts[a] / (double) n, 0.01);
+    }
+
+    @Test
+    public void samplesOnlyAvailableActions() {
+        OpponentModel model = new OpponentModel(2, 6);
+        for (int i = 0; i < 5; i++)
+            model.actionObserved(1, 4);
+        Random rnd = new Random(73);
+        int[] keys = {0, 4, 1, 4};
+        int[] counts = new int[keys.length];
+        int n = 100000;
+        for (int i = 0; i < n; i++)
+            counts[model.sampleAction(1, keys, rnd)]++;
+        double p0 = model.getProbability(1, 0), p1 = model.getProbability(1, 1), p4 = model.getProbability(1, 4);
+        double total = p0 + p1 + p4;
+        assertEquals(p0 / total, counts[0] / (double) n, 0.01);
+        assertEquals(p1 / total, counts[2] / (double) n, 0.01);
+        // the two actions with key 4 share its probability
+        assertEquals(p4 / total / 2, counts[1] / (double) n, 0.01);
+        assertEquals(p4 / total / 2, counts[3] / (double) n, 0.01);
+
+        // keys beyond those in the model have not been observed, so are treated as unseen actions
+        int[] unseen = {9, 10};
+        for (int i = 0; i < 100; i++) {
+            int choice = model.sampleAction(1, unseen, rnd);
+            assertTrue(choice == 0 || choice == 1);
+        }
+    }
+
+    @Test
+    public void sharedKeysCountOnceWhenSamplingDirectly() {
+        // none of these keys can come from the model's own distribution, so every draw is made directly from them
+        OpponentModel model = new OpponentModel(2, 3);
+        model.actionObserved(0, 1);
+        Random rnd = new Random(19);
+        int[] keys = {7, 5, 7, 7};
+        int[] counts = new int[keys.length];
+        int n = 60000;
+        for (int i = 0; i < n; i++)
+            counts[model.sampleAction(0, keys, rnd)]++;
+        assertEquals(0.5, counts[1] / (double) n, 0.01);
+        for (int i : new int[]{0, 2, 3})
+            assertEquals(0.5 / 3, counts[i] / (double) n, 0.01);
+
+        // and when the available keys are just unlikely, the direct draw agrees with the model
+        for (int i = 0; i < 50; i++)
+            model.actionObserved(0, 0);
+        keys = new int[]{1, 2, 2, 2};
+        counts = new int[keys.length];
+        for (int i = 0; i < n; i++)
+            counts[model.sampleAction(0, keys, rnd)]++;
+        double p1 = model.getProbability(0, 1), p2 = model.getProbability(0, 2);
+        assertEquals(p1 / (p1 + p2), counts[0] / (double) n, 0.01);
+        for (int i = 1; i < 4; i++)
+            assertEquals(p2 / (p1 + p2) / 3, counts[i] / (double) n, 0.01);
+    }
+
+    @Test
+    public void learnsFromRevealedCardsDuringAGame() {
+        RHEA_Config config = new RHEA_Config(5, 3, 1, 0.2, 100);
+        RHEA_Agent agent = new RHEA_Agent(config, 42, new SGForwardModel());
+        Game game = GameType.SushiGo.createGameInstance(3, 404);
+        game.reset(List.of(new RHEA_PlayerWrapper(agent, new PlayerParameters(), "RHEA"), new RandomPlayer(), new RandomPlayer()));
+        game.run();
+
+        OpponentModel model = agent.getOpponentModel();
+        int nTypes = SGCard.SGCardType.values().length;
+        for (int p = 0; p < 3; p++) {
+            double max = 0.0;
+            for (int t = 0; t < nTypes; t++)
+                max = Math.max(max, model.getProbability(p, t));
+            if (p == 0)
+                assertEquals(1.0 / nTypes, max, 1e-9);  // we do not model ourselves
+            else
+                assertTrue(max > 1.0 / nTypes);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package players.heuristics;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class FlatDecisionTreeTests {
+
+    //            [0] x0 <= 1.0
+    //           /             \
+    //   [1] x1 <= 0.5        [2] leaf 3.0
+    //    /         \
+    // [3] 1.0    [4] 2.0
+    FlatDecisionTree tree = new FlatDecisionTree(
+            new int[]{0, 1, 0, 0, 0},
+            new double[]{1.0, 0.5, 0.0, 0.0, 0.0},
+            new int[]{1, 3, -1, -1, -1},
+            new double[]{0.0, 0.0, 3.0, 1.0, 2.0});
+
+    @Test
+    public void singleRowEvaluation() {
+        assertEquals(2, tree.depth());
+        assertEquals(5, tree.size());
+        assertEquals(1.0, tree.predict(new double[]{0.0, 0.0}), 1e-10);
+        assertEquals(1.0, tree.predict(new double[]{1.0, 0.5}), 1e-10);  // thresholds are inclusive on the left
+        assertEquals(2.0, tree.predict(new double[]{1.0, 0.6}), 1e-10);
+        assertEquals(3.0, tree.predict(new double[]{1.1, 0.0}), 1e-10);
+        // a leaf reached early stays put for the remaining levels
+        assertEquals(3.0, tree.predict(new double[]{5.0, -100.0}), 1e-10);
+        // NaN goes right, as it does in Spark
+        assertEquals(3.0, tree.predict(new double[]{Double.NaN, 0.0}), 1e-10);
+    }
+
+    @Test
+    public void batchMatchesSingleRows() {
+        double[][] rows = {{0.0, 0.0}, {1.0, 0.6}, {1.1, 0.0}, {-3.0, 7.0}};
+        double[] expected = new double[rows.length];
+        for (int i = 0; i < rows.length; i++)
+            expected[i] = tree.predict(rows[i]);
+        assertArrayEquals(new double[]{1.0, 2.0, 3.0, 2.0}, expected, 1e-10);
+        assertArrayEquals(expected, tree.predict(rows), 1e-10);
+    }
+
+    @Test
+    public void singleLeafTree() {
+        FlatDecisionTree stump = new FlatDecisionTree(new int[]{0}, new double[]{0.0}, new int[]{-1}, new double[]{0.7});
+        assertEquals(0, stump.depth());
+        assertEquals(0.7, stump.predict(new double[0]), 1e-10);
+        assertArrayEquals(new double[]{0.7, 0.7}, stump.predict(new double[2][0]), 1e-10);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void childrenMustFollowParents() {
+        new FlatDecisionTree(new int[]{0, 0, 0}, new double[3], new int[]{-1, 0, -1}, new double[3]);
+    }
+}
@@ -13,6 +13,7 @@ import games.loveletter.actions.PlayCard;
 import games.loveletter.cards.LoveLetterCard;
 import games.loveletter.features.LLActionFeaturesTiny;
 import games.loveletter.features.LLStateFeaturesReduced;
+import org.json.simple.JSONObject;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -33,6 +34,7 @@ public class TestHeuristics {
 
     @Before
     public void setup() {
+        domState.getGameParameters().setRandomSeed(394);  // a first hand with enough Coppers to buy a Silver
         fm.setup(domState);
         llState.getGameParameters().setRandomSeed(393);
         llFm.setup(llState);
@@ -41,7 +43,7 @@ public class TestHeuristics {
     @Test
     public void testLinearStateHeuristic() {
         LinearStateHeuristic linearStateHeuristic = new LinearStateHeuristic(dominionFeaturedReduced,
-                "src\\test\\java\\players\\heuristics\\DominionFeatureWeights.json",
+                "src/test/java/players/heuristics/DominionFeatureWeights.json",
                 new PureScoreHeuristic());
 //            "victoryPoints": 0.1,
 //            "treasureValue": 0.2,
@@ -74,7 +76,7 @@ public class TestHeuristics {
     @Test
     public void testLogisticStateHeuristic() {
         LogisticStateHeuristic logisticStateHeuristic = new LogisticStateHeuristic(dominionFeaturedReduced,
-                "src\\test\\java\\players\\heuristics\\DominionFeatureWeightsLogistic.json",
+                "src/test/java/players/heuristics/DominionFeatureWeightsLogistic.json",
                 new WinOnlyHeuristic());
         assertEquals(logisticStateHeuristic.coefficients.length, logisticStateHeuristic.features.names().length + 1);
         assertEquals(-10.0, logisticStateHeuristic.coefficients[0], 0.01);  // bias
@@ -103,7 +105,7 @@ public class TestHeuristics {
         llState.getPlayerHandCards().get(0).add(new LoveLetterCard(games.loveletter.cards.CardType.Handmaid));
         llState.getPlayerHandCards().get(0).add(new LoveLetterCard(games.loveletter.cards.CardType.Guard));
         LinearActionHeuristic linearActionHeuristic = new LinearActionHeuristic(llActionFeaturesTiny, llStateFeaturesReduced,
-                "src\\test\\java\\players\\heuristics\\LLFeatureWeights.json") {
+                "src/test/java/players/heuristics/LLFeatureWeights.json") {
         };
         assertEquals(linearActionHeuristic.coefficients.length, linearActionHeuristic.features.names().length + 1 + linearActionHeuristic.actionFeatures.names().length);
         assertEquals(10.0, linearActionHeuristic.coefficients[0], 0.01);  // bias
@@ -139,4 +141,57 @@ public class TestHeuristics {
                 throw new AssertionError("Unexpected action: " + action);
         }
     }
+
+    @Test
+    public void testActionHeuristicBatchMatchesSingleEvaluation() {
+        LinearActionHeuristic linearActionHeuristic = new LinearActionHeuristic(llActionFeaturesTiny, llStateFeaturesReduced,
+                "src/test/java/players/heuristics/LLFeatureWeights.json");
+        LogisticActionHeuristic logisticActionHeuristic = new LogisticActionHeuristic(llActionFeaturesTiny, llStateFeaturesReduced,
+                "src/test/java/players/heuristics/LLFeatureWeights.json");
+        List<AbstractAction> actions = llFm.computeAvailableActions(llState);
+        for (LinearActionHeuristic heuristic : List.of(linearActionHeuristic, logisticActionHeuristic)) {
+            double[] batch = heuristic.evaluateAllActions(actions, llState);
+            assertEquals(actions.size(), batch.length);
+            for (int i = 0; i < actions.size(); i++)
+                assertEquals(heuristic.evaluateAction(actions.get(i), llState), batch[i], 1e-10);
+            // and a subset of the actions, in a different order
+            List<AbstractAction> subset = List.of(actions.get(actions.size() - 1), actions.get(0));
+            double[] subsetValues = heuristic.evaluateActions(subset, llState, actions);
+            assertEquals(batch[actions.size() - 1], subsetValues[0], 1e-10);
+            assertEquals(batch[0], subsetValues[1], 1e-10);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testActionHeuristicFromJSONBatchMatchesSingleEvaluation() {
+        // Heuristics loaded from JSON have an empty array of interactions, and should use the state features once
+        JSONObject stateFeatures = new JSONObject();
+        stateFeatures.put("class", "games.loveletter.features.LLStateFeaturesReduced");
+        JSONObject actionFeatures = new JSONObject();
+        actionFeatures.put("class", "games.loveletter.features.LLActionFeaturesTiny");
+        JSONObject coefficients = new JSONObject();
+        coefficients.put("BIAS", 1.5);
+        coefficients.put("CARDS", 0.1);
+        coefficients.put("GUARD", 0.2);
+        coefficients.put("PRINCE", 0.05);
+        coefficients.put("Guard_PLAY", 0.01);
+        coefficients.put("Prince_PLAY", -0.01);
+        coefficients.put("Princess_PLAY", -0.1);
+        JSONObject json = new JSONObject();
+        json.put("features", stateFeatures);
+        json.put("actionFeatures", actionFeatures);
+        json.put("coefficients", coefficients);
+
+        LinearActionHeuristic linearActionHeuristic = new LinearActionHeuristic(json);
+        LogisticActionHeuristic logisticActionHeuristic = new LogisticActionHeuristic(json);
+        List<AbstractAction> actions = llFm.computeAvailableActions(llState);
+        for (LinearActionHeuristic heuristic : List.of(linearActionHeuristic, logisticActionHeuristic)) {
+            assertEquals(0, heuristic.interactionCoefficients().length);
+            double[] batch = heuristic.evaluateAllActions(actions, llState);
+            assertEquals(actions.size(), batch.length);
+            for (int i = 0; i < actions.size(); i++)
+                assertEquals(heuristic.evaluateAction(actions.get(i), llState), batch[i], 1e-10);
+        }
+    }
 }
@@ -0,0 +1,69 @@
+package players.learners;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class GLMSolverTests {
+
+    int n = 5000;
+    double[][] data = new double[n][4];
+    double[] linearTarget = new double[n];
+    double[] binaryTarget = new double[n];
+
+    public GLMSolverTests() {
+        Random rnd = new Random(1);
+        for (int i = 0; i < n; i++) {
+            data[i][0] = 1.0;  // bias
+            data[i][1] = rnd.nextGaussian();
+            data[i][2] = rnd.nextGaussian() * 3.0;
+            data[i][3] = 2.0;  // constant, so should get a zero coefficient
+            linearTarget[i] = 1.5 + 2.0 * data[i][1] - 0.5 * data[i][2] + rnd.nextGaussian() * 0.1;
+            double eta = -0.5 + data[i][1] + 0.3 * data[i][2];
+            binaryTarget[i] = rnd.nextDouble() < GLMSolver.inverseLogit(eta) ? 1.0 : 0.0;
+        }
+    }
+
+    @Test
+    public void gaussianRecoversCoefficients() {
+        GLMSolver solver = new GLMSolver(0.0, 25, 1e-8, 1);
+        double[] beta = solver.fitGaussian(data, linearTarget).coefficients();
+        assertEquals(4, beta.length);
+        assertEquals(1.5, beta[0], 0.01);
+        assertEquals(2.0, beta[1], 0.01);
+        assertEquals(-0.5, beta[2], 0.01);
+        assertEquals(0.0, beta[3], 1e-10);
+    }
+
+    @Test
+    public void gaussianPenaltyIsOnStandardisedCoefficients() {
+        // with standardisation the shrinkage of each coefficient is 1 / (1 + regParam / sd(y)), whatever the feature
+        // scale; these are the coefficients from Spark's GeneralizedLinearRegression on the same data
+        GLMSolver solver = new GLMSolver(0.1, 25, 1e-8, 1);
+        double[] beta = solver.fitGaussian(data, linearTarget).coefficients();
+        assertEquals(1.500, beta[0], 0.005);
+        assertEquals(1.921, beta[1], 0.005);
+        assertEquals(-0.480, beta[2], 0.005);
+    }
+
+    @Test
+    public void binomialRecoversCoefficients() {
+        GLMSolver solver = new GLMSolver(0.0, 25, 1e-8, 1);
+        GLMSolver.Result result = solver.fitBinomial(data, binaryTarget);
+        assertEquals(-0.5, result.coefficients()[0], 0.1);
+        assertEquals(1.0, result.coefficients()[1], 0.1);
+        assertEquals(0.3, result.coefficients()[2], 0.05);
+        assertEquals(0.0, result.coefficients()[3], 1e-10);
+        assertTrue(result.iterations() < 25);
+        assertTrue(result.aic() > 0.0);
+    }
+
+    @Test
+    public void threadedAccumulationMatchesSingleThread() {
+        double[] single = new GLMSolver(0.1, 25, 1e-8, 1).fitBinomial(data, binaryTarget).coefficients();
+        double[] threaded = new GLMSolver(0.1, 25, 1e-8, 4).fitBinomial(data, binaryTarget).coefficients();
+        assertArrayEquals(single, threaded, 1e-9);
+    }
+}
@@ -0,0 +1,82 @@
+package players.mcts;
+
+import core.AbstractForwardModel;
+import core.AbstractGameState;
+import core.AbstractParameters;
+import games.GameType;
+import org.junit.Before;
+import org.junit.Test;
+import players.PlayerConstants;
+
+import static org.junit.Assert.*;
+
+public class DeterminisationPoolTests {
+
+    MCTSParams params;
+    AbstractGameState state;
+    AbstractForwardModel fm;
+
+    @Before
+    public void setup() {
+        params = new MCTSParams();
+        params.setRandomSeed(4093);
+        params.information = MCTSEnums.Information.Information_Set;
+        params.budgetType = PlayerConstants.BUDGET_ITERATIONS;
+        params.budget = 200;
+        params.maxTreeDepth = 3;
+        AbstractParameters gameParams = GameType.SushiGo.createParameters(7);
+        fm = GameType.SushiGo.createForwardModel(gameParams, 3);
+        state = GameType.SushiGo.createGameState(gameParams, 3);
+        fm.setup(state);
+    }
+
+    private SingleTreeNode search() {
+        MCTSPlayer player = new MCTSPlayer(params);
+        player.setForwardModel(fm);
+        player.initializePlayer(state);
+        player._getAction(state, fm.computeAvailableActions(state));
+        return player.root;
+    }
+
+    @Test
+    public void noPoolByDefault() {
+        assertNull(search().getDeterminisationPool());
+    }
+
+    @Test
+    public void iterationsCycleThroughThePool() {
+        params.determinisationPoolSize = 8;
+        SingleTreeNode root = search();
+        DeterminisationPool pool = root.getDeterminisationPool();
+        assertEquals(8, pool.size());
+        assertEquals(8, pool.samples);
+        for (int i = 0; i < 8; i++) {
+            assertEquals(25, pool.getVisits(i));
+            assertFalse(Double.isNaN(pool.getMean(i)));
+            assertTrue(pool.getVariance(i) >= 0.0);
+        }
+        assertTrue(pool.getVarianceOfMeans() >= 0.0);
+        assertEquals(200, root.getVisits());
+    }
+
+    @Test
+    public void determinisationsAreRefreshed() {
+        params.determinisationPoolSize = 8;
+        params.determinisationRefresh = 5;
+        SingleTreeNode root = search();
+        // each is used 25 times, and so resampled on the 6th, 11th, 16th and 21st
+        assertEquals(8 * 5, root.getDeterminisationPool().samples);
+
+        params.evaluationBatchSize = 4;
+        root = search();
+        for (int i = 0; i < 8; i++)
+            assertEquals(25, root.getDeterminisationPool().getVisits(i));
+    }
+
+    @Test
+    public void noPoolWithoutInformationSet() {
+        params.determinisationPoolSize = 8;
+        params.information = MCTSEnums.Information.Open_Loop;
+        assertNull(search().getDeterminisationPool());
+    }
+}
@@ -2,6 +2,7 @@ package players.mcts;
 
 import core.*;
 import core.actions.*;
+import core.interfaces.IBatchStateHeuristic;
 import games.GameType;
 import games.dominion.DominionFGParameters;
 import games.dominion.DominionForwardModel;
@@ -94,6 +95,43 @@ public class MCTSNodesAndVisitsTests {
         runGame(game, 4, expectedNodes, errorMargin);
     }
 
+    @Test
+    public void batchedEvaluation() {
+        params.evaluationBatchSize = 8;
+        List<Integer> batchSizes = new ArrayList<>();
+        params.heuristic = new IBatchStateHeuristic() {
+            @Override
+            public double evaluateState(AbstractGameState gs, int playerId) {
+                return gs.getHeuristicScore(playerId);
+            }
+
+            @Override
+            public double[][] evaluateStates(List<AbstractGameState> states) {
+                batchSizes.add(states.size());
+                return IBatchStateHeuristic.super.evaluateStates(states);
+            }
+        };
+        Game game = createGame(params);
+        int[] expectedNodes = {200, 200, 200, 200};
+        int[] errorMargin = {10, 10, 10, 10};
+        // the visit counts checked here would be wrong if any virtual loss were left behind
+        runGame(game, 4, expectedNodes, errorMargin);
+        // the first iteration of each search is on its own, then 24 batches of 8 and a final one of 7
+        assertEquals(4 * 25, batchSizes.size());
+        assertEquals(4 * 24, batchSizes.stream().filter(n -> n == 8).count());
+        assertEquals(4, batchSizes.stream().filter(n -> n == 7).count());
+    }
+
+    @Test
+    public void batchedEvaluationClosedLoop() {
+        params.evaluationBatchSize = 16;
+        params.maxTreeDepth = 3;
+        params.information = MCTSEnums.Information.Closed_Loop;
+        params.discardStateAfterEachIteration = false;
+        Game game = createGame(params);
+        runGame(game, 4, new int[0], new int[0]);
+    }
+
     @Test
     public void reducedDepth3MaxN() {
         params.opponentTreePolicy = MCTSEnums.OpponentTreePolicy.OneTree;
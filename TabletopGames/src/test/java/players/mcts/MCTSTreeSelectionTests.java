@@ -1,12 +1,18 @@
 package players.mcts;
 
+import core.AbstractForwardModel;
+import core.AbstractGameState;
+import core.AbstractParameters;
 import core.actions.AbstractAction;
+import games.GameType;
 import org.junit.Test;
+import players.PlayerConstants;
 import utilities.Pair;
 
 import java.util.*;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static players.mcts.MCTSEnums.TreePolicy.*;
 
@@ -573,6 +579,78 @@ public class MCTSTreeSelectionTests {
     }
 
 
+    @Test
+    public void lazyActionsWithProgressiveWidening() {
+        params.progressiveWideningConstant = 1.0;
+        params.progressiveWideningExponent = 0.5;
+        params.actionHeuristic = (a, s, l) -> 0.0;
+        params.information = MCTSEnums.Information.Open_Loop;
+        params.budgetType = PlayerConstants.BUDGET_ITERATIONS;
+        params.budget = 30;
+        AbstractParameters gameParams = GameType.TicTacToe.createParameters(3);
+        AbstractForwardModel tttForwardModel = GameType.TicTacToe.createForwardModel(gameParams, 2);
+        AbstractGameState state = GameType.TicTacToe.createGameState(gameParams, 2);
+        tttForwardModel.setup(state);
+        List<AbstractAction> allActions = tttForwardModel.computeAvailableActions(state);
+
+        MCTSPlayer mctsPlayer = new MCTSPlayer(params);
+        mctsPlayer.setForwardModel(tttForwardModel);
+        mctsPlayer.initializePlayer(state);
+        mctsPlayer._getAction(state, allActions);
+        assertEquals(9, mctsPlayer.root.children.size());
+
+        // with lazy actions, the last visit only creates the floor(sqrt(31)) actions that can be considered on backup
+        params.lazyActions = true;
+        mctsPlayer.initializePlayer(state);
+        AbstractAction chosen = mctsPlayer._getAction(state, allActions);
+        assertEquals(30, mctsPlayer.root.getVisits());
+        assertEquals(allActions.subList(0, 5), mctsPlayer.root.actionsFromOpenLoopState);
+        assertEquals(5, mctsPlayer.root.children.size());
+        assertTrue(allActions.subList(0, 5).contains(chosen));
+
+        // in Closed_Loop a node keeps its state, so must create more actions as it is visited more
+        params.information = MCTSEnums.Information.Closed_Loop;
+        params.discardStateAfterEachIteration = false;  // as set by MCTSParams for Closed_Loop
+        params.budget = 300;
+        mctsPlayer.initializePlayer(state);
+        mctsPlayer._getAction(state, allActions);
+        int grown = 0;
+        for (SingleTreeNode[] childArray : mctsPlayer.root.children.values()) {
+            SingleTreeNode child = childArray == null ? null : Arrays.stream(childArray).filter(Objects::nonNull).findFirst().orElse(null);
+            if (child == null) continue;
+            List<AbstractAction> available = tttForwardModel.computeAvailableActions(child.getState());
+            int expected = Math.min((int) Math.floor(Math.sqrt(child.getVisits() + 1)), available.size());
+            assertEquals(available.subList(0, expected), child.actionsFromOpenLoopState);
+            if (expected > 1) grown++;
+        }
+        assertTrue(grown > 0);
+    }
+
+    @Test
+    public void earlyStopOnlyWhenTheMostVisitedActionIsChosen() {
+        params.budgetType = PlayerConstants.BUDGET_ITERATIONS;
+        params.budget = 200;
+        AbstractParameters gameParams = GameType.TicTacToe.createParameters(3);
+        AbstractForwardModel tttForwardModel = GameType.TicTacToe.createForwardModel(gameParams, 2);
+        AbstractGameState state = GameType.TicTacToe.createGameState(gameParams, 2);
+        tttForwardModel.setup(state);
+        MCTSPlayer mctsPlayer = new MCTSPlayer(params);
+        mctsPlayer.setForwardModel(tttForwardModel);
+        mctsPlayer.initializePlayer(state);
+        mctsPlayer._getAction(state, tttForwardModel.computeAvailableActions(state));
+
+        // with (almost) no iterations left, the most visited action is settled...
+        params.selectionPolicy = MCTSEnums.SelectionPolicy.ROBUST;
+        assertTrue(mctsPlayer.root.bestActionSettled(1, 1000.0));
+        assertFalse(mctsPlayer.root.bestActionSettled(1000, 1.0));
+        // ...but the action with the highest average value can still change
+        params.selectionPolicy = MCTSEnums.SelectionPolicy.SIMPLE;
+        assertFalse(mctsPlayer.root.bestActionSettled(1, 1000.0));
+        params.selectionPolicy = MCTSEnums.SelectionPolicy.ROBUST;
+        params.treePolicy = EXP3;
+        assertFalse(mctsPlayer.root.bestActionSettled(1, 1000.0));
+    }
+
     @Test
     public void progressiveWideningII() {
         params.progressiveWideningConstant = 2.0;
@@ -0,0 +1,130 @@
+package players.mcts;
+
+import core.AbstractForwardModel;
+import core.AbstractGameState;
+import core.AbstractParameters;
+import core.actions.AbstractAction;
+import games.GameType;
+import org.junit.Before;
+import org.junit.Test;
+import players.PlayerConstants;
+import utilities.Pair;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class NGramStatisticsTests {
+
+    AbstractGameState state;
+    AbstractForwardModel fm;
+    List<AbstractAction> actions;
+    NGramStatistics stats = new NGramStatistics(2, 2, null);
+
+    @Before
+    public void setup() {
+        AbstractParameters gameParams = GameType.TicTacToe.createParameters(3);
+        fm = GameType.TicTacToe.createForwardModel(gameParams, 2);
+        state = GameType.TicTacToe.createGameState(gameParams, 2);
+        fm.setup(state);
+        actions = fm.computeAvailableActions(state);
+    }
+
+    @Test
+    public void sequencesAreRecordedForThePlayerWhoEndsThem() {
+        AbstractAction a = actions.get(0), b = actions.get(1), c = actions.get(2);
+        stats.update(state, List.of(new Pair<>(0, a), new Pair<>(1, b), new Pair<>(0, c)), new double[]{1.0, 0.0});
+        stats.update(state, List.of(new Pair<>(0, a), new Pair<>(1, c)), new double[]{0.0, 0.5});
+
+        assertEquals(2, stats.getVisits(0, List.of(a)));
+        assertEquals(0.5, stats.getMean(0, List.of(a)), 1e-9);
+        assertEquals(1, stats.getVisits(1, List.of(b)));
+        assertEquals(1, stats.getVisits(1, List.of(a, b)));
+        assertEquals(0.5, stats.getMean(1, List.of(a, c)), 1e-9);
+        assertEquals(1.0, stats.getMean(0, List.of(b, c)), 1e-9);
+        assertEquals(0, stats.getVisits(0, List.of(a, c)));
+        assertTrue(Double.isNaN(stats.getMean(0, List.of(b))));
+        // the first action has nothing before it, as the game has no history yet
+        assertEquals(0, stats.getVisits(0, List.of(c, a)));
+    }
+
+    @Test
+    public void theHistoryStartsTheFirstSequence() {
+        AbstractAction a = actions.get(0);
+        fm.next(state, a);
+        AbstractAction b = fm.computeAvailableActions(state).get(0);
+        stats.update(state, List.of(new Pair<>(1, b)), new double[]{0.0, 1.0});
+        assertEquals(1, stats.getVisits(1, List.of(a, b)));
+
+        // and when valuing actions, the last action in the history is the start of the sequence
+        AbstractAction other = fm.computeAvailableActions(state).get(1);
+        assertArrayEquals(new double[]{1.0, -1.0}, stats.values(state, List.of(b, other), 1, -1.0), 1e-9);
+        stats.update(state, List.of(new Pair<>(1, other)), new double[]{0.0, 0.0});
+        stats.update(state, List.of(new Pair<>(1, b)), new double[]{0.0, 1.0});
+        // with pairs only counted once seen 3 times, each action is valued on its own
+        assertArrayEquals(new double[]{1.0, 0.0}, stats.values(state, List.of(b, other), 3, -1.0), 1e-9);
+        // and the statistics are for the player to move
+        fm.next(state, other);
+        assertArrayEquals(new double[]{-1.0}, stats.values(state, List.of(b), 1, -1.0), 1e-9);
+    }
+
+    @Test
+    public void decayKeepsTheMeans() {
+        AbstractAction a = actions.get(0);
+        for (int i = 0; i < 10; i++)
+            stats.update(state, List.of(new Pair<>(0, a)), new double[]{i % 2, 0.0});
+        stats.decay(0.5);
+        assertEquals(5, stats.getVisits(0, List.of(a)));
+        assertEquals(0.5, stats.getMean(0, List.of(a)), 1e-9);
+        stats.decay(0.1);
+        assertEquals(0, stats.getVisits(0, List.of(a)));
+        stats.update(state, List.of(new Pair<>(0, a)), new double[]{1.0, 0.0});
+        stats.decay(0.0);
+        assertEquals(0, stats.getVisits(0, List.of(a)));
+    }
+
+    @Test
+    public void tableGrows() {
+        ActionStatsTable table = new ActionStatsTable(8);
+        for (long key = 0; key < 1000; key++) {
+            table.add(key * 7919, key);
+            table.add(key * 7919, key);
+        }
+        assertEquals(1000, table.size());
+        for (long key = 0; key < 1000; key++) {
+            assertEquals(2, table.visits(key * 7919));
+            assertEquals(key, table.mean(key * 7919), 1e-9);
+        }
+        assertEquals(0, table.visits(1));
+    }
+
+    @Test
+    public void NSTRolloutsInMCTS() {
+        MCTSParams params = new MCTSParams();
+        params.setRandomSeed(4093);
+        params.budgetType = PlayerConstants.BUDGET_ITERATIONS;
+        params.budget = 200;
+        params.rolloutType = MCTSEnums.Strategies.NST;
+        params.NSTLength = 3;
+        params.MASTGamma = 1.0;
+        MCTSPlayer player = new MCTSPlayer(params);
+        player.setForwardModel(fm);
+        player.initializePlayer(state);
+        player._getAction(state, actions);
+        assertTrue(params.getRolloutStrategy() instanceof NSTPlayer);
+        NGramStatistics nst = player.root.nGramStatistics;
+        assertNotNull(nst);
+        int firstSearch = 0;
+        for (AbstractAction action : actions)
+            firstSearch += nst.getVisits(0, List.of(action));
+        assertTrue(firstSearch >= 200);  // every iteration starts with an action by player 0
+
+        // the statistics carry over to the next decision (with a MASTGamma of zero, they would be cleared)
+        player._getAction(state, actions);
+        assertSame(nst, player.root.nGramStatistics);
+        int bothSearches = 0;
+        for (AbstractAction action : actions)
+            bothSearches += nst.getVisits(0, List.of(action));
+        assertTrue(bothSearches >= firstSearch + 200);
+    }
+}
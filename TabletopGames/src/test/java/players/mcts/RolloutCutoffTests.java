@@ -0,0 +1,111 @@
+package players.mcts;
+
+import core.AbstractForwardModel;
+import core.AbstractGameState;
+import core.AbstractParameters;
+import games.GameType;
+import org.junit.Before;
+import org.junit.Test;
+import players.PlayerConstants;
+
+import static org.junit.Assert.*;
+
+public class RolloutCutoffTests {
+
+    MCTSParams params;
+    AbstractGameState state;
+    AbstractForwardModel fm;
+
+    @Before
+    public void setup() {
+        params = new MCTSParams();
+        params.setRandomSeed(4093);
+        params.resetSeedEachGame = true;  // so that each search has the same rollouts
+        params.information = MCTSEnums.Information.Open_Loop;
+        params.budgetType = PlayerConstants.BUDGET_ITERATIONS;
+        params.budget = 200;
+        params.rolloutLength = 100;
+        params.maxTreeDepth = 2;
+        AbstractParameters gameParams = GameType.Connect4.createParameters(7);
+        fm = GameType.Connect4.createForwardModel(gameParams, 2);
+        state = GameType.Connect4.createGameState(gameParams, 2);
+        fm.setup(state);
+    }
+
+    private SingleTreeNode search() {
+        MCTSPlayer player = new MCTSPlayer(params);
+        player.setForwardModel(fm);
+        player.initializePlayer(state);
+        player._getAction(state, fm.computeAvailableActions(state));
+        return player.root;
+    }
+
+    @Test
+    public void confidentHeuristicStopsEveryRollout() {
+        int fullRollouts = search().rolloutActionsTaken;
+        assertTrue(fullRollouts > 200);
+
+        params.rolloutCutoffInterval = 5;
+        params.rolloutCutoffHeuristic = (s, p) -> 1.0;
+        SingleTreeNode root = search();
+        assertEquals(0, root.rolloutActionsTaken);
+        assertEquals(200, root.getVisits());
+    }
+
+    @Test
+    public void unconfidentHeuristicChangesNothing() {
+        int fullRollouts = search().rolloutActionsTaken;
+        params.rolloutCutoffInterval = 5;
+        params.rolloutCutoffHeuristic = (s, p) -> 0.0;
+        assertEquals(fullRollouts, search().rolloutActionsTaken);
+    }
+
+    @Test
+    public void rolloutsStopWhereTheValueIsMeasuredNotToChange() {
+        int fullRollouts = search().rolloutActionsTaken;
+        params.rolloutCutoffInterval = 4;
+        params.rolloutCutoffTolerance = 0.01;
+        params.heuristic = (s, p) -> 0.25;
+        SingleTreeNode root = search();
+        assertEquals(0.0, root.rolloutCutoffs.meanSquaredError(1), 1e-9);
+        // after the first MIN_SAMPLES rollouts, only one in FULL_ROLLOUT_EVERY goes further than the first check
+        assertTrue(root.rolloutActionsTaken < fullRollouts / 2);
+    }
+
+    @Test
+    public void toleranceIsMeasuredOnTheScaleOfTheResult() {
+        int fullRollouts = search().rolloutActionsTaken;
+        params.rolloutCutoffInterval = 4;
+        params.rolloutCutoffTolerance = 0.01;
+        params.heuristic = (s, p) -> 0.25;
+        // never confident, and on a different scale from the heuristic
+        params.rolloutCutoffHeuristic = (s, p) -> 0.0;
+        SingleTreeNode root = search();
+        assertEquals(0.0, root.rolloutCutoffs.meanSquaredError(1), 1e-9);
+        assertTrue(root.rolloutActionsTaken < fullRollouts / 2);
+    }
+
+    @Test
+    public void cachedResultsAreMeansPerState() {
+        params.rolloutCacheSize = 4;
+        RolloutCutoffs cutoffs = new RolloutCutoffs(params);
+        RolloutCutoffs.Trace trace = cutoffs.newTrace();
+        assertFalse(cutoffs.cutOff(params, trace, state, 0, 0));
+        assertNull(trace.cachedResult);
+        cutoffs.record(params, trace, new double[]{1.0, -1.0}, 0);
+
+        // a copy of the state finds the result, and stops there
+        trace = cutoffs.newTrace();
+        assertTrue(cutoffs.cutOff(params, trace, state.copy(), 0, 0));
+        assertArrayEquals(new double[]{1.0, -1.0}, trace.cachedResult, 1e-9);
+
+        trace = cutoffs.newTrace();
+        trace.keys.add(state.hashCode());
+        cutoffs.record(params, trace, new double[]{0.0, 0.0}, 0);
+        trace = cutoffs.newTrace();
+        assertTrue(cutoffs.cutOff(params, trace, state, 0, 0));
+        assertArrayEquals(new double[]{0.5, -0.5}, trace.cachedResult, 1e-9);
+        assertArrayEquals(new double[]{0.5, -0.5}, cutoffs.cachedResult(state.hashCode()), 1e-9);
+        assertNull(cutoffs.cachedResult(state.hashCode() + 1));
+    }
+}
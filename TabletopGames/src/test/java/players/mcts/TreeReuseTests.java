@@ -57,6 +57,7 @@ public class TreeReuseTests {
 
     public void initialiseDominion() {
         playerOne = paramsOne.opponentTreePolicy == MCTSEnums.OpponentTreePolicy.OMA
+                || paramsOne.opponentTreePolicy == MCTSEnums.OpponentTreePolicy.OMA_All
                 ? new TestMCTSPlayer(paramsOne, OMATreeNode::new)
                 : new TestMCTSPlayer(paramsOne, STNWithTestInstrumentation::new);
         playerOne.rolloutTest = false;
@@ -155,6 +156,13 @@ public class TreeReuseTests {
         runGame();
     }
 
+    @Test
+    public void treeReusedWithOMAAll() {
+        paramsOne.opponentTreePolicy = MCTSEnums.OpponentTreePolicy.OMA_All;
+        initialiseDominion();
+        runGame();
+    }
+
     @Test
     public void treeReusedWithRegretMatchingAndLowBudget() {
         paramsOne.treePolicy = MCTSEnums.TreePolicy.RegretMatching;
@@ -208,6 +216,12 @@ public class TreeReuseTests {
             if (newRoot != null) {
                 assertNull(newRoot.parent);
                 assertEquals(newRoot.root, newRoot);
+                // nothing in the retained tree should refer to the part of the old tree that has been pruned
+                for (SingleTreeNode node : newRoot.allNodesInTree()) {
+                    assertEquals(newRoot, node.root);
+                    if (node instanceof OMATreeNode oma)
+                        oma.getOMAParent().ifPresent(p -> assertEquals(newRoot, p.root));
+                }
             }
 
             if (currentPlayer < 2 && newRoot != null) {
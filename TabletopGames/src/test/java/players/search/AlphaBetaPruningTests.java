@@ -9,6 +9,9 @@ import org.junit.Test;
 import players.PlayerConstants;
 import players.search.MaxNSearchPlayer.SearchResult;
 
+import java.util.List;
+import java.util.Random;
+
 import static org.junit.Assert.*;
 
 public class AlphaBetaPruningTests {
@@ -144,6 +147,44 @@ public class AlphaBetaPruningTests {
     }
 
 
+    @Test
+    public void connect4TranspositionTableAndMoveOrdering() {
+        // a search with a transposition table and killer/history move ordering should find the same root values
+        // as one without pruning at all (a fresh player each move, so the table only holds results at the same depth)
+        Connect4GameState gameState = new Connect4GameState(new Connect4GameParameters(), 2);
+        forwardModel.setup(gameState);
+        Random rnd = new Random(23);
+
+        do {
+            MaxNSearchParameters paramsOne = new MaxNSearchParameters();
+            paramsOne.alphaBetaPruning = false;
+            paramsOne.budget = Integer.MAX_VALUE;
+            paramsOne.paranoid = true;
+            paramsOne.searchDepth = 4;
+            MaxNSearchPlayer player1 = new MaxNSearchPlayer(paramsOne);
+            player1.setForwardModel(forwardModel);
+
+            MaxNSearchParameters paramsTwo = new MaxNSearchParameters();
+            paramsTwo.alphaBetaPruning = true;
+            paramsTwo.budget = Integer.MAX_VALUE;
+            paramsTwo.paranoid = true;
+            paramsTwo.searchDepth = 4;
+            paramsTwo.iterativeDeepening = true;
+            paramsTwo.transpositionTableSize = 1 << 12;
+            paramsTwo.moveOrdering = true;
+            MaxNSearchPlayer player2 = new MaxNSearchPlayer(paramsTwo);
+            player2.setForwardModel(forwardModel);
+
+            player1.getAction(gameState, forwardModel.computeAvailableActions(gameState));
+            AbstractAction actionTwo = player2.getAction(gameState, forwardModel.computeAvailableActions(gameState));
+            assertArrayEquals(player1.getRootResult().value(), player2.getRootResult().value(), 0.000001);
+            assertArrayEquals(player1.getRootResult().allActionValues().get(actionTwo), player2.getRootResult().value(), 0.000001);
+
+            List<AbstractAction> actions = forwardModel.computeAvailableActions(gameState);
+            forwardModel.next(gameState, actions.get(rnd.nextInt(actions.size())));
+        } while (gameState.isNotTerminal());
+    }
+
     // should be called so that the expected faster agent is player2
     private void runGame(Connect4GameState gameState, MaxNSearchPlayer player1, MaxNSearchPlayer player2,
                          boolean checkIdenticalMoves, boolean checkPlayerOneSlower) {